@@ -1,5 +1,7 @@
 package com.github.jarvisframework.tool.cache.impl;
 
+import com.github.jarvisframework.tool.core.date.GlobalClock;
+
 import java.io.Serializable;
 
 /**
@@ -42,7 +44,7 @@ public class CacheObject<K, V> implements Serializable {
         this.key = key;
         this.obj = obj;
         this.ttl = ttl;
-        this.lastAccess = System.currentTimeMillis();
+        this.lastAccess = GlobalClock.currentTimeMillis();
     }
 
     /**
@@ -54,7 +56,7 @@ public class CacheObject<K, V> implements Serializable {
         if (this.ttl > 0) {
             final long expiredTime = this.lastAccess + this.ttl;
             // expiredTime > 0 杜绝Long类型溢出变负数问题，当当前时间超过过期时间，表示过期
-            return expiredTime > 0 && expiredTime < System.currentTimeMillis();
+            return expiredTime > 0 && expiredTime < GlobalClock.currentTimeMillis();
         }
         return false;
     }
@@ -68,7 +70,7 @@ public class CacheObject<K, V> implements Serializable {
      */
     V get(boolean isUpdateLastAccess) {
         if (isUpdateLastAccess) {
-            lastAccess = System.currentTimeMillis();
+            lastAccess = GlobalClock.currentTimeMillis();
         }
         accessCount++;
         return this.obj;
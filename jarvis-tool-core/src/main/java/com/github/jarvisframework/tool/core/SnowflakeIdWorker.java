@@ -1,9 +1,12 @@
 package com.github.jarvisframework.tool.core;
 
 
+import com.github.jarvisframework.tool.core.lang.Snowflake;
 import com.github.jarvisframework.tool.core.util.IpInfoUtils;
 import com.github.jarvisframework.tool.core.util.MacInfoUtils;
 
+import java.util.Date;
+
 /**
  * <p>推特雪花ID生成规则</p>
  *
@@ -37,59 +40,35 @@ public class SnowflakeIdWorker {
      */
     private final long maxDataCenterId = -1L ^ (-1L << dataCenterIdBits);
 
-    /**
-     * 序列在id中占的位数
-     */
-    private final long sequenceBits = 12L;
-
-    /**
-     * 机器ID向左移12位
-     */
-    private final long workerIdShift = sequenceBits;
-
-    /**
-     * 数据标识id向左移17位(12+5)
-     */
-    private final long dataCenterIdShift = sequenceBits + workerIdBits;
-
-    /**
-     * 时间截向左移22位(5+5+12)
-     */
-    private final long timestampLeftShift = sequenceBits + workerIdBits + dataCenterIdBits;
-
-    /**
-     * 生成序列的掩码，这里为4095 (0b111111111111=0xfff=4095)
-     */
-    private final long sequenceMask = -1L ^ (-1L << sequenceBits);
-
     /**
      * 工作机器ID(0~31)
      */
-    private long workerId;
+    private final long workerId;
 
     /**
      * 数据中心ID(0~31)
      */
-    private long dataCenterId;
+    private final long dataCenterId;
 
     /**
-     * 毫秒内序列(0~4095)
+     * ID生成器，时钟回拨时直接报错
      */
-    private long sequence = 0L;
-
-    /**
-     * 上次生成ID的时间截
-     */
-    private long lastTimestamp = -1L;
+    private final Snowflake snowflake;
 
     public SnowflakeIdWorker() {
+        long dataCenterId;
+        long workerId;
         try {
-            this.dataCenterId = IpInfoUtils.getLastIp();
-            this.workerId = MacInfoUtils.getLastMac();
+            dataCenterId = IpInfoUtils.getLastIp();
+            workerId = MacInfoUtils.getLastMac();
         } catch (Exception e) {
-            this.dataCenterId = 0L;
-            this.workerId = 0L;
+            dataCenterId = 0L;
+            workerId = 0L;
         }
+        // IP和MAC的最后一个字节可能超出范围（含负数），只保留低5位
+        this.dataCenterId = dataCenterId & maxDataCenterId;
+        this.workerId = workerId & maxWorkerId;
+        this.snowflake = newSnowflake();
     }
 
     /**
@@ -107,65 +86,34 @@ public class SnowflakeIdWorker {
         }
         this.workerId = workerId;
         this.dataCenterId = dataCenterId;
+        this.snowflake = newSnowflake();
     }
 
     /**
-     * 获得下一个ID (该方法是线程安全的)
+     * 获得下一个ID (该方法是线程安全的，无锁)
      *
      * @return id
      */
-    public synchronized long nextId() {
-        long timestamp = timeGen();
-
-        //如果当前时间小于上一次ID生成的时间戳，说明系统时钟回退过这个时候应当抛出异常
-        if (timestamp < lastTimestamp) {
-            throw new RuntimeException(
-                    String.format("Clock moved backwards.  Refusing to generate id for %d milliseconds", lastTimestamp - timestamp));
-        }
-        //如果是同一时间生成的，则进行毫秒内序列
-        if (lastTimestamp == timestamp) {
-            sequence = (sequence + 1) & sequenceMask;
-            //毫秒内序列溢出
-            if (sequence == 0) {
-                //阻塞到下一个毫秒,获得新的时间戳
-                timestamp = tilNextMillis(lastTimestamp);
-            }
-        }
-        //时间戳改变，毫秒内序列重置
-        else {
-            sequence = 0L;
-        }
-
-        //上次生成ID的时间截
-        lastTimestamp = timestamp;
-
-        //移位并通过或运算拼到一起组成64位的ID
-        return ((timestamp - beginTimestamp) << timestampLeftShift)
-                | (dataCenterId << dataCenterIdShift)
-                | (workerId << workerIdShift)
-                | sequence;
+    public long nextId() {
+        return snowflake.nextId();
     }
 
     /**
-     * 阻塞到下一个毫秒，直到获得新的时间戳
+     * 批量获得ID，见{@link Snowflake#nextIds(int)}
      *
-     * @param lastTimestamp 上次生成ID的时间截
-     * @return 当前时间戳
+     * @param count ID个数
+     * @return id数组
      */
-    private long tilNextMillis(long lastTimestamp) {
-        long timestamp = timeGen();
-        while (timestamp <= lastTimestamp) {
-            timestamp = timeGen();
-        }
-        return timestamp;
+    public long[] nextIds(int count) {
+        return snowflake.nextIds(count);
     }
 
     /**
-     * 返回以毫秒为单位的当前时间
+     * 创建ID生成器，ID的组成与{@link Snowflake}一致，仅开始时间不同
      *
-     * @return 当前时间(毫秒)
+     * @return {@link Snowflake}
      */
-    private long timeGen() {
-        return System.currentTimeMillis();
+    private Snowflake newSnowflake() {
+        return new Snowflake(new Date(beginTimestamp), workerId, dataCenterId, false, 0, Snowflake.DEFAULT_MAX_BORROW_MILLIS);
     }
-}
\ No newline at end of file
+}
@@ -237,8 +237,11 @@ public class CalendarUtils {
      * @since 4.1.0
      */
     public static Calendar endOfQuarter(Calendar calendar) {
+        final int month = calendar.get(DateFieldEnum.MONTH.getValue()) / 3 * 3 + 2;
+        // 先设为1日再切换月份，避免5月31日等日期在切换到小月时顺延到下个月
+        calendar.set(Calendar.DAY_OF_MONTH, 1);
         //noinspection MagicConstant
-        calendar.set(Calendar.MONTH, calendar.get(DateFieldEnum.MONTH.getValue()) / 3 * 3 + 2);
+        calendar.set(Calendar.MONTH, month);
         calendar.set(Calendar.DAY_OF_MONTH, calendar.getActualMaximum(Calendar.DAY_OF_MONTH));
         return endOfDay(calendar);
     }
@@ -0,0 +1,40 @@
+package com.github.jarvisframework.tool.core.date;
+
+/**
+ * <p>时钟源</p>
+ * 提供当前时间的毫秒数和用于计时的纳秒数，不同实现在精度、开销和单调性上有所取舍：
+ * <ul>
+ *     <li>{@link #SYSTEM}：直接调用{@link System#currentTimeMillis()}和{@link System#nanoTime()}</li>
+ *     <li>{@link SystemClock}：后台线程定时缓存毫秒数，可选空闲时停止更新</li>
+ *     <li>{@link MonotonicClock}：以{@link System#nanoTime()}为基准推算，单调递增且精确到纳秒</li>
+ *     <li>{@link FakeClock}：手动设置和推进的时钟，用于测试</li>
+ * </ul>
+ * 全局共享的时钟源见{@link GlobalClock}
+ *
+ * @author Doug Wang
+ * @since 1.0, 2026-10-18 22:18:05
+ */
+@FunctionalInterface
+public interface ClockSource {
+
+    /**
+     * 系统时钟
+     */
+    ClockSource SYSTEM = System::currentTimeMillis;
+
+    /**
+     * 当前时间的毫秒数
+     *
+     * @return 毫秒数
+     */
+    long currentTimeMillis();
+
+    /**
+     * 用于计时的纳秒数，只能用于计算时间间隔，与当前时间无关
+     *
+     * @return 纳秒数
+     */
+    default long nanoTime() {
+        return System.nanoTime();
+    }
+}
@@ -3,8 +3,12 @@ package com.github.jarvisframework.tool.core.date;
 import com.github.jarvisframework.tool.core.lang.Assert;
 
 import java.io.Serializable;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.Month;
 import java.util.Calendar;
 import java.util.Date;
+import java.util.TimeZone;
 
 /**
  * <p>日期间隔</p>
@@ -102,6 +106,19 @@ public class DateBetween implements Serializable{
      * @since 3.0.8
      */
     public long betweenMonth(boolean isReset) {
+        final TimeZone beginZone = EpochUtils.timeZoneOf(begin);
+        final TimeZone endZone = EpochUtils.timeZoneOf(end);
+        if (EpochUtils.isCalendarCompatible(begin.getTime(), beginZone) && EpochUtils.isCalendarCompatible(end.getTime(), endZone)) {
+            final LocalDateTime beginTime = EpochUtils.toLocalDateTime(begin.getTime(), beginZone);
+            final LocalDateTime endTime = EpochUtils.toLocalDateTime(end.getTime(), endZone);
+            final int result = (endTime.getYear() - beginTime.getYear()) * 12 + endTime.getMonthValue() - beginTime.getMonthValue();
+            if (false == isReset
+                    && toEpochMillis(beginTime.getYear(), beginTime.getMonthValue(), endTime.getDayOfMonth(), endTime, endZone) < begin.getTime()) {
+                return result - 1;
+            }
+            return result;
+        }
+
         final Calendar beginCal = DateUtils.calendar(begin);
         final Calendar endCal = DateUtils.calendar(end);
 
@@ -129,6 +146,30 @@ public class DateBetween implements Serializable{
      * @since 3.0.8
      */
     public long betweenYear(boolean isReset) {
+        final TimeZone beginZone = EpochUtils.timeZoneOf(begin);
+        final TimeZone endZone = EpochUtils.timeZoneOf(end);
+        if (EpochUtils.isCalendarCompatible(begin.getTime(), beginZone) && EpochUtils.isCalendarCompatible(end.getTime(), endZone)) {
+            final LocalDateTime beginTime = EpochUtils.toLocalDateTime(begin.getTime(), beginZone);
+            final LocalDateTime endTime = EpochUtils.toLocalDateTime(end.getTime(), endZone);
+            final int result = endTime.getYear() - beginTime.getYear();
+            if (false == isReset) {
+                long beginMillis = begin.getTime();
+                int endDay = endTime.getDayOfMonth();
+                // 考虑闰年的2月情况
+                if (Month.FEBRUARY == beginTime.getMonth() && Month.FEBRUARY == endTime.getMonth()
+                        && beginTime.getDayOfMonth() == beginTime.toLocalDate().lengthOfMonth()
+                        && endTime.getDayOfMonth() == endTime.toLocalDate().lengthOfMonth()) {
+                    // 两个日期都位于2月的最后一天，此时月数按照相等对待，此时都设置为1号
+                    beginMillis = toEpochMillis(beginTime.getYear(), 2, 1, beginTime, beginZone);
+                    endDay = 1;
+                }
+                if (toEpochMillis(beginTime.getYear(), endTime.getMonthValue(), endDay, endTime, endZone) < beginMillis) {
+                    return result - 1;
+                }
+            }
+            return result;
+        }
+
         final Calendar beginCal = DateUtils.calendar(begin);
         final Calendar endCal = DateUtils.calendar(end);
 
@@ -167,4 +208,18 @@ public class DateBetween implements Serializable{
     public String toString() {
         return toString(BetweenFormat.Level.MILLISECOND);
     }
+
+    /**
+     * 按{@link Calendar}宽松模式设置年月日后的毫秒数，日超出当月天数时顺延到下个月
+     *
+     * @param year  年
+     * @param month 月，从1开始
+     * @param day   日
+     * @param time  提供时分秒毫秒的本地时间
+     * @param zone  时区
+     * @return 毫秒数
+     */
+    private static long toEpochMillis(int year, int month, int day, LocalDateTime time, TimeZone zone) {
+        return EpochUtils.toEpochMillis(LocalDate.of(year, month, 1).plusDays(day - 1).atTime(time.toLocalTime()), zone);
+    }
 }
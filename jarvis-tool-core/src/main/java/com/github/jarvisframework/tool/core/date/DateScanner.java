@@ -0,0 +1,472 @@
+package com.github.jarvisframework.tool.core.date;
+
+import java.text.ParseException;
+import java.util.Map;
+import java.util.TimeZone;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * <p>日期字符串单遍扫描解析器</p>
+ * 供{@link DateUtils#parse(CharSequence)}使用，逐字符识别以下常见格式并直接计算毫秒数，不使用正则、字符串替换和{@link java.util.Calendar}：
+ * <ol>
+ * <li>yyyyMMddHHmmss、yyyyMMddHHmmssSSS、yyyyMMdd、HHmmss</li>
+ * <li>yyyy-MM-dd[ HH:mm[:ss[.SSS]]]，日期分隔符可为"-"、"/"、"."或"年月日"，时间分隔符可为":"或"时分秒"</li>
+ * <li>HH:mm[:ss]，日期为今天</li>
+ * <li>yyyy-MM-dd'T'HH:mm:ss[.SSS]，以"Z"、"+0800"或"+08:00"结尾</li>
+ * <li>EEE MMM dd HH:mm:ss zzz yyyy，即{@link java.util.Date#toString()}的格式</li>
+ * </ol>
+ * 无法识别、字段越界或年份不在1900~9999之间时返回{@code null}，由调用方按原有逻辑解析。识别成功时结果（包括时区）与原有逻辑一致。
+ *
+ * @author Doug Wang
+ * @since 1.0, 2026-10-18 20:05:41
+ */
+final class DateScanner {
+
+    private static final long MILLIS_PER_SECOND = EpochUtils.MILLIS_PER_SECOND;
+    private static final long MILLIS_PER_MINUTE = EpochUtils.MILLIS_PER_MINUTE;
+    private static final long MILLIS_PER_HOUR = EpochUtils.MILLIS_PER_HOUR;
+    private static final long MILLIS_PER_DAY = EpochUtils.MILLIS_PER_DAY;
+
+    private static final String[] WEEKS = {"sun", "mon", "tue", "wed", "thu", "fri", "sat"};
+    private static final String[] MONTHS = {"jan", "feb", "mar", "apr", "may", "jun", "jul", "aug", "sep", "oct", "nov", "dec"};
+
+    /**
+     * {@link DatePattern#JDK_DATETIME_FORMAT}中时区名对应的偏移毫秒数缓存
+     */
+    private static final Map<String, Long> ZONE_NAME_OFFSETS = new ConcurrentHashMap<>();
+    private static final int MAX_ZONE_NAMES = 1024;
+
+    private final CharSequence str;
+    private final int end;
+    private int pos;
+
+    /**
+     * 构造
+     *
+     * @param str   日期字符串
+     * @param start 开始位置（包含）
+     * @param end   结束位置（不包含）
+     */
+    private DateScanner(CharSequence str, int start, int end) {
+        this.str = str;
+        this.pos = start;
+        this.end = end;
+    }
+
+    /**
+     * 扫描解析日期字符串
+     *
+     * @param str 日期字符串，非空白
+     * @return 日期对象，无法识别时返回{@code null}
+     */
+    static DateTime parse(CharSequence str) {
+        int start = 0;
+        int end = str.length();
+        while (start < end && str.charAt(start) <= ' ') {
+            start++;
+        }
+        while (end > start && str.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        if (start == end) {
+            return null;
+        }
+
+        final DateScanner scanner = new DateScanner(str, start, end);
+        final char c = str.charAt(start);
+        if (isDigit(c)) {
+            return scanner.scanNumeric();
+        } else if (isLetter(c)) {
+            return scanner.scanJdk();
+        }
+        return null;
+    }
+
+    // ---------------------------------------------------------------------------------------------- Private method start
+
+    /**
+     * 以数字开头的格式
+     */
+    private DateTime scanNumeric() {
+        final int digits = digitCount();
+        if (pos + digits == end) {
+            return scanPure(digits);
+        }
+        final char sep = str.charAt(pos + digits);
+        if (4 == digits && isDateSeparator(sep)) {
+            return scanDate();
+        } else if (digits <= 2 && ':' == sep) {
+            return scanTimeToday();
+        }
+        return null;
+    }
+
+    /**
+     * 纯数字：yyyyMMddHHmmss、yyyyMMddHHmmssSSS、yyyyMMdd、HHmmss
+     */
+    private DateTime scanPure(int length) {
+        switch (length) {
+            case 14:
+                return local(number(4, 4), number(2, 2), number(2, 2),
+                        number(2, 2), number(2, 2), number(2, 2), 0, DatePattern.PURE_DATETIME_FORMAT.getTimeZone());
+            case 17:
+                return local(number(4, 4), number(2, 2), number(2, 2),
+                        number(2, 2), number(2, 2), number(2, 2), number(3, 3), DatePattern.PURE_DATETIME_MS_FORMAT.getTimeZone());
+            case 8:
+                return local(number(4, 4), number(2, 2), number(2, 2), 0, 0, 0, 0, DatePattern.PURE_DATE_FORMAT.getTimeZone());
+            case 6:
+                return local(1970, 1, 1, number(2, 2), number(2, 2), number(2, 2), 0, DatePattern.PURE_TIME_FORMAT.getTimeZone());
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * yyyy-MM-dd[ HH:mm[:ss[.SSS]]] 或 yyyy-MM-dd'T'HH:mm:ss[.SSS]Z
+     */
+    private DateTime scanDate() {
+        final int start = pos;
+        final int year = number(4, 4);
+        final char sep1 = str.charAt(pos++);
+        final int month = number(1, 2);
+        if (month < 0 || pos == end) {
+            return null;
+        }
+        final char sep2 = str.charAt(pos++);
+        if (false == isDateSeparator(sep2) && '月' != sep2) {
+            return null;
+        }
+        final int day = number(1, 2);
+        if (day < 0) {
+            return null;
+        }
+        skip('日');
+        if (pos == end) {
+            return local(year, month, day, 0, 0, 0, 0, DatePattern.NORM_DATE_FORMAT.getTimeZone());
+        }
+
+        final char c = str.charAt(pos);
+        if ('T' == c) {
+            // 与DateUtils.parseUTC一致，仅支持固定宽度的格式
+            if ('-' != sep1 || '-' != sep2 || pos - start != DatePattern.NORM_DATE_PATTERN.length()) {
+                return null;
+            }
+            pos++;
+            return scanUtcTime(year, month, day);
+        } else if (' ' != c) {
+            return null;
+        }
+        while (pos < end && ' ' == str.charAt(pos)) {
+            pos++;
+        }
+
+        final int hour = number(1, 2);
+        if (hour < 0 || false == (skip(':') || skip('时'))) {
+            return null;
+        }
+        final int minute = number(1, 2);
+        if (minute < 0) {
+            return null;
+        }
+        if (skip(':') || skip('分')) {
+            if (pos == end) {
+                return local(year, month, day, hour, minute, 0, 0, DatePattern.NORM_DATETIME_MINUTE_FORMAT.getTimeZone());
+            }
+        } else if (pos == end) {
+            return local(year, month, day, hour, minute, 0, 0, DatePattern.NORM_DATETIME_MINUTE_FORMAT.getTimeZone());
+        } else {
+            return null;
+        }
+
+        final int second = number(1, 2);
+        if (second < 0) {
+            return null;
+        }
+        skip('秒');
+        if (pos == end) {
+            return local(year, month, day, hour, minute, second, 0, DatePattern.NORM_DATETIME_FORMAT.getTimeZone());
+        }
+        if (false == (skip('.') || skip(','))) {
+            return null;
+        }
+        final int millis = number(3, 3);
+        if (millis < 0 || pos != end) {
+            return null;
+        }
+        return local(year, month, day, hour, minute, second, millis, DatePattern.NORM_DATETIME_MS_FORMAT.getTimeZone());
+    }
+
+    /**
+     * 'T'之后的部分：HH:mm:ss[.SSS]，以"Z"、"+0800"或"+08:00"结尾
+     */
+    private DateTime scanUtcTime(int year, int month, int day) {
+        final int hour = number(2, 2);
+        if (hour < 0 || false == skip(':')) {
+            return null;
+        }
+        final int minute = number(2, 2);
+        if (minute < 0 || false == skip(':')) {
+            return null;
+        }
+        final int second = number(2, 2);
+        if (second < 0) {
+            return null;
+        }
+        int millis = 0;
+        if (skip('.')) {
+            millis = number(3, 3);
+            if (millis < 0) {
+                return null;
+            }
+        }
+        if (pos == end) {
+            return null;
+        }
+
+        final int offsetMinutes;
+        final char sign = str.charAt(pos++);
+        if ('Z' == sign) {
+            offsetMinutes = 0;
+        } else if ('+' == sign || '-' == sign) {
+            final int offsetHour = number(2, 2);
+            skip(':');
+            final int offsetMinute = number(2, 2);
+            if (offsetHour < 0 || offsetHour > 23 || offsetMinute < 0 || offsetMinute > 59) {
+                return null;
+            }
+            offsetMinutes = ('+' == sign ? 1 : -1) * (offsetHour * 60 + offsetMinute);
+        } else {
+            return null;
+        }
+        if (pos != end) {
+            return null;
+        }
+
+        final long local = localMillis(year, month, day, hour, minute, second, millis);
+        if (local == Long.MIN_VALUE) {
+            return null;
+        }
+        return new DateTime(local - offsetMinutes * MILLIS_PER_MINUTE, DatePattern.UTC_FORMAT.getTimeZone());
+    }
+
+    /**
+     * HH:mm[:ss]，日期为今天
+     */
+    private DateTime scanTimeToday() {
+        final int hour = number(1, 2);
+        skip(':');
+        final int minute = number(1, 2);
+        if (minute < 0) {
+            return null;
+        }
+        int second = 0;
+        final TimeZone timeZone;
+        if (skip(':')) {
+            second = number(1, 2);
+            if (second < 0) {
+                return null;
+            }
+            timeZone = DatePattern.NORM_DATETIME_FORMAT.getTimeZone();
+        } else {
+            // 与DateUtils.parseTimeToday一致，HH:mm按表达式解析，使用当前默认时区
+            timeZone = TimeZone.getDefault();
+        }
+        if (pos != end || hour > 23 || minute > 59 || second > 59) {
+            return null;
+        }
+
+        // 今天的日期由DateUtils.today()决定，即当前默认时区的日期
+        final long now = System.currentTimeMillis();
+        final long today = Math.floorDiv(now + TimeZone.getDefault().getOffset(now), MILLIS_PER_DAY);
+        return toDateTime(today * MILLIS_PER_DAY + hour * MILLIS_PER_HOUR + minute * MILLIS_PER_MINUTE + second * MILLIS_PER_SECOND, timeZone);
+    }
+
+    /**
+     * EEE MMM dd HH:mm:ss zzz yyyy，星期只校验名称，与原有解析逻辑一致
+     */
+    private DateTime scanJdk() {
+        if (name(WEEKS) < 0 || false == skip(' ')) {
+            return null;
+        }
+        final int month = name(MONTHS) + 1;
+        if (0 == month || false == skip(' ')) {
+            return null;
+        }
+        final int day = number(1, 2);
+        if (day < 0 || false == skip(' ')) {
+            return null;
+        }
+        final int hour = number(1, 2);
+        if (hour < 0 || false == skip(':')) {
+            return null;
+        }
+        final int minute = number(1, 2);
+        if (minute < 0 || false == skip(':')) {
+            return null;
+        }
+        final int second = number(1, 2);
+        if (second < 0 || false == skip(' ')) {
+            return null;
+        }
+        final int zoneStart = pos;
+        while (pos < end && ' ' != str.charAt(pos)) {
+            pos++;
+        }
+        final int zoneEnd = pos;
+        if (zoneStart == zoneEnd || false == skip(' ')) {
+            return null;
+        }
+        final int year = number(4, 4);
+        if (year < 0 || pos != end) {
+            return null;
+        }
+
+        final long local = localMillis(year, month, day, hour, minute, second, 0);
+        if (local == Long.MIN_VALUE) {
+            return null;
+        }
+        final Long offset = zoneNameOffset(str.subSequence(zoneStart, zoneEnd).toString());
+        if (null == offset) {
+            return null;
+        }
+        return new DateTime(local + offset, DatePattern.JDK_DATETIME_FORMAT.getTimeZone());
+    }
+
+    /**
+     * 读取数字
+     *
+     * @param min 最少位数
+     * @param max 最多位数
+     * @return 数字，位数不足时返回-1
+     */
+    private int number(int min, int max) {
+        int value = 0;
+        int count = 0;
+        while (count < max && pos < end) {
+            final char c = str.charAt(pos);
+            if (false == isDigit(c)) {
+                break;
+            }
+            value = value * 10 + (c - '0');
+            count++;
+            pos++;
+        }
+        return count < min ? -1 : value;
+    }
+
+    /**
+     * 从当前位置开始的连续数字个数，不移动位置
+     */
+    private int digitCount() {
+        int i = pos;
+        while (i < end && isDigit(str.charAt(i))) {
+            i++;
+        }
+        return i - pos;
+    }
+
+    /**
+     * 读取3个字母的名称，忽略大小写
+     *
+     * @param names 名称列表，小写
+     * @return 名称的位置，不匹配返回-1
+     */
+    private int name(String[] names) {
+        if (pos + 3 > end) {
+            return -1;
+        }
+        final char c1 = Character.toLowerCase(str.charAt(pos));
+        final char c2 = Character.toLowerCase(str.charAt(pos + 1));
+        final char c3 = Character.toLowerCase(str.charAt(pos + 2));
+        for (int i = 0; i < names.length; i++) {
+            final String name = names[i];
+            if (name.charAt(0) == c1 && name.charAt(1) == c2 && name.charAt(2) == c3) {
+                pos += 3;
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 当前字符为给定字符时跳过
+     *
+     * @param c 字符
+     * @return 是否跳过
+     */
+    private boolean skip(char c) {
+        if (pos < end && c == str.charAt(pos)) {
+            pos++;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * 按时区的本地时间构建日期对象
+     */
+    private static DateTime local(int year, int month, int day, int hour, int minute, int second, int millis, TimeZone timeZone) {
+        final long local = localMillis(year, month, day, hour, minute, second, millis);
+        if (local == Long.MIN_VALUE) {
+            return null;
+        }
+        return toDateTime(local, timeZone);
+    }
+
+    /**
+     * 将本地时间（按UTC计算的毫秒数）转换为给定时区的日期对象，夏令时的处理见{@link EpochUtils#toEpochMillis(long, TimeZone)}
+     */
+    private static DateTime toDateTime(long local, TimeZone timeZone) {
+        return new DateTime(EpochUtils.toEpochMillis(local, timeZone), timeZone);
+    }
+
+    /**
+     * 计算本地时间对应的UTC毫秒数，字段越界返回{@link Long#MIN_VALUE}
+     */
+    private static long localMillis(int year, int month, int day, int hour, int minute, int second, int millis) {
+        if (year < 1900 || month < 1 || month > 12 || day < 1 || day > EpochUtils.lengthOfMonth(year, month)
+                || hour < 0 || hour > 23 || minute < 0 || minute > 59 || second < 0 || second > 59 || millis < 0) {
+            return Long.MIN_VALUE;
+        }
+        return EpochUtils.epochDay(year, month, day) * MILLIS_PER_DAY
+                + hour * MILLIS_PER_HOUR + minute * MILLIS_PER_MINUTE + second * MILLIS_PER_SECOND + millis;
+    }
+
+    /**
+     * 获取时区名对应的偏移毫秒数，使用{@link DatePattern#JDK_DATETIME_FORMAT}解析1970-01-01 00:00:00得到，之后直接取缓存<br>
+     * 解析器对时区名按固定的偏移量计算，因此任意时刻的偏移量相同
+     *
+     * @param zoneName 时区名，例如CST、GMT+08:00、+0800
+     * @return 偏移毫秒数（UTC时间减本地时间），无法识别返回{@code null}
+     */
+    private static Long zoneNameOffset(String zoneName) {
+        Long offset = ZONE_NAME_OFFSETS.get(zoneName);
+        if (null == offset) {
+            try {
+                offset = DatePattern.JDK_DATETIME_FORMAT.parse("Thu Jan 01 00:00:00 " + zoneName + " 1970").getTime();
+            } catch (ParseException e) {
+                return null;
+            }
+            if (ZONE_NAME_OFFSETS.size() < MAX_ZONE_NAMES) {
+                ZONE_NAME_OFFSETS.put(zoneName, offset);
+            }
+        }
+        return offset;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isLetter(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+    }
+
+    /**
+     * 年与月之间的分隔符
+     */
+    private static boolean isDateSeparator(char c) {
+        return '-' == c || '/' == c || '.' == c || '年' == c;
+    }
+    // ---------------------------------------------------------------------------------------------- Private method end
+}
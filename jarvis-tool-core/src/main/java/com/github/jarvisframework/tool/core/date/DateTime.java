@@ -274,12 +274,8 @@ public class DateTime extends Date {
             throw new IllegalArgumentException("ERA is not support offset!");
         }
 
-        final Calendar cal = toCalendar();
-        //noinspection MagicConstant
-        cal.add(datePart.getValue(), offset);
-
         DateTime dt = mutable ? this : ObjectUtils.clone(this);
-        return dt.setTimeInternal(cal.getTimeInMillis());
+        return dt.setTimeInternal(offsetMillis(datePart, offset));
     }
 
     /**
@@ -292,12 +288,29 @@ public class DateTime extends Date {
      * @since 3.0.9
      */
     public DateTime offsetNew(DateFieldEnum datePart, int offset) {
+        DateTime dt = ObjectUtils.clone(this);
+        return dt.setTimeInternal(offsetMillis(datePart, offset));
+    }
+
+    /**
+     * 计算偏移后的毫秒数，公历日期直接以毫秒数计算，其它情况使用{@link Calendar#add(int, int)}
+     *
+     * @param datePart 调整的部分 {@link DateFieldEnum}
+     * @param offset   偏移量
+     * @return 偏移后的毫秒数
+     */
+    private long offsetMillis(DateFieldEnum datePart, int offset) {
+        final long time = getTime();
+        if (DateFieldEnum.ERA != datePart && DateFieldEnum.AM_PM != datePart && EpochUtils.isCalendarCompatible(time, timeZone)) {
+            final long result = EpochUtils.offset(time, datePart, offset, timeZone);
+            if (EpochUtils.isCalendarCompatible(result, timeZone)) {
+                return result;
+            }
+        }
         final Calendar cal = toCalendar();
         //noinspection MagicConstant
         cal.add(datePart.getValue(), offset);
-
-        DateTime dt = ObjectUtils.clone(this);
-        return dt.setTimeInternal(cal.getTimeInMillis());
+        return cal.getTimeInMillis();
     }
     // -------------------------------------------------------------------- offset end
 
@@ -322,6 +335,11 @@ public class DateTime extends Date {
      * @return 某个部分的值
      */
     public int getField(int field) {
+        final DateFieldEnum dateField = DateFieldEnum.of(field);
+        if (null != dateField && DateFieldEnum.WEEK_OF_YEAR != dateField && DateFieldEnum.WEEK_OF_MONTH != dateField
+                && EpochUtils.isCalendarCompatible(getTime(), timeZone)) {
+            return EpochUtils.getField(getTime(), dateField, timeZone);
+        }
         return toCalendar().get(field);
     }
 
@@ -868,6 +868,12 @@ public class DateUtils extends CalendarUtils {
         if (StringUtils.isBlank(dateCharSequence)) {
             return null;
         }
+        // 常见格式单遍扫描直接解析，无法识别的交由下面的逻辑处理
+        final DateTime scanned = DateScanner.parse(dateCharSequence);
+        if (null != scanned) {
+            return scanned;
+        }
+
         String dateStr = dateCharSequence.toString();
         // 去掉两边空格并去掉中文日期中的“日”和“秒”，以规范长度
         dateStr = StringUtils.removeAll(dateStr.trim(), '日', '秒');
@@ -937,6 +943,9 @@ public class DateUtils extends CalendarUtils {
      * @since 4.5.7
      */
     public static DateTime truncate(Date date, DateFieldEnum dateField) {
+        if (isEpochModifiable(date, dateField)) {
+            return epochResult(date, EpochUtils.truncate(date.getTime(), dateField, EpochUtils.timeZoneOf(date)));
+        }
         return new DateTime(truncate(calendar(date), dateField));
     }
 
@@ -961,6 +970,9 @@ public class DateUtils extends CalendarUtils {
      * @since 4.5.7
      */
     public static DateTime ceiling(Date date, DateFieldEnum dateField) {
+        if (isEpochModifiable(date, dateField)) {
+            return epochResult(date, EpochUtils.ceiling(date.getTime(), dateField, EpochUtils.timeZoneOf(date)));
+        }
         return new DateTime(ceiling(calendar(date), dateField));
     }
 
@@ -972,7 +984,7 @@ public class DateUtils extends CalendarUtils {
      * @since 4.6.2
      */
     public static DateTime beginOfSecond(Date date) {
-        return new DateTime(beginOfSecond(calendar(date)));
+        return truncate(date, DateFieldEnum.SECOND);
     }
 
     /**
@@ -983,7 +995,7 @@ public class DateUtils extends CalendarUtils {
      * @since 4.6.2
      */
     public static DateTime endOfSecond(Date date) {
-        return new DateTime(endOfSecond(calendar(date)));
+        return ceiling(date, DateFieldEnum.SECOND);
     }
 
     /**
@@ -993,7 +1005,7 @@ public class DateUtils extends CalendarUtils {
      * @return {@link DateTime}
      */
     public static DateTime beginOfDay(Date date) {
-        return new DateTime(beginOfDay(calendar(date)));
+        return truncate(date, DateFieldEnum.DAY_OF_MONTH);
     }
 
     /**
@@ -1003,7 +1015,7 @@ public class DateUtils extends CalendarUtils {
      * @return {@link DateTime}
      */
     public static DateTime endOfDay(Date date) {
-        return new DateTime(endOfDay(calendar(date)));
+        return ceiling(date, DateFieldEnum.DAY_OF_MONTH);
     }
 
     /**
@@ -1013,6 +1025,9 @@ public class DateUtils extends CalendarUtils {
      * @return {@link DateTime}
      */
     public static DateTime beginOfWeek(Date date) {
+        if (EpochUtils.isCalendarCompatible(date.getTime(), EpochUtils.timeZoneOf(date))) {
+            return new DateTime(EpochUtils.beginOfWeek(date.getTime(), EpochUtils.timeZoneOf(date), true), EpochUtils.timeZoneOf(date));
+        }
         return new DateTime(beginOfWeek(calendar(date)));
     }
 
@@ -1023,6 +1038,9 @@ public class DateUtils extends CalendarUtils {
      * @return {@link DateTime}
      */
     public static DateTime endOfWeek(Date date) {
+        if (EpochUtils.isCalendarCompatible(date.getTime(), EpochUtils.timeZoneOf(date))) {
+            return new DateTime(EpochUtils.endOfWeek(date.getTime(), EpochUtils.timeZoneOf(date), true), EpochUtils.timeZoneOf(date));
+        }
         return new DateTime(endOfWeek(calendar(date)));
     }
 
@@ -1033,7 +1051,7 @@ public class DateUtils extends CalendarUtils {
      * @return {@link DateTime}
      */
     public static DateTime beginOfMonth(Date date) {
-        return new DateTime(beginOfMonth(calendar(date)));
+        return truncate(date, DateFieldEnum.MONTH);
     }
 
     /**
@@ -1043,7 +1061,7 @@ public class DateUtils extends CalendarUtils {
      * @return {@link DateTime}
      */
     public static DateTime endOfMonth(Date date) {
-        return new DateTime(endOfMonth(calendar(date)));
+        return ceiling(date, DateFieldEnum.MONTH);
     }
 
     /**
@@ -1053,6 +1071,9 @@ public class DateUtils extends CalendarUtils {
      * @return {@link DateTime}
      */
     public static DateTime beginOfQuarter(Date date) {
+        if (EpochUtils.isCalendarCompatible(date.getTime(), EpochUtils.timeZoneOf(date))) {
+            return epochResult(date, EpochUtils.beginOfQuarter(date.getTime(), EpochUtils.timeZoneOf(date)));
+        }
         return new DateTime(beginOfQuarter(calendar(date)));
     }
 
@@ -1063,6 +1084,9 @@ public class DateUtils extends CalendarUtils {
      * @return {@link DateTime}
      */
     public static DateTime endOfQuarter(Date date) {
+        if (EpochUtils.isCalendarCompatible(date.getTime(), EpochUtils.timeZoneOf(date))) {
+            return epochResult(date, EpochUtils.endOfQuarter(date.getTime(), EpochUtils.timeZoneOf(date)));
+        }
         return new DateTime(endOfQuarter(calendar(date)));
     }
 
@@ -1073,7 +1097,7 @@ public class DateUtils extends CalendarUtils {
      * @return {@link DateTime}
      */
     public static DateTime beginOfYear(Date date) {
-        return new DateTime(beginOfYear(calendar(date)));
+        return truncate(date, DateFieldEnum.YEAR);
     }
 
     /**
@@ -1083,7 +1107,7 @@ public class DateUtils extends CalendarUtils {
      * @return {@link DateTime}
      */
     public static DateTime endOfYear(Date date) {
-        return new DateTime(endOfYear(calendar(date)));
+        return ceiling(date, DateFieldEnum.YEAR);
     }
     // --------------------------------------------------- Offset for now
 
@@ -1876,6 +1900,37 @@ public class DateUtils extends CalendarUtils {
 
     // ------------------------------------------------------------------------ Private method start
 
+    /**
+     * 给定字段的截取是否可以直接以毫秒数计算，周相关字段依赖一周的第一天，仍使用{@link Calendar}
+     *
+     * @param date      日期
+     * @param dateField 时间字段
+     * @return 是否可以直接计算
+     */
+    private static boolean isEpochModifiable(Date date, DateFieldEnum dateField) {
+        switch (dateField) {
+            case ERA:
+            case WEEK_OF_YEAR:
+            case WEEK_OF_MONTH:
+                return false;
+            default:
+                return EpochUtils.isCalendarCompatible(date.getTime(), EpochUtils.timeZoneOf(date));
+        }
+    }
+
+    /**
+     * 以毫秒数计算的结果构建{@link DateTime}，时区和一周的第一天与经{@link Calendar}计算的结果一致
+     *
+     * @param date   原日期
+     * @param millis 计算结果的毫秒数
+     * @return {@link DateTime}
+     */
+    private static DateTime epochResult(Date date, long millis) {
+        final DateTime result = new DateTime(millis, EpochUtils.timeZoneOf(date));
+        result.setFirstDayOfWeek(date instanceof DateTime ? ((DateTime) date).getFirstDayOfWeek() : WeekEnum.of(EpochUtils.firstDayOfWeek()));
+        return result;
+    }
+
     /**
      * 标准化日期，默认处理以空格区分的日期时间格式，空格前为日期，空格后为时间：<br>
      * 将以下字符替换为"-"
@@ -0,0 +1,476 @@
+package com.github.jarvisframework.tool.core.date;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TimeZone;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * <p>毫秒数（epoch millis）日期工具类</p>
+ * 直接以毫秒数和时区计算日期字段、偏移、截取，不创建{@link Calendar}。时区偏移通过缓存的{@link ZoneRules}获得，
+ * 本地时间转换为毫秒数时与{@link GregorianCalendar}的处理一致：夏令时重叠时取标准时间（较晚的时刻），跳过的时间向后顺延。
+ * <p>
+ * 日期按ISO公历计算（1582年10月15日前同样按公历），不支持的字段抛出{@link IllegalArgumentException}。
+ *
+ * @author Doug Wang
+ * @since 1.0, 2026-10-18 20:41:09
+ */
+public class EpochUtils {
+
+    static final long MILLIS_PER_SECOND = 1000L;
+    static final long MILLIS_PER_MINUTE = 60 * MILLIS_PER_SECOND;
+    static final long MILLIS_PER_HOUR = 60 * MILLIS_PER_MINUTE;
+    static final long MILLIS_PER_DAY = 24 * MILLIS_PER_HOUR;
+    /**
+     * 0000-03-01至1970-01-01的天数
+     */
+    private static final long DAYS_0000_TO_1970 = 719468L;
+    /**
+     * 1901-01-01 00:00:00 UTC，此后{@link GregorianCalendar}与ISO公历的计算结果一致，且{@link TimeZone}与{@link ZoneRules}的偏移一致（1900年前的地方平时LMT两者处理不同），
+     * 截取到年初后仍不早于1900年
+     */
+    private static final long CALENDAR_SAFE_MILLIS = -2177452800000L;
+    /**
+     * JDK内置时区的实现类
+     */
+    private static final Class<?> ZONE_CLASS = TimeZone.getTimeZone("UTC").getClass();
+
+    /**
+     * 时区规则缓存，key为时区ID
+     */
+    private static final Map<String, ZoneRules> ZONE_RULES = new ConcurrentHashMap<>();
+    /**
+     * 地域对应的{@link Calendar}一周的第一天，{@link Calendar}不是{@link GregorianCalendar}时为0
+     */
+    private static final Map<Locale, Integer> LOCALE_FIRST_DAYS = new ConcurrentHashMap<>();
+
+    /**
+     * 获取时区规则，按时区ID缓存
+     *
+     * @param zone 时区
+     * @return {@link ZoneRules}
+     */
+    public static ZoneRules getRules(TimeZone zone) {
+        return ZONE_RULES.computeIfAbsent(zone.getID(), id -> zone.toZoneId().getRules());
+    }
+
+    /**
+     * 获取给定时刻的时区偏移
+     *
+     * @param epochMillis 毫秒数
+     * @param zone        时区
+     * @return 偏移毫秒数（本地时间减UTC时间）
+     */
+    public static int getOffset(long epochMillis, TimeZone zone) {
+        final ZoneRules rules = getRules(zone);
+        final ZoneOffset offset = rules.isFixedOffset() ? rules.getOffset(Instant.EPOCH) : rules.getOffset(Instant.ofEpochMilli(epochMillis));
+        return offset.getTotalSeconds() * 1000;
+    }
+
+    /**
+     * 毫秒数转换为本地时间的毫秒数，即将本地时间按UTC计算的毫秒数
+     *
+     * @param epochMillis 毫秒数
+     * @param zone        时区
+     * @return 本地时间的毫秒数
+     */
+    public static long toLocalMillis(long epochMillis, TimeZone zone) {
+        return epochMillis + getOffset(epochMillis, zone);
+    }
+
+    /**
+     * 本地时间的毫秒数转换为毫秒数<br>
+     * 夏令时重叠时取标准时间（较晚的时刻），跳过的时间按跳变前的偏移计算（即向后顺延），与{@link GregorianCalendar}一致
+     *
+     * @param localMillis 本地时间按UTC计算的毫秒数
+     * @param zone        时区
+     * @return 毫秒数
+     */
+    public static long toEpochMillis(long localMillis, TimeZone zone) {
+        final ZoneRules rules = getRules(zone);
+        final ZoneOffset offset;
+        if (rules.isFixedOffset()) {
+            offset = rules.getOffset(Instant.EPOCH);
+        } else {
+            final LocalDateTime dateTime = LocalDateTime.ofEpochSecond(
+                    Math.floorDiv(localMillis, MILLIS_PER_SECOND), (int) Math.floorMod(localMillis, MILLIS_PER_SECOND) * 1000_000, ZoneOffset.UTC);
+            final ZoneOffsetTransition transition = rules.getTransition(dateTime);
+            if (null == transition) {
+                offset = rules.getOffset(dateTime);
+            } else if (transition.isGap()) {
+                offset = transition.getOffsetBefore();
+            } else {
+                offset = transition.getOffsetAfter();
+            }
+        }
+        return localMillis - offset.getTotalSeconds() * MILLIS_PER_SECOND;
+    }
+
+    /**
+     * 毫秒数转换为{@link LocalDateTime}
+     *
+     * @param epochMillis 毫秒数
+     * @param zone        时区
+     * @return {@link LocalDateTime}
+     */
+    public static LocalDateTime toLocalDateTime(long epochMillis, TimeZone zone) {
+        final long local = toLocalMillis(epochMillis, zone);
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(local, MILLIS_PER_SECOND), (int) Math.floorMod(local, MILLIS_PER_SECOND) * 1000_000, ZoneOffset.UTC);
+    }
+
+    /**
+     * {@link LocalDateTime}转换为毫秒数，毫秒以下的部分舍去<br>
+     * 夏令时的处理见{@link #toEpochMillis(long, TimeZone)}
+     *
+     * @param localDateTime {@link LocalDateTime}
+     * @param zone          时区
+     * @return 毫秒数
+     */
+    public static long toEpochMillis(LocalDateTime localDateTime, TimeZone zone) {
+        final long local = localDateTime.toLocalDate().toEpochDay() * MILLIS_PER_DAY + localDateTime.toLocalTime().toNanoOfDay() / 1000_000;
+        return toEpochMillis(local, zone);
+    }
+
+    /**
+     * 获得日期的某个部分，取值与{@link Calendar#get(int)}一致（月份从0开始，星期1表示周日）
+     *
+     * @param epochMillis 毫秒数
+     * @param field       字段，不支持{@link DateFieldEnum#WEEK_OF_YEAR}和{@link DateFieldEnum#WEEK_OF_MONTH}
+     * @param zone        时区
+     * @return 字段值
+     * @throws IllegalArgumentException 不支持的字段
+     */
+    public static int getField(long epochMillis, DateFieldEnum field, TimeZone zone) {
+        final long local = toLocalMillis(epochMillis, zone);
+        final long epochDay = Math.floorDiv(local, MILLIS_PER_DAY);
+        final int millisOfDay = (int) Math.floorMod(local, MILLIS_PER_DAY);
+        switch (field) {
+            case ERA:
+                return yearOfEpochDay(epochDay) > 0 ? GregorianCalendar.AD : GregorianCalendar.BC;
+            case YEAR:
+                return yearOfEpochDay(epochDay);
+            case MONTH:
+                return (int) (dateOfEpochDay(epochDay) >> 8 & 0xFF) - 1;
+            case DAY_OF_MONTH:
+                return (int) (dateOfEpochDay(epochDay) & 0xFF);
+            case DAY_OF_YEAR:
+                return (int) (epochDay - epochDay(yearOfEpochDay(epochDay), 1, 1)) + 1;
+            case DAY_OF_WEEK:
+                // 1970-01-01为周四
+                return (int) Math.floorMod(epochDay + 4, 7) + 1;
+            case DAY_OF_WEEK_IN_MONTH:
+                return (int) ((dateOfEpochDay(epochDay) & 0xFF) - 1) / 7 + 1;
+            case AM_PM:
+                return millisOfDay < 12 * MILLIS_PER_HOUR ? Calendar.AM : Calendar.PM;
+            case HOUR:
+                return (int) (millisOfDay / MILLIS_PER_HOUR) % 12;
+            case HOUR_OF_DAY:
+                return (int) (millisOfDay / MILLIS_PER_HOUR);
+            case MINUTE:
+                return (int) (millisOfDay / MILLIS_PER_MINUTE % 60);
+            case SECOND:
+                return (int) (millisOfDay / MILLIS_PER_SECOND % 60);
+            case MILLISECOND:
+                return (int) (millisOfDay % MILLIS_PER_SECOND);
+            default:
+                throw new IllegalArgumentException("Unsupported field: " + field);
+        }
+    }
+
+    /**
+     * 偏移日期，与{@link Calendar#add(int, int)}一致：<br>
+     * 时分秒毫秒按毫秒数偏移；天和周保持本地时间不变；月和年保持日不变，超出当月天数时取当月最后一天
+     *
+     * @param epochMillis 毫秒数
+     * @param field       偏移的字段，不支持{@link DateFieldEnum#ERA}和{@link DateFieldEnum#AM_PM}
+     * @param amount      偏移量，正数为向后偏移，负数为向前偏移
+     * @param zone        时区
+     * @return 偏移后的毫秒数
+     * @throws IllegalArgumentException 不支持的字段
+     */
+    public static long offset(long epochMillis, DateFieldEnum field, int amount, TimeZone zone) {
+        if (0 == amount) {
+            // 与Calendar#add一致，偏移量为0时不重新计算，夏令时重叠时段内的时刻保持不变
+            return epochMillis;
+        }
+        switch (field) {
+            case MILLISECOND:
+                return epochMillis + amount;
+            case SECOND:
+                return epochMillis + amount * MILLIS_PER_SECOND;
+            case MINUTE:
+                return epochMillis + amount * MILLIS_PER_MINUTE;
+            case HOUR:
+            case HOUR_OF_DAY:
+                return epochMillis + amount * MILLIS_PER_HOUR;
+            case DAY_OF_MONTH:
+            case DAY_OF_YEAR:
+            case DAY_OF_WEEK:
+                return offsetDay(epochMillis, amount, zone);
+            case WEEK_OF_YEAR:
+            case WEEK_OF_MONTH:
+            case DAY_OF_WEEK_IN_MONTH:
+                return offsetDay(epochMillis, amount * 7L, zone);
+            case MONTH:
+                return toEpochMillis(toLocalDateTime(epochMillis, zone).plusMonths(amount), zone);
+            case YEAR:
+                return toEpochMillis(toLocalDateTime(epochMillis, zone).plusYears(amount), zone);
+            default:
+                throw new IllegalArgumentException("Unsupported field: " + field);
+        }
+    }
+
+    /**
+     * 修改日期为某个时间字段起始时间，与{@link DateUtils#truncate(java.util.Date, DateFieldEnum)}一致
+     *
+     * @param epochMillis 毫秒数
+     * @param field       保留到的字段，不支持{@link DateFieldEnum#ERA}和周相关字段
+     * @param zone        时区
+     * @return 修改后的毫秒数
+     * @throws IllegalArgumentException 不支持的字段
+     */
+    public static long truncate(long epochMillis, DateFieldEnum field, TimeZone zone) {
+        return modify(epochMillis, field, zone, false);
+    }
+
+    /**
+     * 修改日期为某个时间字段结束时间，与{@link DateUtils#ceiling(java.util.Date, DateFieldEnum)}一致
+     *
+     * @param epochMillis 毫秒数
+     * @param field       保留到的字段，不支持{@link DateFieldEnum#ERA}和周相关字段
+     * @param zone        时区
+     * @return 修改后的毫秒数
+     * @throws IllegalArgumentException 不支持的字段
+     */
+    public static long ceiling(long epochMillis, DateFieldEnum field, TimeZone zone) {
+        return modify(epochMillis, field, zone, true);
+    }
+
+    /**
+     * 获取某周的开始时间
+     *
+     * @param epochMillis        毫秒数
+     * @param zone               时区
+     * @param isMondayAsFirstDay 是否周一做为一周的第一天（false表示周日做为第一天）
+     * @return 一周第一天的开始时间
+     */
+    public static long beginOfWeek(long epochMillis, TimeZone zone, boolean isMondayAsFirstDay) {
+        final long epochDay = Math.floorDiv(toLocalMillis(epochMillis, zone), MILLIS_PER_DAY);
+        // 距一周第一天的天数，1970-01-01为周四
+        final long days = Math.floorMod(epochDay + (isMondayAsFirstDay ? 3 : 4), 7);
+        return toEpochMillis((epochDay - days) * MILLIS_PER_DAY, zone);
+    }
+
+    /**
+     * 获取某周的结束时间
+     *
+     * @param epochMillis       毫秒数
+     * @param zone              时区
+     * @param isSundayAsLastDay 是否周日做为一周的最后一天（false表示周六做为最后一天）
+     * @return 一周最后一天的结束时间
+     */
+    public static long endOfWeek(long epochMillis, TimeZone zone, boolean isSundayAsLastDay) {
+        final long epochDay = Math.floorDiv(toLocalMillis(epochMillis, zone), MILLIS_PER_DAY);
+        final long days = 6 - Math.floorMod(epochDay + (isSundayAsLastDay ? 3 : 4), 7);
+        return toEpochMillis((epochDay + days + 1) * MILLIS_PER_DAY - 1, zone);
+    }
+
+    /**
+     * 获取某季度的开始时间
+     *
+     * @param epochMillis 毫秒数
+     * @param zone        时区
+     * @return 季度第一天的开始时间
+     */
+    public static long beginOfQuarter(long epochMillis, TimeZone zone) {
+        final long local = toLocalMillis(epochMillis, zone);
+        final long date = dateOfEpochDay(Math.floorDiv(local, MILLIS_PER_DAY));
+        final int month = (int) (date >> 8 & 0xFF);
+        return toEpochMillis(epochDay((int) (date >> 16), (month - 1) / 3 * 3 + 1, 1) * MILLIS_PER_DAY, zone);
+    }
+
+    /**
+     * 获取某季度的结束时间
+     *
+     * @param epochMillis 毫秒数
+     * @param zone        时区
+     * @return 季度最后一天的结束时间
+     */
+    public static long endOfQuarter(long epochMillis, TimeZone zone) {
+        final long local = toLocalMillis(epochMillis, zone);
+        final long date = dateOfEpochDay(Math.floorDiv(local, MILLIS_PER_DAY));
+        final int year = (int) (date >> 16);
+        final int month = (int) (date >> 8 & 0xFF) + 2 - ((int) (date >> 8 & 0xFF) - 1) % 3;
+        return toEpochMillis((epochDay(year, month, lengthOfMonth(year, month)) + 1) * MILLIS_PER_DAY - 1, zone);
+    }
+
+    // ---------------------------------------------------------------------------------------------- Package method start
+
+    /**
+     * 给定时刻按当前默认地域的{@link Calendar}计算时，结果是否与本类一致<br>
+     * 要求默认地域的日历为{@link GregorianCalendar}（非泰国佛历、日本和历等），时区为JDK内置时区（非自定义的{@link java.util.SimpleTimeZone}等），且时刻不早于1901年
+     *
+     * @param epochMillis 毫秒数
+     * @param zone        时区
+     * @return 是否一致
+     */
+    static boolean isCalendarCompatible(long epochMillis, TimeZone zone) {
+        return epochMillis >= CALENDAR_SAFE_MILLIS && ZONE_CLASS == zone.getClass() && 0 != firstDayOfWeek();
+    }
+
+    /**
+     * 获取日期计算时使用的时区，与{@link DateUtils#calendar(java.util.Date)}一致：{@link DateTime}使用自身时区，其它使用默认时区
+     *
+     * @param date 日期
+     * @return 时区
+     */
+    static TimeZone timeZoneOf(java.util.Date date) {
+        return date instanceof DateTime ? ((DateTime) date).getTimeZone() : TimeZone.getDefault();
+    }
+
+    /**
+     * 当前默认地域的{@link Calendar}一周的第一天
+     *
+     * @return 一周的第一天，见{@link Calendar#SUNDAY}等，默认地域的日历不是{@link GregorianCalendar}时返回0
+     */
+    static int firstDayOfWeek() {
+        return LOCALE_FIRST_DAYS.computeIfAbsent(Locale.getDefault(Locale.Category.FORMAT), key -> {
+            final Calendar calendar = Calendar.getInstance(key);
+            return GregorianCalendar.class == calendar.getClass() ? calendar.getFirstDayOfWeek() : 0;
+        });
+    }
+
+    /**
+     * 公历日期距1970-01-01的天数，以3月为一年的开始计算，闰日位于年末
+     *
+     * @param year  年
+     * @param month 月，从1开始
+     * @param day   日
+     * @return 天数
+     */
+    static long epochDay(int year, int month, int day) {
+        final long y = month <= 2 ? year - 1 : year;
+        final long era = Math.floorDiv(y, 400);
+        final long yearOfEra = y - era * 400;
+        final long dayOfYear = (153 * (month > 2 ? month - 3 : month + 9) + 2) / 5 + day - 1;
+        final long dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146097 + dayOfEra - DAYS_0000_TO_1970;
+    }
+
+    /**
+     * 月份的天数
+     *
+     * @param year  年
+     * @param month 月，从1开始
+     * @return 天数
+     */
+    static int lengthOfMonth(int year, int month) {
+        switch (month) {
+            case 2:
+                return ((year & 3) == 0 && (year % 100 != 0 || year % 400 == 0)) ? 29 : 28;
+            case 4:
+            case 6:
+            case 9:
+            case 11:
+                return 30;
+            default:
+                return 31;
+        }
+    }
+    // ---------------------------------------------------------------------------------------------- Package method end
+
+    // ---------------------------------------------------------------------------------------------- Private method start
+
+    /**
+     * 天数转换为日期，按位打包：年 &lt;&lt; 16 | 月 &lt;&lt; 8 | 日
+     */
+    private static long dateOfEpochDay(long epochDay) {
+        final long z = epochDay + DAYS_0000_TO_1970;
+        final long era = Math.floorDiv(z, 146097);
+        final long dayOfEra = z - era * 146097;
+        final long yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+        final long dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        final long mp = (5 * dayOfYear + 2) / 153;
+        final long day = dayOfYear - (153 * mp + 2) / 5 + 1;
+        final long month = mp < 10 ? mp + 3 : mp - 9;
+        final long year = yearOfEra + era * 400 + (month <= 2 ? 1 : 0);
+        return year << 16 | month << 8 | day;
+    }
+
+    private static int yearOfEpochDay(long epochDay) {
+        return (int) (dateOfEpochDay(epochDay) >> 16);
+    }
+
+    /**
+     * 按天偏移，与{@link GregorianCalendar#add(int, int)}一致：保持本地时间不变，偏移后时区偏移变化时尽量保持同一天
+     */
+    private static long offsetDay(long epochMillis, long days, TimeZone zone) {
+        final int offset = getOffset(epochMillis, zone);
+        final long targetLocal = epochMillis + offset + days * MILLIS_PER_DAY;
+        final long time = targetLocal - offset;
+        final int diff = offset - getOffset(time, zone);
+        if (0 != diff) {
+            final long adjusted = time + diff;
+            if (Math.floorDiv(toLocalMillis(adjusted, zone), MILLIS_PER_DAY) == Math.floorDiv(targetLocal, MILLIS_PER_DAY)) {
+                return adjusted;
+            }
+        }
+        return time;
+    }
+
+    /**
+     * 按{@link DateModifier}的规则将给定字段之后的字段设为最小值或最大值
+     *
+     * @param ceiling true设为最大值，false设为最小值
+     */
+    private static long modify(long epochMillis, DateFieldEnum field, TimeZone zone, boolean ceiling) {
+        final long local = toLocalMillis(epochMillis, zone);
+        final long epochDay = Math.floorDiv(local, MILLIS_PER_DAY);
+        final long millisOfDay = Math.floorMod(local, MILLIS_PER_DAY);
+
+        final long unit;
+        switch (field) {
+            case MILLISECOND:
+                return epochMillis;
+            case SECOND:
+                unit = MILLIS_PER_SECOND;
+                break;
+            case MINUTE:
+                unit = MILLIS_PER_MINUTE;
+                break;
+            case HOUR:
+            case HOUR_OF_DAY:
+                unit = MILLIS_PER_HOUR;
+                break;
+            case AM_PM:
+                unit = 12 * MILLIS_PER_HOUR;
+                break;
+            case DAY_OF_MONTH:
+            case DAY_OF_YEAR:
+            case DAY_OF_WEEK:
+            case DAY_OF_WEEK_IN_MONTH:
+                unit = MILLIS_PER_DAY;
+                break;
+            case MONTH:
+            case YEAR: {
+                final long date = dateOfEpochDay(epochDay);
+                final int year = (int) (date >> 16);
+                final int month = DateFieldEnum.YEAR == field ? (ceiling ? 12 : 1) : (int) (date >> 8 & 0xFF);
+                final long day = ceiling ? epochDay(year, month, lengthOfMonth(year, month)) + 1 : epochDay(year, month, 1);
+                return toEpochMillis(day * MILLIS_PER_DAY - (ceiling ? 1 : 0), zone);
+            }
+            default:
+                throw new IllegalArgumentException("Unsupported field: " + field);
+        }
+        final long begin = epochDay * MILLIS_PER_DAY + millisOfDay / unit * unit;
+        return toEpochMillis(ceiling ? begin + unit - 1 : begin, zone);
+    }
+    // ---------------------------------------------------------------------------------------------- Private method end
+}
@@ -0,0 +1,75 @@
+package com.github.jarvisframework.tool.core.date;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * <p>测试用时钟</p>
+ * 时间只在调用{@link #set(long)}或{@link #advance(long, TimeUnit)}时变化，毫秒数和纳秒数同步推进，
+ * 配合{@link GlobalClock#set(ClockSource)}使用可以测试过期、超时、时钟回拨等与时间相关的逻辑。
+ *
+ * <pre>
+ * FakeClock clock = new FakeClock(0);
+ * GlobalClock.set(clock);
+ * clock.advance(5, TimeUnit.SECONDS);
+ * </pre>
+ *
+ * @author Doug Wang
+ * @since 1.0, 2026-10-18 22:18:05
+ */
+public class FakeClock implements ClockSource {
+
+    /**
+     * 当前时间的纳秒数
+     */
+    private final AtomicLong nanos;
+
+    /**
+     * 构造，以当前系统时间开始
+     */
+    public FakeClock() {
+        this(System.currentTimeMillis());
+    }
+
+    /**
+     * 构造
+     *
+     * @param millis 初始时间的毫秒数
+     */
+    public FakeClock(long millis) {
+        this.nanos = new AtomicLong(TimeUnit.MILLISECONDS.toNanos(millis));
+    }
+
+    /**
+     * 设置当前时间，可早于之前的时间以模拟时钟回拨
+     *
+     * @param millis 毫秒数
+     * @return this
+     */
+    public FakeClock set(long millis) {
+        nanos.set(TimeUnit.MILLISECONDS.toNanos(millis));
+        return this;
+    }
+
+    /**
+     * 推进时间，负数表示回拨
+     *
+     * @param duration 时长
+     * @param unit     时长单位
+     * @return this
+     */
+    public FakeClock advance(long duration, TimeUnit unit) {
+        nanos.addAndGet(unit.toNanos(duration));
+        return this;
+    }
+
+    @Override
+    public long currentTimeMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(nanos.get());
+    }
+
+    @Override
+    public long nanoTime() {
+        return nanos.get();
+    }
+}
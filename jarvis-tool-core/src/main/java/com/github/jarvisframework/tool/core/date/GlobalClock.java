@@ -0,0 +1,62 @@
+package com.github.jarvisframework.tool.core.date;
+
+import com.github.jarvisframework.tool.core.lang.Assert;
+
+/**
+ * <p>全局共享的时钟源</p>
+ * {@link TimeInterval}、{@link StopWatch}、{@link com.github.jarvisframework.tool.core.lang.Snowflake}等通过此类获取时间，
+ * 替换为{@link FakeClock}即可在测试中控制时间，默认为{@link ClockSource#SYSTEM}
+ *
+ * @author Doug Wang
+ * @since 1.0, 2026-10-18 22:18:05
+ */
+public class GlobalClock {
+
+    private static volatile ClockSource source = ClockSource.SYSTEM;
+
+    private GlobalClock() {
+    }
+
+    /**
+     * 获取全局时钟源
+     *
+     * @return 时钟源
+     */
+    public static ClockSource get() {
+        return source;
+    }
+
+    /**
+     * 设置全局时钟源
+     *
+     * @param clockSource 时钟源
+     */
+    public static void set(ClockSource clockSource) {
+        source = Assert.notNull(clockSource, "ClockSource must not be null!");
+    }
+
+    /**
+     * 恢复为系统时钟
+     */
+    public static void reset() {
+        source = ClockSource.SYSTEM;
+    }
+
+    /**
+     * 全局时钟源的当前时间毫秒数
+     *
+     * @return 毫秒数
+     */
+    public static long currentTimeMillis() {
+        return source.currentTimeMillis();
+    }
+
+    /**
+     * 全局时钟源的计时纳秒数
+     *
+     * @return 纳秒数
+     */
+    public static long nanoTime() {
+        return source.nanoTime();
+    }
+}
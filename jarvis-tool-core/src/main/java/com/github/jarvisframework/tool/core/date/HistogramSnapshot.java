@@ -0,0 +1,162 @@
+package com.github.jarvisframework.tool.core.date;
+
+import com.github.jarvisframework.tool.core.util.StringUtils;
+
+/**
+ * <p>直方图快照</p>
+ * {@link ProfileTimer}在某一时刻（或某一区间内）合并各线程记录得到的统计结果，创建后不再变化。
+ * 分位数按对数-线性分桶计算，相对误差不超过0.4%；最大值为精确值（未知时取所在桶的上界）。
+ *
+ * @author Doug Wang
+ * @since 1.0, 2026-10-18 22:41:30
+ */
+public final class HistogramSnapshot {
+
+    private final String name;
+    private final long[] counts;
+    private final long totalCount;
+    private final long sum;
+    private final long max;
+
+    /**
+     * 构造
+     *
+     * @param name   名称
+     * @param counts 每个桶的计数
+     * @param sum    所有值的和
+     * @param max    精确的最大值，未知时为-1
+     */
+    HistogramSnapshot(String name, long[] counts, long sum, long max) {
+        this.name = name;
+        this.counts = counts;
+        long total = 0;
+        for (long count : counts) {
+            total += count;
+        }
+        this.totalCount = total;
+        this.sum = sum;
+        this.max = max;
+    }
+
+    /**
+     * 获取名称
+     *
+     * @return 名称
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * 记录的次数
+     *
+     * @return 次数
+     */
+    public long getCount() {
+        return totalCount;
+    }
+
+    /**
+     * 所有值的和
+     *
+     * @return 和
+     */
+    public long getSum() {
+        return sum;
+    }
+
+    /**
+     * 平均值
+     *
+     * @return 平均值，没有记录时为0
+     */
+    public double getMean() {
+        return 0 == totalCount ? 0 : (double) sum / totalCount;
+    }
+
+    /**
+     * 最小值（所在桶的下界）
+     *
+     * @return 最小值，没有记录时为0
+     */
+    public long getMin() {
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] > 0) {
+                return LogLinearBuckets.lowestValue(i);
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * 最大值
+     *
+     * @return 最大值，没有记录时为0
+     */
+    public long getMax() {
+        for (int i = counts.length - 1; i >= 0; i--) {
+            if (counts[i] > 0) {
+                final long highest = LogLinearBuckets.highestValue(i);
+                // 超出范围的值记录在最后一个桶，此时只有精确值可用
+                return max >= 0 && (max <= highest || i == counts.length - 1) ? max : highest;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * 获取给定百分位的值
+     *
+     * @param percentile 百分位，取值(0, 100]，如99.9
+     * @return 值，没有记录时为0
+     */
+    public long getValueAtPercentile(double percentile) {
+        if (0 == totalCount) {
+            return 0;
+        }
+        final double p = Math.min(Math.max(percentile, 0), 100);
+        final long rank = Math.max(1, (long) Math.ceil(p / 100 * totalCount));
+        final long maxValue = getMax();
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return i == counts.length - 1 ? maxValue : Math.min(LogLinearBuckets.medianValue(i), maxValue);
+            }
+        }
+        return maxValue;
+    }
+
+    /**
+     * 中位数
+     *
+     * @return p50
+     */
+    public long getP50() {
+        return getValueAtPercentile(50);
+    }
+
+    /**
+     * 99分位
+     *
+     * @return p99
+     */
+    public long getP99() {
+        return getValueAtPercentile(99);
+    }
+
+    /**
+     * 99.9分位
+     *
+     * @return p999
+     */
+    public long getP999() {
+        return getValueAtPercentile(99.9);
+    }
+
+    @Override
+    public String toString() {
+        return StringUtils.format("{}: count={}, mean={}, p50={}, p99={}, p999={}, max={}",
+                name, totalCount, Math.round(getMean()), getP50(), getP99(), getP999(), getMax());
+    }
+}
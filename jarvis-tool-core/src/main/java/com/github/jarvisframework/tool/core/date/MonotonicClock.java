@@ -0,0 +1,58 @@
+package com.github.jarvisframework.tool.core.date;
+
+/**
+ * <p>单调时钟</p>
+ * 创建时记录一次{@link System#currentTimeMillis()}和{@link System#nanoTime()}作为基准，之后的时间都由{@link System#nanoTime()}推算：
+ * 不受系统时间调整（NTP校时、手动修改）影响，不会回退，并可精确到纳秒。
+ * <p>
+ * 长时间运行后与系统时间可能存在少量偏差，需要时可调用{@link #resync()}重新对齐。
+ *
+ * @author Doug Wang
+ * @since 1.0, 2026-10-18 22:18:05
+ */
+public class MonotonicClock implements ClockSource {
+
+    /**
+     * 基准，数组中依次为毫秒数和纳秒数，整体替换以保证一致
+     */
+    private volatile long[] anchor;
+
+    /**
+     * 构造
+     */
+    public MonotonicClock() {
+        resync();
+    }
+
+    /**
+     * 重新与系统时间对齐，对齐后时间可能回退
+     */
+    public void resync() {
+        this.anchor = new long[]{System.currentTimeMillis(), System.nanoTime()};
+    }
+
+    @Override
+    public long currentTimeMillis() {
+        final long[] anchor = this.anchor;
+        return anchor[0] + (System.nanoTime() - anchor[1]) / 1000000L;
+    }
+
+    /**
+     * 当前时间的纳秒数（自1970-01-01 00:00:00 UTC）
+     *
+     * @return 纳秒数
+     */
+    public long currentTimeNanos() {
+        final long[] anchor = this.anchor;
+        return anchor[0] * 1000000L + (System.nanoTime() - anchor[1]);
+    }
+
+    /**
+     * 当前时间的微秒数（自1970-01-01 00:00:00 UTC）
+     *
+     * @return 微秒数
+     */
+    public long currentTimeMicros() {
+        return currentTimeNanos() / 1000L;
+    }
+}
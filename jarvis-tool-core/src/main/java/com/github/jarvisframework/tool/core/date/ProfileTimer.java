@@ -0,0 +1,273 @@
+package com.github.jarvisframework.tool.core.date;
+
+import com.github.jarvisframework.tool.core.lang.Assert;
+
+import java.lang.ref.WeakReference;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * <p>性能计时器</p>
+ * 将耗时（纳秒）记录到对数-线性分桶的直方图中，用于在生产环境统计热点代码的耗时分布。
+ * <p>
+ * 每个线程写入自己的记录器（单写者，无锁、无CAS），查询时合并所有线程的记录生成{@link HistogramSnapshot}，
+ * 已结束线程的记录器在查询时并入汇总后移除：
+ * <ul>
+ *     <li>{@link #snapshot()}：自创建或上次{@link #reset()}以来的累计统计</li>
+ *     <li>{@link #intervalSnapshot()}：自上次区间快照以来的统计，用于定时输出</li>
+ * </ul>
+ *
+ * <pre>
+ * ProfileTimer timer = Profiler.timer("BeanCopier.copy");
+ * long start = Profiler.start();
+ * ...
+ * timer.recordSince(start);
+ * Console.log(timer.snapshot());
+ * </pre>
+ *
+ * @author Doug Wang
+ * @since 1.0, 2026-10-18 22:41:30
+ * @see Profiler
+ */
+public class ProfileTimer {
+
+    /**
+     * 默认可精确统计的最大耗时，超出的值计入最后一个桶
+     */
+    public static final long DEFAULT_MAX_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private final String name;
+    private final int bucketCount;
+    /**
+     * 存活线程的记录器
+     */
+    private final List<Recorder> recorders = new CopyOnWriteArrayList<>();
+    private final ThreadLocal<Recorder> localRecorder = ThreadLocal.withInitial(this::newRecorder);
+    /**
+     * 已结束线程的记录汇总，布局与{@link Recorder}相同
+     */
+    private final long[] retired;
+
+    /**
+     * 上次重置时的累计值，null表示未重置
+     */
+    private long[] resetCounts;
+    private long resetSum;
+    /**
+     * 上次区间快照时的累计值
+     */
+    private long[] intervalCounts;
+    private long intervalSum;
+
+    /**
+     * 构造
+     *
+     * @param name 名称
+     */
+    public ProfileTimer(String name) {
+        this(name, DEFAULT_MAX_NANOS);
+    }
+
+    /**
+     * 构造
+     *
+     * @param name     名称
+     * @param maxNanos 可精确统计的最大耗时（纳秒），决定桶的个数
+     */
+    public ProfileTimer(String name, long maxNanos) {
+        Assert.isTrue(maxNanos > 0, "Max nanos must be greater than 0!");
+        this.name = name;
+        this.bucketCount = LogLinearBuckets.bucketCount(maxNanos);
+        this.retired = new long[bucketCount + 3];
+    }
+
+    /**
+     * 获取名称
+     *
+     * @return 名称
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * 记录一次耗时
+     *
+     * @param nanos 耗时纳秒数，负数按0记录
+     */
+    public void record(long nanos) {
+        localRecorder.get().record(Math.max(nanos, 0));
+    }
+
+    /**
+     * 记录从给定开始时间到现在的耗时，开始时间通过{@link Profiler#start()}或{@link GlobalClock#nanoTime()}获取
+     *
+     * @param startNanos 开始时间
+     */
+    public void recordSince(long startNanos) {
+        record(GlobalClock.nanoTime() - startNanos);
+    }
+
+    /**
+     * 自创建或上次重置以来的累计统计
+     *
+     * @return {@link HistogramSnapshot}
+     */
+    public synchronized HistogramSnapshot snapshot() {
+        final long[] counts = new long[bucketCount];
+        final long sum = collect(counts);
+        long max = retired[bucketCount + Recorder.MAX_SINCE_RESET];
+        for (Recorder recorder : recorders) {
+            max = Math.max(max, recorder.get(bucketCount + Recorder.MAX_SINCE_RESET));
+        }
+        return new HistogramSnapshot(name, subtract(counts, resetCounts), sum - resetSum, max);
+    }
+
+    /**
+     * 自上次区间快照（或重置）以来的统计
+     *
+     * @return {@link HistogramSnapshot}
+     */
+    public synchronized HistogramSnapshot intervalSnapshot() {
+        final long[] counts = new long[bucketCount];
+        final long sum = collect(counts);
+        long max = retired[bucketCount + Recorder.MAX_IN_INTERVAL];
+        retired[bucketCount + Recorder.MAX_IN_INTERVAL] = 0;
+        for (Recorder recorder : recorders) {
+            max = Math.max(max, recorder.getAndSet(bucketCount + Recorder.MAX_IN_INTERVAL, 0));
+        }
+        final HistogramSnapshot snapshot = new HistogramSnapshot(name, subtract(counts, intervalCounts), sum - intervalSum, max);
+        this.intervalCounts = counts;
+        this.intervalSum = sum;
+        return snapshot;
+    }
+
+    /**
+     * 重置统计，同时重置区间
+     */
+    public synchronized void reset() {
+        final long[] counts = new long[bucketCount];
+        final long sum = collect(counts);
+        retired[bucketCount + Recorder.MAX_SINCE_RESET] = 0;
+        retired[bucketCount + Recorder.MAX_IN_INTERVAL] = 0;
+        for (Recorder recorder : recorders) {
+            recorder.set(bucketCount + Recorder.MAX_SINCE_RESET, 0);
+            recorder.set(bucketCount + Recorder.MAX_IN_INTERVAL, 0);
+        }
+        this.resetCounts = counts;
+        this.resetSum = sum;
+        this.intervalCounts = counts;
+        this.intervalSum = sum;
+    }
+
+    @Override
+    public String toString() {
+        return snapshot().toString();
+    }
+
+    // ------------------------------------------------------------------------ Private method start
+
+    /**
+     * 创建当前线程的记录器，同时清理已结束线程的记录器，不查询时记录器个数也不会随线程更替增长
+     *
+     * @return 记录器
+     */
+    private synchronized Recorder newRecorder() {
+        sweep();
+        final Recorder recorder = new Recorder(bucketCount, Thread.currentThread());
+        recorders.add(recorder);
+        return recorder;
+    }
+
+    /**
+     * 合并所有线程的累计计数，先将已结束线程的记录器并入汇总并移除
+     *
+     * @param counts 合并到的数组
+     * @return 累计的和
+     */
+    private long collect(long[] counts) {
+        sweep();
+        System.arraycopy(retired, 0, counts, 0, bucketCount);
+        long sum = retired[bucketCount + Recorder.SUM];
+        for (Recorder recorder : recorders) {
+            for (int i = 0; i < bucketCount; i++) {
+                counts[i] += recorder.get(i);
+            }
+            sum += recorder.get(bucketCount + Recorder.SUM);
+        }
+        return sum;
+    }
+
+    /**
+     * 将已结束线程的记录器并入汇总，线程结束前的写入对此处可见
+     */
+    private void sweep() {
+        for (Recorder recorder : recorders) {
+            final Thread owner = recorder.owner.get();
+            if (null != owner && owner.isAlive()) {
+                continue;
+            }
+            for (int i = 0; i < bucketCount + Recorder.MAX_SINCE_RESET; i++) {
+                retired[i] += recorder.get(i);
+            }
+            for (int i = bucketCount + Recorder.MAX_SINCE_RESET; i < retired.length; i++) {
+                retired[i] = Math.max(retired[i], recorder.get(i));
+            }
+            recorders.remove(recorder);
+        }
+    }
+
+    /**
+     * 计数相减
+     *
+     * @param counts   当前累计计数
+     * @param baseline 基准计数，可以为null
+     * @return 差值，新数组
+     */
+    private static long[] subtract(long[] counts, long[] baseline) {
+        final long[] result = counts.clone();
+        if (null != baseline) {
+            for (int i = 0; i < result.length; i++) {
+                result[i] -= baseline[i];
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 单个线程的记录器，前bucketCount个元素为桶计数，之后依次为和、重置以来的最大值、区间内的最大值<br>
+     * 只有所属线程写入，使用lazySet发布，读取方可能看到稍旧的值；弱引用所属线程，不阻止线程对象回收
+     */
+    private static class Recorder extends AtomicLongArray {
+        private static final long serialVersionUID = 1L;
+
+        static final int SUM = 0;
+        static final int MAX_SINCE_RESET = 1;
+        static final int MAX_IN_INTERVAL = 2;
+
+        private final int last;
+        final transient WeakReference<Thread> owner;
+
+        Recorder(int bucketCount, Thread owner) {
+            super(bucketCount + 3);
+            this.last = bucketCount - 1;
+            this.owner = new WeakReference<>(owner);
+        }
+
+        void record(long value) {
+            final int index = Math.min(LogLinearBuckets.index(value), last);
+            lazySet(index, get(index) + 1);
+            final int extra = last + 1;
+            lazySet(extra + SUM, get(extra + SUM) + value);
+            if (value > get(extra + MAX_SINCE_RESET)) {
+                lazySet(extra + MAX_SINCE_RESET, value);
+            }
+            if (value > get(extra + MAX_IN_INTERVAL)) {
+                lazySet(extra + MAX_IN_INTERVAL, value);
+            }
+        }
+    }
+    // ------------------------------------------------------------------------ Private method end
+}
@@ -0,0 +1,118 @@
+package com.github.jarvisframework.tool.core.date;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * <p>性能分析器</p>
+ * 按名称管理全局共享的{@link ProfileTimer}，用于在热点代码中低开销地统计耗时分布（每次记录约十纳秒，不含读取时钟的开销）。
+ *
+ * <pre>
+ * long start = Profiler.start();
+ * ...
+ * Profiler.stop("HttpUtils.doPost", start);
+ *
+ * // 定时输出
+ * Profiler.intervalSnapshot().forEach(Console::log);
+ * </pre>
+ * <p>
+ * 频繁调用时可先通过{@link #timer(String)}获取计时器并保存，避免每次按名称查找。
+ *
+ * @author Doug Wang
+ * @since 1.0, 2026-10-18 22:41:30
+ */
+public class Profiler {
+
+    private static final Map<String, ProfileTimer> TIMERS = new ConcurrentHashMap<>();
+
+    private Profiler() {
+    }
+
+    /**
+     * 获取或创建给定名称的计时器
+     *
+     * @param name 名称
+     * @return {@link ProfileTimer}
+     */
+    public static ProfileTimer timer(String name) {
+        final ProfileTimer timer = TIMERS.get(name);
+        return null != timer ? timer : TIMERS.computeIfAbsent(name, ProfileTimer::new);
+    }
+
+    /**
+     * 开始计时，返回当前的计时纳秒数
+     *
+     * @return 开始时间
+     */
+    public static long start() {
+        return GlobalClock.nanoTime();
+    }
+
+    /**
+     * 结束计时，记录从开始时间到现在的耗时
+     *
+     * @param name       计时器名称
+     * @param startNanos {@link #start()}返回的开始时间
+     */
+    public static void stop(String name, long startNanos) {
+        timer(name).recordSince(startNanos);
+    }
+
+    /**
+     * 直接记录一次耗时
+     *
+     * @param name  计时器名称
+     * @param nanos 耗时纳秒数
+     */
+    public static void record(String name, long nanos) {
+        timer(name).record(nanos);
+    }
+
+    /**
+     * 所有计时器的累计统计，按名称排序
+     *
+     * @return 快照列表
+     */
+    public static List<HistogramSnapshot> snapshot() {
+        final List<HistogramSnapshot> snapshots = new ArrayList<>(TIMERS.size());
+        for (ProfileTimer timer : TIMERS.values()) {
+            snapshots.add(timer.snapshot());
+        }
+        snapshots.sort(Comparator.comparing(HistogramSnapshot::getName));
+        return snapshots;
+    }
+
+    /**
+     * 所有计时器自上次区间快照以来的统计，按名称排序
+     *
+     * @return 快照列表
+     */
+    public static List<HistogramSnapshot> intervalSnapshot() {
+        final List<HistogramSnapshot> snapshots = new ArrayList<>(TIMERS.size());
+        for (ProfileTimer timer : TIMERS.values()) {
+            snapshots.add(timer.intervalSnapshot());
+        }
+        snapshots.sort(Comparator.comparing(HistogramSnapshot::getName));
+        return snapshots;
+    }
+
+    /**
+     * 重置所有计时器
+     */
+    public static void reset() {
+        TIMERS.values().forEach(ProfileTimer::reset);
+    }
+
+    /**
+     * 移除计时器
+     *
+     * @param name 名称
+     * @return 被移除的计时器，不存在时为null
+     */
+    public static ProfileTimer remove(String name) {
+        return TIMERS.remove(name);
+    }
+}
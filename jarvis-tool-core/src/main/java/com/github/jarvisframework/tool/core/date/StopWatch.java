@@ -145,7 +145,7 @@ public class StopWatch {
             throw new IllegalStateException("Can't start StopWatch: it's already running");
         }
         this.currentTaskName = taskName;
-        this.startTimeNanos = System.nanoTime();
+        this.startTimeNanos = GlobalClock.nanoTime();
     }
 
     /**
@@ -158,7 +158,7 @@ public class StopWatch {
             throw new IllegalStateException("Can't stop StopWatch: it's not running");
         }
 
-        final long lastTime = System.nanoTime() - this.startTimeNanos;
+        final long lastTime = GlobalClock.nanoTime() - this.startTimeNanos;
         this.totalTimeNanos += lastTime;
         this.lastTaskInfo = new TaskInfo(this.currentTaskName, lastTime);
         if (null != this.taskList) {
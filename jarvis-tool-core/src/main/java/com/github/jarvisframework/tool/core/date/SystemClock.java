@@ -1,9 +1,9 @@
 package com.github.jarvisframework.tool.core.date;
 
+import java.io.Closeable;
 import java.sql.Timestamp;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
 
 /**
  * 系统时钟<br>
@@ -11,21 +11,50 @@ import java.util.concurrent.TimeUnit;
  * System.currentTimeMillis()的调用比new一个普通对象要耗时的多（具体耗时高出多少我还没测试过，有人说是100倍左右）
  * System.currentTimeMillis()之所以慢是因为去跟系统打了一次交道
  * 后台定时更新时钟，JVM退出时，线程自动回收
+ * <p>
+ * 自适应模式下，连续一段时间没有读取时更新线程挂起，下次读取时直接取系统时间并唤醒更新线程；
+ * 不再使用时调用{@link #close()}停止更新线程，{@link #instance()}返回的共享实例不能关闭。
  *
  * @author Doug Wang
  * @see <a href="http://git.oschina.net/yu120/sequence"></a>
  * @since 1.0, 2020-07-30 11:20:49
  */
-public class SystemClock {
+public class SystemClock implements ClockSource, Closeable {
+
+    /**
+     * 自适应模式下，连续多少个更新周期没有读取后挂起
+     */
+    private static final int IDLE_PERIODS = 1000;
 
     /**
      * 时钟更新间隔，单位毫秒
      */
     private final long period;
+    /**
+     * 是否在空闲时挂起更新线程
+     */
+    private final boolean adaptive;
+    /**
+     * 是否为进程共享的单例，单例不能关闭
+     */
+    private final boolean shared;
+    /**
+     * 更新线程
+     */
+    private final Thread ticker;
     /**
      * 现在时刻的毫秒数
      */
     private volatile long now;
+    /**
+     * 上个更新周期内是否有读取，仅自适应模式使用
+     */
+    private volatile boolean accessed;
+    /**
+     * 更新线程是否已挂起
+     */
+    private volatile boolean idle;
+    private volatile boolean running = true;
 
     /**
      * 构造
@@ -33,29 +62,105 @@ public class SystemClock {
      * @param period 时钟更新间隔，单位毫秒
      */
     public SystemClock(long period) {
+        this(period, false);
+    }
+
+    /**
+     * 构造
+     *
+     * @param period   时钟更新间隔，单位毫秒
+     * @param adaptive 是否在空闲时挂起更新线程
+     */
+    public SystemClock(long period, boolean adaptive) {
+        this(period, adaptive, false);
+    }
+
+    /**
+     * 构造
+     *
+     * @param period   时钟更新间隔，单位毫秒
+     * @param adaptive 是否在空闲时挂起更新线程
+     * @param shared   是否为共享的单例
+     */
+    private SystemClock(long period, boolean adaptive, boolean shared) {
         this.period = period;
+        this.shared = shared;
+        this.adaptive = adaptive;
         this.now = System.currentTimeMillis();
-        scheduleClockUpdating();
+        this.ticker = new Thread(this::tick, "System Clock");
+        this.ticker.setDaemon(true);
+        this.ticker.start();
     }
 
+    @Override
+    public long currentTimeMillis() {
+        if (adaptive) {
+            if (idle) {
+                return wakeUp();
+            }
+            if (false == accessed) {
+                // 只在状态变化时写，避免每次读取都写共享变量
+                accessed = true;
+            }
+        }
+        return now;
+    }
+
+    /**
+     * 停止更新线程，之后读取的时间不再变化<br>
+     * 共享的单例被整个进程使用，调用此方法无效
+     */
+    @Override
+    public void close() {
+        if (shared) {
+            return;
+        }
+        running = false;
+        LockSupport.unpark(ticker);
+    }
+
+    // ------------------------------------------------------------------------ Private method start
+
     /**
-     * 开启计时器线程
+     * 更新线程的循环
      */
-    private void scheduleClockUpdating() {
-        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
-            Thread thread = new Thread(runnable, "System Clock");
-            thread.setDaemon(true);
-            return thread;
-        });
-        scheduler.scheduleAtFixedRate(() -> now = System.currentTimeMillis(), period, period, TimeUnit.MILLISECONDS);
+    private void tick() {
+        final long periodNanos = TimeUnit.MILLISECONDS.toNanos(period);
+        int idlePeriods = 0;
+        while (running) {
+            now = System.currentTimeMillis();
+            if (adaptive) {
+                if (accessed) {
+                    accessed = false;
+                    idlePeriods = 0;
+                } else if (++idlePeriods >= IDLE_PERIODS) {
+                    idlePeriods = 0;
+                    idle = true;
+                    // 挂起前再检查一次，避免错过刚发生的读取
+                    if (false == accessed) {
+                        LockSupport.park(this);
+                    }
+                    idle = false;
+                    continue;
+                }
+            }
+            LockSupport.parkNanos(this, periodNanos);
+        }
     }
 
     /**
+     * 唤醒挂起的更新线程，并返回最新的系统时间
+     *
      * @return 当前时间毫秒数
      */
-    private long currentTimeMillis() {
-        return now;
+    private long wakeUp() {
+        final long current = System.currentTimeMillis();
+        now = current;
+        accessed = true;
+        LockSupport.unpark(ticker);
+        return current;
     }
+    // ------------------------------------------------------------------------ Private method end
 
     //------------------------------------------------------------------------ static
 
@@ -65,15 +170,15 @@ public class SystemClock {
      * @author Looly
      */
     private static class InstanceHolder {
-        public static final SystemClock INSTANCE = new SystemClock(1);
+        public static final SystemClock INSTANCE = new SystemClock(1, true, true);
     }
 
     /**
-     * 单例实例
+     * 单例实例，每1毫秒更新，空闲时挂起，不能关闭
      *
      * @return 单例实例
      */
-    private static SystemClock instance() {
+    public static SystemClock instance() {
         return InstanceHolder.INSTANCE;
     }
 
@@ -90,4 +195,4 @@ public class SystemClock {
     public static String nowDate() {
         return new Timestamp(instance().currentTimeMillis()).toString();
     }
-}
\ No newline at end of file
+}
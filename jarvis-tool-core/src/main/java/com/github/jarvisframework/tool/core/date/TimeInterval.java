@@ -4,7 +4,7 @@ import java.io.Serializable;
 
 /**
  * 计时器<br>
- * 计算某个过程花费的时间，精确到毫秒
+ * 计算某个过程花费的时间，精确到毫秒，时间取自{@link GlobalClock}
  *
  * @author Doug Wang
  * @since 1.0, 2020-07-24 17:38:54
@@ -35,7 +35,7 @@ public class TimeInterval implements Serializable {
      * @return 开始计时并返回当前时间
      */
     public long start() {
-        time = DateUtils.current(isNano);
+        time = current();
         return time;
     }
 
@@ -43,7 +43,7 @@ public class TimeInterval implements Serializable {
      * @return 重新计时并返回从开始到当前的持续时间
      */
     public long intervalRestart() {
-        long now = DateUtils.current(isNano);
+        long now = current();
         long d = now - time;
         time = now;
         return d;
@@ -56,7 +56,7 @@ public class TimeInterval implements Serializable {
      * @since 3.0.1
      */
     public TimeInterval restart() {
-        time = DateUtils.current(isNano);
+        time = current();
         return this;
     }
 
@@ -69,7 +69,7 @@ public class TimeInterval implements Serializable {
      * @return 从开始到当前的间隔时间（毫秒数）
      */
     public long interval() {
-        return DateUtils.current(isNano) - time;
+        return current() - time;
     }
 
     /**
@@ -136,4 +136,12 @@ public class TimeInterval implements Serializable {
         return intervalMs() / DateUnitEnum.WEEK.getMillis();
     }
 
+    /**
+     * 从全局时钟获取当前时间
+     *
+     * @return 纳秒数或毫秒数
+     */
+    private long current() {
+        return isNano ? GlobalClock.nanoTime() : GlobalClock.currentTimeMillis();
+    }
 }
@@ -52,6 +52,22 @@ public interface DatePrinter extends DateBasic {
      */
     <B extends Appendable> B format(long millis, B buf);
 
+    /**
+     * 格式化日期表示的毫秒数，写入字符数组<br>
+     * 从offset开始的剩余长度应不小于格式化结果的长度，{@link FastDateFormat}可使用{@link FastDateFormat#getMaxLengthEstimate()}估算
+     *
+     * @param millis 日期毫秒数
+     * @param buf    字符数组
+     * @param offset 写入的开始位置
+     * @return 写入结束的位置（不包含）
+     * @throws IndexOutOfBoundsException 字符数组长度不足
+     */
+    default int format(long millis, char[] buf, int offset) {
+        final String str = format(millis);
+        str.getChars(0, str.length(), buf, offset);
+        return offset + str.length();
+    }
+
     /**
      * <p>
      * Formats a {@code Date} object into the supplied {@code Appendable} using a {@code GregorianCalendar}.
@@ -337,6 +337,11 @@ public class FastDateFormat extends Format implements DateParser, DatePrinter {
         return printer.format(date, buf);
     }
 
+    @Override
+    public int format(final long millis, final char[] buf, final int offset) {
+        return printer.format(millis, buf, offset);
+    }
+
     @Override
     public <B extends Appendable> B format(final Calendar calendar, final B buf) {
         return printer.format(calendar, buf);
@@ -27,6 +27,14 @@ class FastDatePrinter extends AbstractDateBasic implements DatePrinter {
      * 估算最大长度.
      */
     private transient int mMaxLengthEstimate;
+    /**
+     * 最近一次格式化所在分钟的格式化结果，同一分钟内只替换秒和毫秒
+     */
+    private transient volatile MinuteText minuteText;
+    /**
+     * 最近一次未命中缓存的分钟开始毫秒数，同一分钟再次未命中时才生成缓存，随机时间不会反复重建缓存
+     */
+    private transient volatile long missedMinute = Long.MIN_VALUE;
 
     // Constructor
     // -----------------------------------------------------------------------
@@ -135,10 +143,10 @@ class FastDatePrinter extends AbstractDateBasic implements DatePrinter {
                     rule = selectNumberRule(Calendar.MINUTE, tokenLen);
                     break;
                 case 's': // second in minute (number)
-                    rule = selectNumberRule(Calendar.SECOND, tokenLen);
+                    rule = new SubMinuteField(Calendar.SECOND, tokenLen);
                     break;
                 case 'S': // millisecond (number)
-                    rule = selectNumberRule(Calendar.MILLISECOND, tokenLen);
+                    rule = new SubMinuteField(Calendar.MILLISECOND, tokenLen);
                     break;
                 case 'E': // day in week (text)
                     rule = new TextField(Calendar.DAY_OF_WEEK, tokenLen < 4 ? shortWeekdays : weekdays);
@@ -309,16 +317,12 @@ class FastDatePrinter extends AbstractDateBasic implements DatePrinter {
 
     @Override
     public String format(final long millis) {
-        final Calendar c = Calendar.getInstance(timeZone, locale);
-        c.setTimeInMillis(millis);
-        return applyRulesToString(c);
+        return format(millis, new StringBuilder(mMaxLengthEstimate)).toString();
     }
 
     @Override
     public String format(final Date date) {
-        final Calendar c = Calendar.getInstance(timeZone, locale);
-        c.setTime(date);
-        return applyRulesToString(c);
+        return format(date.getTime());
     }
 
     @Override
@@ -326,18 +330,44 @@ class FastDatePrinter extends AbstractDateBasic implements DatePrinter {
         return format(calendar, new StringBuilder(mMaxLengthEstimate)).toString();
     }
 
+    /**
+     * 格式化日期表示的毫秒数<br>
+     * 与缓存的分钟处于同一分钟时，直接使用缓存的结果并替换秒和毫秒，不创建{@link Calendar}
+     */
     @Override
     public <B extends Appendable> B format(final long millis, final B buf) {
+        final MinuteText text = this.minuteText;
+        if (null != text && text.contains(millis)) {
+            try {
+                text.appendTo(buf, millis);
+            } catch (final IOException e) {
+                throw new DateException(e);
+            }
+            return buf;
+        }
         final Calendar c = Calendar.getInstance(timeZone, locale);
         c.setTimeInMillis(millis);
+        onMiss(c, millis);
         return applyRules(c, buf);
     }
 
     @Override
     public <B extends Appendable> B format(final Date date, final B buf) {
+        return format(date.getTime(), buf);
+    }
+
+    @Override
+    public int format(final long millis, final char[] buf, final int offset) {
+        final MinuteText text = this.minuteText;
+        if (null != text && text.contains(millis)) {
+            return text.writeTo(buf, offset, millis);
+        }
         final Calendar c = Calendar.getInstance(timeZone, locale);
-        c.setTime(date);
-        return applyRules(c, buf);
+        c.setTimeInMillis(millis);
+        onMiss(c, millis);
+        final String str = applyRulesToString(c);
+        str.getChars(0, str.length(), buf, offset);
+        return offset + str.length();
     }
 
     @Override
@@ -360,6 +390,46 @@ class FastDatePrinter extends AbstractDateBasic implements DatePrinter {
         return applyRules(c, new StringBuilder(mMaxLengthEstimate)).toString();
     }
 
+    /**
+     * 未命中缓存时调用，同一分钟连续两次未命中时生成该分钟的格式化结果并替换缓存<br>
+     * 单次未命中只记录分钟，随机时间的格式化不承担生成缓存的开销
+     *
+     * @param c      已设置为给定时间的{@link Calendar}
+     * @param millis 日期毫秒数
+     */
+    private void onMiss(final Calendar c, final long millis) {
+        final long start = millis - c.get(Calendar.SECOND) * 1000L - c.get(Calendar.MILLISECOND);
+        if (start != this.missedMinute) {
+            this.missedMinute = start;
+            return;
+        }
+        if (timeZone.getOffset(start) != timeZone.getOffset(start + 59999)) {
+            // 该分钟内时区偏移发生变化，不缓存
+            return;
+        }
+
+        // 按秒和毫秒规则切分，其余规则的结果在一分钟内不变
+        final List<String> segments = new ArrayList<>();
+        final List<SubMinuteField> fields = new ArrayList<>();
+        final StringBuilder builder = new StringBuilder(mMaxLengthEstimate);
+        try {
+            for (final Rule rule : this.rules) {
+                if (rule instanceof SubMinuteField) {
+                    segments.add(builder.toString());
+                    fields.add((SubMinuteField) rule);
+                    builder.setLength(0);
+                } else {
+                    rule.appendTo(builder, c);
+                }
+            }
+        } catch (final IOException e) {
+            throw new DateException(e);
+        }
+        segments.add(builder.toString());
+
+        this.minuteText = new MinuteText(start, segments.toArray(new String[0]), fields.toArray(new SubMinuteField[0]));
+    }
+
     /**
      * <p>
      * Performs the formatting by applying the rules to the specified calendar.
@@ -491,6 +561,56 @@ class FastDatePrinter extends AbstractDateBasic implements DatePrinter {
         }
     }
 
+    /**
+     * 一分钟内的格式化结果，由秒和毫秒字段分隔的固定文本组成
+     */
+    private static class MinuteText {
+        /**
+         * 分钟开始的毫秒数
+         */
+        final long start;
+        /**
+         * 固定文本，比字段多一个
+         */
+        final String[] segments;
+        final SubMinuteField[] fields;
+
+        MinuteText(final long start, final String[] segments, final SubMinuteField[] fields) {
+            this.start = start;
+            this.segments = segments;
+            this.fields = fields;
+        }
+
+        boolean contains(final long millis) {
+            return millis >= start && millis < start + 60000;
+        }
+
+        void appendTo(final Appendable buffer, final long millis) throws IOException {
+            final int offset = (int) (millis - start);
+            buffer.append(segments[0]);
+            for (int i = 0; i < fields.length; i++) {
+                final SubMinuteField field = fields[i];
+                field.appendTo(buffer, field.valueOf(offset));
+                buffer.append(segments[i + 1]);
+            }
+        }
+
+        int writeTo(final char[] buf, int index, final long millis) {
+            final int offset = (int) (millis - start);
+            String segment = segments[0];
+            segment.getChars(0, segment.length(), buf, index);
+            index += segment.length();
+            for (int i = 0; i < fields.length; i++) {
+                final SubMinuteField field = fields[i];
+                index = field.writeTo(buf, index, field.valueOf(offset));
+                segment = segments[i + 1];
+                segment.getChars(0, segment.length(), buf, index);
+                index += segment.length();
+            }
+            return index;
+        }
+    }
+
     // Rules
     // -----------------------------------------------------------------------
 
@@ -824,6 +944,73 @@ class FastDatePrinter extends AbstractDateBasic implements DatePrinter {
         }
     }
 
+    /**
+     * 秒或毫秒字段，输出与{@link #selectNumberRule(int, int)}选择的规则一致，格式化时由{@link MinuteText}直接替换
+     */
+    private static class SubMinuteField implements NumberRule {
+        private final int mField;
+        private final int mSize;
+
+        /**
+         * 构造
+         *
+         * @param field {@link Calendar#SECOND}或{@link Calendar#MILLISECOND}
+         * @param size  最小长度，不足时左侧补0
+         */
+        SubMinuteField(final int field, final int size) {
+            mField = field;
+            mSize = size;
+        }
+
+        @Override
+        public int estimateLength() {
+            return Math.max(mSize, Calendar.SECOND == mField ? 2 : 3);
+        }
+
+        @Override
+        public void appendTo(final Appendable buffer, final Calendar calendar) throws IOException {
+            appendTo(buffer, calendar.get(mField));
+        }
+
+        @Override
+        public final void appendTo(final Appendable buffer, final int value) throws IOException {
+            appendFullDigits(buffer, value, mSize);
+        }
+
+        /**
+         * 从分钟开始的毫秒数中取字段值
+         *
+         * @param offset 距分钟开始的毫秒数
+         * @return 秒或毫秒
+         */
+        int valueOf(final int offset) {
+            return Calendar.SECOND == mField ? offset / 1000 : offset % 1000;
+        }
+
+        /**
+         * 写入字符数组，值小于1000
+         *
+         * @param buf   字符数组
+         * @param index 写入位置
+         * @param value 秒或毫秒
+         * @return 写入结束的位置
+         */
+        int writeTo(final char[] buf, int index, final int value) {
+            final int digits = value < 10 ? 1 : (value < 100 ? 2 : 3);
+            for (int i = mSize - digits; i > 0; i--) {
+                buf[index++] = '0';
+            }
+            if (digits > 2) {
+                buf[index++] = (char) (value / 100 + '0');
+            }
+            if (digits > 1) {
+                buf[index++] = (char) (value / 10 % 10 + '0');
+            }
+            buf[index++] = (char) (value % 10 + '0');
+            return index;
+        }
+    }
+
     /**
      * <p>
      * Inner class to output a two digit year.
@@ -203,6 +203,7 @@ public class ExceptionUtils {
         final FastByteArrayOutputStream baos = new FastByteArrayOutputStream();
         throwable.printStackTrace(new PrintStream(baos));
         String exceptionStr = baos.toString();
+        baos.reset();
         int length = exceptionStr.length();
         if (limit > 0 && limit < length) {
             length = limit;
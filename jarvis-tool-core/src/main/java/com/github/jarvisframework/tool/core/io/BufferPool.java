@@ -0,0 +1,222 @@
+package com.github.jarvisframework.tool.core.io;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * <p>按大小分级的缓冲区池</p>
+ * 缓冲区按2的幂分级（1KB到1MB），申请时向上取整到所在级别，超过1MB的申请直接分配、归还时丢弃。<br>
+ * 64KB及以下的级别每个线程先使用自己的小缓存，未命中时再访问共享池，共享池每级最多保留{@link #SHARED_BYTES_PER_CLASS}字节，超出部分交给GC回收。
+ *
+ * <pre>
+ * byte[] buffer = BufferPool.HEAP.acquire(8192);
+ * try {
+ *     // 使用buffer，长度可能大于8192
+ * } finally {
+ *     BufferPool.HEAP.release(buffer);
+ * }
+ * </pre>
+ * <p>
+ * 注意：归还后不能再使用该缓冲区，也不能重复归还；未归还的缓冲区不会造成泄漏，只是不能被复用。
+ *
+ * @param <T> 缓冲区类型
+ * @author Doug Wang
+ * @since 1.0, 2026-10-18 17:58:06
+ */
+public abstract class BufferPool<T> {
+
+    /**
+     * 堆内存缓冲区池
+     */
+    public static final BufferPool<byte[]> HEAP = new BufferPool<byte[]>() {
+        @Override
+        protected byte[] allocate(int capacity) {
+            return new byte[capacity];
+        }
+
+        @Override
+        protected int capacity(byte[] buffer) {
+            return buffer.length;
+        }
+    };
+
+    /**
+     * 直接内存缓冲区池，取出的缓冲区已clear，字节序为{@link ByteOrder#BIG_ENDIAN}
+     */
+    public static final BufferPool<ByteBuffer> DIRECT = new BufferPool<ByteBuffer>() {
+        @Override
+        protected ByteBuffer allocate(int capacity) {
+            return ByteBuffer.allocateDirect(capacity);
+        }
+
+        @Override
+        protected int capacity(ByteBuffer buffer) {
+            return buffer.capacity();
+        }
+
+        @Override
+        public void release(ByteBuffer buffer) {
+            if (null != buffer && buffer.isDirect() && false == buffer.isReadOnly()) {
+                buffer.clear();
+                buffer.order(ByteOrder.BIG_ENDIAN);
+                super.release(buffer);
+            }
+        }
+    };
+
+    /**
+     * 最小级别：1KB
+     */
+    private static final int MIN_SHIFT = 10;
+    /**
+     * 最大级别：1MB
+     */
+    private static final int MAX_SHIFT = 20;
+    /**
+     * 共享池每级最多保留的字节数：8MB
+     */
+    public static final int SHARED_BYTES_PER_CLASS = 8 * 1024 * 1024;
+    /**
+     * 线程缓存每级最多保留的字节数：64KB，更大的级别只使用共享池，避免线程数多时占用过多内存
+     */
+    private static final int THREAD_BYTES_PER_CLASS = 64 * 1024;
+
+    private final SharedPool<T>[] shared;
+    private final ThreadLocal<ThreadCache<T>> threadCache = ThreadLocal.withInitial(ThreadCache::new);
+
+    @SuppressWarnings("unchecked")
+    protected BufferPool() {
+        shared = new SharedPool[MAX_SHIFT - MIN_SHIFT + 1];
+        for (int i = 0; i < shared.length; i++) {
+            shared[i] = new SharedPool<>(SHARED_BYTES_PER_CLASS >>> (MIN_SHIFT + i));
+        }
+    }
+
+    /**
+     * 获取容量不小于指定大小的缓冲区
+     *
+     * @param minCapacity 最小容量
+     * @return 缓冲区，容量为所在级别的大小，超过最大级别时为指定大小
+     */
+    public T acquire(int minCapacity) {
+        final int index = classIndex(minCapacity);
+        if (index < 0) {
+            return allocate(Math.max(0, minCapacity));
+        }
+        T buffer = threadCache.get().poll(index);
+        if (null == buffer) {
+            buffer = shared[index].queue.poll();
+            if (null != buffer) {
+                shared[index].count.decrementAndGet();
+            } else {
+                buffer = allocate(1 << (MIN_SHIFT + index));
+            }
+        }
+        return buffer;
+    }
+
+    /**
+     * 归还缓冲区，容量不是级别大小的缓冲区会被丢弃
+     *
+     * @param buffer 缓冲区，{@code null}忽略
+     */
+    public void release(T buffer) {
+        if (null == buffer) {
+            return;
+        }
+        final int capacity = capacity(buffer);
+        final int index = classIndex(capacity);
+        if (index < 0 || capacity != 1 << (MIN_SHIFT + index)) {
+            return;
+        }
+        if (threadCache.get().offer(index, buffer)) {
+            return;
+        }
+        final SharedPool<T> pool = shared[index];
+        if (pool.count.incrementAndGet() <= pool.limit) {
+            pool.queue.offer(buffer);
+        } else {
+            pool.count.decrementAndGet();
+        }
+    }
+
+    /**
+     * 分配新的缓冲区
+     *
+     * @param capacity 容量
+     * @return 缓冲区
+     */
+    protected abstract T allocate(int capacity);
+
+    /**
+     * 获取缓冲区容量
+     *
+     * @param buffer 缓冲区
+     * @return 容量
+     */
+    protected abstract int capacity(T buffer);
+
+    /**
+     * 计算容量所在的级别
+     *
+     * @param capacity 容量
+     * @return 级别下标，超过最大级别返回-1
+     */
+    private static int classIndex(int capacity) {
+        if (capacity <= (1 << MIN_SHIFT)) {
+            return 0;
+        }
+        final int shift = 32 - Integer.numberOfLeadingZeros(capacity - 1);
+        return (shift > MAX_SHIFT) ? -1 : shift - MIN_SHIFT;
+    }
+
+    /**
+     * 共享池中的一级
+     */
+    private static class SharedPool<T> {
+        final ConcurrentLinkedQueue<T> queue = new ConcurrentLinkedQueue<>();
+        final AtomicInteger count = new AtomicInteger();
+        final int limit;
+
+        SharedPool(int limit) {
+            this.limit = limit;
+        }
+    }
+
+    /**
+     * 线程缓存，每级为一个小数组栈
+     */
+    private static class ThreadCache<T> {
+        private final Object[][] stacks = new Object[MAX_SHIFT - MIN_SHIFT + 1][];
+        private final int[] sizes = new int[MAX_SHIFT - MIN_SHIFT + 1];
+
+        ThreadCache() {
+            for (int i = 0; i < stacks.length; i++) {
+                stacks[i] = new Object[THREAD_BYTES_PER_CLASS >>> (MIN_SHIFT + i)];
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        T poll(int index) {
+            if (0 == sizes[index]) {
+                return null;
+            }
+            final Object[] stack = stacks[index];
+            final int top = --sizes[index];
+            final T buffer = (T) stack[top];
+            stack[top] = null;
+            return buffer;
+        }
+
+        boolean offer(int index, T buffer) {
+            final Object[] stack = stacks[index];
+            if (sizes[index] == stack.length) {
+                return false;
+            }
+            stack[sizes[index]++] = buffer;
+            return true;
+        }
+    }
+}
@@ -4,6 +4,7 @@ import com.github.jarvisframework.tool.core.util.CharsetUtils;
 
 import java.io.IOException;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
 
 /**
@@ -11,9 +12,11 @@ import java.nio.charset.Charset;
  * <p>
  * 可以通过{@link #toByteArray()}和 {@link #toString()}来获取数据
  * <p>
- * {@link #close()}方法无任何效果，当流被关闭后不会抛出IOException
+ * {@link #close()}方法无任何效果，当流被关闭后不会抛出IOException，数据仍可读取（包装流关闭时会级联关闭本流）；<br>
+ * {@link #reset()}清空数据并将缓冲区归还到{@link BufferPool#HEAP}，取出数据后调用可复用缓冲区
  * <p>
- * 这种设计避免重新分配内存块而是分配新增的缓冲区，缓冲区不会被GC，数据也不会被拷贝到其他缓冲区。
+ * 这种设计避免重新分配内存块而是分配新增的缓冲区，数据也不会被拷贝到其他缓冲区；
+ * 通过{@link #writeTo(OutputStream)}、{@link #asByteBuffers()}读取数据可以省去{@link #toByteArray()}的整体拷贝。
  *
  * @author Doug Wang
  * @since 1.0, 2020-07-24 19:40:53
@@ -50,13 +53,16 @@ public class FastByteArrayOutputStream extends OutputStream {
     }
 
     /**
-     * 此方法无任何效果，当流被关闭后不会抛出IOException
+     * 无任何效果，数据仍可读取，需要归还缓冲区时调用{@link #reset()}
      */
     @Override
     public void close() {
         // nop
     }
 
+    /**
+     * 清空数据并归还缓冲区
+     */
     public void reset() {
         buffer.reset();
     }
@@ -68,19 +74,23 @@ public class FastByteArrayOutputStream extends OutputStream {
      * @throws IORuntimeException IO异常
      */
     public void writeTo(OutputStream out) throws IORuntimeException {
-        final int index = buffer.index();
-        byte[] buf;
         try {
-            for (int i = 0; i < index; i++) {
-                buf = buffer.array(i);
-                out.write(buf);
-            }
-            out.write(buffer.array(index), 0, buffer.offset());
+            buffer.writeTo(out);
         } catch (IOException e) {
             throw new IORuntimeException(e);
         }
     }
 
+    /**
+     * 以{@link ByteBuffer}视图返回数据，不产生数组拷贝，视图只在关闭或重置之前有效
+     *
+     * @return 只读的{@link ByteBuffer}数组
+     * @see FastByteBuffer#asByteBuffers()
+     */
+    public ByteBuffer[] asByteBuffers() {
+        return buffer.asByteBuffers();
+    }
+
 
     /**
      * 转为Byte数组
@@ -1,8 +1,14 @@
 package com.github.jarvisframework.tool.core.io;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+
 /**
  * 代码移植自<a href="https://github.com/biezhi/blade">blade</a><br>
- * 快速缓冲，将数据存放在缓冲集中，取代以往的单一数组
+ * 快速缓冲，将数据存放在缓冲集中，取代以往的单一数组<br>
+ * 缓冲区从{@link BufferPool#HEAP}中获取，每次扩容的大小不小于已有数据量（不超过1MB），{@link #reset()}时归还，
+ * 因此reset后不能再使用之前通过{@link #array(int)}、{@link #asByteBuffers()}获取的数组。
  *
  * @author Doug Wang
  * @since 1.0, 2020-07-24 19:42:14
@@ -39,6 +45,11 @@ public class FastByteBuffer {
      */
     private final int minChunkLen;
 
+    /**
+     * 按已有数据量倍增时单个缓冲区的最大字节数，与{@link BufferPool}的最大级别一致
+     */
+    private static final int MAX_GROW_CHUNK_LEN = 1024 * 1024;
+
     public FastByteBuffer() {
         this.minChunkLen = 1024;
     }
@@ -48,16 +59,16 @@ public class FastByteBuffer {
     }
 
     /**
-     * 分配下一个缓冲区，不会小于1024
+     * 分配下一个缓冲区，不会小于最小缓冲区字节数；按已有数据量倍增，减少缓冲区个数
      *
      * @param newSize 理想缓冲区字节数
      */
     private void needNewBuffer(int newSize) {
         int delta = newSize - size;
-        int newBufferSize = Math.max(minChunkLen, delta);
+        int newBufferSize = Math.max(minChunkLen, Math.max(delta, Math.min(size, MAX_GROW_CHUNK_LEN)));
 
         currentBufferIndex++;
-        currentBuffer = new byte[newBufferSize];
+        currentBuffer = BufferPool.HEAP.acquire(newBufferSize);
         offset = 0;
 
         // add buffer
@@ -192,7 +203,14 @@ public class FastByteBuffer {
         return buffers[index];
     }
 
+    /**
+     * 清空数据，并将缓冲区归还到{@link BufferPool#HEAP}
+     */
     public void reset() {
+        for (int i = 0; i <= currentBufferIndex; i++) {
+            BufferPool.HEAP.release(buffers[i]);
+            buffers[i] = null;
+        }
         size = 0;
         offset = 0;
         currentBufferIndex = -1;
@@ -200,6 +218,38 @@ public class FastByteBuffer {
         buffersCount = 0;
     }
 
+    /**
+     * 将数据写出到输出流，不产生数组拷贝
+     *
+     * @param out 输出流
+     * @throws IOException IO异常
+     */
+    public void writeTo(OutputStream out) throws IOException {
+        for (int i = 0; i < currentBufferIndex; i++) {
+            out.write(buffers[i]);
+        }
+        if (currentBufferIndex >= 0) {
+            out.write(currentBuffer, 0, offset);
+        }
+    }
+
+    /**
+     * 以{@link ByteBuffer}视图返回数据，视图直接引用内部缓冲区，不产生数组拷贝<br>
+     * 视图只在下一次{@link #reset()}之前有效
+     *
+     * @return 只读的{@link ByteBuffer}数组，每个元素对应一个缓冲区
+     */
+    public ByteBuffer[] asByteBuffers() {
+        final ByteBuffer[] views = new ByteBuffer[currentBufferIndex + 1];
+        for (int i = 0; i < currentBufferIndex; i++) {
+            views[i] = ByteBuffer.wrap(buffers[i]).asReadOnlyBuffer();
+        }
+        if (currentBufferIndex >= 0) {
+            views[currentBufferIndex] = ByteBuffer.wrap(currentBuffer, 0, offset).slice().asReadOnlyBuffer();
+        }
+        return views;
+    }
+
     /**
      * 返回快速缓冲中的数据
      *
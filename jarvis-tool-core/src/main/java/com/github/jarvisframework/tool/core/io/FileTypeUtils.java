@@ -1,25 +1,48 @@
 package com.github.jarvisframework.tool.core.io;
 
+import com.github.jarvisframework.tool.core.lang.Assert;
 import com.github.jarvisframework.tool.core.util.StringUtils;
 
 import java.io.File;
 import java.io.FileInputStream;
+import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
 
 /**
  * 文件类型判断工具类
  *
  * <p>此工具根据文件的前几位bytes猜测文件类型，对于文本、zip判断不准确，对于视频、图片类型判断准确</p>
  * <p>需要注意的是，xlsx、docx等Office2007格式，全部识别为zip，因为新版采用了OpenXML格式，这些格式本质上是XML文件打包为zip</p>
+ * <p>文件头按16进制的半字节构建为前缀树，直接使用读取的字节匹配，多个文件头同时匹配时使用最长的一个，耗时只与文件头长度有关</p>
  *
  * @author Doug Wang
  * @since 1.0, 2020-07-13 13:29:01
  */
 public class FileTypeUtils {
 
+    /**
+     * 文件头与类型的映射，键统一为小写的16进制字符串
+     */
     private static final Map<String, String> FILE_TYPE_MAP;
+    /**
+     * 至少读取的文件头长度
+     */
+    private static final int MIN_HEAD_LENGTH = 28;
+    /**
+     * 读取文件头的缓冲区，每个线程复用
+     */
+    private static final ThreadLocal<byte[]> HEAD_BUFFER = ThreadLocal.withInitial(() -> new byte[MIN_HEAD_LENGTH]);
+    /**
+     * 由{@link #FILE_TYPE_MAP}构建的前缀树，映射变更时整体替换
+     */
+    private static volatile Node trie;
 
     static {
         FILE_TYPE_MAP = new ConcurrentHashMap<>();
@@ -49,8 +72,8 @@ public class FileTypeUtils {
         // Email [Outlook Express 6] (eml)
         FILE_TYPE_MAP.put("46726f6d3a203d3f6762", "eml");
         // MS Access (mdb)
-        FILE_TYPE_MAP.put("5374616E64617264204A", "mdb");
-        FILE_TYPE_MAP.put("252150532D41646F6265", "ps");
+        FILE_TYPE_MAP.put("5374616e64617264204a", "mdb");
+        FILE_TYPE_MAP.put("252150532d41646f6265", "ps");
         // Adobe Acrobat (pdf)
         FILE_TYPE_MAP.put("255044462d312e", "pdf");
         // rmvb/rm相同
@@ -58,7 +81,7 @@ public class FileTypeUtils {
         // flv与f4v相同
         FILE_TYPE_MAP.put("464c5601050000000900", "flv");
         FILE_TYPE_MAP.put("00000020667479706", "mp4");
-        FILE_TYPE_MAP.put("00000018667479706D70", "mp4");
+        FILE_TYPE_MAP.put("00000018667479706d70", "mp4");
         FILE_TYPE_MAP.put("49443303000000002176", "mp3");
         FILE_TYPE_MAP.put("000001ba210001000180", "mpg");
         // wmv与asf相同
@@ -71,11 +94,9 @@ public class FileTypeUtils {
         // WinRAR
         FILE_TYPE_MAP.put("526172211a0700cf9073", "rar");
         FILE_TYPE_MAP.put("235468697320636f6e66", "ini");
-        FILE_TYPE_MAP.put("504B03040a0000000000", "jar");
-        FILE_TYPE_MAP.put("504B0304140008000800", "jar");
         // MS Excel 注意：word、msi 和 excel的文件头一样
         FILE_TYPE_MAP.put("d0cf11e0a1b11ae10", "xls");
-        FILE_TYPE_MAP.put("504B0304", "zip");
+        FILE_TYPE_MAP.put("504b0304", "zip");
         // 可执行文件
         FILE_TYPE_MAP.put("4d5a9000030000000400", "exe");
         // jsp文件
@@ -96,19 +117,21 @@ public class FileTypeUtils {
         FILE_TYPE_MAP.put("04000000010000001300", "mxp");
         FILE_TYPE_MAP.put("6431303a637265617465", "torrent");
         // Quicktime (mov)
-        FILE_TYPE_MAP.put("6D6F6F76", "mov");
+        FILE_TYPE_MAP.put("6d6f6f76", "mov");
         // WordPerfect (wpd)
-        FILE_TYPE_MAP.put("FF575043", "wpd");
+        FILE_TYPE_MAP.put("ff575043", "wpd");
         // Outlook Express (dbx)
-        FILE_TYPE_MAP.put("CFAD12FEC5FD746F", "dbx");
+        FILE_TYPE_MAP.put("cfad12fec5fd746f", "dbx");
         // Outlook (pst)
-        FILE_TYPE_MAP.put("2142444E", "pst");
+        FILE_TYPE_MAP.put("2142444e", "pst");
         // Quicken (qdf)
-        FILE_TYPE_MAP.put("AC9EBD8F", "qdf");
+        FILE_TYPE_MAP.put("ac9ebd8f", "qdf");
         // Windows Password (pwl)
-        FILE_TYPE_MAP.put("E3828596", "pwl");
+        FILE_TYPE_MAP.put("e3828596", "pwl");
         // Real Audio (ram)
-        FILE_TYPE_MAP.put("2E7261FD", "ram");
+        FILE_TYPE_MAP.put("2e7261fd", "ram");
+
+        rebuild();
     }
 
     /**
@@ -118,9 +141,15 @@ public class FileTypeUtils {
      * @param fileStreamHexHead 文件流头部Hex信息
      * @param extName           文件扩展名
      * @return 之前已经存在的文件扩展名
+     * @throws IllegalArgumentException 头部信息为空或包含非16进制字符
      */
     public static String putFileType(String fileStreamHexHead, String extName) {
-        return FILE_TYPE_MAP.put(fileStreamHexHead.toLowerCase(), extName);
+        Assert.isTrue(isHex(fileStreamHexHead), "Invalid file stream hex head: [{}]", fileStreamHexHead);
+        synchronized (FILE_TYPE_MAP) {
+            final String previous = FILE_TYPE_MAP.put(fileStreamHexHead.toLowerCase(), extName);
+            rebuild();
+            return previous;
+        }
     }
 
     /**
@@ -130,7 +159,13 @@ public class FileTypeUtils {
      * @return 移除的文件扩展名
      */
     public static String removeFileType(String fileStreamHexHead) {
-        return FILE_TYPE_MAP.remove(fileStreamHexHead.toLowerCase());
+        synchronized (FILE_TYPE_MAP) {
+            final String removed = FILE_TYPE_MAP.remove(fileStreamHexHead.toLowerCase());
+            if (null != removed) {
+                rebuild();
+            }
+            return removed;
+        }
     }
 
     /**
@@ -140,12 +175,48 @@ public class FileTypeUtils {
      * @return 文件类型，未找到为<code>null</code>
      */
     public static String getType(String fileStreamHexHead) {
-        for (Map.Entry<String, String> fileTypeEntry : FILE_TYPE_MAP.entrySet()) {
-            if (StringUtils.startWithIgnoreCase(fileStreamHexHead, fileTypeEntry.getKey())) {
-                return fileTypeEntry.getValue();
+        Node node = trie;
+        String type = null;
+        final int length = fileStreamHexHead.length();
+        for (int i = 0; i < length && null != node; i++) {
+            final int nibble = Character.digit(fileStreamHexHead.charAt(i), 16);
+            if (nibble < 0) {
+                break;
+            }
+            node = node.children[nibble];
+            if (null != node && null != node.type) {
+                type = node.type;
+            }
+        }
+        return type;
+    }
+
+    /**
+     * 根据文件头部的字节获得文件类型
+     *
+     * @param head   文件头部字节
+     * @param length 有效长度
+     * @return 文件类型，未找到为<code>null</code>
+     */
+    public static String getType(byte[] head, int length) {
+        Node node = trie;
+        String type = null;
+        for (int i = 0; i < length && null != node; i++) {
+            // 高4位
+            node = node.children[(head[i] >> 4) & 0x0f];
+            if (null == node) {
+                break;
+            }
+            if (null != node.type) {
+                type = node.type;
+            }
+            // 低4位
+            node = node.children[head[i] & 0x0f];
+            if (null != node && null != node.type) {
+                type = node.type;
             }
         }
-        return null;
+        return type;
     }
 
     /**
@@ -156,7 +227,17 @@ public class FileTypeUtils {
      * @throws IORuntimeException 读取流引起的异常
      */
     public static String getType(InputStream in) throws IORuntimeException {
-        return getType(IOUtils.readHex28Upper(in));
+        final Node root = trie;
+        final byte[] head = headBuffer(root);
+        int length = 0;
+        try {
+            for (int read; length < root.headLength && (read = in.read(head, length, root.headLength - length)) != IOUtils.EOF; ) {
+                length += read;
+            }
+        } catch (IOException e) {
+            throw new IORuntimeException(e);
+        }
+        return getType(head, length);
     }
 
     /**
@@ -181,13 +262,76 @@ public class FileTypeUtils {
         } finally {
             IOUtils.closeQuietly(in);
         }
+        return refineType(typeName, FileUtils.extName(file));
+    }
+
+    /**
+     * 根据文件的头部信息获得文件类型，规则与{@link #getType(File)}一致，使用通道读取，不创建流缓冲
+     *
+     * @param path 文件路径
+     * @return 类型，文件的扩展名，未找到为<code>null</code>
+     * @throws IORuntimeException 读取文件引起的异常
+     */
+    public static String getType(Path path) throws IORuntimeException {
+        final Node root = trie;
+        final byte[] head = headBuffer(root);
+        final ByteBuffer buffer = ByteBuffer.wrap(head, 0, root.headLength);
+        try (SeekableByteChannel channel = Files.newByteChannel(path)) {
+            while (buffer.hasRemaining() && channel.read(buffer) != IOUtils.EOF) {
+                // 读满文件头或到达文件末尾
+            }
+        } catch (IOException e) {
+            throw new IORuntimeException(e);
+        }
+        final Path fileName = path.getFileName();
+        return refineType(getType(head, buffer.position()), (null == fileName) ? null : FileUtils.extName(fileName.toString()));
+    }
+
+    /**
+     * 并行识别多个文件的类型<br>
+     * 每个文件只读取头部，使用{@link java.util.concurrent.ForkJoinPool#commonPool()}并行执行，规则与{@link #getType(Path)}一致
+     *
+     * @param paths 文件路径流，流中的目录会被忽略
+     * @return 文件路径与类型的映射，无法识别类型的文件不包含在内
+     * @throws IORuntimeException 读取文件引起的异常
+     */
+    public static Map<Path, String> getTypes(Stream<Path> paths) throws IORuntimeException {
+        final Map<Path, String> types = new ConcurrentHashMap<>();
+        paths.parallel().filter(path -> false == Files.isDirectory(path)).forEach(path -> {
+            final String type = getType(path);
+            if (StringUtils.isNotEmpty(type)) {
+                types.put(path, type);
+            }
+        });
+        return types;
+    }
+
+    /**
+     * 通过路径获得文件类型
+     *
+     * @param path 路径，绝对路径或相对ClassPath的路径
+     * @return 类型
+     * @throws IORuntimeException 读取文件引起的异常
+     */
+    public static String getTypeByPath(String path) throws IORuntimeException {
+        return getType(FileUtils.file(path));
+    }
+
+    // ---------------------------------------------------------------------------------------------- Private method start
 
+    /**
+     * 根据扩展名辅助判断头信息相同的类型
+     *
+     * @param typeName 根据头信息识别的类型
+     * @param extName  扩展名
+     * @return 类型
+     */
+    private static String refineType(String typeName, String extName) {
         if (null == typeName) {
             // 未成功识别类型，扩展名辅助识别
-            typeName = FileUtils.extName(file);
+            typeName = extName;
         } else if ("xls".equals(typeName)) {
             // xls、doc、msi的头一样，使用扩展名辅助判断
-            final String extName = FileUtils.extName(file);
             if ("doc".equalsIgnoreCase(extName)) {
                 typeName = "doc";
             } else if ("msi".equalsIgnoreCase(extName)) {
@@ -195,7 +339,6 @@ public class FileTypeUtils {
             }
         } else if ("zip".equals(typeName)) {
             // zip可能为docx、xlsx、pptx、jar、war等格式，扩展名辅助判断
-            final String extName = FileUtils.extName(file);
             if ("docx".equalsIgnoreCase(extName)) {
                 typeName = "docx";
             } else if ("xlsx".equalsIgnoreCase(extName)) {
@@ -211,14 +354,63 @@ public class FileTypeUtils {
         return typeName;
     }
 
+    private static byte[] headBuffer(Node root) {
+        byte[] head = HEAD_BUFFER.get();
+        if (head.length < root.headLength) {
+            head = new byte[root.headLength];
+            HEAD_BUFFER.set(head);
+        }
+        return head;
+    }
+
     /**
-     * 通过路径获得文件类型
-     *
-     * @param path 路径，绝对路径或相对ClassPath的路径
-     * @return 类型
-     * @throws IORuntimeException 读取文件引起的异常
+     * 根据当前映射重建前缀树
      */
-    public static String getTypeByPath(String path) throws IORuntimeException {
-        return getType(FileUtils.file(path));
+    private static void rebuild() {
+        final Node root = new Node();
+        int maxNibbles = 0;
+        for (Map.Entry<String, String> entry : FILE_TYPE_MAP.entrySet()) {
+            final String hex = entry.getKey();
+            Node node = root;
+            for (int i = 0; i < hex.length(); i++) {
+                final int nibble = Character.digit(hex.charAt(i), 16);
+                if (null == node.children[nibble]) {
+                    node.children[nibble] = new Node();
+                }
+                node = node.children[nibble];
+            }
+            node.type = entry.getValue();
+            maxNibbles = Math.max(maxNibbles, hex.length());
+        }
+        root.headLength = Math.max(MIN_HEAD_LENGTH, (maxNibbles + 1) / 2);
+        trie = root;
+    }
+
+    private static boolean isHex(String str) {
+        if (null == str || str.isEmpty()) {
+            return false;
+        }
+        for (int i = 0; i < str.length(); i++) {
+            if (Character.digit(str.charAt(i), 16) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+    // ---------------------------------------------------------------------------------------------- Private method end
+
+    /**
+     * 前缀树节点，每层对应一个16进制字符（半字节）
+     */
+    private static class Node {
+        final Node[] children = new Node[16];
+        /**
+         * 到此节点为止的文件头对应的类型
+         */
+        String type;
+        /**
+         * 需要读取的文件头字节数，仅根节点有效
+         */
+        int headLength;
     }
 }
@@ -1,6 +1,7 @@
 package com.github.jarvisframework.tool.core.io;
 
 import com.github.jarvisframework.tool.core.collection.CollectionUtils;
+import com.github.jarvisframework.tool.core.io.copy.StreamCopier;
 import com.github.jarvisframework.tool.core.io.file.FileReader;
 import com.github.jarvisframework.tool.core.io.file.FileWriter;
 import com.github.jarvisframework.tool.core.io.file.*;
@@ -11,9 +12,12 @@ import java.io.*;
 import java.net.URI;
 import java.net.URL;
 import java.net.URLConnection;
+import java.nio.channels.FileChannel;
 import java.nio.charset.Charset;
 import java.nio.file.*;
 import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileAttribute;
+import java.nio.file.attribute.PosixFilePermissions;
 import java.text.DecimalFormat;
 import java.util.*;
 import java.util.jar.JarFile;
@@ -172,19 +176,14 @@ public class FileUtils {
             return fileList;
         }
 
-        if (file.isDirectory()) {
-            final File[] subFiles = file.listFiles();
-            if (ArrayUtils.isNotEmpty(subFiles)) {
-                for (File tmp : subFiles) {
-                    fileList.addAll(loopFiles(tmp, fileFilter));
-                }
-            }
-        } else {
-            if (null == fileFilter || fileFilter.accept(file)) {
-                fileList.add(file);
+        // 与File#listFiles一致：跟随符号链接，跳过无法读取的目录；链接成环的目录只进入一次
+        PathWalker.of(file.toPath()).setFollowLinks(true).setIgnoreErrors(true).walk((path, attrs) -> {
+            final File subFile = path.toFile();
+            if (null == fileFilter || fileFilter.accept(subFile)) {
+                fileList.add(subFile);
             }
-        }
-
+            return true;
+        });
         return fileList;
     }
 
@@ -545,7 +544,7 @@ public class FileUtils {
     /**
      * 计算目录或文件的总大小<br>
      * 当给定对象为文件时，直接调用 {@link File#length()}<br>
-     * 当给定对象为目录时，遍历目录下的所有文件和目录，递归计算其大小，求和返回
+     * 当给定对象为目录时，使用{@link PathWalker}并行遍历目录下的所有文件，求和返回
      *
      * @param file 目录或文件,null或者文件不存在返回0
      * @return 总大小，bytes长度
@@ -556,15 +555,8 @@ public class FileUtils {
         }
 
         if (file.isDirectory()) {
-            long size = 0L;
-            File[] subFiles = file.listFiles();
-            if (ArrayUtils.isEmpty(subFiles)) {
-                return 0L;// empty directory
-            }
-            for (File subFile : subFiles) {
-                size += size(subFile);
-            }
-            return size;
+            // 子目录并行遍历，与File#length一致跟随符号链接，跳过无法读取的目录
+            return PathWalker.of(file.toPath()).setFollowLinks(true).setIgnoreErrors(true).setParallel().size();
         } else {
             return file.length();
         }
@@ -987,12 +979,70 @@ public class FileUtils {
 
         Path destPath = dest.toFile().isDirectory() ? dest.resolve(src.getFileName()) : dest;
         try {
+            if (isChannelCopyable(src, destPath, options)) {
+                copyByChannel(src, destPath, ArrayUtils.contains(options, StandardCopyOption.REPLACE_EXISTING));
+                return destPath;
+            }
             return Files.copy(src, destPath, options);
         } catch (IOException e) {
             throw new IORuntimeException(e);
         }
     }
 
+    /**
+     * 是否可以使用{@link FileChannel#transferTo(long, long, java.nio.channels.WritableByteChannel)}拷贝<br>
+     * 只处理普通文件到普通文件（或不存在的目标）的拷贝，需要复制属性、目标为目录或符号链接等情况交给{@link Files#copy(Path, Path, CopyOption...)}，以保持其语义
+     *
+     * @param src     源文件
+     * @param dest    目标文件
+     * @param options 拷贝选项
+     * @return 是否可以使用通道拷贝
+     * @throws IOException IO异常
+     */
+    private static boolean isChannelCopyable(Path src, Path dest, StandardCopyOption... options) throws IOException {
+        if (ArrayUtils.contains(options, StandardCopyOption.COPY_ATTRIBUTES) || ArrayUtils.contains(options, StandardCopyOption.ATOMIC_MOVE)) {
+            return false;
+        }
+        if (false == Files.isRegularFile(src) || Files.isSymbolicLink(dest)) {
+            return false;
+        }
+        if (false == Files.exists(dest, LinkOption.NOFOLLOW_LINKS)) {
+            return true;
+        }
+        // 源与目标为同一文件时Files.copy不做任何操作，截断打开会清空文件
+        return Files.isRegularFile(dest, LinkOption.NOFOLLOW_LINKS) && false == Files.isSameFile(src, dest);
+    }
+
+    /**
+     * 使用文件通道拷贝文件，Linux等系统上由内核直接完成数据传输<br>
+     * 与{@link Files#copy(Path, Path, CopyOption...)}一致：非覆盖模式下目标存在时抛出{@link FileAlreadyExistsException}，新建的目标文件沿用源文件的权限位
+     *
+     * @param src       源文件
+     * @param dest      目标文件
+     * @param isReplace 是否覆盖已存在的目标
+     * @throws IOException IO异常
+     */
+    private static void copyByChannel(Path src, Path dest, boolean isReplace) throws IOException {
+        final Set<OpenOption> openOptions = new HashSet<>(4);
+        openOptions.add(StandardOpenOption.WRITE);
+        if (isReplace) {
+            openOptions.add(StandardOpenOption.CREATE);
+            openOptions.add(StandardOpenOption.TRUNCATE_EXISTING);
+        } else {
+            openOptions.add(StandardOpenOption.CREATE_NEW);
+        }
+        final FileAttribute<?>[] attributes;
+        if (src.getFileSystem().supportedFileAttributeViews().contains("posix")) {
+            attributes = new FileAttribute<?>[]{PosixFilePermissions.asFileAttribute(Files.getPosixFilePermissions(src))};
+        } else {
+            attributes = new FileAttribute<?>[0];
+        }
+        try (FileChannel in = FileChannel.open(src, StandardOpenOption.READ);
+             FileChannel out = FileChannel.open(dest, openOptions, attributes)) {
+            StreamCopier.create().copy(in, out);
+        }
+    }
+
     /**
      * 复制文件或目录<br>
      * 如果目标文件为目录，则将源文件以相同文件名拷贝到目标目录
@@ -1372,8 +1422,8 @@ public class FileUtils {
 
     /**
      * 比较两个文件内容是否相同<br>
-     * 首先比较长度，长度一致再比较内容<br>
-     * 此方法来自Apache Commons io
+     * 首先比较长度，长度一致再按块比较内容，大文件使用内存映射<br>
+     * 需要并行比较或抽样预比较时使用{@link FileContentComparer}
      *
      * @param file1 文件1
      * @param file2 文件2
@@ -1407,17 +1457,7 @@ public class FileUtils {
             return true;
         }
 
-        InputStream input1 = null;
-        InputStream input2 = null;
-        try {
-            input1 = getInputStream(file1);
-            input2 = getInputStream(file2);
-            return IOUtils.contentEquals(input1, input2);
-
-        } finally {
-            IOUtils.closeQuietly(input1);
-            IOUtils.closeQuietly(input2);
-        }
+        return FileContentComparer.create().contentEquals(file1, file2);
     }
 
     // -----------------------------------------------------------------------
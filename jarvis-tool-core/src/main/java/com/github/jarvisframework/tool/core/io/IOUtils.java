@@ -2,6 +2,7 @@ package com.github.jarvisframework.tool.core.io;
 
 import com.github.jarvisframework.tool.core.convert.Convert;
 import com.github.jarvisframework.tool.core.exception.UtilException;
+import com.github.jarvisframework.tool.core.io.copy.StreamCopier;
 import com.github.jarvisframework.tool.core.lang.Assert;
 import com.github.jarvisframework.tool.core.text.StringBuilder;
 import com.github.jarvisframework.tool.core.util.CharsetUtils;
@@ -98,11 +99,11 @@ public class IOUtils {
             while ((readSize = reader.read(buffer, 0, bufferSize)) != EOF) {
                 writer.write(buffer, 0, readSize);
                 size += readSize;
-                writer.flush();
                 if (null != streamProgress) {
                     streamProgress.progress(size);
                 }
             }
+            writer.flush();
         } catch (Exception e) {
             throw new IORuntimeException(e);
         }
@@ -138,7 +139,9 @@ public class IOUtils {
     }
 
     /**
-     * 拷贝流，拷贝后不关闭流
+     * 拷贝流，拷贝后不关闭流<br>
+     * 两端均为文件流时使用{@link FileChannel#transferTo(long, long, WritableByteChannel)}，其它情况使用{@link BufferPool}中的缓冲区，
+     * 拷贝结束后flush一次，进度回调按时间节流，详见{@link StreamCopier}
      *
      * @param in             输入流
      * @param out            输出流
@@ -148,33 +151,7 @@ public class IOUtils {
      * @throws IORuntimeException IO异常
      */
     public static long copy(InputStream in, OutputStream out, int bufferSize, StreamProgress streamProgress) throws IORuntimeException {
-        Assert.notNull(in, "InputStream is null !");
-        Assert.notNull(out, "OutputStream is null !");
-        if (bufferSize <= 0) {
-            bufferSize = DEFAULT_BUFFER_SIZE;
-        }
-
-        byte[] buffer = new byte[bufferSize];
-        if (null != streamProgress) {
-            streamProgress.start();
-        }
-        long size = 0;
-        try {
-            for (int readSize; (readSize = in.read(buffer)) != EOF; ) {
-                out.write(buffer, 0, readSize);
-                size += readSize;
-                out.flush();
-                if (null != streamProgress) {
-                    streamProgress.progress(size);
-                }
-            }
-        } catch (IOException e) {
-            throw new IORuntimeException(e);
-        }
-        if (null != streamProgress) {
-            streamProgress.finish();
-        }
-        return size;
+        return StreamCopier.create(bufferSize, streamProgress).copy(in, out);
     }
 
     /**
@@ -193,7 +170,7 @@ public class IOUtils {
     }
 
     /**
-     * 拷贝文件流，使用NIO
+     * 拷贝文件流，使用NIO，从输入流的当前位置拷贝到末尾，拷贝后不关闭流
      *
      * @param in  输入
      * @param out 输出
@@ -203,19 +180,7 @@ public class IOUtils {
     public static long copy(FileInputStream in, FileOutputStream out) throws IORuntimeException {
         Assert.notNull(in, "FileInputStream is null!");
         Assert.notNull(out, "FileOutputStream is null!");
-
-        FileChannel inChannel = null;
-        FileChannel outChannel = null;
-        try {
-            inChannel = in.getChannel();
-            outChannel = out.getChannel();
-            return inChannel.transferTo(0, inChannel.size(), outChannel);
-        } catch (IOException e) {
-            throw new IORuntimeException(e);
-        } finally {
-            closeQuietly(outChannel);
-            closeQuietly(inChannel);
-        }
+        return StreamCopier.create().copy(in, out);
     }
 
     /**
@@ -246,7 +211,8 @@ public class IOUtils {
     }
 
     /**
-     * 拷贝流，使用NIO，不会关闭流
+     * 拷贝流，使用NIO，不会关闭流<br>
+     * 源或目标为{@link FileChannel}时使用transferTo/transferFrom
      *
      * @param in             {@link ReadableByteChannel}
      * @param out            {@link WritableByteChannel}
@@ -256,31 +222,7 @@ public class IOUtils {
      * @throws IORuntimeException IO异常
      */
     public static long copy(ReadableByteChannel in, WritableByteChannel out, int bufferSize, StreamProgress streamProgress) throws IORuntimeException {
-        Assert.notNull(in, "InputStream is null !");
-        Assert.notNull(out, "OutputStream is null !");
-
-        ByteBuffer byteBuffer = ByteBuffer.allocate(bufferSize <= 0 ? DEFAULT_BUFFER_SIZE : bufferSize);
-        long size = 0;
-        if (null != streamProgress) {
-            streamProgress.start();
-        }
-        try {
-            while (in.read(byteBuffer) != EOF) {
-                byteBuffer.flip();// 写转读
-                size += out.write(byteBuffer);
-                byteBuffer.clear();
-                if (null != streamProgress) {
-                    streamProgress.progress(size);
-                }
-            }
-        } catch (IOException e) {
-            throw new IORuntimeException(e);
-        }
-        if (null != streamProgress) {
-            streamProgress.finish();
-        }
-
-        return size;
+        return StreamCopier.create(bufferSize, streamProgress).copy(in, out);
     }
     // -------------------------------------------------------------------------------------- Copy end
 
@@ -412,8 +354,13 @@ public class IOUtils {
      * @throws IORuntimeException IO异常
      */
     public static String read(InputStream in, String charsetName) throws IORuntimeException {
-        FastByteArrayOutputStream out = read(in);
-        return StringUtils.isBlank(charsetName) ? out.toString() : out.toString(charsetName);
+        final FastByteArrayOutputStream out = read(in);
+        try {
+            return StringUtils.isBlank(charsetName) ? out.toString() : out.toString(charsetName);
+        } finally {
+            // 归还缓冲区
+            out.reset();
+        }
     }
 
     /**
@@ -425,8 +372,12 @@ public class IOUtils {
      * @throws IORuntimeException IO异常
      */
     public static String read(InputStream in, Charset charset) throws IORuntimeException {
-        FastByteArrayOutputStream out = read(in);
-        return null == charset ? out.toString() : out.toString(charset);
+        final FastByteArrayOutputStream out = read(in);
+        try {
+            return null == charset ? out.toString() : out.toString(charset);
+        } finally {
+            out.reset();
+        }
     }
 
     /**
@@ -439,8 +390,12 @@ public class IOUtils {
      * @since 4.5.0
      */
     public static String read(ReadableByteChannel channel, Charset charset) throws IORuntimeException {
-        FastByteArrayOutputStream out = read(channel);
-        return null == charset ? out.toString() : out.toString(charset);
+        final FastByteArrayOutputStream out = read(channel);
+        try {
+            return null == charset ? out.toString() : out.toString(charset);
+        } finally {
+            out.reset();
+        }
     }
 
     /**
@@ -552,11 +507,15 @@ public class IOUtils {
      */
     public static byte[] readBytes(InputStream in, boolean isCloseStream) throws IORuntimeException {
         final FastByteArrayOutputStream out = new FastByteArrayOutputStream();
-        copy(in, out);
-        if (isCloseStream) {
-            closeQuietly(in);
+        try {
+            copy(in, out);
+            return out.toByteArray();
+        } finally {
+            if (isCloseStream) {
+                closeQuietly(in);
+            }
+            out.reset();
         }
-        return out.toByteArray();
     }
 
     /**
@@ -1098,7 +1057,7 @@ public class IOUtils {
 
     /**
      * 对比两个流内容是否相同<br>
-     * 内部会转换流为 {@link BufferedInputStream}
+     * 按块读取比较，发现不同立即返回；比较文件请使用{@link FileUtils#contentEquals(File, File)}，会先比较大小
      *
      * @param input1 第一个流
      * @param input2 第二个流
@@ -1107,30 +1066,46 @@ public class IOUtils {
      * @since 4.0.6
      */
     public static boolean contentEquals(InputStream input1, InputStream input2) throws IORuntimeException {
-        if (false == (input1 instanceof BufferedInputStream)) {
-            input1 = new BufferedInputStream(input1);
-        }
-        if (false == (input2 instanceof BufferedInputStream)) {
-            input2 = new BufferedInputStream(input2);
-        }
-
+        final byte[] buffer1 = new byte[DEFAULT_BUFFER_SIZE];
+        final byte[] buffer2 = new byte[DEFAULT_BUFFER_SIZE];
         try {
-            int ch = input1.read();
-            while (EOF != ch) {
-                int ch2 = input2.read();
-                if (ch != ch2) {
+            int length1;
+            int length2;
+            do {
+                length1 = readFully(input1, buffer1);
+                length2 = readFully(input2, buffer2);
+                if (length1 != length2) {
                     return false;
                 }
-                ch = input1.read();
-            }
-
-            int ch2 = input2.read();
-            return ch2 == EOF;
+                for (int i = 0; i < length1; i++) {
+                    if (buffer1[i] != buffer2[i]) {
+                        return false;
+                    }
+                }
+            } while (length1 == DEFAULT_BUFFER_SIZE);
+            return true;
         } catch (IOException e) {
             throw new IORuntimeException(e);
         }
     }
 
+    /**
+     * 尽量读满缓冲区，只有到达流末尾时才会返回小于缓冲区长度的值
+     *
+     * @param in     输入流
+     * @param buffer 缓冲区
+     * @return 读取的长度
+     * @throws IOException IO异常
+     */
+    private static int readFully(InputStream in, byte[] buffer) throws IOException {
+        int length = 0;
+        int read;
+        while (length < buffer.length && EOF != (read = in.read(buffer, length, buffer.length - length))) {
+            length += read;
+        }
+        return length;
+    }
+
     /**
      * 对比两个Reader的内容是否一致<br>
      * 内部会转换流为 {@link BufferedInputStream}
@@ -0,0 +1,393 @@
+package com.github.jarvisframework.tool.core.io;
+
+import com.github.jarvisframework.tool.core.lang.Assert;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * <p>并行Gzip压缩输出流</p>
+ * 参考pigz的实现：输入按固定大小分块，各块在线程池中独立压缩为raw deflate数据，每块使用前一块末尾32KB作为预设字典，
+ * 非最后一块以SYNC_FLUSH结束（按字节对齐），最后一块以FINISH结束，按顺序拼接后即为一个标准的单成员Gzip流。
+ * 各块的CRC32并行计算后合并，压缩率与单线程压缩接近，可使用{@link java.util.zip.GZIPInputStream}或ZipUtils.unGzip解压。<br>
+ * 同时处于压缩中的块数有上限，内存占用约为 块大小 × 并行数 × 2。
+ *
+ * <pre>
+ * try (ParallelGzipOutputStream out = new ParallelGzipOutputStream(FileUtils.getOutputStream(gzFile))) {
+ *     IOUtils.copy(in, out);
+ * }
+ * </pre>
+ * <p>
+ * 此类非线程安全，关闭时写出Gzip尾部并关闭被包装的流。
+ *
+ * @author Doug Wang
+ * @since 1.0, 2026-10-18 19:12:37
+ */
+public class ParallelGzipOutputStream extends FilterOutputStream {
+
+    /**
+     * 默认块大小：128KB
+     */
+    public static final int DEFAULT_BLOCK_SIZE = 128 * 1024;
+    /**
+     * deflate字典最大长度：32KB
+     */
+    private static final int DICTIONARY_SIZE = 32 * 1024;
+    private static final int GZIP_MAGIC = 0x8b1f;
+
+    private final int blockSize;
+    private final int level;
+    private final Executor executor;
+    private final int maxPending;
+    private final Deque<CompletableFuture<Block>> pending = new ArrayDeque<>();
+    /**
+     * 压缩任务之间复用的Deflater，关闭时释放本地内存，同步于自身
+     */
+    private final Deque<Deflater> deflaters = new ArrayDeque<>();
+    /**
+     * Deflater是否已释放，之后归还的Deflater直接释放，同步于{@link #deflaters}
+     */
+    private boolean deflatersReleased;
+
+    private byte[] current;
+    private int count;
+    private byte[] dictionary;
+    private long crc;
+    private long totalSize;
+    private boolean headerWritten;
+    private boolean closed;
+
+    /**
+     * 构造，使用默认块大小、默认压缩级别和{@link ForkJoinPool#commonPool()}
+     *
+     * @param out 输出流
+     */
+    public ParallelGzipOutputStream(OutputStream out) {
+        this(out, DEFAULT_BLOCK_SIZE, Deflater.DEFAULT_COMPRESSION, ForkJoinPool.commonPool(), ForkJoinPool.getCommonPoolParallelism());
+    }
+
+    /**
+     * 构造
+     *
+     * @param out         输出流
+     * @param blockSize   块大小，不小于32KB
+     * @param level       压缩级别，0~9，-1表示默认
+     * @param executor    执行压缩的线程池
+     * @param parallelism 线程池的线程数，用于限制同时压缩的块数
+     */
+    public ParallelGzipOutputStream(OutputStream out, int blockSize, int level, Executor executor, int parallelism) {
+        super(Assert.notNull(out, "OutputStream must not be null!"));
+        Assert.isTrue(blockSize >= DICTIONARY_SIZE, "Block size must not be less than {}", DICTIONARY_SIZE);
+        Assert.isTrue(level >= -1 && level <= 9, "Invalid compression level: {}", level);
+        this.blockSize = blockSize;
+        this.level = level;
+        this.executor = Assert.notNull(executor, "Executor must not be null!");
+        this.maxPending = Math.max(2, parallelism * 2);
+        this.current = BufferPool.HEAP.acquire(blockSize);
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        ensureOpen();
+        current[count++] = (byte) b;
+        if (count == blockSize) {
+            submit(false);
+        }
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        ensureOpen();
+        while (len > 0) {
+            final int n = Math.min(len, blockSize - count);
+            System.arraycopy(b, off, current, count, n);
+            count += n;
+            off += n;
+            len -= n;
+            if (count == blockSize) {
+                submit(false);
+            }
+        }
+    }
+
+    /**
+     * 将已写入的数据作为一块压缩，等待所有块写出后刷新输出流<br>
+     * 频繁调用会产生较多小块，降低压缩率和并行度
+     *
+     * @throws IOException IO异常
+     */
+    @Override
+    public void flush() throws IOException {
+        ensureOpen();
+        if (count > 0) {
+            submit(false);
+        }
+        drain();
+        out.flush();
+    }
+
+    /**
+     * 压缩剩余数据，写出Gzip尾部并关闭输出流
+     *
+     * @throws IOException IO异常
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        try {
+            submit(true);
+            drain();
+            writeTrailer();
+            out.flush();
+        } finally {
+            closed = true;
+            releaseDeflaters();
+            out.close();
+        }
+    }
+
+    // ---------------------------------------------------------------------------------------------- Private method start
+
+    private void ensureOpen() throws IOException {
+        if (closed) {
+            throw new IOException("Stream closed");
+        }
+    }
+
+    /**
+     * 提交当前块，并按顺序写出已完成的块
+     *
+     * @param last 是否最后一块
+     */
+    private void submit(boolean last) throws IOException {
+        final byte[] input = current;
+        final int length = count;
+        final byte[] dict = dictionary;
+        // 下一块的字典取当前块末尾，由flush产生的块可能不足32KB；
+        // 必须在提交前拷贝，压缩任务结束时会归还输入缓冲区，之后可能被其它线程复用
+        if (false == last) {
+            dictionary = Arrays.copyOfRange(input, Math.max(0, length - DICTIONARY_SIZE), length);
+        }
+        pending.add(CompletableFuture.supplyAsync(() -> deflate(input, length, dict, last), executor));
+
+        // 输入缓冲区交给压缩任务，压缩结束后归还
+        current = last ? null : BufferPool.HEAP.acquire(blockSize);
+        count = 0;
+
+        while (false == pending.isEmpty() && (pending.size() > maxPending || pending.peek().isDone())) {
+            writeBlock(pending.poll());
+        }
+    }
+
+    private void drain() throws IOException {
+        while (false == pending.isEmpty()) {
+            writeBlock(pending.poll());
+        }
+    }
+
+    private void writeBlock(CompletableFuture<Block> future) throws IOException {
+        final Block block;
+        try {
+            block = future.join();
+        } catch (CompletionException e) {
+            final Throwable cause = e.getCause();
+            throw (cause instanceof IOException) ? (IOException) cause : new IOException(cause);
+        }
+        try {
+            if (false == headerWritten) {
+                writeHeader();
+                headerWritten = true;
+            }
+            block.data.writeTo(out);
+            crc = crc32Combine(crc, block.crc, block.length);
+            totalSize += block.length;
+        } finally {
+            block.data.reset();
+        }
+    }
+
+    /**
+     * 压缩一块数据并计算CRC32，在线程池中执行，结束后归还输入缓冲区
+     */
+    private Block deflate(byte[] input, int length, byte[] dict, boolean last) {
+        final Deflater deflater = acquireDeflater();
+        final FastByteArrayOutputStream data = new FastByteArrayOutputStream(Math.max(1024, length >>> 1));
+        final byte[] buffer = BufferPool.HEAP.acquire(IOUtils.DEFAULT_LARGE_BUFFER_SIZE);
+        try {
+            if (null != dict && dict.length > 0) {
+                deflater.setDictionary(dict);
+            }
+            deflater.setInput(input, 0, length);
+            if (last) {
+                deflater.finish();
+                while (false == deflater.finished()) {
+                    data.write(buffer, 0, deflater.deflate(buffer, 0, buffer.length));
+                }
+            } else {
+                // SYNC_FLUSH输出按字节对齐，且不设置最终块标记，可直接与后续块拼接
+                int n;
+                do {
+                    n = deflater.deflate(buffer, 0, buffer.length, Deflater.SYNC_FLUSH);
+                    data.write(buffer, 0, n);
+                } while (n == buffer.length);
+            }
+
+            final CRC32 crc32 = new CRC32();
+            crc32.update(input, 0, length);
+            return new Block(data, crc32.getValue(), length);
+        } finally {
+            returnDeflater(deflater);
+            BufferPool.HEAP.release(buffer);
+            BufferPool.HEAP.release(input);
+        }
+    }
+
+    /**
+     * 取出空闲的Deflater，没有时新建
+     */
+    private Deflater acquireDeflater() {
+        final Deflater deflater;
+        synchronized (deflaters) {
+            deflater = deflaters.poll();
+        }
+        return null == deflater ? new Deflater(level, true) : deflater;
+    }
+
+    /**
+     * 归还Deflater，输出流已关闭时直接释放
+     */
+    private void returnDeflater(Deflater deflater) {
+        deflater.reset();
+        synchronized (deflaters) {
+            if (false == deflatersReleased) {
+                deflaters.push(deflater);
+                return;
+            }
+        }
+        deflater.end();
+    }
+
+    /**
+     * 释放所有空闲的Deflater，仍在执行的压缩任务结束后释放各自的Deflater
+     */
+    private void releaseDeflaters() {
+        synchronized (deflaters) {
+            deflatersReleased = true;
+            for (Deflater deflater : deflaters) {
+                deflater.end();
+            }
+            deflaters.clear();
+        }
+    }
+
+    /**
+     * 写出Gzip头，格式与{@link java.util.zip.GZIPOutputStream}一致
+     */
+    private void writeHeader() throws IOException {
+        out.write(new byte[]{(byte) GZIP_MAGIC, (byte) (GZIP_MAGIC >> 8), Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, 0});
+    }
+
+    /**
+     * 写出Gzip尾部：CRC32和原始数据长度（对2^32取模），均为小端序
+     */
+    private void writeTrailer() throws IOException {
+        final byte[] trailer = new byte[8];
+        writeInt(trailer, 0, crc);
+        writeInt(trailer, 4, totalSize);
+        out.write(trailer);
+    }
+
+    private static void writeInt(byte[] b, int offset, long value) {
+        b[offset] = (byte) value;
+        b[offset + 1] = (byte) (value >> 8);
+        b[offset + 2] = (byte) (value >> 16);
+        b[offset + 3] = (byte) (value >> 24);
+    }
+
+    /**
+     * 合并两段数据的CRC32，算法来自zlib的crc32_combine：crc1为前一段的CRC，crc2为后一段的CRC，len2为后一段的长度
+     */
+    static long crc32Combine(long crc1, long crc2, long len2) {
+        if (len2 <= 0) {
+            return crc1;
+        }
+        final long[] even = new long[32];
+        final long[] odd = new long[32];
+
+        // odd为移位一个0比特的运算矩阵
+        odd[0] = 0xEDB88320L;
+        long row = 1;
+        for (int n = 1; n < 32; n++) {
+            odd[n] = row;
+            row <<= 1;
+        }
+        // even为移位两个0比特，odd为移位四个0比特
+        gf2MatrixSquare(even, odd);
+        gf2MatrixSquare(odd, even);
+
+        // 对crc1追加len2个0字节，每轮对矩阵平方
+        do {
+            gf2MatrixSquare(even, odd);
+            if ((len2 & 1) != 0) {
+                crc1 = gf2MatrixTimes(even, crc1);
+            }
+            len2 >>= 1;
+            if (0 == len2) {
+                break;
+            }
+            gf2MatrixSquare(odd, even);
+            if ((len2 & 1) != 0) {
+                crc1 = gf2MatrixTimes(odd, crc1);
+            }
+            len2 >>= 1;
+        } while (len2 != 0);
+        return crc1 ^ crc2;
+    }
+
+    private static long gf2MatrixTimes(long[] mat, long vec) {
+        long sum = 0;
+        int i = 0;
+        while (vec != 0) {
+            if ((vec & 1) != 0) {
+                sum ^= mat[i];
+            }
+            vec >>= 1;
+            i++;
+        }
+        return sum;
+    }
+
+    private static void gf2MatrixSquare(long[] square, long[] mat) {
+        for (int n = 0; n < 32; n++) {
+            square[n] = gf2MatrixTimes(mat, mat[n]);
+        }
+    }
+    // ---------------------------------------------------------------------------------------------- Private method end
+
+    /**
+     * 已压缩的块
+     */
+    private static class Block {
+        final FastByteArrayOutputStream data;
+        final long crc;
+        final int length;
+
+        Block(FastByteArrayOutputStream data, long crc, int length) {
+            this.data = data;
+            this.crc = crc;
+            this.length = length;
+        }
+    }
+}
@@ -0,0 +1,539 @@
+package com.github.jarvisframework.tool.core.io.compress;
+
+import com.github.jarvisframework.tool.core.io.FastByteArrayOutputStream;
+import com.github.jarvisframework.tool.core.io.FileUtils;
+import com.github.jarvisframework.tool.core.io.IORuntimeException;
+import com.github.jarvisframework.tool.core.io.IOUtils;
+import com.github.jarvisframework.tool.core.lang.Assert;
+import com.github.jarvisframework.tool.core.util.CharsetUtils;
+import com.github.jarvisframework.tool.core.util.StringUtils;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+/**
+ * <p>并行Zip写出器</p>
+ * 每个文件条目在线程池中独立压缩（raw deflate）为临时数据块，小文件保存在内存中，大文件保存在临时文件中，
+ * 写出线程按添加顺序将数据块拼接为标准Zip文件，并在关闭时写出中央目录。条目数或偏移超出限制时自动使用ZIP64格式。<br>
+ * 同时处于压缩中的条目数有上限，调用{@link #add(String, File)}的线程在达到上限时会等待最早的条目写出，内存占用有界。
+ *
+ * <pre>
+ * try (ParallelZipWriter writer = ParallelZipWriter.of(zipFile, CharsetUtils.CHARSET_UTF_8)) {
+ *     writer.add("a/1.txt", file1).add("a/2.txt", file2).addDir("empty/");
+ * }
+ * </pre>
+ * <p>
+ * 此类非线程安全，条目需要在同一个线程中添加。
+ *
+ * @author Doug Wang
+ * @since 1.0, 2026-10-18 18:36:52
+ */
+public class ParallelZipWriter implements Closeable {
+
+    /**
+     * 压缩后大小可能超过此值的条目写入临时文件：4MB
+     */
+    private static final long SPILL_THRESHOLD = 4L * 1024 * 1024;
+    private static final long ZIP64_MAGIC = 0xFFFFFFFFL;
+    private static final int ZIP64_MAGIC_COUNT = 0xFFFF;
+    private static final int FLAG_UTF8 = 0x0800;
+    private static final int METHOD_STORED = 0;
+    private static final int METHOD_DEFLATED = 8;
+
+    private final CountingOutputStream out;
+    private final Charset charset;
+    private final List<CentralEntry> centralEntries = new ArrayList<>();
+    private final Deque<CompletableFuture<DeflatedEntry>> pending = new ArrayDeque<>();
+    /**
+     * 压缩任务之间复用的Deflater，关闭时释放本地内存，同步于自身
+     */
+    private final Deque<Deflater> deflaters = new ArrayDeque<>();
+    /**
+     * Deflater是否已释放，之后归还的Deflater直接释放，同步于{@link #deflaters}
+     */
+    private boolean deflatersReleased;
+
+    private int level = Deflater.DEFAULT_COMPRESSION;
+    private Executor executor = ForkJoinPool.commonPool();
+    private int maxPending = Math.max(4, ForkJoinPool.getCommonPoolParallelism() * 4);
+    private boolean closed;
+
+    /**
+     * 创建写出器，写出到文件
+     *
+     * @param zipFile Zip文件
+     * @param charset 条目名编码，{@code null}表示UTF-8
+     * @return ParallelZipWriter
+     */
+    public static ParallelZipWriter of(File zipFile, Charset charset) {
+        return new ParallelZipWriter(FileUtils.getOutputStream(zipFile), charset);
+    }
+
+    /**
+     * 构造
+     *
+     * @param out     输出流，关闭写出器时关闭
+     * @param charset 条目名编码，{@code null}表示UTF-8
+     */
+    public ParallelZipWriter(OutputStream out, Charset charset) {
+        Assert.notNull(out, "OutputStream must not be null!");
+        this.out = new CountingOutputStream((out instanceof BufferedOutputStream) ? out : new BufferedOutputStream(out, IOUtils.DEFAULT_LARGE_BUFFER_SIZE));
+        this.charset = (null == charset) ? CharsetUtils.CHARSET_UTF_8 : charset;
+    }
+
+    /**
+     * 设置压缩级别
+     *
+     * @param level 压缩级别，0~9，-1表示默认
+     * @return this
+     */
+    public ParallelZipWriter setLevel(int level) {
+        Assert.isTrue(level >= -1 && level <= 9, "Invalid compression level: {}", level);
+        this.level = level;
+        return this;
+    }
+
+    /**
+     * 设置执行压缩的线程池，并按线程数调整同时压缩的条目上限
+     *
+     * @param executor    线程池
+     * @param parallelism 线程池的线程数
+     * @return this
+     */
+    public ParallelZipWriter setExecutor(Executor executor, int parallelism) {
+        this.executor = Assert.notNull(executor, "Executor must not be null!");
+        this.maxPending = Math.max(4, parallelism * 4);
+        return this;
+    }
+
+    /**
+     * 添加文件条目
+     *
+     * @param path 条目路径
+     * @param file 文件
+     * @return this
+     * @throws IORuntimeException IO异常
+     */
+    public ParallelZipWriter add(String path, File file) throws IORuntimeException {
+        final long lastModified = file.lastModified();
+        final boolean spill = file.length() > SPILL_THRESHOLD;
+        return submit(() -> {
+            try (InputStream in = FileUtils.getInputStream(file)) {
+                return deflate(path, in, lastModified, spill);
+            }
+        });
+    }
+
+    /**
+     * 添加目录条目
+     *
+     * @param path 目录路径，自动补全末尾的"/"
+     * @return this
+     * @throws IORuntimeException IO异常
+     */
+    public ParallelZipWriter addDir(String path) throws IORuntimeException {
+        final DeflatedEntry entry = new DeflatedEntry(StringUtils.addSuffixIfNot(path, StringUtils.SLASH), System.currentTimeMillis());
+        entry.method = METHOD_STORED;
+        return submit(() -> entry);
+    }
+
+    /**
+     * 等待所有条目写出，写出中央目录并关闭输出流
+     *
+     * @throws IORuntimeException IO异常
+     */
+    @Override
+    public void close() throws IORuntimeException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            while (false == pending.isEmpty()) {
+                writeEntry(join(pending.poll()));
+            }
+            writeCentralDirectory();
+            out.flush();
+        } catch (IOException e) {
+            throw new IORuntimeException(e);
+        } finally {
+            // 出错时清理未写出的临时文件
+            for (CompletableFuture<DeflatedEntry> future : pending) {
+                future.thenAccept(DeflatedEntry::release);
+            }
+            releaseDeflaters();
+            IOUtils.closeQuietly(out);
+        }
+    }
+
+    // ---------------------------------------------------------------------------------------------- Private method start
+
+    private ParallelZipWriter submit(DeflateTask task) {
+        Assert.isFalse(closed, "Writer is closed!");
+        pending.add(CompletableFuture.supplyAsync(() -> {
+            try {
+                return task.call();
+            } catch (IOException e) {
+                throw new IORuntimeException(e);
+            }
+        }, executor));
+        try {
+            // 按顺序写出已完成的条目，达到上限时等待最早的条目
+            while (false == pending.isEmpty() && (pending.size() > maxPending || pending.peek().isDone())) {
+                writeEntry(join(pending.poll()));
+            }
+        } catch (IOException e) {
+            throw new IORuntimeException(e);
+        }
+        return this;
+    }
+
+    /**
+     * 压缩一个条目，在线程池中执行
+     */
+    private DeflatedEntry deflate(String path, InputStream in, long lastModified, boolean spill) throws IOException {
+        final DeflatedEntry entry = new DeflatedEntry(path, lastModified);
+        entry.method = METHOD_DEFLATED;
+        final OutputStream target;
+        if (spill) {
+            entry.tempFile = File.createTempFile("zip-entry-", ".deflate");
+            target = FileUtils.getOutputStream(entry.tempFile);
+        } else {
+            entry.memory = new FastByteArrayOutputStream();
+            target = entry.memory;
+        }
+
+        final Deflater deflater = acquireDeflater();
+        final CRC32 crc = new CRC32();
+        try {
+            final DeflaterOutputStream deflaterOut = new DeflaterOutputStream(target, deflater, IOUtils.DEFAULT_LARGE_BUFFER_SIZE);
+            final byte[] buffer = new byte[IOUtils.DEFAULT_LARGE_BUFFER_SIZE];
+            long size = 0;
+            for (int read; (read = in.read(buffer)) != IOUtils.EOF; ) {
+                crc.update(buffer, 0, read);
+                deflaterOut.write(buffer, 0, read);
+                size += read;
+            }
+            deflaterOut.finish();
+            entry.size = size;
+            entry.compressedSize = deflater.getBytesWritten();
+            entry.crc = crc.getValue();
+        } catch (IOException | RuntimeException e) {
+            entry.release();
+            throw e;
+        } finally {
+            returnDeflater(deflater);
+            if (spill) {
+                IOUtils.closeQuietly(target);
+            }
+        }
+        return entry;
+    }
+
+    /**
+     * 取出空闲的Deflater，没有时新建
+     */
+    private Deflater acquireDeflater() {
+        final Deflater deflater;
+        synchronized (deflaters) {
+            deflater = deflaters.poll();
+        }
+        if (null == deflater) {
+            return new Deflater(level, true);
+        }
+        deflater.setLevel(level);
+        return deflater;
+    }
+
+    /**
+     * 归还Deflater，写出器已关闭时直接释放
+     */
+    private void returnDeflater(Deflater deflater) {
+        deflater.reset();
+        synchronized (deflaters) {
+            if (false == deflatersReleased) {
+                deflaters.push(deflater);
+                return;
+            }
+        }
+        deflater.end();
+    }
+
+    /**
+     * 释放所有空闲的Deflater，仍在执行的压缩任务结束后释放各自的Deflater
+     */
+    private void releaseDeflaters() {
+        synchronized (deflaters) {
+            deflatersReleased = true;
+            for (Deflater deflater : deflaters) {
+                deflater.end();
+            }
+            deflaters.clear();
+        }
+    }
+
+    /**
+     * 写出本地文件头和压缩数据，在写出线程中执行
+     */
+    private void writeEntry(DeflatedEntry entry) throws IOException {
+        final long offset = out.count;
+        final byte[] name = entry.path.getBytes(charset);
+        final boolean zip64 = entry.size >= ZIP64_MAGIC || entry.compressedSize >= ZIP64_MAGIC;
+        final int flags = StandardCharsets.UTF_8.equals(charset) ? FLAG_UTF8 : 0;
+        final long dosTime = dosTime(entry.lastModified);
+        try {
+            writeInt(0x04034b50L);
+            writeShort(zip64 ? 45 : 20);
+            writeShort(flags);
+            writeShort(entry.method);
+            writeInt(dosTime);
+            writeInt(entry.crc);
+            writeInt(zip64 ? ZIP64_MAGIC : entry.compressedSize);
+            writeInt(zip64 ? ZIP64_MAGIC : entry.size);
+            writeShort(name.length);
+            writeShort(zip64 ? 20 : 0);
+            out.write(name);
+            if (zip64) {
+                writeShort(0x0001);
+                writeShort(16);
+                writeLong(entry.size);
+                writeLong(entry.compressedSize);
+            }
+            if (null != entry.memory) {
+                entry.memory.writeTo(out);
+            } else if (null != entry.tempFile) {
+                FileUtils.writeToStream(entry.tempFile, out);
+            }
+        } finally {
+            entry.release();
+        }
+        centralEntries.add(new CentralEntry(name, flags, entry.method, dosTime, entry.crc, entry.compressedSize, entry.size, offset));
+    }
+
+    private void writeCentralDirectory() throws IOException {
+        final long start = out.count;
+        for (CentralEntry entry : centralEntries) {
+            final boolean sizeZip64 = entry.size >= ZIP64_MAGIC || entry.compressedSize >= ZIP64_MAGIC;
+            final boolean offsetZip64 = entry.offset >= ZIP64_MAGIC;
+            final int extraLength = (sizeZip64 ? 16 : 0) + (offsetZip64 ? 8 : 0);
+            writeInt(0x02014b50L);
+            writeShort(extraLength > 0 ? 45 : 20);
+            writeShort(extraLength > 0 ? 45 : 20);
+            writeShort(entry.flags);
+            writeShort(entry.method);
+            writeInt(entry.dosTime);
+            writeInt(entry.crc);
+            writeInt(sizeZip64 ? ZIP64_MAGIC : entry.compressedSize);
+            writeInt(sizeZip64 ? ZIP64_MAGIC : entry.size);
+            writeShort(entry.name.length);
+            writeShort(extraLength > 0 ? extraLength + 4 : 0);
+            // 注释长度、起始磁盘号、内部属性、外部属性
+            writeShort(0);
+            writeShort(0);
+            writeShort(0);
+            writeInt(0);
+            writeInt(offsetZip64 ? ZIP64_MAGIC : entry.offset);
+            out.write(entry.name);
+            if (extraLength > 0) {
+                writeShort(0x0001);
+                writeShort(extraLength);
+                if (sizeZip64) {
+                    writeLong(entry.size);
+                    writeLong(entry.compressedSize);
+                }
+                if (offsetZip64) {
+                    writeLong(entry.offset);
+                }
+            }
+        }
+        final long end = out.count;
+        final long count = centralEntries.size();
+        final boolean zip64 = count >= ZIP64_MAGIC_COUNT || start >= ZIP64_MAGIC || end - start >= ZIP64_MAGIC;
+        if (zip64) {
+            // ZIP64中央目录结束记录
+            writeInt(0x06064b50L);
+            writeLong(44);
+            writeShort(45);
+            writeShort(45);
+            writeInt(0);
+            writeInt(0);
+            writeLong(count);
+            writeLong(count);
+            writeLong(end - start);
+            writeLong(start);
+            // ZIP64中央目录结束记录定位器
+            writeInt(0x07064b50L);
+            writeInt(0);
+            writeLong(end);
+            writeInt(1);
+        }
+        writeInt(0x06054b50L);
+        writeShort(0);
+        writeShort(0);
+        writeShort(zip64 ? ZIP64_MAGIC_COUNT : (int) count);
+        writeShort(zip64 ? ZIP64_MAGIC_COUNT : (int) count);
+        writeInt(zip64 ? ZIP64_MAGIC : end - start);
+        writeInt(zip64 ? ZIP64_MAGIC : start);
+        writeShort(0);
+    }
+
+    private static DeflatedEntry join(CompletableFuture<DeflatedEntry> future) throws IOException {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof IORuntimeException && cause.getCause() instanceof IOException) {
+                throw (IOException) cause.getCause();
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IOException(cause);
+        }
+    }
+
+    /**
+     * 转换为DOS格式的时间，1980年以前的时间按1980-01-01处理
+     */
+    private static long dosTime(long millis) {
+        final LocalDateTime time = LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneId.systemDefault());
+        if (time.getYear() < 1980) {
+            return (1 << 21) | (1 << 16);
+        }
+        return ((long) (time.getYear() - 1980) << 25) | ((long) time.getMonthValue() << 21) | ((long) time.getDayOfMonth() << 16)
+                | ((long) time.getHour() << 11) | ((long) time.getMinute() << 5) | ((long) time.getSecond() >> 1);
+    }
+
+    private void writeShort(int value) throws IOException {
+        out.write(value & 0xff);
+        out.write((value >>> 8) & 0xff);
+    }
+
+    private void writeInt(long value) throws IOException {
+        writeShort((int) (value & 0xffff));
+        writeShort((int) ((value >>> 16) & 0xffff));
+    }
+
+    private void writeLong(long value) throws IOException {
+        writeInt(value & ZIP64_MAGIC);
+        writeInt(value >>> 32);
+    }
+    // ---------------------------------------------------------------------------------------------- Private method end
+
+    /**
+     * 压缩任务
+     */
+    @FunctionalInterface
+    private interface DeflateTask {
+        DeflatedEntry call() throws IOException;
+    }
+
+    /**
+     * 已压缩的条目
+     */
+    private static class DeflatedEntry {
+        final String path;
+        final long lastModified;
+        int method;
+        long crc;
+        long size;
+        long compressedSize;
+        FastByteArrayOutputStream memory;
+        File tempFile;
+
+        DeflatedEntry(String path, long lastModified) {
+            this.path = path;
+            this.lastModified = lastModified;
+        }
+
+        void release() {
+            if (null != memory) {
+                memory.reset();
+                memory = null;
+            }
+            if (null != tempFile) {
+                FileUtils.del(tempFile);
+                tempFile = null;
+            }
+        }
+    }
+
+    /**
+     * 中央目录条目
+     */
+    private static class CentralEntry {
+        final byte[] name;
+        final int flags;
+        final int method;
+        final long dosTime;
+        final long crc;
+        final long compressedSize;
+        final long size;
+        final long offset;
+
+        CentralEntry(byte[] name, int flags, int method, long dosTime, long crc, long compressedSize, long size, long offset) {
+            this.name = name;
+            this.flags = flags;
+            this.method = method;
+            this.dosTime = dosTime;
+            this.crc = crc;
+            this.compressedSize = compressedSize;
+            this.size = size;
+            this.offset = offset;
+        }
+    }
+
+    /**
+     * 记录已写出字节数的输出流，用于计算条目偏移
+     */
+    private static class CountingOutputStream extends OutputStream {
+        private final OutputStream out;
+        long count;
+
+        CountingOutputStream(OutputStream out) {
+            this.out = out;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+
+        @Override
+        public void flush() throws IOException {
+            out.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            out.close();
+        }
+    }
+}
@@ -0,0 +1,290 @@
+package com.github.jarvisframework.tool.core.io.copy;
+
+import com.github.jarvisframework.tool.core.io.BufferPool;
+import com.github.jarvisframework.tool.core.io.IORuntimeException;
+import com.github.jarvisframework.tool.core.io.IOUtils;
+import com.github.jarvisframework.tool.core.io.StreamProgress;
+import com.github.jarvisframework.tool.core.lang.Assert;
+
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channel;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.SelectableChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>流拷贝器</p>
+ * 根据两端的类型选择拷贝方式：
+ * <ul>
+ *     <li>{@link FileInputStream}、{@link FileChannel}作为源时，使用{@link FileChannel#transferTo(long, long, WritableByteChannel)}，
+ *     目标为文件或{@link java.nio.channels.SocketChannel}时由操作系统直接传输，不经过用户态缓冲</li>
+ *     <li>{@link FileOutputStream}、{@link FileChannel}作为目标且源为阻塞通道时，使用{@link FileChannel#transferFrom(ReadableByteChannel, long, long)}</li>
+ *     <li>其它情况使用{@link BufferPool#HEAP}中的缓冲区拷贝，不为每次拷贝分配新数组</li>
+ * </ul>
+ * 拷贝过程中不逐块flush，仅在拷贝结束后flush一次；进度回调按时间间隔节流，结束前一定回调一次最终进度。<br>
+ * 拷贝器不关闭任何流或通道，文件通道的读写位置会随拷贝前进，与逐字节读写的效果一致。
+ *
+ * @author Doug Wang
+ * @since 1.0, 2026-10-18 16:05:21
+ */
+public class StreamCopier {
+
+    /**
+     * 单次transfer的最大字节数，部分平台单次调用有2GB限制，分段传输也便于汇报进度
+     */
+    private static final long TRANSFER_CHUNK_SIZE = 8L * 1024 * 1024;
+    /**
+     * 默认进度回调的最小间隔：100毫秒
+     */
+    public static final long DEFAULT_PROGRESS_INTERVAL = 100;
+
+    private final int bufferSize;
+    private final StreamProgress progress;
+    private long progressIntervalNanos = TimeUnit.MILLISECONDS.toNanos(DEFAULT_PROGRESS_INTERVAL);
+
+    /**
+     * 创建拷贝器，使用默认缓冲大小，无进度回调
+     *
+     * @return StreamCopier
+     */
+    public static StreamCopier create() {
+        return new StreamCopier(IOUtils.DEFAULT_BUFFER_SIZE, null);
+    }
+
+    /**
+     * 创建拷贝器
+     *
+     * @param bufferSize 缓冲大小，小于等于0时使用默认大小
+     * @param progress   进度回调，可为{@code null}
+     * @return StreamCopier
+     */
+    public static StreamCopier create(int bufferSize, StreamProgress progress) {
+        return new StreamCopier(bufferSize, progress);
+    }
+
+    /**
+     * 构造
+     *
+     * @param bufferSize 缓冲大小，小于等于0时使用默认大小
+     * @param progress   进度回调，可为{@code null}
+     */
+    public StreamCopier(int bufferSize, StreamProgress progress) {
+        this.bufferSize = (bufferSize <= 0) ? IOUtils.DEFAULT_BUFFER_SIZE : bufferSize;
+        this.progress = progress;
+    }
+
+    /**
+     * 设置进度回调的最小间隔，0表示每块都回调
+     *
+     * @param intervalMillis 间隔毫秒数
+     * @return this
+     */
+    public StreamCopier setProgressInterval(long intervalMillis) {
+        Assert.isTrue(intervalMillis >= 0, "Progress interval must not be negative!");
+        this.progressIntervalNanos = TimeUnit.MILLISECONDS.toNanos(intervalMillis);
+        return this;
+    }
+
+    /**
+     * 拷贝流，拷贝后不关闭流
+     *
+     * @param in  输入流
+     * @param out 输出流
+     * @return 拷贝的字节数
+     * @throws IORuntimeException IO异常
+     */
+    public long copy(InputStream in, OutputStream out) throws IORuntimeException {
+        Assert.notNull(in, "InputStream is null !");
+        Assert.notNull(out, "OutputStream is null !");
+
+        final ProgressTracker tracker = new ProgressTracker();
+        tracker.start();
+        final long size;
+        try {
+            if (in instanceof FileInputStream && out instanceof FileOutputStream) {
+                size = transferTo(((FileInputStream) in).getChannel(), ((FileOutputStream) out).getChannel(), tracker);
+            } else {
+                // 非文件源写入文件时transferFrom同样需要中间缓冲，直接使用数组拷贝可少一层通道包装
+                size = copyByBuffer(in, out, tracker);
+            }
+            out.flush();
+        } catch (IOException e) {
+            throw new IORuntimeException(e);
+        }
+        tracker.finish(size);
+        return size;
+    }
+
+    /**
+     * 拷贝通道，拷贝后不关闭通道
+     *
+     * @param in  源通道
+     * @param out 目标通道
+     * @return 拷贝的字节数
+     * @throws IORuntimeException IO异常
+     */
+    public long copy(ReadableByteChannel in, WritableByteChannel out) throws IORuntimeException {
+        Assert.notNull(in, "ReadableByteChannel is null !");
+        Assert.notNull(out, "WritableByteChannel is null !");
+
+        final ProgressTracker tracker = new ProgressTracker();
+        tracker.start();
+        final long size;
+        try {
+            if (in instanceof FileChannel) {
+                size = transferTo((FileChannel) in, out, tracker);
+            } else if (out instanceof FileChannel && isBlocking(in)) {
+                size = transferFrom(in, (FileChannel) out, tracker);
+            } else {
+                size = copyByBuffer(in, out, tracker);
+            }
+        } catch (IOException e) {
+            throw new IORuntimeException(e);
+        }
+        tracker.finish(size);
+        return size;
+    }
+
+    // ---------------------------------------------------------------------------------------------- Private method start
+
+    /**
+     * 从文件通道的当前位置传输到末尾，传输后源通道位置移到末尾
+     *
+     * @param in      源文件通道
+     * @param out     目标通道
+     * @param tracker 进度
+     * @return 传输的字节数
+     * @throws IOException IO异常
+     */
+    private static long transferTo(FileChannel in, WritableByteChannel out, ProgressTracker tracker) throws IOException {
+        final long start = in.position();
+        final long end = in.size();
+        long position = start;
+        try {
+            while (position < end) {
+                final long transferred = in.transferTo(position, Math.min(TRANSFER_CHUNK_SIZE, end - position), out);
+                if (transferred <= 0) {
+                    // 文件被截断，或阻塞目标无法继续写入
+                    if (in.size() <= position || isBlocking(out)) {
+                        break;
+                    }
+                    // 非阻塞目标暂时不可写
+                    Thread.yield();
+                    continue;
+                }
+                position += transferred;
+                tracker.progress(position - start);
+            }
+        } finally {
+            // transferTo不改变源通道位置，手动前移以保持与流式读取一致的语义
+            in.position(position);
+        }
+        return position - start;
+    }
+
+    /**
+     * 从阻塞通道读取到文件通道的当前位置，直到源通道结束，传输后目标通道位置移到写入末尾
+     *
+     * @param in      源通道
+     * @param out     目标文件通道
+     * @param tracker 进度
+     * @return 传输的字节数
+     * @throws IOException IO异常
+     */
+    private static long transferFrom(ReadableByteChannel in, FileChannel out, ProgressTracker tracker) throws IOException {
+        final long start = out.position();
+        long position = start;
+        try {
+            long transferred;
+            // 阻塞通道的transferFrom仅在源结束时返回0
+            while ((transferred = out.transferFrom(in, position, TRANSFER_CHUNK_SIZE)) > 0) {
+                position += transferred;
+                tracker.progress(position - start);
+            }
+        } finally {
+            out.position(position);
+        }
+        return position - start;
+    }
+
+    private long copyByBuffer(InputStream in, OutputStream out, ProgressTracker tracker) throws IOException {
+        final byte[] buffer = BufferPool.HEAP.acquire(bufferSize);
+        try {
+            long size = 0;
+            for (int readSize; (readSize = in.read(buffer, 0, bufferSize)) != IOUtils.EOF; ) {
+                out.write(buffer, 0, readSize);
+                size += readSize;
+                tracker.progress(size);
+            }
+            return size;
+        } finally {
+            BufferPool.HEAP.release(buffer);
+        }
+    }
+
+    private long copyByBuffer(ReadableByteChannel in, WritableByteChannel out, ProgressTracker tracker) throws IOException {
+        final byte[] array = BufferPool.HEAP.acquire(bufferSize);
+        try {
+            final ByteBuffer buffer = ByteBuffer.wrap(array, 0, bufferSize);
+            long size = 0;
+            while (in.read(buffer) != IOUtils.EOF) {
+                buffer.flip();
+                // 非阻塞或网络通道单次write可能只写出部分数据
+                while (buffer.hasRemaining()) {
+                    size += out.write(buffer);
+                }
+                buffer.clear();
+                tracker.progress(size);
+            }
+            return size;
+        } finally {
+            BufferPool.HEAP.release(array);
+        }
+    }
+
+    private static boolean isBlocking(Channel channel) {
+        return false == (channel instanceof SelectableChannel) || ((SelectableChannel) channel).isBlocking();
+    }
+
+    // ---------------------------------------------------------------------------------------------- Private method end
+
+    /**
+     * 节流的进度回调
+     */
+    private class ProgressTracker {
+
+        private long lastReport;
+
+        void start() {
+            if (null != progress) {
+                progress.start();
+                lastReport = System.nanoTime();
+            }
+        }
+
+        void progress(long size) {
+            if (null == progress) {
+                return;
+            }
+            final long now = System.nanoTime();
+            if (now - lastReport >= progressIntervalNanos) {
+                lastReport = now;
+                progress.progress(size);
+            }
+        }
+
+        void finish(long size) {
+            if (null != progress) {
+                progress.progress(size);
+                progress.finish();
+            }
+        }
+    }
+}
@@ -0,0 +1,387 @@
+package com.github.jarvisframework.tool.core.io.file;
+
+import com.github.jarvisframework.tool.core.io.IORuntimeException;
+import com.github.jarvisframework.tool.core.lang.Assert;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * <p>文件内容比较器</p>
+ * 按块比较两个文件的内容，发现不同立即返回：
+ * <ol>
+ *     <li>先比较文件大小，大小不同直接返回false；是同一个文件直接返回true</li>
+ *     <li>指纹模式下先比较若干抽样块（首块、尾块及均匀分布的中间块），内容不同的文件通常在此处返回</li>
+ *     <li>小文件读入线程内复用的直接缓冲区，大文件按窗口映射，每次比较8个字节</li>
+ *     <li>并行模式下将大文件按区间分给{@link ForkJoinPool}同时比较，任一区间不同即通知其它区间停止</li>
+ * </ol>
+ * 对于批量去重等场景，可以先用{@link #fingerprint(Path)}计算抽样指纹并按指纹分组，只对指纹相同的文件调用{@link #contentEquals(Path, Path)}。
+ *
+ * <pre>
+ * FileContentComparer comparer = FileContentComparer.create().setFingerprint(true);
+ * boolean same = comparer.contentEquals(file1, file2);
+ * </pre>
+ *
+ * @author Doug Wang
+ * @since 1.0, 2026-10-18 16:48:10
+ */
+public class FileContentComparer {
+
+    /**
+     * 默认读取块大小：64KB
+     */
+    public static final int DEFAULT_BLOCK_SIZE = 64 * 1024;
+    /**
+     * 默认抽样块数
+     */
+    public static final int DEFAULT_SAMPLE_COUNT = 8;
+    /**
+     * 抽样块大小：4KB，与常见的页大小一致
+     */
+    private static final int SAMPLE_BLOCK_SIZE = 4096;
+    /**
+     * 超过此大小的文件使用内存映射：8MB
+     */
+    private static final long MAPPED_THRESHOLD = 8L * 1024 * 1024;
+    /**
+     * 映射窗口大小：64MB
+     */
+    private static final long MAPPED_WINDOW_SIZE = 64L * 1024 * 1024;
+    /**
+     * 并行模式下每个区间的最小大小：16MB
+     */
+    private static final long MIN_PARALLEL_CHUNK_SIZE = 16L * 1024 * 1024;
+
+    /**
+     * 线程内复用的读取缓冲区，每个元素为一对直接缓冲区
+     */
+    private static final ThreadLocal<ByteBuffer[]> BUFFER_CACHE = new ThreadLocal<>();
+
+    private int blockSize = DEFAULT_BLOCK_SIZE;
+    private boolean fingerprint;
+    private int sampleCount = DEFAULT_SAMPLE_COUNT;
+    private ForkJoinPool pool;
+
+    /**
+     * 创建比较器，默认顺序比较，不使用指纹
+     *
+     * @return FileContentComparer
+     */
+    public static FileContentComparer create() {
+        return new FileContentComparer();
+    }
+
+    /**
+     * 设置读取块大小，仅对小文件生效
+     *
+     * @param blockSize 块大小
+     * @return this
+     */
+    public FileContentComparer setBlockSize(int blockSize) {
+        Assert.isTrue(blockSize >= 8, "Block size must be at least 8!");
+        this.blockSize = blockSize;
+        return this;
+    }
+
+    /**
+     * 设置是否在全量比较前先比较抽样块
+     *
+     * @param fingerprint 是否启用指纹模式
+     * @return this
+     */
+    public FileContentComparer setFingerprint(boolean fingerprint) {
+        this.fingerprint = fingerprint;
+        return this;
+    }
+
+    /**
+     * 设置抽样块数，同时用于指纹模式和{@link #fingerprint(Path)}
+     *
+     * @param sampleCount 抽样块数，至少为2（首块和尾块）
+     * @return this
+     */
+    public FileContentComparer setSampleCount(int sampleCount) {
+        Assert.isTrue(sampleCount >= 2, "Sample count must be at least 2!");
+        this.sampleCount = sampleCount;
+        return this;
+    }
+
+    /**
+     * 启用并行模式，使用{@link ForkJoinPool#commonPool()}
+     *
+     * @return this
+     */
+    public FileContentComparer setParallel() {
+        return setParallel(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * 设置并行比较使用的线程池，{@code null}表示顺序比较
+     *
+     * @param pool 线程池
+     * @return this
+     */
+    public FileContentComparer setParallel(ForkJoinPool pool) {
+        this.pool = pool;
+        return this;
+    }
+
+    /**
+     * 比较两个文件内容是否相同
+     *
+     * @param file1 文件1
+     * @param file2 文件2
+     * @return 内容相同返回true
+     * @throws IORuntimeException IO异常
+     */
+    public boolean contentEquals(File file1, File file2) throws IORuntimeException {
+        return contentEquals(file1.toPath(), file2.toPath());
+    }
+
+    /**
+     * 比较两个文件内容是否相同，两个文件都必须存在
+     *
+     * @param path1 文件1
+     * @param path2 文件2
+     * @return 内容相同返回true
+     * @throws IORuntimeException IO异常
+     */
+    public boolean contentEquals(Path path1, Path path2) throws IORuntimeException {
+        try {
+            final long size = Files.size(path1);
+            if (size != Files.size(path2)) {
+                return false;
+            }
+            if (Files.isSameFile(path1, path2)) {
+                return true;
+            }
+            try (FileChannel channel1 = FileChannel.open(path1, StandardOpenOption.READ);
+                 FileChannel channel2 = FileChannel.open(path2, StandardOpenOption.READ)) {
+                if (fingerprint && size > (long) sampleCount * SAMPLE_BLOCK_SIZE && false == samplesEqual(channel1, channel2, size)) {
+                    return false;
+                }
+                if (null != pool && size >= 2 * MIN_PARALLEL_CHUNK_SIZE) {
+                    return parallelEquals(channel1, channel2, size);
+                }
+                return rangeEquals(channel1, channel2, 0, size, null);
+            }
+        } catch (IOException e) {
+            throw new IORuntimeException(e);
+        }
+    }
+
+    /**
+     * 计算文件的抽样指纹，由文件大小和若干抽样块的内容计算得到<br>
+     * 指纹不同的文件内容一定不同；指纹相同的文件需要再调用{@link #contentEquals(Path, Path)}确认
+     *
+     * @param path 文件
+     * @return 64位指纹
+     * @throws IORuntimeException IO异常
+     */
+    public long fingerprint(Path path) throws IORuntimeException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            final long size = channel.size();
+            long hash = mix(size);
+            final ByteBuffer buffer = borrowBuffers(SAMPLE_BLOCK_SIZE)[0];
+            for (long position : samplePositions(size)) {
+                readFully(channel, buffer, position, (int) Math.min(SAMPLE_BLOCK_SIZE, size - position));
+                while (buffer.remaining() >= 8) {
+                    hash = (hash ^ buffer.getLong()) * 0x100000001B3L;
+                }
+                while (buffer.hasRemaining()) {
+                    hash = (hash ^ buffer.get()) * 0x100000001B3L;
+                }
+            }
+            return mix(hash);
+        } catch (IOException e) {
+            throw new IORuntimeException(e);
+        }
+    }
+
+    /**
+     * 查找两个缓冲区剩余部分的第一个不同位置，每次比较8个字节，不改变缓冲区位置<br>
+     * 功能同JDK11的{@code ByteBuffer.mismatch}
+     *
+     * @param buffer1 缓冲区1
+     * @param buffer2 缓冲区2
+     * @return 第一个不同的位置（相对于各自的position），完全相同返回-1；长度不同且较短者为较长者前缀时返回较短者的长度
+     */
+    public static int mismatch(ByteBuffer buffer1, ByteBuffer buffer2) {
+        final int pos1 = buffer1.position();
+        final int pos2 = buffer2.position();
+        final int length = Math.min(buffer1.remaining(), buffer2.remaining());
+        int i = 0;
+        if (buffer1.order() == buffer2.order()) {
+            for (; i + 8 <= length; i += 8) {
+                if (buffer1.getLong(pos1 + i) != buffer2.getLong(pos2 + i)) {
+                    break;
+                }
+            }
+        }
+        for (; i < length; i++) {
+            if (buffer1.get(pos1 + i) != buffer2.get(pos2 + i)) {
+                return i;
+            }
+        }
+        return (buffer1.remaining() == buffer2.remaining()) ? -1 : length;
+    }
+
+    // ---------------------------------------------------------------------------------------------- Private method start
+
+    /**
+     * 比较抽样块，两个文件大小相同，抽样位置一致
+     */
+    private boolean samplesEqual(FileChannel channel1, FileChannel channel2, long size) throws IOException {
+        final ByteBuffer[] buffers = borrowBuffers(SAMPLE_BLOCK_SIZE);
+        for (long position : samplePositions(size)) {
+            final int length = (int) Math.min(SAMPLE_BLOCK_SIZE, size - position);
+            readFully(channel1, buffers[0], position, length);
+            readFully(channel2, buffers[1], position, length);
+            if (-1 != mismatch(buffers[0], buffers[1])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 计算抽样块位置：首块、尾块及均匀分布的中间块，按页对齐
+     */
+    private long[] samplePositions(long size) {
+        if (size <= (long) sampleCount * SAMPLE_BLOCK_SIZE) {
+            // 文件较小，抽样覆盖全部内容
+            final int count = (int) ((size + SAMPLE_BLOCK_SIZE - 1) / SAMPLE_BLOCK_SIZE);
+            final long[] positions = new long[count];
+            for (int i = 0; i < count; i++) {
+                positions[i] = (long) i * SAMPLE_BLOCK_SIZE;
+            }
+            return positions;
+        }
+        final long[] positions = new long[sampleCount];
+        final long last = size - SAMPLE_BLOCK_SIZE;
+        for (int i = 0; i < sampleCount; i++) {
+            final long position = (i == sampleCount - 1) ? last : last / (sampleCount - 1) * i;
+            positions[i] = (i == sampleCount - 1) ? position : position & ~(SAMPLE_BLOCK_SIZE - 1L);
+        }
+        return positions;
+    }
+
+    /**
+     * 并行比较，按区间拆分为多个任务，任一区间不同时设置停止标记
+     */
+    private boolean parallelEquals(FileChannel channel1, FileChannel channel2, long size) {
+        final long chunkSize = Math.max(MIN_PARALLEL_CHUNK_SIZE, size / (pool.getParallelism() * 4L) + 1);
+        final AtomicBoolean mismatched = new AtomicBoolean();
+        final List<ForkJoinTask<?>> tasks = new ArrayList<>();
+        for (long start = 0; start < size; start += chunkSize) {
+            final long from = start;
+            final long to = Math.min(size, start + chunkSize);
+            tasks.add(ForkJoinTask.adapt(() -> {
+                try {
+                    if (false == mismatched.get() && false == rangeEquals(channel1, channel2, from, to, mismatched)) {
+                        mismatched.set(true);
+                    }
+                } catch (IOException e) {
+                    throw new IORuntimeException(e);
+                }
+            }));
+        }
+        pool.submit(() -> ForkJoinTask.invokeAll(tasks)).join();
+        return false == mismatched.get();
+    }
+
+    /**
+     * 比较两个通道的指定区间，使用位置读取，不改变通道位置，可在多线程中共享通道
+     *
+     * @param channel1   通道1
+     * @param channel2   通道2
+     * @param start      开始位置（包含）
+     * @param end        结束位置（不包含）
+     * @param mismatched 其它区间的停止标记，可为{@code null}
+     * @return 区间内容是否相同，被其它区间停止时返回true
+     * @throws IOException IO异常
+     */
+    private boolean rangeEquals(FileChannel channel1, FileChannel channel2, long start, long end, AtomicBoolean mismatched) throws IOException {
+        if (end - start >= MAPPED_THRESHOLD) {
+            for (long position = start; position < end; position += MAPPED_WINDOW_SIZE) {
+                if (null != mismatched && mismatched.get()) {
+                    return true;
+                }
+                final long length = Math.min(MAPPED_WINDOW_SIZE, end - position);
+                final ByteBuffer buffer1 = channel1.map(FileChannel.MapMode.READ_ONLY, position, length).order(ByteOrder.nativeOrder());
+                final ByteBuffer buffer2 = channel2.map(FileChannel.MapMode.READ_ONLY, position, length).order(ByteOrder.nativeOrder());
+                if (-1 != mismatch(buffer1, buffer2)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        final ByteBuffer[] buffers = borrowBuffers(blockSize);
+        for (long position = start; position < end; position += blockSize) {
+            if (null != mismatched && mismatched.get()) {
+                return true;
+            }
+            final int length = (int) Math.min(blockSize, end - position);
+            readFully(channel1, buffers[0], position, length);
+            readFully(channel2, buffers[1], position, length);
+            if (-1 != mismatch(buffers[0], buffers[1])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 从指定位置读取指定长度到缓冲区，读取后缓冲区处于可读状态
+     */
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position, int length) throws IOException {
+        buffer.clear().limit(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                // 比较过程中文件被截断
+                throw new IOException("Unexpected end of file at " + (position + buffer.position()));
+            }
+        }
+        buffer.flip();
+    }
+
+    /**
+     * 获取线程内复用的一对直接缓冲区，容量不足时重建
+     */
+    private static ByteBuffer[] borrowBuffers(int size) {
+        ByteBuffer[] buffers = BUFFER_CACHE.get();
+        if (null == buffers || buffers[0].capacity() < size) {
+            buffers = new ByteBuffer[]{
+                    ByteBuffer.allocateDirect(size).order(ByteOrder.nativeOrder()),
+                    ByteBuffer.allocateDirect(size).order(ByteOrder.nativeOrder())
+            };
+            BUFFER_CACHE.set(buffers);
+        }
+        return buffers;
+    }
+
+    /**
+     * 64位混淆，使指纹各位分布均匀
+     */
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb3fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+    // ---------------------------------------------------------------------------------------------- Private method end
+}
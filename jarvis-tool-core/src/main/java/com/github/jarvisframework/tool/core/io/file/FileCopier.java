@@ -8,9 +8,6 @@ import com.github.jarvisframework.tool.core.util.ArrayUtils;
 import com.github.jarvisframework.tool.core.util.StringUtils;
 
 import java.io.File;
-import java.io.IOException;
-import java.nio.file.CopyOption;
-import java.nio.file.Files;
 import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
 
@@ -295,7 +292,7 @@ public class FileCopier extends SrcToDestCopier<File, FileCopier> {
             dest.getParentFile().mkdirs();
         }
 
-        final ArrayList<CopyOption> optionList = new ArrayList<>(2);
+        final ArrayList<StandardCopyOption> optionList = new ArrayList<>(2);
         if (isOverride) {
             optionList.add(StandardCopyOption.REPLACE_EXISTING);
         }
@@ -303,11 +300,8 @@ public class FileCopier extends SrcToDestCopier<File, FileCopier> {
             optionList.add(StandardCopyOption.COPY_ATTRIBUTES);
         }
 
-        try {
-            Files.copy(src.toPath(), dest.toPath(), optionList.toArray(new CopyOption[0]));
-        } catch (IOException e) {
-            throw new IORuntimeException(e);
-        }
+        // 不复制属性时由FileUtils使用文件通道拷贝
+        FileUtils.copyFile(src.toPath(), dest.toPath(), optionList.toArray(new StandardCopyOption[0]));
     }
     //----------------------------------------------------------------------------------------- Private method end
 }
@@ -0,0 +1,430 @@
+package com.github.jarvisframework.tool.core.io.file;
+
+import com.github.jarvisframework.tool.core.io.IORuntimeException;
+import com.github.jarvisframework.tool.core.lang.Assert;
+import com.github.jarvisframework.tool.core.util.CharsetUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * <p>基于内存映射的行（记录）读取器</p>
+ * 按窗口使用{@link FileChannel#map(FileChannel.MapMode, long, long)}映射文件，直接在字节上查找分隔符，
+ * 每行以{@link ByteBuffer}或{@link CharSequence}视图交给处理器，不为每行创建String，适合读取远大于堆内存的文件。
+ *
+ * <pre>
+ * // 统计包含ERROR的行数
+ * LongAdder count = new LongAdder();
+ * MappedLineReader.create(file).readLines(line -&gt; {
+ *     if (StringUtils.contains(line, "ERROR")) {
+ *         count.increment();
+ *     }
+ * });
+ * </pre>
+ * <p>
+ * 注意：传给处理器的视图对象会被复用，只在回调期间有效，需要保留时请自行拷贝（例如调用toString()）。<br>
+ * 分隔符为'\n'时会去掉行尾的'\r'。分隔符按单字节查找，仅适用于分隔符为单字节的编码（如UTF-8、GBK），不适用于UTF-16等编码。
+ *
+ * @author Doug Wang
+ * @since 1.0, 2026-10-18 15:02:36
+ */
+public class MappedLineReader extends FileWrapper {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 默认映射窗口大小：64MB
+     */
+    public static final int DEFAULT_WINDOW_SIZE = 64 * 1024 * 1024;
+    /**
+     * 最小映射窗口大小：64KB，映射过小的窗口会产生大量映射区域
+     */
+    private static final int MIN_WINDOW_SIZE = 64 * 1024;
+
+    /**
+     * 分隔符
+     */
+    private byte delimiter = '\n';
+    /**
+     * 映射窗口大小
+     */
+    private int windowSize = DEFAULT_WINDOW_SIZE;
+
+    /**
+     * 创建MappedLineReader，编码：{@link FileWrapper#DEFAULT_CHARSET}
+     *
+     * @param file 文件
+     * @return MappedLineReader
+     */
+    public static MappedLineReader create(File file) {
+        return new MappedLineReader(file, DEFAULT_CHARSET);
+    }
+
+    /**
+     * 创建MappedLineReader
+     *
+     * @param file    文件
+     * @param charset 编码
+     * @return MappedLineReader
+     */
+    public static MappedLineReader create(File file, Charset charset) {
+        return new MappedLineReader(file, charset);
+    }
+
+    /**
+     * 构造
+     *
+     * @param file    文件
+     * @param charset 编码，使用 {@link CharsetUtils}
+     */
+    public MappedLineReader(File file, Charset charset) {
+        super(file, charset);
+        if (false == file.isFile()) {
+            throw new IORuntimeException("Not a file: " + file);
+        }
+    }
+
+    /**
+     * 设置记录分隔符，默认'\n'
+     *
+     * @param delimiter 分隔符
+     * @return this
+     */
+    public MappedLineReader setDelimiter(byte delimiter) {
+        this.delimiter = delimiter;
+        return this;
+    }
+
+    /**
+     * 设置映射窗口大小，单行超过窗口大小时会自动扩大窗口
+     *
+     * @param windowSize 映射窗口大小，小于64KB时按64KB处理
+     * @return this
+     */
+    public MappedLineReader setWindowSize(int windowSize) {
+        Assert.isTrue(windowSize > 0, "Window size must be positive!");
+        this.windowSize = Math.max(MIN_WINDOW_SIZE, windowSize);
+        return this;
+    }
+
+    // ------------------------------------------------------------------------------- Read
+
+    /**
+     * 按行读取字节视图
+     *
+     * @param handler 字节行处理器
+     * @return 行数
+     * @throws IORuntimeException IO异常
+     */
+    public long readBytes(ByteLineHandler handler) throws IORuntimeException {
+        try (FileChannel channel = openChannel()) {
+            return read(channel, 0, channel.size(), handler);
+        } catch (IOException e) {
+            throw new IORuntimeException(e);
+        }
+    }
+
+    /**
+     * 按行读取字符视图，每行解码到复用的{@link CharBuffer}中
+     *
+     * @param handler 字符行处理器
+     * @return 行数
+     * @throws IORuntimeException IO异常
+     */
+    public long readLines(CharLineHandler handler) throws IORuntimeException {
+        return readBytes(new DecodingHandler(this.charset, handler));
+    }
+
+    /**
+     * 并行按行读取字节视图，使用{@link ForkJoinPool#commonPool()}<br>
+     * 处理器会被多个线程同时调用，行的处理顺序不确定
+     *
+     * @param handler 字节行处理器，须线程安全
+     * @return 行数
+     * @throws IORuntimeException IO异常
+     */
+    public long readBytesParallel(ByteLineHandler handler) throws IORuntimeException {
+        return readParallel(ForkJoinPool.commonPool(), () -> handler);
+    }
+
+    /**
+     * 并行按行读取字符视图，使用{@link ForkJoinPool#commonPool()}<br>
+     * 处理器会被多个线程同时调用，行的处理顺序不确定
+     *
+     * @param handler 字符行处理器，须线程安全
+     * @return 行数
+     * @throws IORuntimeException IO异常
+     */
+    public long readLinesParallel(CharLineHandler handler) throws IORuntimeException {
+        return readLinesParallel(ForkJoinPool.commonPool(), handler);
+    }
+
+    /**
+     * 并行按行读取字符视图<br>
+     * 文件按分隔符边界切分为若干块，每块在线程池中独立读取，处理器会被多个线程同时调用，行的处理顺序不确定
+     *
+     * @param pool    线程池
+     * @param handler 字符行处理器，须线程安全
+     * @return 行数
+     * @throws IORuntimeException IO异常
+     */
+    public long readLinesParallel(ForkJoinPool pool, CharLineHandler handler) throws IORuntimeException {
+        return readParallel(pool, () -> new DecodingHandler(this.charset, handler));
+    }
+
+    // ------------------------------------------------------------------------------- Handler
+
+    /**
+     * 字节行处理器
+     */
+    @FunctionalInterface
+    public interface ByteLineHandler {
+        /**
+         * 处理一行，position到limit之间为行内容（不含分隔符），视图只在回调期间有效
+         *
+         * @param line 行字节视图
+         */
+        void handle(ByteBuffer line);
+    }
+
+    /**
+     * 字符行处理器
+     */
+    @FunctionalInterface
+    public interface CharLineHandler {
+        /**
+         * 处理一行（不含分隔符），视图只在回调期间有效
+         *
+         * @param line 行字符视图
+         */
+        void handle(CharSequence line);
+    }
+
+    // ------------------------------------------------------------------------------- Private
+
+    private FileChannel openChannel() throws IOException {
+        return FileChannel.open(this.file.toPath(), StandardOpenOption.READ);
+    }
+
+    /**
+     * 并行读取
+     *
+     * @param pool           线程池
+     * @param handlerFactory 每个分块使用的处理器
+     * @return 行数
+     */
+    private long readParallel(ForkJoinPool pool, Supplier<ByteLineHandler> handlerFactory) {
+        try (FileChannel channel = openChannel()) {
+            final long size = channel.size();
+            final int parallelism = pool.getParallelism();
+            final long chunkSize = Math.max(1024 * 1024, size / (parallelism * 4L) + 1);
+            if (size <= chunkSize) {
+                return read(channel, 0, size, handlerFactory.get());
+            }
+
+            // 按分隔符调整分块边界
+            final List<Long> starts = new ArrayList<>();
+            starts.add(0L);
+            long next;
+            for (long target = chunkSize; target < size; target += chunkSize) {
+                next = nextRecordStart(channel, Math.max(target, starts.get(starts.size() - 1)), size);
+                if (next >= size) {
+                    break;
+                }
+                if (next > starts.get(starts.size() - 1)) {
+                    starts.add(next);
+                }
+            }
+            starts.add(size);
+
+            final LongAdder lines = new LongAdder();
+            final List<ForkJoinTask<?>> tasks = new ArrayList<>(starts.size() - 1);
+            for (int i = 0; i < starts.size() - 1; i++) {
+                final long start = starts.get(i);
+                final long end = starts.get(i + 1);
+                tasks.add(ForkJoinTask.adapt(() -> {
+                    try {
+                        lines.add(read(channel, start, end, handlerFactory.get()));
+                    } catch (IOException e) {
+                        throw new IORuntimeException(e);
+                    }
+                }));
+            }
+            pool.submit(() -> ForkJoinTask.invokeAll(tasks)).join();
+            return lines.sum();
+        } catch (IOException e) {
+            throw new IORuntimeException(e);
+        }
+    }
+
+    /**
+     * 查找指定位置（包含）之后第一个分隔符的下一个位置
+     *
+     * @param channel 文件通道
+     * @param from    开始位置
+     * @param size    文件大小
+     * @return 下一条记录的开始位置，找不到返回size
+     * @throws IOException IO异常
+     */
+    private long nextRecordStart(FileChannel channel, long from, long size) throws IOException {
+        final ByteBuffer buffer = ByteBuffer.allocate(8192);
+        long position = from;
+        while (position < size) {
+            buffer.clear();
+            final int read = channel.read(buffer, position);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (buffer.get(i) == this.delimiter) {
+                    return position + i + 1;
+                }
+            }
+            position += read;
+        }
+        return size;
+    }
+
+    /**
+     * 按窗口映射并读取[start, end)范围内的行
+     *
+     * @param channel 文件通道
+     * @param start   开始位置，须为记录开始
+     * @param end     结束位置，须为记录结束或文件末尾
+     * @param handler 处理器
+     * @return 行数
+     * @throws IOException IO异常
+     */
+    private long read(FileChannel channel, long start, long end, ByteLineHandler handler) throws IOException {
+        final byte delimiter = this.delimiter;
+        final boolean stripCr = (delimiter == '\n');
+        long lines = 0;
+        long windowStart = start;
+        long mapSize = this.windowSize;
+        while (windowStart < end) {
+            final long length = Math.min(mapSize, end - windowStart);
+            final boolean isLastWindow = (windowStart + length >= end);
+            final MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, windowStart, length);
+            window.order(ByteOrder.LITTLE_ENDIAN);
+            final ByteBuffer line = window.duplicate();
+            final int limit = (int) length;
+
+            int lineStart = 0;
+            int index;
+            while ((index = indexOf(window, delimiter, lineStart, limit)) >= 0) {
+                handle(line, lineStart, index, stripCr, handler);
+                lines++;
+                lineStart = index + 1;
+            }
+
+            if (isLastWindow) {
+                if (lineStart < limit) {
+                    // 最后一行没有分隔符
+                    handle(line, lineStart, limit, stripCr, handler);
+                    lines++;
+                }
+                break;
+            }
+            if (0 == lineStart) {
+                // 窗口内没有分隔符，说明单行超过窗口大小，扩大窗口后重新映射
+                if (mapSize >= Integer.MAX_VALUE) {
+                    throw new IORuntimeException("Line starting at [{}] is longer than {} bytes", windowStart, Integer.MAX_VALUE);
+                }
+                mapSize = Math.min((long) Integer.MAX_VALUE, mapSize << 1);
+                continue;
+            }
+            windowStart += lineStart;
+            mapSize = this.windowSize;
+        }
+        return lines;
+    }
+
+    /**
+     * 设置行视图并交给处理器
+     */
+    private static void handle(ByteBuffer line, int start, int end, boolean stripCr, ByteLineHandler handler) {
+        if (stripCr && end > start && line.get(end - 1) == '\r') {
+            end--;
+        }
+        line.limit(end).position(start);
+        handler.handle(line);
+        line.clear();
+    }
+
+    /**
+     * 查找分隔符，每次比较8个字节（SWAR）
+     *
+     * @param buffer    小端序缓冲区
+     * @param delimiter 分隔符
+     * @param from      开始位置（包含）
+     * @param to        结束位置（不包含）
+     * @return 分隔符位置，找不到返回-1
+     */
+    private static int indexOf(ByteBuffer buffer, byte delimiter, int from, int to) {
+        final long pattern = (delimiter & 0xFFL) * 0x0101010101010101L;
+        int i = from;
+        for (; i + 8 <= to; i += 8) {
+            final long word = buffer.getLong(i) ^ pattern;
+            final long found = (word - 0x0101010101010101L) & ~word & 0x8080808080808080L;
+            if (found != 0) {
+                return i + (Long.numberOfTrailingZeros(found) >>> 3);
+            }
+        }
+        for (; i < to; i++) {
+            if (buffer.get(i) == delimiter) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 将字节行解码到复用的{@link CharBuffer}后交给字符行处理器，非线程安全
+     */
+    private static class DecodingHandler implements ByteLineHandler {
+        private final CharsetDecoder decoder;
+        private final CharLineHandler handler;
+        private CharBuffer chars = CharBuffer.allocate(1024);
+
+        DecodingHandler(Charset charset, CharLineHandler handler) {
+            this.decoder = charset.newDecoder()
+                    .onMalformedInput(CodingErrorAction.REPLACE)
+                    .onUnmappableCharacter(CodingErrorAction.REPLACE);
+            this.handler = handler;
+        }
+
+        @Override
+        public void handle(ByteBuffer line) {
+            final int start = line.position();
+            final int maxChars = (int) (line.remaining() * (double) decoder.maxCharsPerByte()) + 1;
+            if (chars.capacity() < maxChars) {
+                chars = CharBuffer.allocate(maxChars);
+            }
+            chars.clear();
+            decoder.reset();
+            CoderResult result = decoder.decode(line, chars, true);
+            if (result.isUnderflow()) {
+                decoder.flush(chars);
+            }
+            chars.flip();
+            line.position(start);
+            handler.handle(chars);
+        }
+    }
+}
@@ -0,0 +1,528 @@
+package com.github.jarvisframework.tool.core.io.file;
+
+import com.github.jarvisframework.tool.core.io.IORuntimeException;
+import com.github.jarvisframework.tool.core.lang.Assert;
+
+import java.io.IOException;
+import java.nio.file.DirectoryIteratorException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiPredicate;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * <p>目录遍历器</p>
+ * 使用{@link Files#newDirectoryStream(Path)}逐个目录读取，不在内存中构建完整的文件列表：
+ * <ul>
+ *     <li>{@link #stream()}返回惰性的{@link Stream}，调用{@link Stream#parallel()}后子目录会拆分给其它线程</li>
+ *     <li>{@link #walk(PathVisitor)}以访问者方式遍历，访问者返回{@code false}即终止遍历</li>
+ *     <li>{@link #count()}、{@link #size()}统计文件数和总大小</li>
+ * </ul>
+ * 每个条目只读取一次{@link BasicFileAttributes}，过滤器和访问者直接使用，不再重复调用exists、isDirectory、length；
+ * 在Windows上目录流返回的路径已缓存属性，读取属性不产生额外的系统调用。<br>
+ * 设置了{@link ForkJoinPool}时，walk、count、size将每个子目录作为一个任务并行遍历，过滤器和访问者会被多个线程同时调用，需要线程安全。
+ *
+ * <pre>
+ * // 并行统计目录下所有log文件的大小
+ * long size = PathWalker.of(dir)
+ *         .setFilter((path, attrs) -&gt; path.toString().endsWith(".log"))
+ *         .setParallel()
+ *         .size();
+ * </pre>
+ * 遍历只返回非目录条目（普通文件、符号链接等），深度规则与{@link Files#walkFileTree(Path, Set, int, java.nio.file.FileVisitor)}一致：
+ * 起始目录的直接子项深度为1。
+ *
+ * @author Doug Wang
+ * @since 1.0, 2026-10-18 17:20:44
+ */
+public class PathWalker {
+
+    private static final LinkOption[] NO_FOLLOW = new LinkOption[]{LinkOption.NOFOLLOW_LINKS};
+    private static final LinkOption[] FOLLOW = new LinkOption[0];
+
+    private final Path start;
+    private int maxDepth = Integer.MAX_VALUE;
+    private BiPredicate<Path, BasicFileAttributes> filter;
+    private BiPredicate<Path, BasicFileAttributes> directoryFilter;
+    private boolean followLinks;
+    private boolean ignoreErrors;
+    private ForkJoinPool pool;
+
+    /**
+     * 创建遍历器
+     *
+     * @param start 起始路径，为文件时只遍历此文件
+     * @return PathWalker
+     */
+    public static PathWalker of(Path start) {
+        return new PathWalker(start);
+    }
+
+    /**
+     * 构造
+     *
+     * @param start 起始路径，为文件时只遍历此文件
+     */
+    public PathWalker(Path start) {
+        this.start = Assert.notNull(start, "Start path must not be null!");
+    }
+
+    /**
+     * 设置最大深度
+     *
+     * @param maxDepth 最大深度，小于0表示不限制
+     * @return this
+     */
+    public PathWalker setMaxDepth(int maxDepth) {
+        this.maxDepth = (maxDepth < 0) ? Integer.MAX_VALUE : maxDepth;
+        return this;
+    }
+
+    /**
+     * 设置文件过滤器，只对非目录条目生效
+     *
+     * @param filter 过滤器，返回{@code true}保留
+     * @return this
+     */
+    public PathWalker setFilter(BiPredicate<Path, BasicFileAttributes> filter) {
+        this.filter = filter;
+        return this;
+    }
+
+    /**
+     * 设置目录过滤器，返回{@code false}的目录不进入，用于剪枝
+     *
+     * @param directoryFilter 目录过滤器
+     * @return this
+     */
+    public PathWalker setDirectoryFilter(BiPredicate<Path, BasicFileAttributes> directoryFilter) {
+        this.directoryFilter = directoryFilter;
+        return this;
+    }
+
+    /**
+     * 设置是否跟随符号链接，跟随时同一目录只会进入一次，避免链接成环
+     *
+     * @param followLinks 是否跟随符号链接
+     * @return this
+     */
+    public PathWalker setFollowLinks(boolean followLinks) {
+        this.followLinks = followLinks;
+        return this;
+    }
+
+    /**
+     * 设置是否忽略无法读取的目录和文件（如无权限、遍历过程中被删除），默认抛出{@link IORuntimeException}
+     *
+     * @param ignoreErrors 是否忽略错误
+     * @return this
+     */
+    public PathWalker setIgnoreErrors(boolean ignoreErrors) {
+        this.ignoreErrors = ignoreErrors;
+        return this;
+    }
+
+    /**
+     * 使用{@link ForkJoinPool#commonPool()}并行遍历
+     *
+     * @return this
+     */
+    public PathWalker setParallel() {
+        return setParallel(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * 设置并行遍历使用的线程池，{@code null}表示在当前线程顺序遍历
+     *
+     * @param pool 线程池
+     * @return this
+     */
+    public PathWalker setParallel(ForkJoinPool pool) {
+        this.pool = pool;
+        return this;
+    }
+
+    /**
+     * 遍历所有符合条件的文件
+     *
+     * @param visitor 访问者，返回{@code false}终止遍历
+     * @return 是否遍历完成，被访问者终止时返回{@code false}
+     * @throws IORuntimeException IO异常
+     */
+    public boolean walk(PathVisitor visitor) throws IORuntimeException {
+        Assert.notNull(visitor, "Visitor must not be null!");
+        final AtomicBoolean stopped = new AtomicBoolean();
+        final BasicFileAttributes attrs = readAttributes(start);
+        if (null == attrs) {
+            return true;
+        }
+        if (false == attrs.isDirectory()) {
+            return false == accept(start, attrs) || visitor.visit(start, attrs);
+        }
+        final Set<Object> visitedKeys = followLinks ? ConcurrentHashMap.newKeySet() : null;
+        markVisited(visitedKeys, attrs);
+        if (null == pool || pool.getParallelism() <= 1) {
+            walkSequential(visitor, stopped, visitedKeys);
+        } else {
+            final WalkTask root = new WalkTask(start, 0, visitor, stopped, visitedKeys);
+            if (ForkJoinTask.inForkJoinPool() && ForkJoinTask.getPool() == pool) {
+                root.invoke();
+            } else {
+                pool.invoke(root);
+            }
+        }
+        return false == stopped.get();
+    }
+
+    /**
+     * 统计符合条件的文件数
+     *
+     * @return 文件数
+     * @throws IORuntimeException IO异常
+     */
+    public long count() throws IORuntimeException {
+        final LongAdder count = new LongAdder();
+        walk((path, attrs) -> {
+            count.increment();
+            return true;
+        });
+        return count.sum();
+    }
+
+    /**
+     * 统计符合条件的文件总大小
+     *
+     * @return 总大小，bytes长度
+     * @throws IORuntimeException IO异常
+     */
+    public long size() throws IORuntimeException {
+        final LongAdder size = new LongAdder();
+        walk((path, attrs) -> {
+            size.add(attrs.size());
+            return true;
+        });
+        return size.sum();
+    }
+
+    /**
+     * 惰性遍历符合条件的文件，使用完毕应关闭流以释放打开的目录<br>
+     * 调用{@link Stream#parallel()}后使用公共ForkJoinPool并行遍历，此时{@link #setParallel(ForkJoinPool)}的设置不生效
+     *
+     * @return 文件路径流
+     * @throws IORuntimeException IO异常
+     */
+    public Stream<Path> stream() throws IORuntimeException {
+        final BasicFileAttributes attrs = readAttributes(start);
+        if (null == attrs) {
+            return Stream.empty();
+        }
+        if (false == attrs.isDirectory()) {
+            return accept(start, attrs) ? Stream.of(start) : Stream.empty();
+        }
+        final Set<Object> visitedKeys = followLinks ? ConcurrentHashMap.newKeySet() : null;
+        markVisited(visitedKeys, attrs);
+        final Set<DirectoryStream<Path>> openStreams = ConcurrentHashMap.newKeySet();
+        final WalkSpliterator spliterator = new WalkSpliterator(openStreams, visitedKeys);
+        spliterator.pending.push(new PendingDirectory(start, 0));
+        return StreamSupport.stream(spliterator, false).onClose(() -> {
+            for (DirectoryStream<Path> directoryStream : openStreams) {
+                closeQuietly(directoryStream);
+            }
+        });
+    }
+
+    // ---------------------------------------------------------------------------------------------- Private method start
+
+    private void walkSequential(PathVisitor visitor, AtomicBoolean stopped, Set<Object> visitedKeys) {
+        final Deque<PendingDirectory> pending = new ArrayDeque<>();
+        pending.push(new PendingDirectory(start, 0));
+        PendingDirectory directory;
+        while (null != (directory = pending.poll())) {
+            final List<PendingDirectory> subDirectories = listDirectory(directory, visitor, stopped, visitedKeys);
+            if (stopped.get()) {
+                return;
+            }
+            // 逆序压栈，保持目录流返回的顺序
+            for (int i = subDirectories.size() - 1; i >= 0; i--) {
+                pending.push(subDirectories.get(i));
+            }
+        }
+    }
+
+    /**
+     * 读取一个目录，文件交给访问者，返回需要继续进入的子目录
+     */
+    private List<PendingDirectory> listDirectory(PendingDirectory directory, PathVisitor visitor, AtomicBoolean stopped, Set<Object> visitedKeys) {
+        final List<PendingDirectory> subDirectories = new ArrayList<>();
+        final int depth = directory.depth + 1;
+        try (DirectoryStream<Path> directoryStream = Files.newDirectoryStream(directory.path)) {
+            for (Path path : directoryStream) {
+                if (stopped.get()) {
+                    break;
+                }
+                final BasicFileAttributes attrs = readAttributes(path);
+                if (null == attrs) {
+                    continue;
+                }
+                if (attrs.isDirectory()) {
+                    if (depth < maxDepth && acceptDirectory(path, attrs) && markVisited(visitedKeys, attrs)) {
+                        subDirectories.add(new PendingDirectory(path, depth));
+                    }
+                } else if (accept(path, attrs) && false == visitor.visit(path, attrs)) {
+                    stopped.set(true);
+                }
+            }
+        } catch (IOException | DirectoryIteratorException e) {
+            if (false == ignoreErrors) {
+                throw new IORuntimeException(e instanceof DirectoryIteratorException ? e.getCause() : e);
+            }
+        }
+        return subDirectories;
+    }
+
+    /**
+     * 读取文件属性，跟随链接时对失效的链接读取链接本身的属性
+     *
+     * @param path 路径
+     * @return 属性，忽略错误模式下读取失败返回{@code null}
+     */
+    private BasicFileAttributes readAttributes(Path path) {
+        try {
+            return Files.readAttributes(path, BasicFileAttributes.class, followLinks ? FOLLOW : NO_FOLLOW);
+        } catch (IOException e) {
+            if (followLinks) {
+                try {
+                    return Files.readAttributes(path, BasicFileAttributes.class, NO_FOLLOW);
+                } catch (IOException ignore) {
+                    // 使用第一次的异常
+                }
+            }
+            if (ignoreErrors) {
+                return null;
+            }
+            throw new IORuntimeException(e);
+        }
+    }
+
+    private boolean accept(Path path, BasicFileAttributes attrs) {
+        return null == filter || filter.test(path, attrs);
+    }
+
+    private boolean acceptDirectory(Path path, BasicFileAttributes attrs) {
+        return null == directoryFilter || directoryFilter.test(path, attrs);
+    }
+
+    /**
+     * 记录已进入的目录，仅跟随链接时生效
+     *
+     * @return 是否首次进入
+     */
+    private static boolean markVisited(Set<Object> visitedKeys, BasicFileAttributes attrs) {
+        if (null == visitedKeys) {
+            return true;
+        }
+        final Object key = attrs.fileKey();
+        return null == key || visitedKeys.add(key);
+    }
+
+    private static void closeQuietly(DirectoryStream<Path> directoryStream) {
+        try {
+            directoryStream.close();
+        } catch (IOException ignore) {
+            // ignore
+        }
+    }
+    // ---------------------------------------------------------------------------------------------- Private method end
+
+    /**
+     * 路径访问者
+     */
+    @FunctionalInterface
+    public interface PathVisitor {
+
+        /**
+         * 访问文件
+         *
+         * @param path  文件路径
+         * @param attrs 文件属性
+         * @return 是否继续遍历
+         */
+        boolean visit(Path path, BasicFileAttributes attrs);
+    }
+
+    /**
+     * 待遍历的目录
+     */
+    private static class PendingDirectory {
+        final Path path;
+        final int depth;
+
+        PendingDirectory(Path path, int depth) {
+            this.path = path;
+            this.depth = depth;
+        }
+    }
+
+    /**
+     * 并行遍历任务，每个子目录一个任务
+     */
+    private class WalkTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final PendingDirectory directory;
+        private final PathVisitor visitor;
+        private final AtomicBoolean stopped;
+        private final Set<Object> visitedKeys;
+
+        WalkTask(Path path, int depth, PathVisitor visitor, AtomicBoolean stopped, Set<Object> visitedKeys) {
+            this.directory = new PendingDirectory(path, depth);
+            this.visitor = visitor;
+            this.stopped = stopped;
+            this.visitedKeys = visitedKeys;
+        }
+
+        @Override
+        protected void compute() {
+            if (stopped.get()) {
+                return;
+            }
+            final List<PendingDirectory> subDirectories = listDirectory(directory, visitor, stopped, visitedKeys);
+            if (subDirectories.isEmpty() || stopped.get()) {
+                return;
+            }
+            final List<WalkTask> tasks = new ArrayList<>(subDirectories.size());
+            for (PendingDirectory subDirectory : subDirectories) {
+                tasks.add(new WalkTask(subDirectory.path, subDirectory.depth, visitor, stopped, visitedKeys));
+            }
+            invokeAll(tasks);
+        }
+    }
+
+    /**
+     * 惰性遍历的{@link Spliterator}，拆分时将一半待遍历目录交给新的Spliterator
+     */
+    private class WalkSpliterator implements Spliterator<Path> {
+
+        private final Deque<PendingDirectory> pending = new ArrayDeque<>();
+        private final Set<DirectoryStream<Path>> openStreams;
+        private final Set<Object> visitedKeys;
+
+        private DirectoryStream<Path> currentStream;
+        private Iterator<Path> currentIterator;
+        private int currentDepth;
+
+        WalkSpliterator(Set<DirectoryStream<Path>> openStreams, Set<Object> visitedKeys) {
+            this.openStreams = openStreams;
+            this.visitedKeys = visitedKeys;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super Path> action) {
+            while (true) {
+                if (null == currentIterator && false == openNext()) {
+                    return false;
+                }
+                while (hasNext()) {
+                    final Path path = currentIterator.next();
+                    final BasicFileAttributes attrs = readAttributes(path);
+                    if (null == attrs) {
+                        continue;
+                    }
+                    if (attrs.isDirectory()) {
+                        if (currentDepth < maxDepth && acceptDirectory(path, attrs) && markVisited(visitedKeys, attrs)) {
+                            pending.push(new PendingDirectory(path, currentDepth));
+                        }
+                    } else if (accept(path, attrs)) {
+                        action.accept(path);
+                        return true;
+                    }
+                }
+                closeCurrent();
+            }
+        }
+
+        @Override
+        public Spliterator<Path> trySplit() {
+            final int count = pending.size();
+            if (count < 2) {
+                return null;
+            }
+            final WalkSpliterator split = new WalkSpliterator(openStreams, visitedKeys);
+            for (int i = 0; i < count / 2; i++) {
+                split.pending.add(pending.pollLast());
+            }
+            return split;
+        }
+
+        @Override
+        public long estimateSize() {
+            return Long.MAX_VALUE;
+        }
+
+        @Override
+        public int characteristics() {
+            return DISTINCT | NONNULL;
+        }
+
+        /**
+         * 打开下一个待遍历的目录
+         *
+         * @return 是否还有目录
+         */
+        private boolean openNext() {
+            PendingDirectory directory;
+            while (null != (directory = pending.poll())) {
+                try {
+                    currentStream = Files.newDirectoryStream(directory.path);
+                } catch (IOException e) {
+                    if (ignoreErrors) {
+                        continue;
+                    }
+                    throw new IORuntimeException(e);
+                }
+                openStreams.add(currentStream);
+                currentIterator = currentStream.iterator();
+                currentDepth = directory.depth + 1;
+                return true;
+            }
+            return false;
+        }
+
+        private boolean hasNext() {
+            try {
+                return currentIterator.hasNext();
+            } catch (DirectoryIteratorException e) {
+                if (ignoreErrors) {
+                    return false;
+                }
+                throw new IORuntimeException(e.getCause());
+            }
+        }
+
+        private void closeCurrent() {
+            openStreams.remove(currentStream);
+            closeQuietly(currentStream);
+            currentStream = null;
+            currentIterator = null;
+        }
+    }
+}
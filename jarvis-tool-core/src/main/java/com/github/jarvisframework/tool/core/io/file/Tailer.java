@@ -2,23 +2,50 @@ package com.github.jarvisframework.tool.core.io.file;
 
 import com.github.jarvisframework.tool.core.date.DateUnitEnum;
 import com.github.jarvisframework.tool.core.exception.UtilException;
-import com.github.jarvisframework.tool.core.io.FileUtils;
 import com.github.jarvisframework.tool.core.io.IORuntimeException;
+import com.github.jarvisframework.tool.core.io.IOUtils;
 import com.github.jarvisframework.tool.core.io.LineHandler;
+import com.github.jarvisframework.tool.core.io.watch.SimpleWatcher;
+import com.github.jarvisframework.tool.core.io.watch.WatchException;
+import com.github.jarvisframework.tool.core.io.watch.WatchMonitor;
 import com.github.jarvisframework.tool.core.lang.Console;
-import com.github.jarvisframework.tool.core.util.CharUtils;
 import com.github.jarvisframework.tool.core.util.CharsetUtils;
 
 import java.io.File;
 import java.io.IOException;
-import java.io.RandomAccessFile;
 import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.charset.Charset;
-import java.util.Stack;
-import java.util.concurrent.*;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.WatchEvent;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 
 /**
  * <p>文件内容跟随器，实现类似Linux下"tail -f"命令功能</p>
+ * <pre>
+ * 1、新增内容通过{@link FileChannel}读入复用的直接缓冲区，并使用{@link CharsetDecoder}增量解码，多字节字符跨缓冲区时不会乱码
+ * 2、优先通过{@link WatchMonitor}的修改事件唤醒读取，定时轮询仅作为兜底（监听不可用时按检查间隔轮询）
+ * 3、文件被轮转（重命名后新建同名文件）时读完旧文件剩余内容后切换到新文件，文件被截断时从头读取
+ * 4、启动时预读取的行通过从文件末尾按块向前扫描定位
+ * </pre>
+ * 只有以换行符结束的行才会交给{@link LineHandler}处理，未写完的行会等待后续内容。
  *
  * @author Doug Wang
  * @since 1.0, 2020-08-03 10:05:33
@@ -28,6 +55,15 @@ public class Tailer implements Serializable {
 
     public static final LineHandler CONSOLE_HANDLER = new ConsoleLineHandler();
 
+    /**
+     * 读取缓冲区大小
+     */
+    private static final int BUFFER_SIZE = 64 * 1024;
+    /**
+     * 文件监听可用时，兜底轮询间隔相对检查间隔的倍数
+     */
+    private static final int FALLBACK_PERIOD_FACTOR = 10;
+
     /**
      * 编码
      */
@@ -44,9 +80,38 @@ public class Tailer implements Serializable {
      * 定时任务检查间隔时长
      */
     private final long period;
+    /**
+     * 跟随的文件路径
+     */
+    private final Path path;
 
-    private final RandomAccessFile randomAccessFile;
-    private final ScheduledExecutorService executorService;
+    private final transient ScheduledExecutorService executorService;
+    private final transient ByteBuffer byteBuffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    private final transient CharBuffer charBuffer = CharBuffer.allocate(BUFFER_SIZE);
+    private final transient CharsetDecoder decoder;
+    /**
+     * 当前未结束的行
+     */
+    private final transient StringBuilder lineBuilder = new StringBuilder();
+
+    private transient FileChannel channel;
+    /**
+     * 当前打开文件的标识，用于识别文件轮转
+     */
+    private transient Object fileKey;
+    /**
+     * 下一次读取的位置
+     */
+    private transient long position;
+    /**
+     * 上一个字符是否为\r，用于合并\r\n
+     */
+    private transient boolean lastIsCr;
+    /**
+     * 预读取时暂存最后若干行，仅用于无法向前扫描的编码
+     */
+    private transient ArrayDeque<String> tailLines;
+    private transient WatchMonitor watchMonitor;
 
     /**
      * 构造，默认UTF-8编码
@@ -87,15 +152,23 @@ public class Tailer implements Serializable {
      * @param charset      编码
      * @param lineHandler  行处理器
      * @param initReadLine 启动时预读取的行数
-     * @param period       检查间隔
+     * @param period       检查间隔，文件监听可用时仅作为兜底轮询的基准
      */
     public Tailer(File file, Charset charset, LineHandler lineHandler, int initReadLine, long period) {
         checkFile(file);
+        this.path = file.toPath();
         this.charset = charset;
         this.lineHandler = lineHandler;
         this.period = period;
         this.initReadLine = initReadLine;
-        this.randomAccessFile = FileUtils.createRandomAccessFile(file, FileModeEnum.r);
+        this.decoder = charset.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        try {
+            open();
+        } catch (IOException e) {
+            throw new IORuntimeException(e);
+        }
         this.executorService = Executors.newSingleThreadScheduledExecutor();
     }
 
@@ -119,11 +192,11 @@ public class Tailer implements Serializable {
             throw new IORuntimeException(e);
         }
 
-        final LineReadWatcher lineReadWatcher = new LineReadWatcher(this.randomAccessFile, this.charset, this.lineHandler);
+        final long pollPeriod = startWatch() ? this.period * FALLBACK_PERIOD_FACTOR : this.period;
         final ScheduledFuture<?> scheduledFuture = this.executorService.scheduleAtFixedRate(
-                lineReadWatcher,
-                0,
-                this.period, TimeUnit.MILLISECONDS
+                this::readAppended,
+                pollPeriod,
+                pollPeriod, TimeUnit.MILLISECONDS
         );
 
         if (false == async) {
@@ -131,71 +204,298 @@ public class Tailer implements Serializable {
                 scheduledFuture.get();
             } catch (ExecutionException e) {
                 throw new UtilException(e);
-            } catch (InterruptedException e) {
+            } catch (InterruptedException | CancellationException e) {
                 // ignore and exist
             }
         }
     }
 
+    /**
+     * 停止监听并关闭文件
+     */
+    public void stop() {
+        if (null != this.watchMonitor) {
+            this.watchMonitor.close();
+        }
+        this.executorService.shutdownNow();
+        synchronized (this) {
+            IOUtils.closeQuietly(this.channel);
+        }
+    }
+
     // ---------------------------------------------------------------------------------------- Private method start
 
+    /**
+     * 启动文件修改监听
+     *
+     * @return 监听是否启动成功
+     */
+    private boolean startWatch() {
+        try {
+            this.watchMonitor = WatchMonitor.create(this.path, WatchMonitor.ENTRY_MODIFY, WatchMonitor.ENTRY_CREATE);
+        } catch (WatchException | IORuntimeException e) {
+            return false;
+        }
+        this.watchMonitor.setWatcher(new SimpleWatcher() {
+            @Override
+            public void onCreate(WatchEvent<?> event, Path currentPath) {
+                readAppendedQuietly();
+            }
+
+            @Override
+            public void onModify(WatchEvent<?> event, Path currentPath) {
+                readAppendedQuietly();
+            }
+        });
+        this.watchMonitor.setDaemon(true);
+        this.watchMonitor.start();
+        return true;
+    }
+
+    /**
+     * 监听线程中读取新增内容，异常交由兜底轮询抛出，避免监听线程退出
+     */
+    private void readAppendedQuietly() {
+        try {
+            readAppended();
+        } catch (IORuntimeException e) {
+            // ignore
+        }
+    }
+
+    /**
+     * 读取新增内容，检查文件是否被轮转
+     *
+     * @throws IORuntimeException IO异常
+     */
+    private synchronized void readAppended() throws IORuntimeException {
+        try {
+            readChannel();
+            if (isRotated()) {
+                // 旧文件剩余内容已读完，未结束的行也视为完整行
+                if (this.lineBuilder.length() > 0) {
+                    flushLine();
+                }
+                IOUtils.closeQuietly(this.channel);
+                open();
+                readChannel();
+            }
+        } catch (IOException e) {
+            throw new IORuntimeException(e);
+        }
+    }
+
+    /**
+     * 打开文件并记录文件标识
+     *
+     * @throws IOException IO异常
+     */
+    private void open() throws IOException {
+        this.channel = FileChannel.open(this.path, StandardOpenOption.READ);
+        this.fileKey = fileKey(Files.readAttributes(this.path, BasicFileAttributes.class));
+        this.position = 0;
+        this.lastIsCr = false;
+        this.byteBuffer.clear();
+        this.decoder.reset();
+    }
+
+    /**
+     * 检查路径上的文件是否已不是当前打开的文件
+     *
+     * @return 是否被轮转
+     * @throws IOException IO异常
+     */
+    private boolean isRotated() throws IOException {
+        final BasicFileAttributes attributes;
+        try {
+            attributes = Files.readAttributes(this.path, BasicFileAttributes.class);
+        } catch (NoSuchFileException e) {
+            // 旧文件已移走，新文件还未创建
+            return false;
+        }
+        return false == Objects.equals(this.fileKey, fileKey(attributes));
+    }
+
+    /**
+     * 从当前位置读取到文件末尾，文件被截断时从头读取
+     *
+     * @throws IOException IO异常
+     */
+    private void readChannel() throws IOException {
+        final FileChannel channel = this.channel;
+        final ByteBuffer byteBuffer = this.byteBuffer;
+        final long size = channel.size();
+        if (size < this.position) {
+            // 文件被截断，丢弃未结束的行后从头读取
+            this.position = 0;
+            this.lastIsCr = false;
+            this.lineBuilder.setLength(0);
+            byteBuffer.clear();
+            this.decoder.reset();
+        }
+
+        int read;
+        while (this.position < size) {
+            read = channel.read(byteBuffer, this.position);
+            if (read <= 0) {
+                break;
+            }
+            this.position += read;
+            byteBuffer.flip();
+            decode();
+            // 保留不完整的多字节字符，等待下一次读取
+            byteBuffer.compact();
+        }
+    }
+
+    /**
+     * 解码缓冲区中的字节并处理其中的完整行
+     */
+    private void decode() {
+        final CharBuffer charBuffer = this.charBuffer;
+        CoderResult result;
+        do {
+            charBuffer.clear();
+            result = this.decoder.decode(this.byteBuffer, charBuffer, false);
+            charBuffer.flip();
+            handleChars(charBuffer.array(), charBuffer.arrayOffset() + charBuffer.position(), charBuffer.remaining());
+        } while (result.isOverflow());
+    }
+
+    /**
+     * 按行切分字符，支持\n、\r\n和\r
+     *
+     * @param chars  字符数组
+     * @param offset 开始位置
+     * @param length 长度
+     */
+    private void handleChars(char[] chars, int offset, int length) {
+        final int end = offset + length;
+        int lineStart = offset;
+        char c;
+        for (int i = offset; i < end; i++) {
+            c = chars[i];
+            if (c == '\n' || c == '\r') {
+                if (c == '\n' && this.lastIsCr && i == lineStart && 0 == this.lineBuilder.length()) {
+                    // \r\n中的\n，上一行已在\r处结束
+                    lineStart = i + 1;
+                    this.lastIsCr = false;
+                    continue;
+                }
+                this.lineBuilder.append(chars, lineStart, i - lineStart);
+                flushLine();
+                this.lastIsCr = (c == '\r');
+                lineStart = i + 1;
+            } else {
+                this.lastIsCr = false;
+            }
+        }
+        this.lineBuilder.append(chars, lineStart, end - lineStart);
+    }
+
+    /**
+     * 输出当前行
+     */
+    private void flushLine() {
+        final String line = this.lineBuilder.toString();
+        this.lineBuilder.setLength(0);
+        if (null != this.tailLines) {
+            if (this.tailLines.size() == this.initReadLine) {
+                this.tailLines.pollFirst();
+            }
+            this.tailLines.addLast(line);
+        } else {
+            this.lineHandler.handle(line);
+        }
+    }
+
     /**
      * 预读取行
      *
      * @throws IOException IO异常
      */
-    private void readTail() throws IOException {
-        final long len = this.randomAccessFile.length();
-
-        if (initReadLine > 0) {
-            Stack<String> stack = new Stack<>();
-
-            long start = this.randomAccessFile.getFilePointer();
-            long nextEnd = len - 1;
-            this.randomAccessFile.seek(nextEnd);
-            int c;
-            int currentLine = 0;
-            while (nextEnd > start) {
-                // 满
-                if (currentLine > initReadLine) {
-                    break;
+    private synchronized void readTail() throws IOException {
+        final long size = this.channel.size();
+        if (initReadLine <= 0) {
+            this.position = size;
+            return;
+        }
+
+        if (isAsciiCompatible(this.charset)) {
+            this.position = findTailStart(size);
+            readChannel();
+        } else {
+            // 换行符不是单字节的编码无法向前扫描，从头读取并保留最后若干行
+            this.tailLines = new ArrayDeque<>(initReadLine);
+            try {
+                readChannel();
+            } finally {
+                final ArrayDeque<String> lines = this.tailLines;
+                this.tailLines = null;
+                for (String line : lines) {
+                    this.lineHandler.handle(line);
                 }
+            }
+        }
+    }
 
-                c = this.randomAccessFile.read();
-                if (c == CharUtils.LF || c == CharUtils.CR) {
-                    /// FileUtil.readLine(this.randomAccessFile, this.charset, this.lineHandler);
-                    final String line = FileUtils.readLine(this.randomAccessFile, this.charset);
-                    if (null != line) {
-                        stack.push(line);
+    /**
+     * 从文件末尾按块向前扫描，找到倒数第{@link #initReadLine}行的起始位置
+     *
+     * @param size 文件长度
+     * @return 起始位置
+     * @throws IOException IO异常
+     */
+    private long findTailStart(long size) throws IOException {
+        final ByteBuffer buffer = this.byteBuffer;
+        // 文件末尾的换行符不作为一行的分隔
+        final long searchEnd = size - 1;
+        long blockEnd = size;
+        int lines = 0;
+        try {
+            while (blockEnd > 0) {
+                final int blockSize = (int) Math.min(buffer.capacity(), blockEnd);
+                final long blockStart = blockEnd - blockSize;
+                buffer.clear();
+                buffer.limit(blockSize);
+                while (buffer.hasRemaining()) {
+                    if (this.channel.read(buffer, blockStart + buffer.position()) < 0) {
+                        break;
                     }
-                    currentLine++;
-                    nextEnd--;
                 }
-                nextEnd--;
-                this.randomAccessFile.seek(nextEnd);
-                if (nextEnd == 0) {
-                    /// 当文件指针退至文件开始处，输出第一行
-                    // FileUtil.readLine(this.randomAccessFile, this.charset, this.lineHandler);
-                    final String line = FileUtils.readLine(this.randomAccessFile, this.charset);
-                    if (null != line) {
-                        stack.push(line);
+                for (int i = buffer.position() - 1; i >= 0; i--) {
+                    if (buffer.get(i) == '\n' && blockStart + i < searchEnd && ++lines == initReadLine) {
+                        return blockStart + i + 1;
                     }
-                    break;
                 }
+                blockEnd = blockStart;
             }
-
-            // 输出缓存栈中的内容
-            while (false == stack.isEmpty()) {
-                this.lineHandler.handle(stack.pop());
-            }
+            return 0;
+        } finally {
+            buffer.clear();
         }
+    }
 
-        // 将指针置于末尾
-        try {
-            this.randomAccessFile.seek(len);
-        } catch (IOException e) {
-            throw new IORuntimeException(e);
-        }
+    /**
+     * 换行符在此编码下是否为单字节，且不会出现在多字节字符中
+     *
+     * @param charset 编码
+     * @return 是否兼容ASCII
+     */
+    private static boolean isAsciiCompatible(Charset charset) {
+        return Arrays.equals(new byte[]{'\n'}, "\n".getBytes(charset))
+                && Arrays.equals(new byte[]{'\r'}, "\r".getBytes(charset));
+    }
+
+    /**
+     * 获取文件标识，文件系统不支持时使用创建时间
+     *
+     * @param attributes 文件属性
+     * @return 文件标识
+     */
+    private static Object fileKey(BasicFileAttributes attributes) {
+        final Object key = attributes.fileKey();
+        return (null != key) ? key : attributes.creationTime();
     }
 
     /**
@@ -0,0 +1,21 @@
+package com.github.jarvisframework.tool.core.io.watch;
+
+import java.util.List;
+
+/**
+ * <p>批量观察者</p>
+ * 配合{@link WatchDispatcher}使用，一段时间内同一路径的多个事件合并为一个{@link WatchChange}，按批次通知
+ *
+ * @author Doug Wang
+ * @since 1.0, 2026-10-18 19:40:16
+ */
+@FunctionalInterface
+public interface BatchWatcher {
+
+    /**
+     * 一批文件变更
+     *
+     * @param changes 变更列表，同一路径只出现一次，不为空
+     */
+    void onBatch(List<WatchChange> changes);
+}
@@ -0,0 +1,70 @@
+package com.github.jarvisframework.tool.core.io.watch;
+
+import java.nio.file.Path;
+import java.nio.file.WatchEvent;
+
+/**
+ * <p>合并后的文件变更</p>
+ * 同一路径的多个事件按先后顺序合并：
+ * <pre>
+ * 创建 + 修改 = 创建
+ * 修改 + 删除 = 删除
+ * 删除 + 创建 = 修改
+ * 创建 + 删除 = 无变更
+ * </pre>
+ * 事件丢失时，丢失事件的目录以{@link WatchMonitor#OVERFLOW}通知，目录下现存的文件以{@link WatchMonitor#ENTRY_MODIFY}通知。
+ *
+ * @author Doug Wang
+ * @since 1.0, 2026-10-18 19:40:16
+ */
+public class WatchChange {
+
+    private final Path path;
+    private final WatchEvent.Kind<?> kind;
+    private final int count;
+
+    /**
+     * 构造
+     *
+     * @param path  变更的路径
+     * @param kind  合并后的事件类型
+     * @param count 合并的原始事件数
+     */
+    public WatchChange(Path path, WatchEvent.Kind<?> kind, int count) {
+        this.path = path;
+        this.kind = kind;
+        this.count = count;
+    }
+
+    /**
+     * 获取变更的路径
+     *
+     * @return 绝对路径或相对于监听目录的完整路径
+     */
+    public Path getPath() {
+        return path;
+    }
+
+    /**
+     * 获取合并后的事件类型
+     *
+     * @return 事件类型
+     */
+    public WatchEvent.Kind<?> getKind() {
+        return kind;
+    }
+
+    /**
+     * 获取合并的原始事件数
+     *
+     * @return 事件数
+     */
+    public int getCount() {
+        return count;
+    }
+
+    @Override
+    public String toString() {
+        return kind.name() + " " + path + " (" + count + ")";
+    }
+}
@@ -0,0 +1,385 @@
+package com.github.jarvisframework.tool.core.io.watch;
+
+import com.github.jarvisframework.tool.core.io.IORuntimeException;
+import com.github.jarvisframework.tool.core.io.file.PathWalker;
+import com.github.jarvisframework.tool.core.lang.Assert;
+import com.github.jarvisframework.tool.core.thread.ThreadFactoryBuilder;
+
+import java.io.Closeable;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.WatchEvent;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>合并事件的批量分发器</p>
+ * 作为{@link Watcher}设置到{@link WatchMonitor}后，监听线程只记录事件，不执行回调：
+ * <ul>
+ *     <li>同一路径在静默期内的多个事件合并为一个{@link WatchChange}，路径在静默期内无新事件后才通知，持续变化的路径最迟在最大延迟后通知</li>
+ *     <li>到期的变更合并为一批，在指定的{@link Executor}中调用{@link BatchWatcher#onBatch(List)}，默认在分发线程中调用</li>
+ *     <li>事件丢失（OVERFLOW）时重新扫描对应目录，现存文件按修改通知</li>
+ *     <li>递归监听时，新创建的目录在分发线程中注册监听，注册前已在其中创建的文件按创建通知</li>
+ * </ul>
+ *
+ * <pre>
+ * WatchMonitor monitor = WatchMonitor.create(dir, Integer.MAX_VALUE, WatchMonitor.EVENTS_ALL);
+ * monitor.setWatcher(WatchDispatcher.create(changes -&gt; reload(changes)).setQuietPeriod(500));
+ * monitor.start();
+ * </pre>
+ * <p>
+ * 分发器使用一个守护线程，关联的{@link WatchMonitor}关闭后自动停止，未关联监听器时需调用{@link #close()}停止。
+ *
+ * @author Doug Wang
+ * @since 1.0, 2026-10-18 19:40:16
+ */
+public class WatchDispatcher implements Watcher, Closeable {
+
+    /**
+     * 默认静默期：200毫秒
+     */
+    public static final long DEFAULT_QUIET_PERIOD = 200;
+    /**
+     * 最小检查间隔：5毫秒
+     */
+    private static final long MIN_TICK = 5;
+
+    private final BatchWatcher batchWatcher;
+    private final ScheduledExecutorService scheduler;
+    private final Map<Path, PendingChange> pending = new LinkedHashMap<>();
+
+    private Executor executor;
+    private volatile long quietNanos = TimeUnit.MILLISECONDS.toNanos(DEFAULT_QUIET_PERIOD);
+    private volatile long maxDelayNanos = quietNanos * 10;
+    private volatile WatchMonitor monitor;
+    /**
+     * 定时检查任务，间隔随静默期和最大延迟调整
+     */
+    private ScheduledFuture<?> tick;
+
+    /**
+     * 创建分发器
+     *
+     * @param batchWatcher 批量观察者
+     * @return WatchDispatcher
+     */
+    public static WatchDispatcher create(BatchWatcher batchWatcher) {
+        return new WatchDispatcher(batchWatcher);
+    }
+
+    /**
+     * 构造
+     *
+     * @param batchWatcher 批量观察者
+     */
+    public WatchDispatcher(BatchWatcher batchWatcher) {
+        this.batchWatcher = Assert.notNull(batchWatcher, "BatchWatcher must not be null!");
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(
+                ThreadFactoryBuilder.create().setNamePrefix("watch-dispatcher-").setDaemon(true).build());
+        this.executor = scheduler;
+        reschedule();
+    }
+
+    /**
+     * 设置静默期，路径在静默期内没有新事件才会通知，最大延迟同时设为静默期的10倍
+     *
+     * @param quietMillis 静默期毫秒数
+     * @return this
+     */
+    public WatchDispatcher setQuietPeriod(long quietMillis) {
+        Assert.isTrue(quietMillis >= 0, "Quiet period must not be negative!");
+        this.quietNanos = TimeUnit.MILLISECONDS.toNanos(quietMillis);
+        this.maxDelayNanos = quietNanos * 10;
+        reschedule();
+        return this;
+    }
+
+    /**
+     * 设置最大延迟，持续产生事件的路径从第一个事件起最迟在此时间后通知
+     *
+     * @param maxDelayMillis 最大延迟毫秒数
+     * @return this
+     */
+    public WatchDispatcher setMaxDelay(long maxDelayMillis) {
+        Assert.isTrue(maxDelayMillis >= 0, "Max delay must not be negative!");
+        this.maxDelayNanos = TimeUnit.MILLISECONDS.toNanos(maxDelayMillis);
+        reschedule();
+        return this;
+    }
+
+    /**
+     * 设置执行{@link BatchWatcher#onBatch(List)}的线程池，多线程的线程池中多个批次可能同时执行
+     *
+     * @param executor 线程池，{@code null}表示在分发线程中执行
+     * @return this
+     */
+    public WatchDispatcher setExecutor(Executor executor) {
+        this.executor = (null == executor) ? scheduler : executor;
+        return this;
+    }
+
+    @Override
+    public void onCreate(WatchEvent<?> event, Path currentPath) {
+        final Path path = resolve(event, currentPath);
+        record(path, WatchMonitor.ENTRY_CREATE, event.count());
+        final WatchMonitor monitor = this.monitor;
+        if (null != monitor && monitor.isRecursive()) {
+            // 判断和注册目录都在分发线程中进行，不阻塞监听线程
+            submit(() -> registerNewDirectory(monitor, path));
+        }
+    }
+
+    @Override
+    public void onModify(WatchEvent<?> event, Path currentPath) {
+        record(resolve(event, currentPath), WatchMonitor.ENTRY_MODIFY, event.count());
+    }
+
+    @Override
+    public void onDelete(WatchEvent<?> event, Path currentPath) {
+        record(resolve(event, currentPath), WatchMonitor.ENTRY_DELETE, event.count());
+    }
+
+    @Override
+    public void onOverflow(WatchEvent<?> event, Path currentPath) {
+        submit(() -> rescan(currentPath));
+    }
+
+    /**
+     * 停止分发，未通知的变更被丢弃
+     */
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * 关联监听器，由{@link WatchMonitor#setWatcher(Watcher)}调用
+     *
+     * @param monitor 监听器
+     */
+    void bind(WatchMonitor monitor) {
+        this.monitor = monitor;
+    }
+
+    // ---------------------------------------------------------------------------------------------- Private method start
+
+    /**
+     * 按当前的静默期和最大延迟重新安排定时检查，间隔为两者较小值的1/4，变更最多比到期时间晚这么久通知
+     */
+    private synchronized void reschedule() {
+        if (null != tick) {
+            tick.cancel(false);
+        }
+        final long period = TimeUnit.NANOSECONDS.toMillis(Math.min(quietNanos, maxDelayNanos));
+        final long interval = Math.max(MIN_TICK, period / 4);
+        try {
+            tick = scheduler.scheduleWithFixedDelay(this::dispatch, interval, interval, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            // 已关闭
+            tick = null;
+        }
+    }
+
+    private static Path resolve(WatchEvent<?> event, Path currentPath) {
+        final Path context = (Path) event.context();
+        return (null == currentPath) ? context : currentPath.resolve(context);
+    }
+
+    /**
+     * 记录事件，与该路径未通知的事件合并
+     */
+    private void record(Path path, WatchEvent.Kind<?> kind, int count) {
+        final long now = System.nanoTime();
+        synchronized (pending) {
+            final PendingChange change = pending.get(path);
+            if (null == change) {
+                pending.put(path, new PendingChange(kind, count, now));
+                return;
+            }
+            final WatchEvent.Kind<?> merged = merge(change.kind, kind);
+            if (null == merged) {
+                pending.remove(path);
+                return;
+            }
+            change.kind = merged;
+            change.count += count;
+            change.lastNanos = now;
+        }
+    }
+
+    /**
+     * 合并同一路径的两个事件，返回{@code null}表示相互抵消
+     */
+    private static WatchEvent.Kind<?> merge(WatchEvent.Kind<?> previous, WatchEvent.Kind<?> next) {
+        if (WatchMonitor.OVERFLOW == previous || WatchMonitor.OVERFLOW == next) {
+            return WatchMonitor.OVERFLOW;
+        }
+        if (WatchMonitor.ENTRY_CREATE == previous) {
+            // 创建后又删除，视为没有变化
+            return (WatchMonitor.ENTRY_DELETE == next) ? null : WatchMonitor.ENTRY_CREATE;
+        }
+        if (WatchMonitor.ENTRY_DELETE == previous) {
+            // 删除后重新创建，视为修改
+            return (WatchMonitor.ENTRY_DELETE == next) ? WatchMonitor.ENTRY_DELETE : WatchMonitor.ENTRY_MODIFY;
+        }
+        return (WatchMonitor.ENTRY_DELETE == next) ? WatchMonitor.ENTRY_DELETE : WatchMonitor.ENTRY_MODIFY;
+    }
+
+    /**
+     * 定时执行，收集到期的变更并通知
+     */
+    private void dispatch() {
+        final WatchMonitor monitor = this.monitor;
+        if (null != monitor && monitor.isClosed) {
+            close();
+            return;
+        }
+
+        final List<WatchChange> changes = new ArrayList<>();
+        final long now = System.nanoTime();
+        synchronized (pending) {
+            final Iterator<Map.Entry<Path, PendingChange>> iterator = pending.entrySet().iterator();
+            while (iterator.hasNext()) {
+                final Map.Entry<Path, PendingChange> entry = iterator.next();
+                final PendingChange change = entry.getValue();
+                if (now - change.lastNanos >= quietNanos || now - change.firstNanos >= maxDelayNanos) {
+                    changes.add(new WatchChange(entry.getKey(), change.kind, change.count));
+                    iterator.remove();
+                }
+            }
+        }
+        if (changes.isEmpty()) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    batchWatcher.onBatch(changes);
+                } catch (Throwable e) {
+                    handleError(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            handleError(e);
+        }
+    }
+
+    /**
+     * 递归监听时注册新创建的目录及其子目录，并补充注册前已创建的文件
+     */
+    private void registerNewDirectory(WatchMonitor monitor, Path path) {
+        if (false == Files.isDirectory(path, LinkOption.NOFOLLOW_LINKS)) {
+            return;
+        }
+        final int depth = monitor.getPath().relativize(path).getNameCount();
+        if (depth >= monitor.getMaxDepth()) {
+            return;
+        }
+        monitor.registerPath(path, 0);
+        walk(monitor, path, depth, WatchMonitor.ENTRY_CREATE);
+    }
+
+    /**
+     * 事件丢失时重新扫描目录，现存文件按修改通知，并注册遗漏的新目录
+     */
+    private void rescan(Path dir) {
+        final WatchMonitor monitor = this.monitor;
+        if (null == dir) {
+            if (null == monitor) {
+                return;
+            }
+            dir = monitor.getPath();
+        }
+        record(dir, WatchMonitor.OVERFLOW, 1);
+
+        if (null != monitor && null != monitor.getFilePath()) {
+            // 单文件监听只检查该文件
+            final Path filePath = monitor.getFilePath();
+            record(filePath, Files.exists(filePath) ? WatchMonitor.ENTRY_MODIFY : WatchMonitor.ENTRY_DELETE, 1);
+            return;
+        }
+        if (null != monitor && monitor.isRecursive() && dir.startsWith(monitor.getPath())) {
+            walk(monitor, dir, monitor.getPath().relativize(dir).getNameCount(), WatchMonitor.ENTRY_MODIFY);
+        } else {
+            PathWalker.of(dir).setMaxDepth(1).setIgnoreErrors(true).walk((file, attrs) -> {
+                record(file, WatchMonitor.ENTRY_MODIFY, 1);
+                return true;
+            });
+        }
+    }
+
+    /**
+     * 遍历目录，注册监听深度内的子目录，目录中的文件按指定类型记录
+     */
+    private void walk(WatchMonitor monitor, Path dir, int depth, WatchEvent.Kind<?> kind) {
+        final Path root = monitor.getPath();
+        final int maxDepth = monitor.getMaxDepth();
+        PathWalker.of(dir)
+                .setMaxDepth(maxDepth - depth)
+                .setIgnoreErrors(true)
+                .setDirectoryFilter((subDir, attrs) -> {
+                    if (root.relativize(subDir).getNameCount() < maxDepth) {
+                        monitor.registerPath(subDir, 0);
+                    }
+                    record(subDir, kind, 1);
+                    return true;
+                })
+                .walk((file, attrs) -> {
+                    record(file, kind, 1);
+                    return true;
+                });
+    }
+
+    /**
+     * 提交到分发线程，目录在此期间被删除等异常不影响后续分发
+     */
+    private void submit(Runnable task) {
+        try {
+            scheduler.execute(() -> {
+                try {
+                    task.run();
+                } catch (WatchException | IORuntimeException e) {
+                    // 目录已删除或无法访问，跳过
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // 已关闭
+        }
+    }
+
+    /**
+     * 回调异常交给当前线程的未捕获异常处理器，不中断分发线程
+     */
+    private static void handleError(Throwable e) {
+        final Thread thread = Thread.currentThread();
+        thread.getUncaughtExceptionHandler().uncaughtException(thread, e);
+    }
+    // ---------------------------------------------------------------------------------------------- Private method end
+
+    /**
+     * 未通知的变更
+     */
+    private static class PendingChange {
+        WatchEvent.Kind<?> kind;
+        int count;
+        final long firstNanos;
+        long lastNanos;
+
+        PendingChange(WatchEvent.Kind<?> kind, int count, long now) {
+            this.kind = kind;
+            this.count = count;
+            this.firstNanos = now;
+            this.lastNanos = now;
+        }
+    }
+}
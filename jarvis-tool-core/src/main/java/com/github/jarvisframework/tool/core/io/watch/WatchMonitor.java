@@ -19,7 +19,7 @@ import java.nio.file.*;
  * <p>
  * 监听器可监听目录或文件<br>
  * 如果监听的Path不存在，则递归创建空目录然后监听此空目录<br>
- * 递归监听目录时，并不会监听新创建的目录
+ * 递归监听目录时，并不会监听新创建的目录，使用{@link WatchDispatcher}作为监听时会自动注册新创建的目录
  *
  * @author Doug Wang
  * @since 1.0, 2020-08-03 15:45:23
@@ -348,6 +348,9 @@ public class WatchMonitor extends WatchServer {
      */
     public WatchMonitor setWatcher(Watcher watcher) {
         this.watcher = watcher;
+        if (watcher instanceof WatchDispatcher) {
+            ((WatchDispatcher) watcher).bind(this);
+        }
         return this;
     }
 
@@ -401,6 +404,42 @@ public class WatchMonitor extends WatchServer {
         return this;
     }
 
+    /**
+     * 获取监听的目录
+     *
+     * @return 目录
+     */
+    Path getPath() {
+        return this.path;
+    }
+
+    /**
+     * 获取监听的文件，监听目录时为{@code null}
+     *
+     * @return 文件
+     */
+    Path getFilePath() {
+        return this.filePath;
+    }
+
+    /**
+     * 获取递归目录的最大深度
+     *
+     * @return 最大深度
+     */
+    int getMaxDepth() {
+        return this.maxDepth;
+    }
+
+    /**
+     * 是否递归监听子目录
+     *
+     * @return 是否递归
+     */
+    boolean isRecursive() {
+        return null == this.filePath && this.maxDepth > 1;
+    }
+
     //------------------------------------------------------ private method start
 
     /**
@@ -409,7 +448,7 @@ public class WatchMonitor extends WatchServer {
      * @param watcher {@link Watcher}
      */
     private void doTakeAndWatch(Watcher watcher) {
-        super.watch(watcher, watchEvent -> null == filePath || filePath.endsWith(watchEvent.context().toString()));
+        super.watch(watcher, watchEvent -> null == filePath || null == watchEvent.context() || filePath.endsWith(watchEvent.context().toString()));
     }
 
     /**
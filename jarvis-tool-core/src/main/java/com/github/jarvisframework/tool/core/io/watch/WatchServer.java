@@ -9,8 +9,8 @@ import java.io.IOException;
 import java.io.Serializable;
 import java.nio.file.*;
 import java.util.EnumSet;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * <p>文件监听服务，此服务可以同时监听多个路径。</p>
@@ -36,11 +36,11 @@ public class WatchServer extends Thread implements Closeable, Serializable {
     /**
      * 监听是否已经关闭
      */
-    protected boolean isClosed;
+    protected volatile boolean isClosed;
     /**
-     * WatchKey 和 Path的对应表
+     * WatchKey 和 Path的对应表，新目录可能在其它线程中注册
      */
-    private final Map<WatchKey, Path> watchKeyPathMap = new HashMap<>();
+    private final Map<WatchKey, Path> watchKeyPathMap = new ConcurrentHashMap<>();
 
     /**
      * 初始化<br>
@@ -0,0 +1,151 @@
+package com.github.jarvisframework.tool.core.lang;
+
+import com.github.jarvisframework.tool.core.io.FileUtils;
+import com.github.jarvisframework.tool.core.io.IORuntimeException;
+import com.github.jarvisframework.tool.core.util.StringUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * <p>基于文件的号段存储</p>
+ * 每个业务key对应目录下的一个文件，文件内容为下一个可分配的ID（定长十进制文本）。
+ * 分配时通过{@link FileChannel#lock()}加文件锁，多个进程共享同一目录时号段也不会重叠；
+ * 同一进程内对同一文件的并发分配通过按文件路径共享的对象锁串行化（{@link FileLock}由JVM持有，不能用于线程间互斥）。
+ *
+ * @author Doug Wang
+ * @since 1.0, 2026-10-18 21:52:40
+ */
+public class FileSegmentStore implements SegmentStore {
+
+    /**
+     * 存储文件的扩展名
+     */
+    public static final String EXT = ".segment";
+
+    /**
+     * 记录值的长度，Long.MAX_VALUE为19位，加换行符
+     */
+    private static final int RECORD_LENGTH = 20;
+    private static final Pattern KEY_PATTERN = Pattern.compile("[\\w.\\-]+");
+    /**
+     * 进程内的文件锁，key为文件的规范路径，通过符号链接或不同的相对路径访问同一文件时使用同一把锁
+     */
+    private static final Map<String, Object> LOCKS = new ConcurrentHashMap<>();
+
+    private final File dir;
+    private final long initialValue;
+
+    /**
+     * 构造，第一个ID为1
+     *
+     * @param dir 存储目录，不存在时创建
+     */
+    public FileSegmentStore(File dir) {
+        this(dir, 1L);
+    }
+
+    /**
+     * 构造
+     *
+     * @param dir          存储目录，不存在时创建
+     * @param initialValue 业务key第一次分配时的起始ID
+     */
+    public FileSegmentStore(File dir, long initialValue) {
+        Assert.notNull(dir, "Segment dir must not be null!");
+        Assert.isTrue(initialValue >= 0, "Initial value must not be negative!");
+        this.dir = FileUtils.mkdir(dir);
+        this.initialValue = initialValue;
+    }
+
+    @Override
+    public long allocate(String key, long step) {
+        Assert.isTrue(null != key && KEY_PATTERN.matcher(key).matches(), "Invalid segment key: {}", key);
+        Assert.isTrue(step > 0, "Step must be greater than 0!");
+
+        final File file = new File(dir, key + EXT);
+        synchronized (LOCKS.computeIfAbsent(FileUtils.getCanonicalPath(file), path -> new Object())) {
+            return allocate(file, key, step);
+        }
+    }
+
+    /**
+     * 加文件锁后分配号段
+     *
+     * @param file 存储文件
+     * @param key  业务key
+     * @param step 号段长度
+     * @return 号段的第一个ID
+     */
+    private long allocate(File file, String key, long step) {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            final FileLock lock = channel.lock();
+            try {
+                return allocate(channel, key, step);
+            } finally {
+                lock.release();
+            }
+        } catch (IOException e) {
+            throw new IORuntimeException(e, "Allocate segment of [{}] error", key);
+        }
+    }
+
+    /**
+     * 读取高水位，增加号段长度后写回
+     *
+     * @param channel 已加锁的文件通道
+     * @param key     业务key
+     * @param step    号段长度
+     * @return 号段的第一个ID
+     * @throws IOException IO异常
+     */
+    private long allocate(FileChannel channel, String key, long step) throws IOException {
+        final long start = read(channel);
+        final long end;
+        try {
+            end = Math.addExact(start, step);
+        } catch (ArithmeticException e) {
+            throw new IllegalStateException(StringUtils.format("Segment of [{}] is exhausted", key));
+        }
+        // 定长覆盖写入，不截断文件，避免写入中途崩溃留下空文件
+        final ByteBuffer buffer = ByteBuffer.wrap(StringUtils.padPre(Long.toString(end), RECORD_LENGTH - 1, '0')
+                .concat("\n").getBytes(StandardCharsets.US_ASCII));
+        while (buffer.hasRemaining()) {
+            channel.write(buffer, buffer.position());
+        }
+        channel.force(true);
+        return start;
+    }
+
+    /**
+     * 读取下一个可分配的ID
+     *
+     * @param channel 文件通道
+     * @return 下一个可分配的ID，文件为空时返回初始值
+     * @throws IOException IO异常
+     */
+    private long read(FileChannel channel) throws IOException {
+        final ByteBuffer buffer = ByteBuffer.allocate(RECORD_LENGTH);
+        int read;
+        do {
+            read = channel.read(buffer, buffer.position());
+        } while (read > 0 && buffer.hasRemaining());
+        final String value = new String(buffer.array(), 0, buffer.position(), StandardCharsets.US_ASCII).trim();
+        if (value.isEmpty()) {
+            return initialValue;
+        }
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            throw new IOException(StringUtils.format("Corrupted segment record: [{}]", value), e);
+        }
+    }
+}
@@ -2,12 +2,13 @@ package com.github.jarvisframework.tool.core.lang;
 
 import com.github.jarvisframework.tool.core.date.DateUtils;
 import com.github.jarvisframework.tool.core.util.ClassLoaderUtils;
+import com.github.jarvisframework.tool.core.util.HexUtils;
 import com.github.jarvisframework.tool.core.util.RandomUtils;
 import com.github.jarvisframework.tool.core.util.StringUtils;
 
+import java.io.Serializable;
 import java.lang.management.ManagementFactory;
 import java.net.NetworkInterface;
-import java.nio.ByteBuffer;
 import java.util.Enumeration;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -22,12 +23,17 @@ import java.util.concurrent.atomic.AtomicInteger;
  * 4. INC 自增计数器。确保同一秒内产生objectId的唯一性。
  * </pre>
  * <p>
+ * 对象形式以一个long（时间戳和机器信息）和一个int（自增计数器）表示，字符串通过查表直接写入字符数组，
+ * 也可以通过{@link #appendTo(StringBuilder, boolean)}、{@link #writeTo(byte[], int, boolean)}写入已有的缓冲区。
+ * <p>
  * 参考：http://blog.csdn.net/qxc1281/article/details/54021882
  *
  * @author Doug Wang
  * @since 1.0, 2020-07-30 11:17:00
  */
-public class ObjectId {
+public class ObjectId implements Comparable<ObjectId>, Serializable {
+
+    private static final long serialVersionUID = 1L;
 
     /**
      * 线程安全的下一个随机数,每次生成自增+1
@@ -39,6 +45,67 @@ public class ObjectId {
      */
     private static final int machine = getMachinePiece() | getProcessPiece();
 
+    /**
+     * 高8字节：4字节时间戳（秒）和4字节机器信息
+     */
+    private final long high;
+    /**
+     * 低4字节：自增计数器
+     */
+    private final int low;
+
+    /**
+     * 构造
+     *
+     * @param high 高8字节：4字节时间戳（秒）和4字节机器信息
+     * @param low  低4字节：自增计数器
+     */
+    public ObjectId(long high, int low) {
+        this.high = high;
+        this.low = low;
+    }
+
+    /**
+     * 生成一个新的ObjectId对象
+     *
+     * @return ObjectId
+     */
+    public static ObjectId get() {
+        return new ObjectId(nextHigh(), nextInc.getAndIncrement());
+    }
+
+    /**
+     * 从bytes表现形式创建ObjectId
+     *
+     * @param bytes 12位bytes
+     * @return ObjectId
+     */
+    public static ObjectId of(byte[] bytes) {
+        Assert.isTrue(null != bytes && bytes.length == 12, "ObjectId bytes length must be 12!");
+        long high = 0;
+        for (int i = 0; i < 8; i++) {
+            high = (high << 8) | (bytes[i] & 0xFF);
+        }
+        int low = 0;
+        for (int i = 8; i < 12; i++) {
+            low = (low << 8) | (bytes[i] & 0xFF);
+        }
+        return new ObjectId(high, low);
+    }
+
+    /**
+     * 解析ObjectId字符串，支持带分隔符的形式
+     *
+     * @param s ObjectId字符串
+     * @return ObjectId
+     * @throws IllegalArgumentException 无效的ObjectId字符串
+     */
+    public static ObjectId of(String s) {
+        Assert.isTrue(isValid(s), "Invalid ObjectId: [{}]", s);
+        final String hex = StringUtils.removeAll(s, "-");
+        return new ObjectId(Long.parseUnsignedLong(hex.substring(0, 16), 16), Integer.parseUnsignedInt(hex.substring(16), 16));
+    }
+
     /**
      * 给定的字符串是否为有效的ObjectId
      *
@@ -79,15 +146,7 @@ public class ObjectId {
      * @since 4.1.15
      */
     public static byte[] nextBytes() {
-        final ByteBuffer bb = ByteBuffer.wrap(new byte[12]);
-        // 4位
-        bb.putInt((int) DateUtils.currentSeconds());
-        // 4位
-        bb.putInt(machine);
-        // 4位
-        bb.putInt(nextInc.getAndIncrement());
-
-        return bb.array();
+        return get().toByteArray();
     }
 
     /**
@@ -106,25 +165,185 @@ public class ObjectId {
      * @return objectId
      */
     public static String next(boolean withHyphen) {
-        byte[] array = nextBytes();
-        final StringBuilder buf = new StringBuilder(withHyphen ? 26 : 24);
-        int t;
-        for (int i = 0; i < array.length; i++) {
-            if (withHyphen && i % 4 == 0 && i != 0) {
-                buf.append("-");
-            }
-            t = array[i] & 0xff;
-            if (t < 16) {
-                buf.append('0');
-            }
-            buf.append(Integer.toHexString(t));
+        final char[] chars = new char[withHyphen ? 26 : 24];
+        write(nextHigh(), nextInc.getAndIncrement(), chars, 0, withHyphen);
+        return new String(chars);
+    }
+
+    /**
+     * 获取时间戳（秒）
+     *
+     * @return 时间戳（秒）
+     */
+    public int getTimestamp() {
+        return (int) (high >>> 32);
+    }
 
+    /**
+     * 获取高8字节：4字节时间戳（秒）和4字节机器信息
+     *
+     * @return 高8字节
+     */
+    public long getHigh() {
+        return high;
+    }
+
+    /**
+     * 获取低4字节：自增计数器
+     *
+     * @return 低4字节
+     */
+    public int getLow() {
+        return low;
+    }
+
+    /**
+     * 转为12位bytes表现形式
+     *
+     * @return bytes
+     */
+    public byte[] toByteArray() {
+        final byte[] bytes = new byte[12];
+        for (int i = 7; i >= 0; i--) {
+            bytes[i] = (byte) (high >>> ((7 - i) << 3));
         }
-        return buf.toString();
+        for (int i = 11; i >= 8; i--) {
+            bytes[i] = (byte) (low >>> ((11 - i) << 3));
+        }
+        return bytes;
+    }
+
+    /**
+     * 将16进制字符串形式写入字符数组
+     *
+     * @param out        目标数组，需预留24位（带分隔符为26位）
+     * @param offset     写入的起始位置
+     * @param withHyphen 是否包含分隔符
+     * @return 写入后的位置
+     */
+    public int writeTo(char[] out, int offset, boolean withHyphen) {
+        return write(high, low, out, offset, withHyphen);
+    }
+
+    /**
+     * 将16进制字符串形式以ASCII写入字节数组，可直接用于网络或存储的缓冲区
+     *
+     * @param out        目标数组，需预留24位（带分隔符为26位）
+     * @param offset     写入的起始位置
+     * @param withHyphen 是否包含分隔符
+     * @return 写入后的位置
+     */
+    public int writeTo(byte[] out, int offset, boolean withHyphen) {
+        int pos = HexUtils.writeHex(high >>> 32, 8, out, offset);
+        if (withHyphen) {
+            out[pos++] = '-';
+        }
+        pos = HexUtils.writeHex(high, 8, out, pos);
+        if (withHyphen) {
+            out[pos++] = '-';
+        }
+        return HexUtils.writeHex(low, 8, out, pos);
+    }
+
+    /**
+     * 将16进制字符串形式追加到{@link StringBuilder}，不创建中间字符串
+     *
+     * @param builder    {@link StringBuilder}
+     * @param withHyphen 是否包含分隔符
+     * @return builder
+     */
+    public StringBuilder appendTo(StringBuilder builder, boolean withHyphen) {
+        HexUtils.appendHex(builder, high >>> 32, 8);
+        if (withHyphen) {
+            builder.append('-');
+        }
+        HexUtils.appendHex(builder, high, 8);
+        if (withHyphen) {
+            builder.append('-');
+        }
+        HexUtils.appendHex(builder, low, 8);
+        return builder;
+    }
+
+    /**
+     * 转为16进制字符串
+     *
+     * @param withHyphen 是否包含分隔符
+     * @return 16进制字符串
+     */
+    public String toString(boolean withHyphen) {
+        final char[] chars = new char[withHyphen ? 26 : 24];
+        writeTo(chars, 0, withHyphen);
+        return new String(chars);
+    }
+
+    @Override
+    public String toString() {
+        return toString(false);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Long.hashCode(high) + low;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (false == obj instanceof ObjectId) {
+            return false;
+        }
+        final ObjectId other = (ObjectId) obj;
+        return high == other.high && low == other.low;
+    }
+
+    /**
+     * 按字节顺序（无符号）比较，即按生成时间排序
+     *
+     * @param other 另一个ObjectId
+     * @return 比较结果
+     */
+    @Override
+    public int compareTo(ObjectId other) {
+        final int compare = Long.compareUnsigned(high, other.high);
+        return 0 != compare ? compare : Integer.compareUnsigned(low, other.low);
     }
 
     // ----------------------------------------------------------------------------------------- Private method start
 
+    /**
+     * 生成高8字节：当前时间戳（秒）和机器信息
+     *
+     * @return 高8字节
+     */
+    private static long nextHigh() {
+        return DateUtils.currentSeconds() << 32 | (machine & 0xFFFFFFFFL);
+    }
+
+    /**
+     * 将16进制字符串形式写入字符数组
+     *
+     * @param high       高8字节
+     * @param low        低4字节
+     * @param out        目标数组
+     * @param offset     写入的起始位置
+     * @param withHyphen 是否包含分隔符
+     * @return 写入后的位置
+     */
+    private static int write(long high, int low, char[] out, int offset, boolean withHyphen) {
+        int pos = HexUtils.writeHex(high >>> 32, 8, out, offset);
+        if (withHyphen) {
+            out[pos++] = '-';
+        }
+        pos = HexUtils.writeHex(high, 8, out, pos);
+        if (withHyphen) {
+            out[pos++] = '-';
+        }
+        return HexUtils.writeHex(low, 8, out, pos);
+    }
+
     /**
      * 获取机器码片段
      *
@@ -0,0 +1,191 @@
+package com.github.jarvisframework.tool.core.lang;
+
+import com.github.jarvisframework.tool.core.thread.ThreadFactoryBuilder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * <p>号段ID生成器</p>
+ * 从{@link SegmentStore}一次申请一段连续的ID（号段），在内存中通过{@link AtomicLong}递增发放，生成稠密、递增的数字ID。
+ * <p>
+ * 采用双缓冲：当前号段使用到一定比例时，异步预取下一个号段，当前号段用完后直接切换，
+ * 因此只要存储的响应时间小于一个号段的消耗时间，生成ID时就不会等待存储。
+ * <p>
+ * 进程重启后未使用的ID会被跳过，ID不保证连续，只保证唯一和单个生成器内递增。
+ *
+ * <pre>
+ * SegmentIdGenerator generator = new SegmentIdGenerator(new FileSegmentStore(new File("/data/ids")), "order", 1000);
+ * long id = generator.nextId();
+ * </pre>
+ *
+ * @author Doug Wang
+ * @since 1.0, 2026-10-18 21:52:40
+ */
+public class SegmentIdGenerator {
+
+    /**
+     * 默认的号段使用比例，超过后预取下一个号段
+     */
+    public static final double DEFAULT_PREFETCH_RATIO = 0.1;
+
+    private final SegmentStore store;
+    private final String key;
+    private final int step;
+    private final Executor executor;
+    private final long prefetchOffset;
+
+    /**
+     * 当前号段
+     */
+    private volatile Segment current;
+    /**
+     * 预取中或已预取的下一个号段
+     */
+    private volatile CompletableFuture<Segment> next;
+
+    /**
+     * 构造，使用共享的守护线程池预取号段
+     *
+     * @param store 号段存储
+     * @param key   业务key
+     * @param step  号段长度
+     */
+    public SegmentIdGenerator(SegmentStore store, String key, int step) {
+        this(store, key, step, DEFAULT_PREFETCH_RATIO, PrefetchExecutorHolder.INSTANCE);
+    }
+
+    /**
+     * 构造
+     *
+     * @param store         号段存储
+     * @param key           业务key
+     * @param step          号段长度
+     * @param prefetchRatio 当前号段使用超过此比例时预取下一个号段，取值[0, 1)
+     * @param executor      预取号段的执行器
+     */
+    public SegmentIdGenerator(SegmentStore store, String key, int step, double prefetchRatio, Executor executor) {
+        Assert.notNull(store, "SegmentStore must not be null!");
+        Assert.notBlank(key, "Key must not be blank!");
+        Assert.isTrue(step > 0, "Step must be greater than 0!");
+        Assert.isTrue(prefetchRatio >= 0 && prefetchRatio < 1, "Prefetch ratio must be in [0, 1)!");
+        Assert.notNull(executor, "Executor must not be null!");
+        this.store = store;
+        this.key = key;
+        this.step = step;
+        this.prefetchOffset = (long) (step * prefetchRatio);
+        this.executor = executor;
+        this.current = Segment.EMPTY;
+    }
+
+    /**
+     * 获取业务key
+     *
+     * @return 业务key
+     */
+    public String getKey() {
+        return key;
+    }
+
+    /**
+     * 下一个ID
+     *
+     * @return ID
+     */
+    public long nextId() {
+        while (true) {
+            final Segment segment = this.current;
+            final long index = segment.index.getAndIncrement();
+            if (index < segment.length) {
+                if (index == prefetchOffset) {
+                    // 每个号段只有一个线程取到此序号，只触发一次预取
+                    prefetch();
+                }
+                return segment.start + index;
+            }
+            switchSegment(segment);
+        }
+    }
+
+    /**
+     * 下一个ID（字符串形式）
+     *
+     * @return ID 字符串形式
+     */
+    public String nextIdStr() {
+        return Long.toString(nextId());
+    }
+
+    // ------------------------------------------------------------------------ Private method start
+
+    /**
+     * 异步预取下一个号段
+     */
+    private void prefetch() {
+        if (null == this.next) {
+            this.next = CompletableFuture.supplyAsync(this::load, executor);
+        }
+    }
+
+    /**
+     * 当前号段用完，切换到下一个号段<br>
+     * 预取未完成时等待，未预取或预取失败时同步申请
+     *
+     * @param exhausted 用完的号段
+     */
+    private synchronized void switchSegment(Segment exhausted) {
+        if (exhausted != this.current) {
+            // 其它线程已切换
+            return;
+        }
+        final CompletableFuture<Segment> future = this.next;
+        this.next = null;
+        Segment segment = null;
+        if (null != future) {
+            try {
+                segment = future.join();
+            } catch (CompletionException e) {
+                // 预取失败，下面同步重试一次
+            }
+        }
+        this.current = null != segment ? segment : load();
+    }
+
+    /**
+     * 从存储申请一个号段
+     *
+     * @return 号段
+     */
+    private Segment load() {
+        return new Segment(store.allocate(key, step), step);
+    }
+
+    /**
+     * 号段，ID范围为[start, start + length)
+     */
+    private static class Segment {
+        static final Segment EMPTY = new Segment(0, 0);
+
+        final long start;
+        final long length;
+        final AtomicLong index = new AtomicLong();
+
+        Segment(long start, long length) {
+            this.start = start;
+            this.length = length;
+        }
+    }
+
+    /**
+     * 共享的预取线程池，使用守护线程，按需创建
+     */
+    private static class PrefetchExecutorHolder {
+        static final ExecutorService INSTANCE = Executors.newCachedThreadPool(
+                ThreadFactoryBuilder.create().setNamePrefix("segment-prefetch-").setDaemon(true).build());
+    }
+    // ------------------------------------------------------------------------ Private method end
+}
@@ -0,0 +1,21 @@
+package com.github.jarvisframework.tool.core.lang;
+
+/**
+ * <p>号段存储</p>
+ * 为{@link SegmentIdGenerator}持久化每个业务key已分配的最大ID（高水位），实现需保证多进程并发分配时号段不重叠
+ *
+ * @author Doug Wang
+ * @since 1.0, 2026-10-18 21:52:40
+ * @see FileSegmentStore
+ */
+public interface SegmentStore {
+
+    /**
+     * 分配一个号段，将高水位增加step并返回增加前的值，号段为[返回值, 返回值 + step)
+     *
+     * @param key  业务key
+     * @param step 号段长度，大于0
+     * @return 号段的第一个ID
+     */
+    long allocate(String key, long step);
+}
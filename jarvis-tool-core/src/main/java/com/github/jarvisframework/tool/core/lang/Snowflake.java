@@ -1,10 +1,13 @@
 package com.github.jarvisframework.tool.core.lang;
 
+import com.github.jarvisframework.tool.core.date.GlobalClock;
 import com.github.jarvisframework.tool.core.date.SystemClock;
 import com.github.jarvisframework.tool.core.util.StringUtils;
 
 import java.io.Serializable;
 import java.util.Date;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.LongStream;
 
 /**
  * Twitter的Snowflake 算法<br>
@@ -23,6 +26,10 @@ import java.util.Date;
  * <p>
  * 并且可以通过生成的id反推出生成时间,datacenterId和workerId
  * <p>
+ * 时间和毫秒内序列号合并存放在一个{@link AtomicLong}中，通过CAS无锁生成ID。毫秒内序列号用尽时，
+ * 直接使用下一毫秒的序列号（预支未来时间），不超过{@code maxBorrowMillis}则无需等待系统时间变化；
+ * 批量生成时一次CAS即可预留一段连续的序列号。
+ * <p>
  * 参考：http://www.cnblogs.com/relucent/p/4955340.html
  *
  * @author Doug Wang
@@ -32,6 +39,15 @@ public class Snowflake implements Serializable {
 
     private static final long serialVersionUID = 1L;
 
+    /**
+     * 默认容忍的时钟回拨毫秒数
+     */
+    public static final long DEFAULT_TIME_OFFSET = 2000L;
+    /**
+     * 默认最多预支的未来毫秒数
+     */
+    public static final long DEFAULT_MAX_BORROW_MILLIS = 100L;
+
     private final long twepoch;
     private final long workerIdBits = 5L;
     private final long dataCenterIdBits = 5L;
@@ -55,8 +71,22 @@ public class Snowflake implements Serializable {
     private final long workerId;
     private final long dataCenterId;
     private final boolean useSystemClock;
-    private long sequence = 0L;
-    private long lastTimestamp = -1L;
+    /**
+     * 容忍的时钟回拨毫秒数，回拨超出此值时报错
+     */
+    private final long timeOffset;
+    /**
+     * 最多预支的未来毫秒数，超出时等待系统时间追上
+     */
+    private final long maxBorrowMillis;
+    /**
+     * 最后分配的时间和序列号：高位为相对{@link #twepoch}的毫秒数，低12位为毫秒内序列号
+     */
+    private final AtomicLong lastState = new AtomicLong(-1L);
+    /**
+     * 读到过的最大系统时间（相对{@link #twepoch}），与预支的时间分开记录，用于判断时钟回拨
+     */
+    private final AtomicLong maxClock = new AtomicLong(Long.MIN_VALUE);
 
     /**
      * 构造
@@ -87,6 +117,21 @@ public class Snowflake implements Serializable {
      * @since 5.1.3
      */
     public Snowflake(Date epochDate, long workerId, long dataCenterId, boolean isUseSystemClock) {
+        this(epochDate, workerId, dataCenterId, isUseSystemClock, DEFAULT_TIME_OFFSET, DEFAULT_MAX_BORROW_MILLIS);
+    }
+
+    /**
+     * 构造<br>
+     * 预支的毫秒数越大，突发流量下越少等待，但进程在预支时间内重启时可能生成重复ID
+     *
+     * @param epochDate        初始化时间起点（null表示默认起始日期）,后期修改会导致id重复,如果要修改连workerId dataCenterId，慎用
+     * @param workerId         工作机器节点id
+     * @param dataCenterId     数据中心id
+     * @param isUseSystemClock 是否使用{@link SystemClock} 获取当前时间戳
+     * @param timeOffset       容忍的时钟回拨毫秒数，0表示发现回拨即报错，回拨期间继续使用上次的时间生成ID
+     * @param maxBorrowMillis  序列号用尽时最多预支的未来毫秒数，0表示不预支，等待下一毫秒
+     */
+    public Snowflake(Date epochDate, long workerId, long dataCenterId, boolean isUseSystemClock, long timeOffset, long maxBorrowMillis) {
         if (null != epochDate) {
             this.twepoch = epochDate.getTime();
         } else {
@@ -99,9 +144,14 @@ public class Snowflake implements Serializable {
         if (dataCenterId > maxDataCenterId || dataCenterId < 0) {
             throw new IllegalArgumentException(StringUtils.format("datacenter Id can't be greater than {} or less than 0", maxDataCenterId));
         }
+        if (timeOffset < 0 || maxBorrowMillis < 0) {
+            throw new IllegalArgumentException("timeOffset and maxBorrowMillis must not be negative");
+        }
         this.workerId = workerId;
         this.dataCenterId = dataCenterId;
         this.useSystemClock = isUseSystemClock;
+        this.timeOffset = timeOffset;
+        this.maxBorrowMillis = maxBorrowMillis;
     }
 
     /**
@@ -139,30 +189,32 @@ public class Snowflake implements Serializable {
      *
      * @return ID
      */
-    public synchronized long nextId() {
-        long timestamp = genTime();
-        if (timestamp < lastTimestamp) {
-            if (lastTimestamp - timestamp < 2000) {
-                // 容忍2秒内的回拨，避免NTP校时造成的异常
-                timestamp = lastTimestamp;
-            } else {
-                // 如果服务器时间有问题(时钟后退) 报错。
-                throw new IllegalStateException(StringUtils.format("Clock moved backwards. Refusing to generate id for {}ms", lastTimestamp - timestamp));
-            }
-        }
-
-        if (timestamp == lastTimestamp) {
-            sequence = (sequence + 1) & sequenceMask;
-            if (sequence == 0) {
-                timestamp = tilNextMillis(lastTimestamp);
-            }
-        } else {
-            sequence = 0L;
-        }
+    public long nextId() {
+        return toId(reserve(1));
+    }
 
-        lastTimestamp = timestamp;
+    /**
+     * 批量生成ID，一次预留连续的序列号，ID按生成顺序递增
+     *
+     * @param count ID个数，不超过{@code 4096 * (maxBorrowMillis + 1)}
+     * @return ID数组
+     */
+    public long[] nextIds(int count) {
+        return nextIdStream(count).toArray();
+    }
 
-        return ((timestamp - twepoch) << timestampLeftShift) | (dataCenterId << dataCenterIdShift) | (workerId << workerIdShift) | sequence;
+    /**
+     * 批量生成ID，一次预留连续的序列号，ID按生成顺序递增
+     *
+     * @param count ID个数，不超过{@code 4096 * (maxBorrowMillis + 1)}
+     * @return ID流
+     */
+    public LongStream nextIdStream(int count) {
+        if (count <= 0 || count > (sequenceMask + 1) * (maxBorrowMillis + 1)) {
+            throw new IllegalArgumentException(StringUtils.format("count must be between 1 and {}", (sequenceMask + 1) * (maxBorrowMillis + 1)));
+        }
+        final long first = reserve(count);
+        return LongStream.range(first, first + count).map(this::toId);
     }
 
     /**
@@ -177,32 +229,59 @@ public class Snowflake implements Serializable {
     // ------------------------------------------------------------------------------------------------------------------------------------ Private method start
 
     /**
-     * 循环等待下一个时间
+     * 预留给定个数的连续序列号<br>
+     * 毫秒内序列号用尽时进位到下一毫秒，预留的最后一个时间不超过当前时间加{@link #maxBorrowMillis}；
+     * 时钟回拨在{@link #timeOffset}以内时沿用上次的时间，超出预支范围则等待系统时间追上。
+     * 回拨按读到过的最大系统时间判断，预支的时间不计入容忍范围
      *
-     * @param lastTimestamp 上次记录的时间
-     * @return 下一个时间
-     */
-    private long tilNextMillis(long lastTimestamp) {
-        long timestamp = genTime();
-        // 循环直到操作系统时间戳变化
-        while (timestamp == lastTimestamp) {
-            timestamp = genTime();
-        }
-        if (timestamp < lastTimestamp) {
-            // 如果发现新的时间戳比上次记录的时间戳数值小，说明操作系统时间发生了倒退，报错
-            throw new IllegalStateException(
-                    StringUtils.format("Clock moved backwards. Refusing to generate id for {}ms", lastTimestamp - timestamp));
+     * @param count 个数
+     * @return 第一个序列号对应的状态值（时间左移12位加序列号）
+     */
+    private long reserve(int count) {
+        while (true) {
+            final long last = lastState.get();
+            final long lastTimestamp = last >> sequenceBits;
+            // 先读取最大时间再读取时钟，其他线程在此期间读到的更新时间不会被误判为回拨
+            final long observed = maxClock.get();
+            final long timestamp = genTime() - twepoch;
+            if (observed > timestamp + timeOffset) {
+                // 如果服务器时间有问题(时钟后退) 报错。
+                throw new IllegalStateException(StringUtils.format("Clock moved backwards. Refusing to generate id for {}ms", observed - timestamp));
+            }
+            if (timestamp > observed) {
+                maxClock.accumulateAndGet(timestamp, Math::max);
+            }
+
+            final long first = timestamp > lastTimestamp ? timestamp << sequenceBits : last + 1;
+            final long end = (first + count - 1) >> sequenceBits;
+            if (end - timestamp > maxBorrowMillis && end > lastTimestamp) {
+                // 预支超出范围或回拨期间序列号用尽，让出CPU等待时间变化
+                Thread.yield();
+                continue;
+            }
+            if (lastState.compareAndSet(last, first + count - 1)) {
+                return first;
+            }
         }
-        return timestamp;
     }
 
     /**
-     * 生成时间戳
+     * 状态值转换为ID
+     *
+     * @param state 时间左移12位加序列号
+     * @return ID
+     */
+    private long toId(long state) {
+        return ((state >> sequenceBits) << timestampLeftShift) | (dataCenterId << dataCenterIdShift) | (workerId << workerIdShift) | (state & sequenceMask);
+    }
+
+    /**
+     * 生成时间戳，使用{@link SystemClock}或全局时钟{@link GlobalClock}
      *
      * @return 时间戳
      */
     private long genTime() {
-        return this.useSystemClock ? SystemClock.now() : System.currentTimeMillis();
+        return this.useSystemClock ? SystemClock.now() : GlobalClock.currentTimeMillis();
     }
     // ------------------------------------------------------------------------------------------------------------------------------------ Private method end
 }
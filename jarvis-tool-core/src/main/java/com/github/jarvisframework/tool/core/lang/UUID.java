@@ -1,8 +1,7 @@
 package com.github.jarvisframework.tool.core.lang;
 
-import com.github.jarvisframework.tool.core.text.StringBuilder;
+import com.github.jarvisframework.tool.core.util.HexUtils;
 import com.github.jarvisframework.tool.core.util.RandomUtils;
-import com.github.jarvisframework.tool.core.util.StringUtils;
 
 import java.io.Serializable;
 import java.security.MessageDigest;
@@ -97,12 +96,16 @@ public final class UUID implements Serializable, Comparable<UUID> {
     }
 
     /**
-     * 获取类型 4（伪随机生成的）UUID 的静态工厂。 使用加密的本地线程伪随机数生成器生成该 UUID。
+     * 获取类型 4（伪随机生成的）UUID 的静态工厂。 使用{@link java.util.concurrent.ThreadLocalRandom}直接生成两个long，不创建中间数组。
      *
      * @return 随机生成的 {@code UUID}
      */
     public static UUID fastUUID() {
-        return randomUUID(false);
+        final Random random = RandomUtils.getRandom();
+        return new UUID(
+                (random.nextLong() & ~0xF000L) | 0x4000L, /* set to version 4 */
+                (random.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L /* set to IETF variant */
+        );
     }
 
     /**
@@ -346,31 +349,98 @@ public final class UUID implements Serializable, Comparable<UUID> {
      * @return 此{@code UUID} 的字符串表现形式
      */
     public String toString(boolean isSimple) {
-        final StringBuilder builder = StringUtils.builder(isSimple ? 32 : 36);
+        final char[] chars = new char[isSimple ? 32 : 36];
+        writeTo(chars, 0, isSimple);
+        return new String(chars);
+    }
+
+    /**
+     * 将此{@code UUID}的字符串表现形式写入字符数组
+     *
+     * @param out      目标数组
+     * @param offset   写入的起始位置
+     * @param isSimple 是否简单模式，简单模式为不带'-'的UUID字符串
+     * @return 写入后的位置
+     */
+    public int writeTo(char[] out, int offset, boolean isSimple) {
         // time_low
-        builder.append(digits(mostSigBits >> 32, 8));
+        int pos = HexUtils.writeHex(mostSigBits >>> 32, 8, out, offset);
         if (false == isSimple) {
-            builder.append('-');
+            out[pos++] = '-';
         }
         // time_mid
-        builder.append(digits(mostSigBits >> 16, 4));
+        pos = HexUtils.writeHex(mostSigBits >>> 16, 4, out, pos);
         if (false == isSimple) {
-            builder.append('-');
+            out[pos++] = '-';
         }
         // time_high_and_version
-        builder.append(digits(mostSigBits, 4));
+        pos = HexUtils.writeHex(mostSigBits, 4, out, pos);
         if (false == isSimple) {
-            builder.append('-');
+            out[pos++] = '-';
         }
         // variant_and_sequence
-        builder.append(digits(leastSigBits >> 48, 4));
+        pos = HexUtils.writeHex(leastSigBits >>> 48, 4, out, pos);
         if (false == isSimple) {
-            builder.append('-');
+            out[pos++] = '-';
         }
         // node
-        builder.append(digits(leastSigBits, 12));
+        return HexUtils.writeHex(leastSigBits, 12, out, pos);
+    }
+
+    /**
+     * 将此{@code UUID}的字符串表现形式以ASCII写入字节数组，可直接用于网络或存储的缓冲区
+     *
+     * @param out      目标数组
+     * @param offset   写入的起始位置
+     * @param isSimple 是否简单模式，简单模式为不带'-'的UUID字符串
+     * @return 写入后的位置
+     */
+    public int writeTo(byte[] out, int offset, boolean isSimple) {
+        int pos = HexUtils.writeHex(mostSigBits >>> 32, 8, out, offset);
+        if (false == isSimple) {
+            out[pos++] = '-';
+        }
+        pos = HexUtils.writeHex(mostSigBits >>> 16, 4, out, pos);
+        if (false == isSimple) {
+            out[pos++] = '-';
+        }
+        pos = HexUtils.writeHex(mostSigBits, 4, out, pos);
+        if (false == isSimple) {
+            out[pos++] = '-';
+        }
+        pos = HexUtils.writeHex(leastSigBits >>> 48, 4, out, pos);
+        if (false == isSimple) {
+            out[pos++] = '-';
+        }
+        return HexUtils.writeHex(leastSigBits, 12, out, pos);
+    }
 
-        return builder.toString();
+    /**
+     * 将此{@code UUID}的字符串表现形式追加到{@link StringBuilder}，不创建中间字符串
+     *
+     * @param builder  {@link StringBuilder}
+     * @param isSimple 是否简单模式，简单模式为不带'-'的UUID字符串
+     * @return builder
+     */
+    public StringBuilder appendTo(StringBuilder builder, boolean isSimple) {
+        HexUtils.appendHex(builder, mostSigBits >>> 32, 8);
+        if (false == isSimple) {
+            builder.append('-');
+        }
+        HexUtils.appendHex(builder, mostSigBits >>> 16, 4);
+        if (false == isSimple) {
+            builder.append('-');
+        }
+        HexUtils.appendHex(builder, mostSigBits, 4);
+        if (false == isSimple) {
+            builder.append('-');
+        }
+        HexUtils.appendHex(builder, leastSigBits >>> 48, 4);
+        if (false == isSimple) {
+            builder.append('-');
+        }
+        HexUtils.appendHex(builder, leastSigBits, 12);
+        return builder;
     }
 
     /**
@@ -425,18 +495,6 @@ public final class UUID implements Serializable, Comparable<UUID> {
 
     // ------------------------------------------------------------------------------------------------------------------- Private method start
 
-    /**
-     * 返回指定数字对应的hex值
-     *
-     * @param val    值
-     * @param digits 位
-     * @return 值
-     */
-    private static String digits(long val, int digits) {
-        long hi = 1L << (digits * 4);
-        return Long.toHexString(hi | (val & (hi - 1))).substring(1);
-    }
-
     /**
      * 检查是否为time-based版本UUID
      */
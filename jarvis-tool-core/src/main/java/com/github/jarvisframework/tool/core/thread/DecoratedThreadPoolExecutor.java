@@ -0,0 +1,59 @@
+package com.github.jarvisframework.tool.core.thread;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.RunnableFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>提交任务时使用{@link GlobalTaskDecorator}装饰任务的{@link ThreadPoolExecutor}</p>
+ * execute提交的{@link Runnable}在{@link #execute(Runnable)}中装饰；submit、invokeAll等方法提交的任务在{@link #newTaskFor(Callable)}中
+ * 按原始类型装饰（{@link Callable}使用{@link TaskDecorator#decorate(Callable)}），生成的任务在execute时不再重复装饰
+ *
+ * @author Doug Wang
+ * @since 1.0, 2026-10-18 13:20:08
+ */
+public class DecoratedThreadPoolExecutor extends ThreadPoolExecutor {
+
+    public DecoratedThreadPoolExecutor(int corePoolSize, int maximumPoolSize, long keepAliveTime, TimeUnit unit,
+                                       BlockingQueue<Runnable> workQueue, ThreadFactory threadFactory,
+                                       RejectedExecutionHandler handler) {
+        super(corePoolSize, maximumPoolSize, keepAliveTime, unit, workQueue, threadFactory, handler);
+    }
+
+    @SuppressWarnings("NullableProblems")
+    @Override
+    public void execute(Runnable command) {
+        super.execute((command instanceof DecoratedFutureTask) ? command : GlobalTaskDecorator.decorate(command));
+    }
+
+    @Override
+    protected <T> RunnableFuture<T> newTaskFor(Runnable runnable, T value) {
+        return new DecoratedFutureTask<>(GlobalTaskDecorator.decorate(runnable), value);
+    }
+
+    @Override
+    protected <T> RunnableFuture<T> newTaskFor(Callable<T> callable) {
+        return new DecoratedFutureTask<>(GlobalTaskDecorator.decorate(callable));
+    }
+
+    /**
+     * 已在创建时装饰过的任务
+     *
+     * @param <T> 返回值类型
+     */
+    private static class DecoratedFutureTask<T> extends FutureTask<T> {
+
+        DecoratedFutureTask(Callable<T> callable) {
+            super(callable);
+        }
+
+        DecoratedFutureTask(Runnable runnable, T result) {
+            super(runnable, result);
+        }
+    }
+}
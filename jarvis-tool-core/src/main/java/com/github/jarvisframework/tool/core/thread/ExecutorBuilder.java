@@ -194,7 +194,8 @@ public class ExecutorBuilder implements Builder<ThreadPoolExecutor> {
     }
 
     /**
-     * 构建ThreadPoolExecutor
+     * 构建ThreadPoolExecutor<br>
+     * 提交的任务会经过{@link GlobalTaskDecorator}中注册的装饰器
      */
     @Override
     public ThreadPoolExecutor build() {
@@ -231,7 +232,7 @@ public class ExecutorBuilder implements Builder<ThreadPoolExecutor> {
         final ThreadFactory threadFactory = (null != builder.threadFactory) ? builder.threadFactory : Executors.defaultThreadFactory();
         RejectedExecutionHandler handler = ObjectUtils.defaultIfNull(builder.handler, new ThreadPoolExecutor.AbortPolicy());
 
-        final ThreadPoolExecutor threadPoolExecutor = new ThreadPoolExecutor(
+        final ThreadPoolExecutor threadPoolExecutor = new DecoratedThreadPoolExecutor(
                 corePoolSize,
                 maxPoolSize,
                 keepAliveTime, TimeUnit.NANOSECONDS,
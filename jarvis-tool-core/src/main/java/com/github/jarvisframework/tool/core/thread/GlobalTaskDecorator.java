@@ -0,0 +1,78 @@
+package com.github.jarvisframework.tool.core.thread;
+
+import com.github.jarvisframework.tool.core.lang.Assert;
+import com.github.jarvisframework.tool.core.util.ArrayUtils;
+
+import java.util.concurrent.Callable;
+
+/**
+ * 全局异步任务装饰器<br>
+ * 通过{@link ExecutorBuilder}创建的线程池（包括{@link GlobalThreadPool}）以及{@link ThreadUtils#execAsync(Runnable, boolean)}
+ * 提交的任务都会经过此处注册的装饰器，未注册任何装饰器时任务原样提交，无额外开销。
+ *
+ * @author Doug Wang
+ * @since 1.0, 2026-10-18 13:11:27
+ */
+public class GlobalTaskDecorator {
+
+    private static final TaskDecorator[] EMPTY = new TaskDecorator[0];
+
+    /**
+     * 已注册的装饰器，写时复制
+     */
+    private static volatile TaskDecorator[] decorators = EMPTY;
+
+    private GlobalTaskDecorator() {
+    }
+
+    /**
+     * 注册装饰器，重复注册同一对象无效
+     *
+     * @param decorator 装饰器
+     */
+    synchronized public static void register(TaskDecorator decorator) {
+        Assert.notNull(decorator, "TaskDecorator must not be null!");
+        if (false == ArrayUtils.contains(decorators, decorator)) {
+            decorators = ArrayUtils.append(decorators, decorator);
+        }
+    }
+
+    /**
+     * 移除装饰器
+     *
+     * @param decorator 装饰器
+     */
+    synchronized public static void unregister(TaskDecorator decorator) {
+        final int index = ArrayUtils.indexOf(decorators, decorator);
+        if (index > -1) {
+            decorators = ArrayUtils.remove(decorators, index);
+        }
+    }
+
+    /**
+     * 使用所有已注册的装饰器装饰任务，按注册顺序由内向外包装
+     *
+     * @param runnable 原任务
+     * @return 装饰后的任务
+     */
+    public static Runnable decorate(Runnable runnable) {
+        for (TaskDecorator decorator : decorators) {
+            runnable = decorator.decorate(runnable);
+        }
+        return runnable;
+    }
+
+    /**
+     * 使用所有已注册的装饰器装饰任务，按注册顺序由内向外包装
+     *
+     * @param <T>      返回值类型
+     * @param callable 原任务
+     * @return 装饰后的任务
+     */
+    public static <T> Callable<T> decorate(Callable<T> callable) {
+        for (TaskDecorator decorator : decorators) {
+            callable = decorator.decorate(callable);
+        }
+        return callable;
+    }
+}
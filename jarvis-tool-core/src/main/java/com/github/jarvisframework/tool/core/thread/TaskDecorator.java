@@ -0,0 +1,31 @@
+package com.github.jarvisframework.tool.core.thread;
+
+import java.util.concurrent.Callable;
+
+/**
+ * <p>异步任务装饰器</p>
+ * 在任务提交时（提交线程中）调用，返回包装后的任务，常用于将提交线程的上下文（如日志MDC）传递到执行线程。
+ *
+ * @author Doug Wang
+ * @see GlobalTaskDecorator
+ * @since 1.0, 2026-10-18 13:05:42
+ */
+public interface TaskDecorator {
+
+    /**
+     * 装饰{@link Runnable}
+     *
+     * @param runnable 原任务
+     * @return 装饰后的任务，无需装饰时返回原任务
+     */
+    Runnable decorate(Runnable runnable);
+
+    /**
+     * 装饰{@link Callable}
+     *
+     * @param <T>      返回值类型
+     * @param callable 原任务
+     * @return 装饰后的任务，无需装饰时返回原任务
+     */
+    <T> Callable<T> decorate(Callable<T> callable);
+}
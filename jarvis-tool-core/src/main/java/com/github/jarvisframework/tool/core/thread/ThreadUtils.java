@@ -91,14 +91,15 @@ public class ThreadUtils {
     }
 
     /**
-     * 执行异步方法
+     * 执行异步方法<br>
+     * 执行的方法体会经过{@link GlobalTaskDecorator}中注册的装饰器
      *
      * @param runnable 需要执行的方法体
      * @param isDaemon 是否守护线程。守护线程会在主线程结束后自动结束
      * @return 执行的方法体
      */
     public static Runnable execAsync(final Runnable runnable, boolean isDaemon) {
-        Thread thread = new Thread(runnable);
+        Thread thread = new Thread(GlobalTaskDecorator.decorate(runnable));
         thread.setDaemon(isDaemon);
         thread.start();
 
@@ -24,6 +24,17 @@ public class HexUtils {
      * 用于建立十六进制字符的输出的大写字符数组
      */
     private static final char[] DIGITS_UPPER = {'0', '1', '2', '3', '4', '5', '6', '7', '8', '9', 'A', 'B', 'C', 'D', 'E', 'F'};
+    /**
+     * 每个byte值对应的两位小写十六进制字符，下标为byte值的2倍
+     */
+    private static final char[] BYTE_HEX_LOWER = new char[512];
+
+    static {
+        for (int i = 0; i < 256; i++) {
+            BYTE_HEX_LOWER[i << 1] = DIGITS_LOWER[i >>> 4];
+            BYTE_HEX_LOWER[(i << 1) + 1] = DIGITS_LOWER[i & 0xF];
+        }
+    }
 
     /**
      * 判断给定字符串是否为16进制数<br>
@@ -341,6 +352,65 @@ public class HexUtils {
         builder.append(toDigits[low]);
     }
 
+    /**
+     * 将数值的低位按给定位数转为小写16进制并添加到{@link StringBuilder}中，不足位数补0
+     *
+     * @param builder {@link StringBuilder}
+     * @param value   值
+     * @param digits  16进制位数，不超过16
+     */
+    public static void appendHex(StringBuilder builder, long value, int digits) {
+        for (int shift = (digits - 1) << 2; shift >= 0; shift -= 4) {
+            builder.append(DIGITS_LOWER[(int) (value >>> shift) & 0xF]);
+        }
+    }
+
+    /**
+     * 将数值的低位按给定位数转为小写16进制写入字符数组，不足位数补0，查表每次转换一个字节
+     *
+     * @param value  值
+     * @param digits 16进制位数，不超过16
+     * @param out    目标数组
+     * @param offset 写入的起始位置
+     * @return 写入后的位置
+     */
+    public static int writeHex(long value, int digits, char[] out, int offset) {
+        int pos = offset + digits;
+        for (int i = digits; i >= 2; i -= 2) {
+            final int index = ((int) value & 0xFF) << 1;
+            out[--pos] = BYTE_HEX_LOWER[index + 1];
+            out[--pos] = BYTE_HEX_LOWER[index];
+            value >>>= 8;
+        }
+        if (pos > offset) {
+            out[--pos] = DIGITS_LOWER[(int) value & 0xF];
+        }
+        return offset + digits;
+    }
+
+    /**
+     * 将数值的低位按给定位数转为小写16进制（ASCII）写入字节数组，不足位数补0
+     *
+     * @param value  值
+     * @param digits 16进制位数，不超过16
+     * @param out    目标数组
+     * @param offset 写入的起始位置
+     * @return 写入后的位置
+     */
+    public static int writeHex(long value, int digits, byte[] out, int offset) {
+        int pos = offset + digits;
+        for (int i = digits; i >= 2; i -= 2) {
+            final int index = ((int) value & 0xFF) << 1;
+            out[--pos] = (byte) BYTE_HEX_LOWER[index + 1];
+            out[--pos] = (byte) BYTE_HEX_LOWER[index];
+            value >>>= 8;
+        }
+        if (pos > offset) {
+            out[--pos] = (byte) DIGITS_LOWER[(int) value & 0xF];
+        }
+        return offset + digits;
+    }
+
     /**
      * Hex（16进制）字符串转为BigInteger
      * @param hexStr Hex(16进制字符串)
@@ -405,6 +405,7 @@ public class ObjectUtils {
             throw new UtilException(e);
         } finally {
             IOUtils.closeQuietly(out);
+            byteOut.reset();
         }
     }
 
@@ -422,7 +423,9 @@ public class ObjectUtils {
         }
         final FastByteArrayOutputStream byteOut = new FastByteArrayOutputStream();
         IOUtils.writeObjects(byteOut, false, (Serializable) obj);
-        return byteOut.toByteArray();
+        final byte[] bytes = byteOut.toByteArray();
+        byteOut.reset();
+        return bytes;
     }
 
     /**
@@ -5,13 +5,20 @@ import com.github.jarvisframework.tool.core.io.FastByteArrayOutputStream;
 import com.github.jarvisframework.tool.core.io.FileUtils;
 import com.github.jarvisframework.tool.core.io.IORuntimeException;
 import com.github.jarvisframework.tool.core.io.IOUtils;
+import com.github.jarvisframework.tool.core.io.compress.ParallelZipWriter;
 
 import java.io.*;
 import java.nio.charset.Charset;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Deque;
 import java.util.Enumeration;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 import java.util.zip.*;
 
 /**
@@ -219,6 +226,58 @@ public class ZipUtils {
         }
     }
 
+    /**
+     * 并行压缩文件或文件目录，使用{@link ForkJoinPool#commonPool()}<br>
+     * 各文件在线程池中独立压缩为临时数据块，再按遍历顺序拼接为Zip文件，适用于文件数量多或文件较大、压缩受CPU限制的场景
+     *
+     * @param zipFile    生成的Zip文件，包括文件名。注意：zipPath不能是srcPath路径下的子文件夹
+     * @param charset    编码
+     * @param withSrcDir 是否包含被打包目录，只针对压缩目录有效。若为false，则只压缩目录下的文件或目录，为true则将本目录也压缩
+     * @param filter     文件过滤器，通过实现此接口，自定义要过滤的文件（过滤掉哪些文件或文件夹不加入压缩）
+     * @param srcFiles   要压缩的源文件或目录。如果压缩一个文件，则为该文件的全路径；如果压缩一个目录，则为该目录的顶层目录路径
+     * @return 压缩文件
+     * @throws IORuntimeException IO异常
+     * @see ParallelZipWriter
+     */
+    public static File zipParallel(File zipFile, Charset charset, boolean withSrcDir, FileFilter filter, File... srcFiles) throws IORuntimeException {
+        return zipParallel(zipFile, charset, ForkJoinPool.commonPool(), ForkJoinPool.getCommonPoolParallelism(), withSrcDir, filter, srcFiles);
+    }
+
+    /**
+     * 使用指定线程池并行压缩文件或文件目录
+     *
+     * @param zipFile     生成的Zip文件，包括文件名。注意：zipPath不能是srcPath路径下的子文件夹
+     * @param charset     编码
+     * @param executor    执行压缩的线程池
+     * @param parallelism 线程池的线程数，用于限制同时压缩的文件数
+     * @param withSrcDir  是否包含被打包目录，只针对压缩目录有效。若为false，则只压缩目录下的文件或目录，为true则将本目录也压缩
+     * @param filter      文件过滤器，通过实现此接口，自定义要过滤的文件（过滤掉哪些文件或文件夹不加入压缩）
+     * @param srcFiles    要压缩的源文件或目录。如果压缩一个文件，则为该文件的全路径；如果压缩一个目录，则为该目录的顶层目录路径
+     * @return 压缩文件
+     * @throws IORuntimeException IO异常
+     */
+    public static File zipParallel(File zipFile, Charset charset, Executor executor, int parallelism, boolean withSrcDir, FileFilter filter, File... srcFiles) throws IORuntimeException {
+        validateFiles(zipFile, srcFiles);
+
+        try (ParallelZipWriter writer = ParallelZipWriter.of(zipFile, ObjectUtils.defaultIfNull(charset, DEFAULT_CHARSET))) {
+            writer.setExecutor(executor, parallelism);
+            for (File srcFile : srcFiles) {
+                if (null == srcFile) {
+                    continue;
+                }
+                String srcRootDir = srcFile.getCanonicalPath();
+                if (srcFile.isFile() || withSrcDir) {
+                    srcRootDir = srcFile.getCanonicalFile().getParentFile().getCanonicalPath();
+                }
+                zip(srcFile, srcRootDir, writer, filter);
+            }
+        } catch (IOException e) {
+            throw new IORuntimeException(e);
+        }
+
+        return zipFile;
+    }
+
     /**
      * 对流中的数据加入到压缩文件，使用默认UTF-8编码
      *
@@ -471,6 +530,81 @@ public class ZipUtils {
         return outFile;
     }
 
+    /**
+     * 并行解压，使用{@link ForkJoinPool#commonPool()}
+     *
+     * @param zipFile zip文件
+     * @param outFile 解压到的目录
+     * @param charset 编码
+     * @return 解压的目录
+     * @throws IORuntimeException IO异常
+     */
+    public static File unzipParallel(File zipFile, File outFile, Charset charset) throws IORuntimeException {
+        final ZipFile zip;
+        try {
+            zip = new ZipFile(zipFile, ObjectUtils.defaultIfNull(charset, DEFAULT_CHARSET));
+        } catch (IOException e) {
+            throw new IORuntimeException(e);
+        }
+        return unzipParallel(zip, outFile, ForkJoinPool.commonPool(), ForkJoinPool.getCommonPoolParallelism());
+    }
+
+    /**
+     * 并行解压<br>
+     * 目录在当前线程中按条目顺序创建，文件条目交给线程池解压并写出，同时写出的文件数不超过线程数的4倍。
+     * 任一条目失败时等待已提交的条目结束后抛出第一个异常。
+     *
+     * @param zipFile     zip文件，附带编码信息，使用完毕自动关闭
+     * @param outFile     解压到的目录
+     * @param executor    执行解压的线程池
+     * @param parallelism 线程池的线程数，用于限制同时写出的文件数
+     * @return 解压的目录
+     * @throws IORuntimeException IO异常
+     */
+    @SuppressWarnings("unchecked")
+    public static File unzipParallel(ZipFile zipFile, File outFile, Executor executor, int parallelism) throws IORuntimeException {
+        if (outFile.exists() && outFile.isFile()) {
+            IOUtils.closeQuietly(zipFile);
+            throw new UtilException("Target path [{}] exist!", outFile.getAbsolutePath());
+        }
+        final int maxPending = Math.max(4, parallelism * 4);
+        final Deque<CompletableFuture<Void>> pending = new ArrayDeque<>();
+        RuntimeException error = null;
+        try {
+            final Enumeration<ZipEntry> em = (Enumeration<ZipEntry>) zipFile.entries();
+            while (null == error && em.hasMoreElements()) {
+                final ZipEntry zipEntry = em.nextElement();
+                // 目录结构在当前线程创建，避免多个线程同时创建同一父目录
+                final File outItemFile = buildFile(outFile, zipEntry.getName());
+                if (zipEntry.isDirectory()) {
+                    //noinspection ResultOfMethodCallIgnored
+                    outItemFile.mkdirs();
+                    continue;
+                }
+                //noinspection ResultOfMethodCallIgnored
+                outItemFile.getParentFile().mkdirs();
+                pending.add(CompletableFuture.runAsync(() -> write(zipFile, zipEntry, outItemFile), executor));
+                while (null == error && false == pending.isEmpty() && (pending.size() > maxPending || pending.peek().isDone())) {
+                    error = await(pending.poll());
+                }
+            }
+        } catch (RuntimeException e) {
+            error = e;
+        } finally {
+            while (false == pending.isEmpty()) {
+                final RuntimeException e = await(pending.poll());
+                if (null == error) {
+                    error = e;
+                }
+            }
+            IOUtils.closeQuietly(zipFile);
+        }
+        if (null != error) {
+            throw error;
+        }
+        return outFile;
+    }
+
     /**
      * 解压<br>
      * ZIP条目不使用高速缓冲。
@@ -668,6 +802,26 @@ public class ZipUtils {
         return bos.toByteArray();
     }
 
+    /**
+     * Gzip压缩流，边读边压缩，内存占用与数据大小无关<br>
+     * 压缩结束后写出Gzip尾部，不关闭输入输出流
+     *
+     * @param in  被压缩的流
+     * @param out 压缩后数据的输出流
+     * @return 读取的原始数据字节数
+     * @throws IORuntimeException IO异常
+     */
+    public static long gzip(InputStream in, OutputStream out) throws IORuntimeException {
+        try {
+            final GZIPOutputStream gos = new GZIPOutputStream(out, IOUtils.DEFAULT_LARGE_BUFFER_SIZE);
+            final long size = IOUtils.copy(in, gos);
+            gos.finish();
+            return size;
+        } catch (IOException e) {
+            throw new IORuntimeException(e);
+        }
+    }
+
     /**
      * Gzip解压缩处理
      *
@@ -724,7 +878,26 @@ public class ZipUtils {
             IOUtils.closeQuietly(gzi);
         }
         // 返回必须在关闭gos后进行，因为关闭时会自动执行finish()方法，保证数据全部写出
-        return bos.toByteArray();
+        final byte[] result = bos.toByteArray();
+        bos.reset();
+        return result;
+    }
+
+    /**
+     * Gzip解压流，边读边解压，内存占用与数据大小无关，不关闭输入输出流
+     *
+     * @param in  Gzip数据
+     * @param out 解压后数据的输出流
+     * @return 解压后的数据字节数
+     * @throws IORuntimeException IO异常
+     */
+    public static long unGzip(InputStream in, OutputStream out) throws IORuntimeException {
+        try {
+            final GZIPInputStream gzi = (in instanceof GZIPInputStream) ? (GZIPInputStream) in : new GZIPInputStream(in, IOUtils.DEFAULT_LARGE_BUFFER_SIZE);
+            return IOUtils.copy(gzi, out);
+        } catch (IOException e) {
+            throw new IORuntimeException(e);
+        }
     }
 
     // ----------------------------------------------------------------------------- Zlib
@@ -799,6 +972,23 @@ public class ZipUtils {
         return out.toByteArray();
     }
 
+    /**
+     * Zlib压缩流，边读边压缩，内存占用与数据大小无关，不关闭输入输出流
+     *
+     * @param in    数据流
+     * @param out   压缩后数据的输出流
+     * @param level 压缩级别，0~9
+     * @throws IORuntimeException IO异常
+     */
+    public static void zlib(InputStream in, OutputStream out, int level) throws IORuntimeException {
+        final Deflater deflater = new Deflater(level, false);
+        try {
+            deflater(in, new DeflaterOutputStream(out, deflater, IOUtils.DEFAULT_LARGE_BUFFER_SIZE), level, false);
+        } finally {
+            deflater.end();
+        }
+    }
+
     /**
      * Zlib解压缩处理
      *
@@ -847,6 +1037,22 @@ public class ZipUtils {
         return out.toByteArray();
     }
 
+    /**
+     * Zlib解压流，边读边解压，内存占用与数据大小无关，不关闭输入输出流
+     *
+     * @param in  zlib数据流
+     * @param out 解压后数据的输出流
+     * @throws IORuntimeException IO异常
+     */
+    public static void unZlib(InputStream in, OutputStream out) throws IORuntimeException {
+        final Inflater inflater = new Inflater(false);
+        try {
+            inflater(in, new InflaterOutputStream(out, inflater, IOUtils.DEFAULT_LARGE_BUFFER_SIZE), false);
+        } finally {
+            inflater.end();
+        }
+    }
+
     /**
      * 获取Zip文件中指定目录下的所有文件，只显示文件，不显示目录
      *
@@ -935,6 +1141,37 @@ public class ZipUtils {
         }
     }
 
+    /**
+     * 递归添加文件到并行写出器，路径规则与{@link #zip(File, String, ZipOutputStream, FileFilter)}一致
+     *
+     * @param file       当前递归压缩的文件或目录对象
+     * @param srcRootDir 被压缩的文件夹根目录
+     * @param writer     并行写出器
+     * @param filter     文件过滤器
+     * @throws IORuntimeException IO异常
+     */
+    private static void zip(File file, String srcRootDir, ParallelZipWriter writer, FileFilter filter) throws IORuntimeException {
+        if (null == file || (null != filter && false == filter.accept(file))) {
+            return;
+        }
+
+        final String subPath = FileUtils.subPath(srcRootDir, file);
+        if (file.isDirectory()) {
+            final File[] files = file.listFiles();
+            if (ArrayUtils.isEmpty(files)) {
+                if (StringUtils.isNotEmpty(subPath)) {
+                    writer.addDir(subPath);
+                }
+                return;
+            }
+            for (File childFile : files) {
+                zip(childFile, srcRootDir, writer, filter);
+            }
+        } else {
+            writer.add(subPath, file);
+        }
+    }
+
     /**
      * 添加文件到压缩包
      *
@@ -1054,6 +1291,24 @@ public class ZipUtils {
         }
     }
 
+    /**
+     * 等待异步任务结束
+     *
+     * @param future 异步任务
+     * @return 任务抛出的异常，无异常返回{@code null}
+     */
+    private static RuntimeException await(CompletableFuture<Void> future) {
+        try {
+            future.join();
+            return null;
+        } catch (CompletionException e) {
+            final Throwable cause = e.getCause();
+            return (cause instanceof RuntimeException) ? (RuntimeException) cause : new UtilException(cause);
+        } catch (RuntimeException e) {
+            return e;
+        }
+    }
+
     /**
      * 将Zlib流解压到out中
      *
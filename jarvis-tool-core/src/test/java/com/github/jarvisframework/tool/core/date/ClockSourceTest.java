@@ -0,0 +1,88 @@
+package com.github.jarvisframework.tool.core.date;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>时钟源测试类</p>
+ *
+ * @author Doug Wang
+ * @since 1.0, 2026-10-19 13:32:47
+ */
+public class ClockSourceTest {
+
+    /**
+     * 毫秒数和纳秒数同步推进，可以回拨
+     */
+    @Test
+    public void fakeClockTest() {
+        final FakeClock clock = new FakeClock(1000);
+        Assert.assertEquals(1000, clock.currentTimeMillis());
+        Assert.assertEquals(TimeUnit.SECONDS.toNanos(1), clock.nanoTime());
+
+        clock.advance(1500, TimeUnit.MICROSECONDS);
+        Assert.assertEquals(1001, clock.currentTimeMillis());
+        Assert.assertEquals(TimeUnit.MICROSECONDS.toNanos(1001500), clock.nanoTime());
+
+        clock.advance(-1500, TimeUnit.MICROSECONDS).advance(-2, TimeUnit.SECONDS);
+        Assert.assertEquals(-1000, clock.currentTimeMillis());
+        Assert.assertEquals(5000, clock.set(5000).currentTimeMillis());
+    }
+
+    /**
+     * 替换全局时钟源后，通过GlobalClock取时间的工具类使用替换后的时钟，恢复后使用系统时钟
+     */
+    @Test
+    public void globalClockTest() {
+        final FakeClock clock = new FakeClock(0);
+        GlobalClock.set(clock);
+        try {
+            Assert.assertSame(clock, GlobalClock.get());
+            final TimeInterval timer = new TimeInterval();
+            final TimeInterval nanoTimer = new TimeInterval(true);
+            clock.advance(5, TimeUnit.SECONDS);
+            Assert.assertEquals(5000, GlobalClock.currentTimeMillis());
+            Assert.assertEquals(TimeUnit.SECONDS.toNanos(5), GlobalClock.nanoTime());
+            Assert.assertEquals(5000, timer.intervalMs());
+            Assert.assertEquals(5000, nanoTimer.intervalMs());
+        } finally {
+            GlobalClock.reset();
+        }
+        Assert.assertSame(ClockSource.SYSTEM, GlobalClock.get());
+        Assert.assertTrue(Math.abs(System.currentTimeMillis() - GlobalClock.currentTimeMillis()) < 100);
+
+        try {
+            GlobalClock.set(null);
+            Assert.fail();
+        } catch (IllegalArgumentException e) {
+            Assert.assertSame(ClockSource.SYSTEM, GlobalClock.get());
+        }
+    }
+
+    /**
+     * 单调时钟不回退，与系统时间基本一致，毫秒、微秒、纳秒数相互一致
+     */
+    @Test
+    public void monotonicClockTest() {
+        final MonotonicClock clock = new MonotonicClock();
+        Assert.assertTrue(Math.abs(System.currentTimeMillis() - clock.currentTimeMillis()) < 100);
+
+        long previous = clock.currentTimeNanos();
+        for (int i = 0; i < 100000; i++) {
+            final long current = clock.currentTimeNanos();
+            Assert.assertTrue(current >= previous);
+            previous = current;
+        }
+
+        final long nanos = clock.currentTimeNanos();
+        final long micros = clock.currentTimeMicros();
+        final long millis = clock.currentTimeMillis();
+        Assert.assertTrue(micros >= nanos / 1000 && millis >= nanos / 1000000);
+        Assert.assertTrue(millis - nanos / 1000000 < 100);
+
+        clock.resync();
+        Assert.assertTrue(Math.abs(System.currentTimeMillis() - clock.currentTimeMillis()) < 100);
+    }
+}
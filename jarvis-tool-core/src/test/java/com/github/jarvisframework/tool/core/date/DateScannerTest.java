@@ -0,0 +1,172 @@
+package com.github.jarvisframework.tool.core.date;
+
+import com.github.jarvisframework.tool.core.date.format.FastDateFormat;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * <p>DateScanner测试类</p>
+ *
+ * @author Doug Wang
+ * @since 1.0, 2026-10-19 10:48:12
+ */
+public class DateScannerTest {
+
+    /**
+     * 单遍扫描支持的格式，结果需与按格式解析一致
+     */
+    private static final FastDateFormat[] SCANNED_FORMATS = {
+            DatePattern.PURE_DATETIME_FORMAT, DatePattern.PURE_DATETIME_MS_FORMAT, DatePattern.PURE_DATE_FORMAT, DatePattern.PURE_TIME_FORMAT,
+            DatePattern.NORM_DATE_FORMAT, DatePattern.NORM_DATETIME_MINUTE_FORMAT, DatePattern.NORM_DATETIME_FORMAT, DatePattern.NORM_DATETIME_MS_FORMAT,
+            DatePattern.ISO8601_FORMAT, DatePattern.CHINESE_DATE_FORMAT, DatePattern.UTC_FORMAT, DatePattern.UTC_MS_FORMAT,
+            DatePattern.UTC_WITH_ZONE_OFFSET_FORMAT, DatePattern.UTC_MS_WITH_ZONE_OFFSET_FORMAT, DatePattern.JDK_DATETIME_FORMAT
+    };
+
+    /**
+     * 随机日期按各格式输出后解析，单遍扫描与按格式解析的结果一致
+     */
+    @Test
+    public void differentialTest() {
+        final List<String> samples = new ArrayList<>();
+        final List<FastDateFormat> formats = new ArrayList<>();
+        samples(new Random(20261019L), 3000, samples, formats);
+        for (int i = 0; i < samples.size(); i++) {
+            final String str = samples.get(i);
+            final DateTime scanned = DateScanner.parse(str);
+            Assert.assertNotNull(str, scanned);
+            Assert.assertEquals(str, DateUtils.parse(str, formats.get(i)).getTime(), scanned.getTime());
+            Assert.assertEquals(str, scanned.getTime(), DateUtils.parse(str).getTime());
+        }
+    }
+
+    /**
+     * 非补零的数字、各种分隔符和两边空白
+     */
+    @Test
+    public void separatorTest() {
+        final long expected = DateUtils.parse("2020-01-02 03:04:05", DatePattern.NORM_DATETIME_FORMAT).getTime();
+        for (String str : new String[]{"2020-1-2 3:4:5", "2020/01/02 03:04:05", "2020.1.2 03:04:05", "2020年1月2日 3时4分5秒",
+                " 2020-01-02  03:04:05\t", "2020年01月02日 03:04:05"}) {
+            Assert.assertEquals(str, expected, DateScanner.parse(str).getTime());
+        }
+        Assert.assertEquals(DateUtils.parse("2020-01-02 03:04", DatePattern.NORM_DATETIME_MINUTE_FORMAT).getTime(),
+                DateScanner.parse("2020/1/2 3:4").getTime());
+        Assert.assertEquals(DateUtils.parse("2020-01-02", DatePattern.NORM_DATE_FORMAT).getTime(),
+                DateScanner.parse("2020.1.2").getTime());
+
+        // 只有时间时日期为今天
+        Assert.assertEquals(DateUtils.parseTimeToday("12:30:45").getTime(), DateScanner.parse("12:30:45").getTime());
+        Assert.assertEquals(DateUtils.parseTimeToday("8:05").getTime(), DateScanner.parse("8:05").getTime());
+    }
+
+    /**
+     * 'T'分隔的格式，以"Z"、"+hhmm"或"+hh:mm"结尾，结果为绝对时间
+     */
+    @Test
+    public void zoneOffsetTest() {
+        final long expected = DateUtils.parseUTC("2020-06-01T12:34:56Z").getTime();
+        Assert.assertEquals(expected, DateScanner.parse("2020-06-01T12:34:56Z").getTime());
+        Assert.assertEquals(expected + 789, DateScanner.parse("2020-06-01T12:34:56.789Z").getTime());
+        Assert.assertEquals(expected - 8 * 3600_000L, DateScanner.parse("2020-06-01T12:34:56+0800").getTime());
+        Assert.assertEquals(expected - 8 * 3600_000L, DateScanner.parse("2020-06-01T12:34:56+08:00").getTime());
+        Assert.assertEquals(expected + 3 * 3600_000L + 30 * 60_000L + 1, DateScanner.parse("2020-06-01T12:34:56.001-03:30").getTime());
+
+        for (String str : new String[]{"2020-06-01T12:34:56+0800", "2020-06-01T12:34:56.001-03:30", "2020-06-01T12:34:56+05:45"}) {
+            Assert.assertEquals(str, DateUtils.parseUTC(str).getTime(), DateScanner.parse(str).getTime());
+        }
+        for (String str : new String[]{"Tue Jun 4 16:25:15 +0800 2019", "Thu May 16 17:57:18 GMT+08:00 2019", "wed aug 01 00:00:00 UTC 2012"}) {
+            Assert.assertEquals(str, DateUtils.parseCST(str).getTime(), DateScanner.parse(str).getTime());
+        }
+    }
+
+    /**
+     * 无法识别或字段越界时扫描返回null，由原有逻辑宽松解析或抛出异常
+     */
+    @Test
+    public void malformedTest() {
+        // 原有逻辑宽松解析
+        final String[][] fallbacks = {
+                {"2020-02-30", DatePattern.NORM_DATE_PATTERN},
+                {"2020-13-01", DatePattern.NORM_DATE_PATTERN},
+                {"1899-12-31", DatePattern.NORM_DATE_PATTERN},
+                {"20200230", DatePattern.PURE_DATE_PATTERN},
+                {"2020-01-01 24:00:00", DatePattern.NORM_DATETIME_PATTERN},
+        };
+        for (String[] fallback : fallbacks) {
+            Assert.assertNull(fallback[0], DateScanner.parse(fallback[0]));
+            Assert.assertEquals(fallback[0], DateUtils.parse(fallback[0], fallback[1]).getTime(), DateUtils.parse(fallback[0]).getTime());
+        }
+        Assert.assertNull(DateScanner.parse("2020-01-01 10:00:00.5"));
+        Assert.assertEquals(DateUtils.parse("2020-01-01 10:00:00", DatePattern.NORM_DATETIME_FORMAT).getTime() + 5,
+                DateUtils.parse("2020-01-01 10:00:00.5").getTime());
+
+        // 原有逻辑也无法解析
+        for (String str : new String[]{"abc", "2020-01-01T10:00:00", "2020-1-1T10:00:00Z", "Tue, 04 Jun 2019 16:25:15 +0800",
+                "Xyz Jun 4 16:25:15 CST 2019", "2020-01-01T10:00:00+08:0", "12345"}) {
+            Assert.assertNull(str, DateScanner.parse(str));
+            try {
+                DateUtils.parse(str);
+                Assert.fail(str);
+            } catch (DateException e) {
+                // 预期异常
+            }
+        }
+        for (String str : new String[]{"", "   ", "-2020-01-01", "2020-01-01 10", "2020-01-01T10:00:00+2400", "2020-01-01 10:00:00.1234"}) {
+            Assert.assertNull(str, DateScanner.parse(str));
+        }
+    }
+
+    /**
+     * 单遍扫描的耗时应明显少于按格式解析
+     */
+    @Test
+    public void timingTest() {
+        final List<String> samples = new ArrayList<>();
+        final List<FastDateFormat> formats = new ArrayList<>();
+        samples(new Random(1L), 1000, samples, formats);
+        long scanNanos = Long.MAX_VALUE;
+        long formatNanos = Long.MAX_VALUE;
+        long sink = 0;
+        for (int round = 0; round < 20; round++) {
+            long start = System.nanoTime();
+            for (String str : samples) {
+                sink += DateScanner.parse(str).getTime();
+            }
+            scanNanos = Math.min(scanNanos, System.nanoTime() - start);
+
+            start = System.nanoTime();
+            for (int i = 0; i < samples.size(); i++) {
+                sink -= DateUtils.parse(samples.get(i), formats.get(i)).getTime();
+            }
+            formatNanos = Math.min(formatNanos, System.nanoTime() - start);
+        }
+        Assert.assertEquals(0, sink);
+        Assert.assertTrue("scan: " + scanNanos + "ns, format: " + formatNanos + "ns", scanNanos < formatNanos);
+    }
+
+    // ---------------------------------------------------------------------------------------------- Private method start
+
+    /**
+     * 生成1900~9998年之间的随机日期，依次按支持的格式输出
+     *
+     * @param random  随机数
+     * @param count   样本数
+     * @param samples 日期字符串
+     * @param formats 日期字符串对应的格式
+     */
+    private static void samples(Random random, int count, List<String> samples, List<FastDateFormat> formats) {
+        final long min = DateUtils.parse("1900-01-01", DatePattern.NORM_DATE_FORMAT).getTime();
+        final long max = DateUtils.parse("9998-12-31", DatePattern.NORM_DATE_FORMAT).getTime();
+        for (int i = 0; i < count; i++) {
+            final FastDateFormat format = SCANNED_FORMATS[i % SCANNED_FORMATS.length];
+            samples.add(format.format(new Date(min + (long) (random.nextDouble() * (max - min)))));
+            formats.add(format);
+        }
+    }
+    // ---------------------------------------------------------------------------------------------- Private method end
+}
@@ -0,0 +1,296 @@
+package com.github.jarvisframework.tool.core.date;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.zone.ZoneOffsetTransition;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.GregorianCalendar;
+import java.util.List;
+import java.util.Locale;
+import java.util.TimeZone;
+import java.util.function.Function;
+
+/**
+ * <p>EpochUtils测试类，结果与{@link Calendar}对比</p>
+ *
+ * @author Doug Wang
+ * @since 1.0, 2026-10-19 11:52:06
+ */
+public class EpochUtilsTest {
+
+    /**
+     * 包括整点、半小时和零点切换的夏令时，以及无夏令时的时区
+     */
+    private static final String[] ZONES = {"America/New_York", "Europe/London", "Australia/Lord_Howe", "America/Sao_Paulo", "Asia/Shanghai", "UTC"};
+    private static final Locale TH_TH = new Locale("th", "TH");
+    private static final DateFieldEnum[] MODIFY_FIELDS = {
+            DateFieldEnum.YEAR, DateFieldEnum.MONTH, DateFieldEnum.DAY_OF_MONTH, DateFieldEnum.DAY_OF_YEAR, DateFieldEnum.DAY_OF_WEEK,
+            DateFieldEnum.AM_PM, DateFieldEnum.HOUR, DateFieldEnum.HOUR_OF_DAY, DateFieldEnum.MINUTE, DateFieldEnum.SECOND, DateFieldEnum.MILLISECOND
+    };
+
+    /**
+     * 各字段的取值与{@link GregorianCalendar}一致
+     */
+    @Test
+    public void getFieldTest() {
+        for (String id : ZONES) {
+            final TimeZone zone = TimeZone.getTimeZone(id);
+            for (long millis : samples(id)) {
+                final Calendar calendar = calendar(millis, zone);
+                for (DateFieldEnum field : DateFieldEnum.values()) {
+                    if (DateFieldEnum.WEEK_OF_YEAR != field && DateFieldEnum.WEEK_OF_MONTH != field) {
+                        Assert.assertEquals(id + " " + millis + " " + field, calendar.get(field.getValue()), EpochUtils.getField(millis, field, zone));
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * 偏移与{@link Calendar#add(int, int)}一致，包括跨越夏令时和月末的日、月、年偏移
+     */
+    @Test
+    public void offsetTest() {
+        final DateFieldEnum[] fields = {DateFieldEnum.MILLISECOND, DateFieldEnum.SECOND, DateFieldEnum.MINUTE, DateFieldEnum.HOUR_OF_DAY,
+                DateFieldEnum.DAY_OF_MONTH, DateFieldEnum.WEEK_OF_YEAR, DateFieldEnum.MONTH, DateFieldEnum.YEAR};
+        for (String id : ZONES) {
+            final TimeZone zone = TimeZone.getTimeZone(id);
+            for (long millis : samples(id)) {
+                for (DateFieldEnum field : fields) {
+                    for (int amount : new int[]{-13, -1, 1, 2, 25}) {
+                        final Calendar calendar = calendar(millis, zone);
+                        calendar.add(field.getValue(), amount);
+                        Assert.assertEquals(id + " " + millis + " " + field + " " + amount,
+                                calendar.getTimeInMillis(), EpochUtils.offset(millis, field, amount, zone));
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * truncate、ceiling与{@link CalendarUtils}一致
+     */
+    @Test
+    public void modifyTest() {
+        for (String id : ZONES) {
+            final TimeZone zone = TimeZone.getTimeZone(id);
+            for (long millis : samples(id)) {
+                for (DateFieldEnum field : MODIFY_FIELDS) {
+                    final String message = id + " " + millis + " " + field;
+                    Assert.assertEquals(message, CalendarUtils.truncate(calendar(millis, zone), field).getTimeInMillis(),
+                            EpochUtils.truncate(millis, field, zone));
+                    Assert.assertEquals(message, CalendarUtils.ceiling(calendar(millis, zone), field).getTimeInMillis(),
+                            EpochUtils.ceiling(millis, field, zone));
+                }
+                Assert.assertEquals(CalendarUtils.beginOfQuarter(calendar(millis, zone)).getTimeInMillis(), EpochUtils.beginOfQuarter(millis, zone));
+                Assert.assertEquals(CalendarUtils.endOfQuarter(calendar(millis, zone)).getTimeInMillis(), EpochUtils.endOfQuarter(millis, zone));
+                for (boolean monday : new boolean[]{true, false}) {
+                    Assert.assertEquals(CalendarUtils.beginOfWeek(calendar(millis, zone), monday).getTimeInMillis(),
+                            EpochUtils.beginOfWeek(millis, zone, monday));
+                    Assert.assertEquals(CalendarUtils.endOfWeek(calendar(millis, zone), monday).getTimeInMillis(),
+                            EpochUtils.endOfWeek(millis, zone, monday));
+                }
+            }
+        }
+    }
+
+    /**
+     * 默认地域为th_TH（佛历）时{@link DateUtils}、{@link DateTime}和{@link DateBetween}使用{@link Calendar}计算，
+     * 结果与公历地域下以毫秒数计算的结果一致
+     */
+    @Test
+    public void buddhistLocaleTest() {
+        final List<Function<DateTime, Long>> operations = new ArrayList<>();
+        for (DateFieldEnum field : MODIFY_FIELDS) {
+            operations.add(date -> DateUtils.truncate(date, field).getTime());
+            operations.add(date -> DateUtils.ceiling(date, field).getTime());
+            operations.add(date -> date.offsetNew(field, 3).getTime());
+            operations.add(date -> date.offsetNew(field, -25).getTime());
+        }
+        operations.add(date -> DateUtils.beginOfWeek(date).getTime());
+        operations.add(date -> DateUtils.endOfWeek(date).getTime());
+        operations.add(date -> DateUtils.beginOfQuarter(date).getTime());
+        operations.add(date -> DateUtils.endOfQuarter(date).getTime());
+        operations.add(date -> (long) date.getField(DateFieldEnum.MONTH) << 8 | date.getField(DateFieldEnum.DAY_OF_MONTH));
+
+        for (String id : ZONES) {
+            final TimeZone zone = TimeZone.getTimeZone(id);
+            final long[] samples = samples(id);
+            final List<Long> gregorian = apply(Locale.US, zone, samples, operations);
+            final List<Long> buddhist = apply(TH_TH, zone, samples, operations);
+            for (int i = 0; i < gregorian.size(); i++) {
+                Assert.assertEquals(id + " " + samples[i / operations.size()] + " #" + i % operations.size(),
+                        gregorian.get(i), buddhist.get(i));
+            }
+        }
+
+        final Locale locale = Locale.getDefault();
+        try {
+            Locale.setDefault(TH_TH);
+            final DateTime date = new DateTime(Instant.parse("2020-06-01T00:00:00Z").toEpochMilli(), TimeZone.getTimeZone("UTC"));
+            Assert.assertEquals(2563, date.getField(DateFieldEnum.YEAR));
+            Assert.assertEquals(2563, DateUtils.beginOfQuarter(date).getField(DateFieldEnum.YEAR));
+        } finally {
+            Locale.setDefault(locale);
+        }
+    }
+
+    /**
+     * 相差月数和年数，跨年、跨夏令时及2月末的情况与{@link Calendar}计算一致
+     */
+    @Test
+    public void betweenTest() {
+        for (String id : ZONES) {
+            final TimeZone zone = TimeZone.getTimeZone(id);
+            final long[] samples = samples(id);
+            final long[] others = {
+                    millis(id, 2016, 2, 29, 12), millis(id, 2019, 1, 31, 0), millis(id, 2019, 12, 31, 23), millis(id, 2021, 2, 28, 12), millis(id, 2024, 2, 29, 5)
+            };
+            for (Locale locale : new Locale[]{Locale.US, TH_TH}) {
+                final Locale defaultLocale = Locale.getDefault();
+                try {
+                    Locale.setDefault(locale);
+                    for (int i = 0; i < samples.length; i += 7) {
+                        for (long other : others) {
+                            final DateTime begin = new DateTime(Math.min(samples[i], other), zone);
+                            final DateTime end = new DateTime(Math.max(samples[i], other), zone);
+                            final String message = id + " " + begin.getTime() + " " + end.getTime();
+                            for (boolean reset : new boolean[]{true, false}) {
+                                Assert.assertEquals(message, calendarBetweenMonth(begin, end, reset), DateUtils.betweenMonth(begin, end, reset));
+                                Assert.assertEquals(message, calendarBetweenYear(begin, end, reset), DateUtils.betweenYear(begin, end, reset));
+                            }
+                        }
+                    }
+                } finally {
+                    Locale.setDefault(defaultLocale);
+                }
+            }
+        }
+    }
+
+    /**
+     * 季度末按季度最后一个月的天数计算，5月31日等日期不会顺延到下个季度，1901年前的日期使用{@link Calendar}计算
+     */
+    @Test
+    public void endOfQuarterTest() {
+        final TimeZone zone = TimeZone.getTimeZone("Asia/Shanghai");
+        for (int year : new int[]{1890, 2020}) {
+            for (int[] monthDay : new int[][]{{5, 31}, {8, 31}, {10, 31}, {1, 31}, {12, 31}}) {
+                final DateTime date = new DateTime(millis("Asia/Shanghai", year, monthDay[0], monthDay[1], 10), zone);
+                final DateTime end = DateUtils.endOfQuarter(date);
+                final int month = (monthDay[0] - 1) / 3 * 3 + 3;
+                Assert.assertEquals(date.toString(), year, end.getField(DateFieldEnum.YEAR));
+                Assert.assertEquals(date.toString(), month - 1, end.getField(DateFieldEnum.MONTH));
+                Assert.assertEquals(date.toString(), 6 == month || 9 == month ? 30 : 31, end.getField(DateFieldEnum.DAY_OF_MONTH));
+                Assert.assertEquals(date.toString(), 999, end.getField(DateFieldEnum.MILLISECOND));
+                Assert.assertEquals(date.toString(), end.getTime(), CalendarUtils.endOfQuarter(date.toCalendar()).getTimeInMillis());
+            }
+        }
+    }
+
+    // ---------------------------------------------------------------------------------------------- Private method start
+
+    /**
+     * 年初、月末、闰日及2018年起两次时区偏移变化前后各30小时内的时刻
+     */
+    private static long[] samples(String id) {
+        final List<Long> anchors = new ArrayList<>();
+        anchors.add(millis(id, 2020, 1, 1, 0));
+        anchors.add(millis(id, 2020, 5, 31, 12));
+        anchors.add(millis(id, 2020, 2, 29, 12));
+        Instant instant = Instant.parse("2018-06-01T00:00:00Z");
+        ZoneOffsetTransition transition;
+        for (int i = 0; i < 2 && null != (transition = ZoneId.of(id).getRules().nextTransition(instant)); i++) {
+            anchors.add(transition.getInstant().toEpochMilli());
+            instant = transition.getInstant();
+        }
+
+        final long range = 30 * EpochUtils.MILLIS_PER_HOUR;
+        final long step = 47 * EpochUtils.MILLIS_PER_MINUTE + 7003;
+        final List<Long> samples = new ArrayList<>();
+        for (long anchor : anchors) {
+            for (long millis = anchor - range; millis <= anchor + range; millis += step) {
+                samples.add(millis);
+            }
+            samples.add(anchor);
+            samples.add(anchor - 1);
+        }
+        return samples.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    private static long millis(String id, int year, int month, int day, int hour) {
+        return LocalDateTime.of(year, month, day, hour, 0).atZone(ZoneId.of(id)).toInstant().toEpochMilli();
+    }
+
+    private static Calendar calendar(long millis, TimeZone zone) {
+        final Calendar calendar = new GregorianCalendar(zone, Locale.US);
+        calendar.setTimeInMillis(millis);
+        return calendar;
+    }
+
+    /**
+     * 在给定默认地域下对每个时刻执行每个操作
+     */
+    private static List<Long> apply(Locale locale, TimeZone zone, long[] samples, List<Function<DateTime, Long>> operations) {
+        final Locale defaultLocale = Locale.getDefault();
+        try {
+            Locale.setDefault(locale);
+            final List<Long> results = new ArrayList<>();
+            for (long millis : samples) {
+                for (Function<DateTime, Long> operation : operations) {
+                    results.add(operation.apply(new DateTime(millis, zone)));
+                }
+            }
+            return results;
+        } finally {
+            Locale.setDefault(defaultLocale);
+        }
+    }
+
+    /**
+     * 与{@link DateBetween#betweenMonth(boolean)}的{@link Calendar}实现相同的计算
+     */
+    private static long calendarBetweenMonth(Date begin, Date end, boolean isReset) {
+        final Calendar beginCal = DateUtils.calendar(begin);
+        final Calendar endCal = DateUtils.calendar(end);
+        final int result = (endCal.get(Calendar.YEAR) - beginCal.get(Calendar.YEAR)) * 12 + endCal.get(Calendar.MONTH) - beginCal.get(Calendar.MONTH);
+        if (false == isReset) {
+            endCal.set(Calendar.YEAR, beginCal.get(Calendar.YEAR));
+            endCal.set(Calendar.MONTH, beginCal.get(Calendar.MONTH));
+            if (endCal.getTimeInMillis() < beginCal.getTimeInMillis()) {
+                return result - 1;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 与{@link DateBetween#betweenYear(boolean)}的{@link Calendar}实现相同的计算
+     */
+    private static long calendarBetweenYear(Date begin, Date end, boolean isReset) {
+        final Calendar beginCal = DateUtils.calendar(begin);
+        final Calendar endCal = DateUtils.calendar(end);
+        final int result = endCal.get(Calendar.YEAR) - beginCal.get(Calendar.YEAR);
+        if (false == isReset) {
+            if (Calendar.FEBRUARY == beginCal.get(Calendar.MONTH) && Calendar.FEBRUARY == endCal.get(Calendar.MONTH)
+                    && beginCal.get(Calendar.DAY_OF_MONTH) == beginCal.getActualMaximum(Calendar.DAY_OF_MONTH)
+                    && endCal.get(Calendar.DAY_OF_MONTH) == endCal.getActualMaximum(Calendar.DAY_OF_MONTH)) {
+                beginCal.set(Calendar.DAY_OF_MONTH, 1);
+                endCal.set(Calendar.DAY_OF_MONTH, 1);
+            }
+            endCal.set(Calendar.YEAR, beginCal.get(Calendar.YEAR));
+            if (endCal.getTimeInMillis() < beginCal.getTimeInMillis()) {
+                return result - 1;
+            }
+        }
+        return result;
+    }
+    // ---------------------------------------------------------------------------------------------- Private method end
+}
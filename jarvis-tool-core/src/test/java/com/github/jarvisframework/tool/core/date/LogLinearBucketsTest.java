@@ -0,0 +1,55 @@
+package com.github.jarvisframework.tool.core.date;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Random;
+
+/**
+ * <p>LogLinearBuckets测试类</p>
+ *
+ * @author Doug Wang
+ * @since 1.0, 2026-10-19 13:58:12
+ */
+public class LogLinearBucketsTest {
+
+    /**
+     * 桶首尾相接，值落在所在桶的范围内，桶宽度相对于下界不超过1/128
+     */
+    @Test
+    public void bucketTest() {
+        Assert.assertEquals(255, LogLinearBuckets.index(255));
+        Assert.assertEquals(256, LogLinearBuckets.index(256));
+        Assert.assertEquals(256, LogLinearBuckets.index(257));
+        Assert.assertEquals(257, LogLinearBuckets.index(258));
+        Assert.assertEquals(384, LogLinearBuckets.index(512));
+        Assert.assertEquals(256, LogLinearBuckets.lowestValue(256));
+        Assert.assertEquals(257, LogLinearBuckets.highestValue(256));
+
+        final int bucketCount = LogLinearBuckets.bucketCount(1L << 61);
+        Assert.assertEquals(0, LogLinearBuckets.lowestValue(0));
+        for (int i = 0; i < bucketCount; i++) {
+            final long lowest = LogLinearBuckets.lowestValue(i);
+            final long highest = LogLinearBuckets.highestValue(i);
+            Assert.assertEquals(i + 1, LogLinearBuckets.index(highest + 1));
+            Assert.assertEquals(i, LogLinearBuckets.index(lowest));
+            Assert.assertEquals(i, LogLinearBuckets.index(highest));
+            if (i < 256) {
+                Assert.assertEquals(i, lowest);
+                Assert.assertEquals(i, highest);
+            } else {
+                Assert.assertTrue((highest - lowest + 1) * 128 <= lowest);
+            }
+            final long median = LogLinearBuckets.medianValue(i);
+            Assert.assertTrue(median >= lowest && median <= highest);
+        }
+
+        final Random random = new Random(46L);
+        for (int i = 0; i < 100000; i++) {
+            final long value = random.nextLong() >>> (3 + random.nextInt(61));
+            final int index = LogLinearBuckets.index(value);
+            Assert.assertTrue(LogLinearBuckets.lowestValue(index) <= value);
+            Assert.assertTrue(LogLinearBuckets.highestValue(index) >= value);
+        }
+    }
+}
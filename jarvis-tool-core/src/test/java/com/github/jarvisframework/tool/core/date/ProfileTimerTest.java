@@ -0,0 +1,188 @@
+package com.github.jarvisframework.tool.core.date;
+
+import com.github.jarvisframework.tool.core.util.ReflectUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>ProfileTimer测试类</p>
+ *
+ * @author Doug Wang
+ * @since 1.0, 2026-10-19 13:58:12
+ */
+public class ProfileTimerTest {
+
+    /**
+     * 分位数与精确值的相对误差不超过0.4%，次数、和、最大值精确
+     */
+    @Test
+    public void percentileTest() {
+        final ProfileTimer timer = new ProfileTimer("percentile");
+        final Random random = new Random(46L);
+        final long[] values = new long[100000];
+        long sum = 0;
+        for (int i = 0; i < values.length; i++) {
+            // 跨越多个数量级的长尾分布
+            values[i] = (long) Math.exp(random.nextDouble() * 20);
+            sum += values[i];
+            timer.record(values[i]);
+        }
+        Arrays.sort(values);
+
+        final HistogramSnapshot snapshot = timer.snapshot();
+        Assert.assertEquals("percentile", snapshot.getName());
+        Assert.assertEquals(values.length, snapshot.getCount());
+        Assert.assertEquals(sum, snapshot.getSum());
+        Assert.assertEquals((double) sum / values.length, snapshot.getMean(), 0.001);
+        Assert.assertEquals(values[values.length - 1], snapshot.getMax());
+        Assert.assertEquals(values[0], snapshot.getMin());
+        for (double percentile : new double[]{1, 10, 50, 90, 99, 99.9, 99.99, 100}) {
+            final long expected = values[(int) Math.ceil(percentile / 100 * values.length) - 1];
+            final long actual = snapshot.getValueAtPercentile(percentile);
+            Assert.assertTrue(percentile + ": " + expected + " vs " + actual, Math.abs(actual - expected) <= expected / 256 + 1);
+        }
+    }
+
+    /**
+     * 超出最大值的耗时计入最后一个桶，最大值仍为精确值；负数按0记录
+     */
+    @Test
+    public void overflowTest() {
+        final ProfileTimer timer = new ProfileTimer("overflow", 1000);
+        timer.record(-5);
+        timer.record(5000);
+        final HistogramSnapshot snapshot = timer.snapshot();
+        Assert.assertEquals(2, snapshot.getCount());
+        Assert.assertEquals(0, snapshot.getMin());
+        Assert.assertEquals(5000, snapshot.getMax());
+        Assert.assertEquals(5000, snapshot.getP99());
+
+        final HistogramSnapshot empty = new ProfileTimer("empty").snapshot();
+        Assert.assertEquals(0, empty.getCount());
+        Assert.assertEquals(0, empty.getP50());
+        Assert.assertEquals(0, empty.getMax());
+        Assert.assertEquals(0, empty.getMean(), 0);
+    }
+
+    /**
+     * 区间快照只包含上次区间快照以来的记录，重置后累计和区间统计都从零开始
+     */
+    @Test
+    public void intervalTest() {
+        final ProfileTimer timer = new ProfileTimer("interval");
+        for (int i = 1; i <= 100; i++) {
+            timer.record(i);
+        }
+        HistogramSnapshot interval = timer.intervalSnapshot();
+        Assert.assertEquals(100, interval.getCount());
+        Assert.assertEquals(5050, interval.getSum());
+        Assert.assertEquals(100, interval.getMax());
+
+        timer.record(50);
+        timer.record(60);
+        interval = timer.intervalSnapshot();
+        Assert.assertEquals(2, interval.getCount());
+        Assert.assertEquals(50, interval.getMin());
+        Assert.assertEquals(60, interval.getMax());
+        Assert.assertEquals(0, timer.intervalSnapshot().getCount());
+        Assert.assertEquals(0, timer.intervalSnapshot().getMax());
+
+        HistogramSnapshot snapshot = timer.snapshot();
+        Assert.assertEquals(102, snapshot.getCount());
+        Assert.assertEquals(100, snapshot.getMax());
+
+        timer.reset();
+        timer.record(7);
+        snapshot = timer.snapshot();
+        Assert.assertEquals(1, snapshot.getCount());
+        Assert.assertEquals(7, snapshot.getSum());
+        Assert.assertEquals(7, snapshot.getMax());
+        Assert.assertEquals(1, timer.intervalSnapshot().getCount());
+    }
+
+    /**
+     * 已结束线程的记录并入汇总后移除记录器，累计统计不丢失，区间统计不重复计入
+     */
+    @Test
+    public void retiredThreadTest() throws InterruptedException {
+        final ProfileTimer timer = new ProfileTimer("retired");
+        timer.record(1);
+        final Thread[] threads = new Thread[4];
+        for (int i = 0; i < threads.length; i++) {
+            final long value = (i + 1) * 1000;
+            threads[i] = new Thread(() -> {
+                for (int j = 0; j < 10; j++) {
+                    timer.record(value);
+                }
+            });
+            threads[i].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        HistogramSnapshot interval = timer.intervalSnapshot();
+        Assert.assertEquals(41, interval.getCount());
+        Assert.assertEquals(4000, interval.getMax());
+        // 只剩当前线程的记录器
+        Assert.assertEquals(1, recorderCount(timer));
+
+        final Thread thread = new Thread(() -> timer.record(9000));
+        thread.start();
+        thread.join();
+        interval = timer.intervalSnapshot();
+        Assert.assertEquals(1, interval.getCount());
+        Assert.assertEquals(9000, interval.getMax());
+        Assert.assertEquals(0, timer.intervalSnapshot().getCount());
+
+        final HistogramSnapshot snapshot = timer.snapshot();
+        Assert.assertEquals(42, snapshot.getCount());
+        Assert.assertEquals(1 + 10 * (1000 + 2000 + 3000 + 4000) + 9000, snapshot.getSum());
+        Assert.assertEquals(9000, snapshot.getMax());
+        Assert.assertEquals(1, recorderCount(timer));
+
+        timer.reset();
+        Assert.assertEquals(0, timer.snapshot().getCount());
+        Assert.assertEquals(0, timer.snapshot().getMax());
+    }
+
+    /**
+     * Profiler按名称共享计时器，通过全局时钟计时
+     */
+    @Test
+    public void profilerTest() {
+        final String name = "ProfileTimerTest.profilerTest";
+        final FakeClock clock = new FakeClock(0);
+        GlobalClock.set(clock);
+        try {
+            Assert.assertSame(Profiler.timer(name), Profiler.timer(name));
+            final long start = Profiler.start();
+            clock.advance(3, TimeUnit.MILLISECONDS);
+            Profiler.stop(name, start);
+            Profiler.record(name, 100);
+
+            final List<HistogramSnapshot> snapshots = Profiler.snapshot();
+            final HistogramSnapshot snapshot = snapshots.stream().filter(s -> name.equals(s.getName())).findFirst().orElse(null);
+            Assert.assertNotNull(snapshot);
+            Assert.assertEquals(2, snapshot.getCount());
+            Assert.assertEquals(TimeUnit.MILLISECONDS.toNanos(3), snapshot.getMax());
+            Assert.assertEquals(100, snapshot.getMin());
+        } finally {
+            GlobalClock.reset();
+            Assert.assertNotNull(Profiler.remove(name));
+        }
+        Assert.assertNull(Profiler.remove(name));
+    }
+
+    // ---------------------------------------------------------------------------------------------- Private method start
+
+    private static int recorderCount(ProfileTimer timer) {
+        return ((List<?>) ReflectUtils.getFieldValue(timer, "recorders")).size();
+    }
+    // ---------------------------------------------------------------------------------------------- Private method end
+}
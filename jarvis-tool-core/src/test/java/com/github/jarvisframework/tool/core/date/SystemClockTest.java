@@ -0,0 +1,95 @@
+package com.github.jarvisframework.tool.core.date;
+
+import com.github.jarvisframework.tool.core.util.ReflectUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>SystemClock测试类</p>
+ *
+ * @author Doug Wang
+ * @since 1.0, 2026-10-19 13:32:47
+ */
+public class SystemClockTest {
+
+    /**
+     * 更新线程定时刷新时间，关闭后线程退出，时间不再变化
+     */
+    @Test
+    public void closeTest() throws InterruptedException {
+        final SystemClock clock = new SystemClock(1);
+        final long first = clock.currentTimeMillis();
+        Assert.assertTrue(Math.abs(System.currentTimeMillis() - first) < 100);
+        Thread.sleep(50);
+        Assert.assertTrue(clock.currentTimeMillis() > first);
+
+        clock.close();
+        final Thread ticker = ticker(clock);
+        ticker.join(5000);
+        Assert.assertFalse(ticker.isAlive());
+        final long closed = clock.currentTimeMillis();
+        Thread.sleep(20);
+        Assert.assertEquals(closed, clock.currentTimeMillis());
+    }
+
+    /**
+     * 自适应模式下空闲时更新线程挂起，挂起期间读取到的是最新的系统时间，读取后更新线程恢复
+     */
+    @Test
+    public void adaptiveTest() throws InterruptedException {
+        final SystemClock clock = new SystemClock(1, true);
+        try {
+            final Thread ticker = ticker(clock);
+            // 连续1000个更新周期没有读取后挂起
+            Assert.assertTrue(awaitState(ticker, Thread.State.WAITING, 10000));
+
+            Thread.sleep(20);
+            final long before = System.currentTimeMillis();
+            Assert.assertTrue(clock.currentTimeMillis() >= before);
+            Assert.assertTrue(awaitState(ticker, Thread.State.TIMED_WAITING, 1000));
+
+            // 持续读取时不再挂起
+            final long end = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(1500);
+            while (System.nanoTime() < end) {
+                clock.currentTimeMillis();
+                Assert.assertNotEquals(Thread.State.WAITING, ticker.getState());
+                Thread.sleep(1);
+            }
+        } finally {
+            clock.close();
+        }
+    }
+
+    /**
+     * 共享实例的close调用无效，时间继续更新
+     */
+    @Test
+    public void sharedCloseTest() throws InterruptedException {
+        final SystemClock clock = SystemClock.instance();
+        clock.close();
+        final long first = SystemClock.now();
+        Thread.sleep(20);
+        Assert.assertTrue(SystemClock.now() > first);
+        Assert.assertTrue(ticker(clock).isAlive());
+    }
+
+    // ---------------------------------------------------------------------------------------------- Private method start
+
+    private static Thread ticker(SystemClock clock) {
+        return (Thread) ReflectUtils.getFieldValue(clock, "ticker");
+    }
+
+    private static boolean awaitState(Thread thread, Thread.State state, long timeoutMillis) throws InterruptedException {
+        final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        while (thread.getState() != state) {
+            if (System.nanoTime() > deadline) {
+                return false;
+            }
+            Thread.sleep(1);
+        }
+        return true;
+    }
+    // ---------------------------------------------------------------------------------------------- Private method end
+}
@@ -0,0 +1,152 @@
+package com.github.jarvisframework.tool.core.date.format;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.text.SimpleDateFormat;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.zone.ZoneOffsetTransition;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.Locale;
+import java.util.TimeZone;
+
+/**
+ * <p>FastDatePrinter测试类</p>
+ *
+ * @author Doug Wang
+ * @since 1.0, 2026-10-19 11:15:27
+ */
+public class FastDatePrinterTest {
+
+    private static final String[] PATTERNS = {
+            "yyyy-MM-dd HH:mm:ss.SSS", "yyyy-MM-dd'T'HH:mm:ss.SSSZ", "EEE MMM dd HH:mm:ss zzz yyyy", "HH:mm:ss,SSS XXX", "ss.SSS", "yyyyMMddHHmm"
+    };
+
+    /**
+     * 连续时间跨越分钟、小时、日期和年份，三种输出方式均与{@link SimpleDateFormat}一致
+     */
+    @Test
+    public void minuteBoundaryTest() {
+        final TimeZone timeZone = TimeZone.getTimeZone("Asia/Shanghai");
+        final long newYear = Instant.parse("2020-12-31T16:00:00Z").toEpochMilli();
+        for (String pattern : PATTERNS) {
+            final FastDatePrinter printer = new FastDatePrinter(pattern, timeZone, Locale.US);
+            assertRange(printer, newYear - 150_000, newYear + 150_000, 997);
+            // 倒序和跳跃的时间不能使用其它分钟的缓存
+            for (long millis = newYear + 150_000; millis > newYear - 150_000; millis -= 30_011) {
+                assertFormat(printer, millis);
+                assertFormat(printer, millis);
+                assertFormat(printer, millis + 86_400_000L);
+            }
+        }
+    }
+
+    /**
+     * 跨越夏令时切换及非整分钟的时区偏移变化<br>
+     * 蒙罗维亚1972年由-00:44:30改为+00:00，切换后的第一个本地分钟从切换前30秒开始，该分钟不能缓存
+     */
+    @Test
+    public void transitionTest() {
+        final Object[][] zones = {
+                {"America/New_York", "2020-01-01T00:00:00Z"},
+                {"Australia/Lord_Howe", "2020-01-01T00:00:00Z"},
+                {"Europe/London", "2020-01-01T00:00:00Z"},
+                {"Europe/Amsterdam", "1937-05-01T00:00:00Z"},
+                {"Africa/Monrovia", "1972-01-01T00:00:00Z"},
+        };
+        for (Object[] zone : zones) {
+            final TimeZone timeZone = TimeZone.getTimeZone((String) zone[0]);
+            Instant instant = Instant.parse((String) zone[1]);
+            ZoneOffsetTransition transition;
+            for (int i = 0; i < 2 && null != (transition = ZoneId.of((String) zone[0]).getRules().nextTransition(instant)); i++) {
+                final long millis = transition.getInstant().toEpochMilli();
+                for (String pattern : PATTERNS) {
+                    assertRange(new FastDatePrinter(pattern, timeZone, Locale.US), millis - 180_000, millis + 180_000, 1_009);
+                }
+                instant = transition.getInstant();
+            }
+        }
+    }
+
+    /**
+     * 缓存属于各自的时区，默认时区改变后获取的格式化器使用新的时区
+     */
+    @Test
+    public void timeZoneChangeTest() {
+        final String pattern = "yyyy-MM-dd HH:mm:ss.SSS zzz";
+        final long millis = Instant.parse("2020-06-01T12:00:00Z").toEpochMilli();
+        final FastDatePrinter shanghai = new FastDatePrinter(pattern, TimeZone.getTimeZone("Asia/Shanghai"), Locale.US);
+        final FastDatePrinter london = new FastDatePrinter(pattern, TimeZone.getTimeZone("Europe/London"), Locale.US);
+        for (int i = 0; i < 3; i++) {
+            Assert.assertEquals("2020-06-01 20:00:00.00" + i + " CST", shanghai.format(millis + i));
+            Assert.assertEquals("2020-06-01 13:00:00.00" + i + " BST", london.format(millis + i));
+        }
+
+        final TimeZone defaultTimeZone = TimeZone.getDefault();
+        try {
+            TimeZone.setDefault(TimeZone.getTimeZone("Asia/Shanghai"));
+            final FastDateFormat before = FastDateFormat.getInstance(pattern, Locale.US);
+            Assert.assertEquals("2020-06-01 20:00:00.000 CST", before.format(millis));
+            Assert.assertEquals("2020-06-01 20:00:00.001 CST", before.format(millis + 1));
+
+            TimeZone.setDefault(TimeZone.getTimeZone("America/New_York"));
+            final FastDateFormat after = FastDateFormat.getInstance(pattern, Locale.US);
+            Assert.assertEquals("2020-06-01 08:00:00.000 EDT", after.format(millis));
+            Assert.assertEquals("2020-06-01 08:00:00.001 EDT", after.format(millis + 1));
+            // 已获取的格式化器不受影响
+            Assert.assertEquals("2020-06-01 20:00:00.002 CST", before.format(millis + 2));
+        } finally {
+            TimeZone.setDefault(defaultTimeZone);
+        }
+    }
+
+    /**
+     * 写入字符数组时只写入给定位置之后的部分，返回写入结束的位置
+     */
+    @Test
+    public void charArrayTest() {
+        final FastDatePrinter printer = new FastDatePrinter("yyyy-MM-dd HH:mm:ss.SSS", TimeZone.getTimeZone("UTC"), Locale.US);
+        final long millis = Instant.parse("2020-06-01T12:34:56.789Z").toEpochMilli();
+        final char[] buf = new char[40];
+        for (int i = 0; i < 3; i++) {
+            Arrays.fill(buf, '#');
+            final int end = printer.format(millis + i * 1000, buf, 5);
+            Assert.assertEquals(5 + 23, end);
+            Assert.assertEquals("#####2020-06-01 12:34:5" + (6 + i) + ".789############", new String(buf));
+        }
+    }
+
+    // ---------------------------------------------------------------------------------------------- Private method start
+
+    /**
+     * 在开始和结束之间按步长正序、倒序各检查一遍
+     */
+    private static void assertRange(FastDatePrinter printer, long from, long to, long step) {
+        for (long millis = from; millis < to; millis += step) {
+            assertFormat(printer, millis);
+        }
+        for (long millis = to; millis > from; millis -= step) {
+            assertFormat(printer, millis);
+        }
+    }
+
+    /**
+     * 检查{@link FastDatePrinter#format(long)}、{@link FastDatePrinter#format(long, Appendable)}和
+     * {@link FastDatePrinter#format(long, char[], int)}的结果与{@link SimpleDateFormat}一致
+     */
+    private static void assertFormat(FastDatePrinter printer, long millis) {
+        final SimpleDateFormat format = new SimpleDateFormat(printer.getPattern(), printer.getLocale());
+        format.setTimeZone(printer.getTimeZone());
+        final String expected = format.format(new Date(millis));
+        final String message = printer.getPattern() + " " + printer.getTimeZone().getID() + " " + millis;
+
+        Assert.assertEquals(message, expected, printer.format(millis));
+        Assert.assertEquals(message, expected, printer.format(millis, new StringBuilder()).toString());
+        final char[] buf = new char[printer.getMaxLengthEstimate() + 2];
+        final int end = printer.format(millis, buf, 2);
+        Assert.assertEquals(message, expected, new String(buf, 2, end - 2));
+    }
+    // ---------------------------------------------------------------------------------------------- Private method end
+}
@@ -0,0 +1,65 @@
+package com.github.jarvisframework.tool.core.io;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+
+/**
+ * <p>FileTypeUtils测试类</p>
+ *
+ * @author Doug Wang
+ * @since 1.0, 2026-10-19 10:26:35
+ */
+public class FileTypeUtilsTest {
+
+    /**
+     * 大小写不同的文件头视为同一个，覆盖时返回之前的类型，移除后不再识别
+     */
+    @Test
+    public void putAndRemoveTest() {
+        Assert.assertEquals("zip", FileTypeUtils.getType("504b0304"));
+        try {
+            Assert.assertEquals("zip", FileTypeUtils.putFileType("504B0304", "archive"));
+            Assert.assertEquals("archive", FileTypeUtils.getType("504B03040000"));
+            Assert.assertEquals("archive", FileTypeUtils.removeFileType("504b0304"));
+            Assert.assertNull(FileTypeUtils.getType("504b03040000"));
+            Assert.assertNull(FileTypeUtils.removeFileType("504B0304"));
+        } finally {
+            FileTypeUtils.putFileType("504b0304", "zip");
+        }
+        Assert.assertEquals("zip", FileTypeUtils.getType(stream(0x50, 0x4b, 0x03, 0x04, 0x14, 0x00)));
+    }
+
+    /**
+     * 多个文件头同时匹配时使用最长的一个，奇数长度的文件头按半字节匹配
+     */
+    @Test
+    public void longestPrefixTest() {
+        try {
+            FileTypeUtils.putFileType("cafe", "short");
+            FileTypeUtils.putFileType("cafeb", "odd");
+            Assert.assertEquals("short", FileTypeUtils.getType(stream(0xca, 0xfe, 0x00)));
+            Assert.assertEquals("odd", FileTypeUtils.getType(stream(0xca, 0xfe, 0xb0)));
+            // 更长的cafebabe0000002e0041仍然优先
+            Assert.assertEquals("class", FileTypeUtils.getType(stream(0xca, 0xfe, 0xba, 0xbe, 0x00, 0x00, 0x00, 0x2e, 0x00, 0x41)));
+            Assert.assertEquals("odd", FileTypeUtils.getType("CAFEBABE0000"));
+        } finally {
+            FileTypeUtils.removeFileType("cafe");
+            FileTypeUtils.removeFileType("cafeb");
+        }
+        Assert.assertNull(FileTypeUtils.getType(stream(0xca, 0xfe, 0x00)));
+        Assert.assertEquals("jpg", FileTypeUtils.getType(stream(0xff, 0xd8, 0xff, 0xe0)));
+    }
+
+    // ---------------------------------------------------------------------------------------------- Private method start
+
+    private static ByteArrayInputStream stream(int... bytes) {
+        final byte[] head = new byte[bytes.length];
+        for (int i = 0; i < bytes.length; i++) {
+            head[i] = (byte) bytes[i];
+        }
+        return new ByteArrayInputStream(head);
+    }
+    // ---------------------------------------------------------------------------------------------- Private method end
+}
@@ -0,0 +1,132 @@
+package com.github.jarvisframework.tool.core.io.watch;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.WatchEvent;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>WatchDispatcher测试类</p>
+ *
+ * @author Doug Wang
+ * @since 1.0, 2026-10-18 22:05:41
+ */
+public class WatchDispatcherTest {
+
+    /**
+     * 同一路径的多个事件合并为一个变更，创建后又删除的路径不通知
+     */
+    @Test
+    public void coalesceTest() throws InterruptedException {
+        final BlockingQueue<List<WatchChange>> batches = new LinkedBlockingQueue<>();
+        final WatchDispatcher dispatcher = WatchDispatcher.create(batches::add).setQuietPeriod(100);
+        try {
+            final Path dir = Paths.get("conf");
+            final long start = System.nanoTime();
+            for (int i = 0; i < 5; i++) {
+                dispatcher.onModify(event(WatchMonitor.ENTRY_MODIFY, "app.setting"), dir);
+            }
+            dispatcher.onCreate(event(WatchMonitor.ENTRY_CREATE, "app.setting.tmp"), dir);
+            dispatcher.onDelete(event(WatchMonitor.ENTRY_DELETE, "app.setting.tmp"), dir);
+
+            final List<WatchChange> changes = batches.poll(5, TimeUnit.SECONDS);
+            Assert.assertNotNull(changes);
+            Assert.assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(100));
+            Assert.assertEquals(1, changes.size());
+            final WatchChange change = changes.get(0);
+            Assert.assertEquals(dir.resolve("app.setting"), change.getPath());
+            Assert.assertEquals(WatchMonitor.ENTRY_MODIFY, change.getKind());
+            Assert.assertEquals(5, change.getCount());
+            Assert.assertNull(batches.poll(300, TimeUnit.MILLISECONDS));
+        } finally {
+            dispatcher.close();
+        }
+    }
+
+    /**
+     * 删除后重新创建（编辑器的安全保存）视为修改
+     */
+    @Test
+    public void replaceTest() throws InterruptedException {
+        final BlockingQueue<List<WatchChange>> batches = new LinkedBlockingQueue<>();
+        final WatchDispatcher dispatcher = WatchDispatcher.create(batches::add).setQuietPeriod(20);
+        try {
+            dispatcher.onDelete(event(WatchMonitor.ENTRY_DELETE, "app.setting"), null);
+            dispatcher.onCreate(event(WatchMonitor.ENTRY_CREATE, "app.setting"), null);
+
+            final List<WatchChange> changes = batches.poll(5, TimeUnit.SECONDS);
+            Assert.assertNotNull(changes);
+            Assert.assertEquals(1, changes.size());
+            Assert.assertEquals(WatchMonitor.ENTRY_MODIFY, changes.get(0).getKind());
+            Assert.assertEquals(2, changes.get(0).getCount());
+        } finally {
+            dispatcher.close();
+        }
+    }
+
+    /**
+     * 监听真实文件，连续写入只触发一次重新加载，监听器关闭后分发器随之停止
+     */
+    @Test
+    public void reloadTest() throws Exception {
+        final Path dir = Files.createTempDirectory("watch");
+        final Path file = Files.write(dir.resolve("app.setting"), "a=1".getBytes(StandardCharsets.UTF_8));
+        final BlockingQueue<String> reloads = new LinkedBlockingQueue<>();
+        final WatchDispatcher dispatcher = WatchDispatcher.create(changes -> {
+            try {
+                reloads.add(new String(Files.readAllBytes(file), StandardCharsets.UTF_8));
+            } catch (Exception e) {
+                reloads.add(e.toString());
+            }
+        }).setQuietPeriod(300);
+        final WatchMonitor monitor = WatchMonitor.create(file, WatchMonitor.ENTRY_MODIFY);
+        monitor.setWatcher(dispatcher);
+        monitor.start();
+        try {
+            // 等待监听线程注册完成
+            Thread.sleep(200);
+            for (int i = 2; i <= 4; i++) {
+                Files.write(file, ("a=" + i).getBytes(StandardCharsets.UTF_8));
+                Thread.sleep(20);
+            }
+            Assert.assertEquals("a=4", reloads.poll(10, TimeUnit.SECONDS));
+            Assert.assertNull(reloads.poll(500, TimeUnit.MILLISECONDS));
+        } finally {
+            monitor.close();
+            Files.deleteIfExists(file);
+            Files.deleteIfExists(dir);
+        }
+    }
+
+    // ---------------------------------------------------------------------------------------------- Private method start
+
+    private static WatchEvent<Path> event(WatchEvent.Kind<?> kind, String name) {
+        final Path context = Paths.get(name);
+        return new WatchEvent<Path>() {
+            @SuppressWarnings("unchecked")
+            @Override
+            public Kind<Path> kind() {
+                return (Kind<Path>) kind;
+            }
+
+            @Override
+            public int count() {
+                return 1;
+            }
+
+            @Override
+            public Path context() {
+                return context;
+            }
+        };
+    }
+    // ---------------------------------------------------------------------------------------------- Private method end
+}
@@ -0,0 +1,107 @@
+package com.github.jarvisframework.tool.core.lang;
+
+import com.github.jarvisframework.tool.core.util.StringUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * <p>ObjectId测试类</p>
+ *
+ * @author Doug Wang
+ * @since 1.0, 2026-10-19 13:05:18
+ */
+public class ObjectIdTest {
+
+    /**
+     * 字符串、字节数组形式与对象互相转换，结果不变
+     */
+    @Test
+    public void roundTripTest() {
+        final ObjectId objectId = new ObjectId(0x5f5e1000abcdef01L, 0x80000001);
+        Assert.assertEquals("5f5e1000abcdef0180000001", objectId.toString());
+        Assert.assertEquals("5f5e1000-abcdef01-80000001", objectId.toString(true));
+        Assert.assertEquals(0x5f5e1000, objectId.getTimestamp());
+
+        final Random random = new Random(44L);
+        for (int i = 0; i < 1000; i++) {
+            final ObjectId id = 0 == i ? ObjectId.get() : new ObjectId(random.nextLong(), random.nextInt());
+            final String hex = id.toString();
+            Assert.assertEquals(24, hex.length());
+            Assert.assertTrue(ObjectId.isValid(hex));
+            Assert.assertEquals(id, ObjectId.of(hex));
+            Assert.assertEquals(id, ObjectId.of(hex.toUpperCase()));
+            Assert.assertEquals(id, ObjectId.of(id.toString(true)));
+            Assert.assertEquals(id, ObjectId.of(id.toByteArray()));
+            Assert.assertEquals(id.hashCode(), ObjectId.of(hex).hashCode());
+            Assert.assertEquals(hex, StringUtils.removeAll(id.toString(true), "-"));
+        }
+
+        Assert.assertFalse(ObjectId.isValid(null));
+        Assert.assertFalse(ObjectId.isValid("5f5e1000abcdef018000000"));
+        Assert.assertFalse(ObjectId.isValid("5f5e1000abcdef018000000g"));
+    }
+
+    /**
+     * 写入字符数组、字节数组和{@link StringBuilder}的结果与toString一致，next生成的字符串可以解析
+     */
+    @Test
+    public void writeToTest() {
+        final ObjectId id = ObjectId.get();
+        for (boolean withHyphen : new boolean[]{false, true}) {
+            final String expected = id.toString(withHyphen);
+
+            final char[] chars = new char[expected.length() + 3];
+            Arrays.fill(chars, '#');
+            Assert.assertEquals(1 + expected.length(), id.writeTo(chars, 1, withHyphen));
+            Assert.assertEquals("#" + expected + "##", new String(chars));
+
+            final byte[] bytes = new byte[expected.length() + 3];
+            Arrays.fill(bytes, (byte) '#');
+            Assert.assertEquals(1 + expected.length(), id.writeTo(bytes, 1, withHyphen));
+            Assert.assertEquals("#" + expected + "##", new String(bytes, StandardCharsets.US_ASCII));
+
+            Assert.assertEquals("id=" + expected, id.appendTo(new StringBuilder("id="), withHyphen).toString());
+        }
+
+        final String next = ObjectId.next(true);
+        Assert.assertEquals(26, next.length());
+        Assert.assertEquals('-', next.charAt(8));
+        Assert.assertEquals('-', next.charAt(17));
+        Assert.assertEquals(next, ObjectId.of(next).toString(true));
+        Assert.assertEquals(12, ObjectId.nextBytes().length);
+    }
+
+    /**
+     * 按无符号字节顺序比较，与16进制字符串的字典序一致；同一秒内生成的ID按生成顺序递增
+     */
+    @Test
+    public void compareToTest() {
+        Assert.assertTrue(new ObjectId(-1L, 0).compareTo(new ObjectId(1L, 0)) > 0);
+        Assert.assertTrue(new ObjectId(1L, -1).compareTo(new ObjectId(1L, 1)) > 0);
+        Assert.assertEquals(0, new ObjectId(1L, 1).compareTo(new ObjectId(1L, 1)));
+
+        final Random random = new Random(44L);
+        final List<ObjectId> ids = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            // 限制取值范围，使部分ID的高8字节相同
+            ids.add(new ObjectId(random.nextInt(8) * 0x4000000000000000L, random.nextInt()));
+        }
+        Collections.sort(ids);
+        for (int i = 1; i < ids.size(); i++) {
+            Assert.assertTrue(ids.get(i - 1).toString().compareTo(ids.get(i).toString()) <= 0);
+        }
+
+        final ObjectId first = ObjectId.get();
+        final ObjectId second = ObjectId.get();
+        if (first.getTimestamp() == second.getTimestamp() && second.getLow() != 0) {
+            Assert.assertTrue(first.compareTo(second) < 0);
+        }
+    }
+}
@@ -0,0 +1,208 @@
+package com.github.jarvisframework.tool.core.lang;
+
+import com.github.jarvisframework.tool.core.io.FileUtils;
+import com.github.jarvisframework.tool.core.io.IORuntimeException;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * <p>SegmentIdGenerator和FileSegmentStore测试类</p>
+ *
+ * @author Doug Wang
+ * @since 1.0, 2026-10-19 12:31:44
+ */
+public class SegmentIdGeneratorTest {
+
+    /**
+     * 号段连续分配，key校验，文件损坏时报错
+     */
+    @Test
+    public void fileStoreTest() throws Exception {
+        final Path dir = Files.createTempDirectory("segment");
+        try {
+            final FileSegmentStore store = new FileSegmentStore(dir.toFile(), 100);
+            Assert.assertEquals(100, store.allocate("order", 10));
+            Assert.assertEquals(110, store.allocate("order", 5));
+            Assert.assertEquals(100, store.allocate("user", 1));
+            Assert.assertEquals(115, new FileSegmentStore(dir.toFile()).allocate("order", 1));
+            try {
+                store.allocate("../order", 1);
+                Assert.fail();
+            } catch (IllegalArgumentException e) {
+                // 预期异常
+            }
+
+            Files.write(dir.resolve("broken" + FileSegmentStore.EXT), "abc".getBytes(StandardCharsets.US_ASCII));
+            try {
+                store.allocate("broken", 1);
+                Assert.fail();
+            } catch (IORuntimeException e) {
+                // 预期异常
+            }
+        } finally {
+            FileUtils.del(dir.toFile());
+        }
+    }
+
+    /**
+     * 两个存储通过不同路径（其中一个为符号链接）共享同一目录，多线程同时生成的ID不重复
+     */
+    @Test
+    public void sharedFileTest() throws Exception {
+        final Path dir = Files.createTempDirectory("segment");
+        final Path link = dir.resolveSibling(dir.getFileName() + "-link");
+        Files.createSymbolicLink(link, dir);
+        try {
+            final SegmentStore[] stores = {new FileSegmentStore(dir.toFile()), new FileSegmentStore(link.toFile())};
+            final int threadCount = 4;
+            final int perThread = 5000;
+            final ConcurrentLinkedQueue<Throwable> errors = new ConcurrentLinkedQueue<>();
+            final long[][] results = new long[threadCount][perThread];
+            final CountDownLatch start = new CountDownLatch(1);
+            final Thread[] threads = new Thread[threadCount];
+            for (int t = 0; t < threadCount; t++) {
+                // 每个线程使用独立的生成器，号段长度较小，频繁申请
+                final SegmentIdGenerator generator = new SegmentIdGenerator(stores[t % stores.length], "order", 7);
+                final long[] result = results[t];
+                threads[t] = new Thread(() -> {
+                    try {
+                        start.await();
+                        for (int i = 0; i < perThread; i++) {
+                            result[i] = generator.nextId();
+                        }
+                    } catch (Throwable e) {
+                        errors.add(e);
+                    }
+                });
+                threads[t].start();
+            }
+            start.countDown();
+            for (Thread thread : threads) {
+                thread.join();
+            }
+
+            Assert.assertTrue(errors.toString(), errors.isEmpty());
+            final Set<Long> ids = new HashSet<>();
+            for (long[] result : results) {
+                for (int i = 0; i < perThread; i++) {
+                    Assert.assertTrue(ids.add(result[i]));
+                    if (i > 0) {
+                        Assert.assertTrue(result[i] > result[i - 1]);
+                    }
+                }
+            }
+        } finally {
+            Files.deleteIfExists(link);
+            FileUtils.del(dir.toFile());
+        }
+    }
+
+    /**
+     * 号段使用到给定比例时异步预取下一个号段，当前号段用完后直接切换，不再同步申请
+     */
+    @Test
+    public void prefetchTest() {
+        final RecordingStore store = new RecordingStore();
+        final List<Runnable> tasks = new ArrayList<>();
+        final SegmentIdGenerator generator = new SegmentIdGenerator(store, "order", 10, 0.5, tasks::add);
+
+        for (int i = 0; i < 5; i++) {
+            Assert.assertEquals(i, generator.nextId());
+        }
+        Assert.assertEquals(1, store.allocations.get());
+        Assert.assertTrue(tasks.isEmpty());
+
+        // 第6个ID达到预取比例
+        Assert.assertEquals(5, generator.nextId());
+        Assert.assertEquals(1, tasks.size());
+        Assert.assertEquals(1, store.allocations.get());
+        tasks.remove(0).run();
+        Assert.assertEquals(2, store.allocations.get());
+
+        for (int i = 6; i < 15; i++) {
+            Assert.assertEquals(i, generator.nextId());
+        }
+        // 切换到预取的号段，不同步申请
+        Assert.assertEquals(2, store.allocations.get());
+        Assert.assertTrue(tasks.isEmpty());
+
+        // 新号段同样在第6个ID时预取
+        Assert.assertEquals(15, generator.nextId());
+        Assert.assertEquals(1, tasks.size());
+        tasks.remove(0).run();
+        for (int i = 16; i < 25; i++) {
+            Assert.assertEquals(i, generator.nextId());
+        }
+        Assert.assertEquals(3, store.allocations.get());
+    }
+
+    /**
+     * 预取失败时同步重新申请
+     */
+    @Test
+    public void prefetchFailureTest() {
+        final RecordingStore store = new RecordingStore();
+        final List<Runnable> tasks = new ArrayList<>();
+        final SegmentIdGenerator generator = new SegmentIdGenerator(store, "order", 10, 0, tasks::add);
+        Assert.assertEquals(0, generator.nextId());
+        store.failing = true;
+        tasks.remove(0).run();
+        store.failing = false;
+        for (int i = 1; i < 12; i++) {
+            Assert.assertEquals(i, generator.nextId());
+        }
+    }
+
+    /**
+     * 重启后（新的存储和生成器）从已分配的号段之后继续，未用完的ID被跳过
+     */
+    @Test
+    public void restartTest() throws Exception {
+        final Path dir = Files.createTempDirectory("segment");
+        try {
+            final SegmentIdGenerator first = new SegmentIdGenerator(new FileSegmentStore(dir.toFile()), "order", 100);
+            long last = 0;
+            for (int i = 0; i < 3; i++) {
+                last = first.nextId();
+            }
+            Assert.assertEquals(3, last);
+
+            final SegmentIdGenerator second = new SegmentIdGenerator(new FileSegmentStore(dir.toFile()), "order", 100);
+            Assert.assertEquals(101, second.nextId());
+            Assert.assertEquals("0000000000000000201\n",
+                    new String(Files.readAllBytes(dir.resolve("order" + FileSegmentStore.EXT)), StandardCharsets.US_ASCII));
+        } finally {
+            FileUtils.del(dir.toFile());
+        }
+    }
+
+    /**
+     * 内存中的号段存储，记录申请次数
+     */
+    private static class RecordingStore implements SegmentStore {
+        private final AtomicLong allocations = new AtomicLong();
+        private final AtomicLong next = new AtomicLong();
+        private volatile boolean failing;
+
+        @Override
+        public long allocate(String key, long step) {
+            if (failing) {
+                throw new IllegalStateException("Store unavailable");
+            }
+            allocations.incrementAndGet();
+            return next.getAndAdd(step);
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package com.github.jarvisframework.tool.core.lang;
+
+import com.github.jarvisframework.tool.core.date.FakeClock;
+import com.github.jarvisframework.tool.core.date.GlobalClock;
+import org.junit.Assert;
+import org.junit.Ignore;
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Snowflake测试类</p>
+ *
+ * @author Doug Wang
+ * @since 1.0, 2026-10-18 21:36:12
+ */
+public class SnowflakeTest {
+
+    @Test
+    public void nextIdsTest() {
+        final Snowflake snowflake = new Snowflake(1, 2);
+        final long[] ids = snowflake.nextIds(10000);
+        for (int i = 1; i < ids.length; i++) {
+            Assert.assertTrue(ids[i] > ids[i - 1]);
+        }
+        Assert.assertEquals(1, snowflake.getWorkerId(ids[0]));
+        Assert.assertEquals(2, snowflake.getDataCenterId(ids[0]));
+        Assert.assertTrue(snowflake.nextId() > ids[ids.length - 1]);
+    }
+
+    /**
+     * 多线程生成，检查ID不重复且每个线程内递增
+     */
+    @Test
+    public void concurrentTest() throws InterruptedException {
+        final Snowflake snowflake = new Snowflake(1, 1);
+        final int threadCount = 8;
+        final int perThread = 200_000;
+        final long[][] results = new long[threadCount][perThread];
+        final CountDownLatch start = new CountDownLatch(1);
+        final Thread[] threads = new Thread[threadCount];
+        for (int t = 0; t < threadCount; t++) {
+            final long[] result = results[t];
+            threads[t] = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < perThread; i++) {
+                    result[i] = snowflake.nextId();
+                }
+            });
+            threads[t].start();
+        }
+
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        final Set<Long> ids = new HashSet<>(threadCount * perThread * 2);
+        for (long[] result : results) {
+            for (int i = 0; i < perThread; i++) {
+                Assert.assertTrue(ids.add(result[i]));
+                if (i > 0) {
+                    Assert.assertTrue(result[i] > result[i - 1]);
+                }
+            }
+        }
+    }
+
+    /**
+     * 吞吐量基准，分别以1个线程和CPU核数个线程（至少4个）生成，输出每秒生成的ID数<br>
+     * 结果受机器负载影响，默认不执行，需要时手动运行
+     */
+    @Ignore
+    @Test
+    public void throughputBenchmark() throws InterruptedException {
+        final int[] threadCounts = {1, Math.max(4, Runtime.getRuntime().availableProcessors())};
+        for (int threadCount : threadCounts) {
+            // 预热
+            throughput(new Snowflake(1, 1), threadCount, 200_000);
+        }
+        for (int threadCount : threadCounts) {
+            final long perSecond = throughput(new Snowflake(1, 1), threadCount, 2_000_000);
+            Console.log("{} thread(s): {} ids/s", threadCount, perSecond);
+        }
+    }
+
+    /**
+     * 不容忍回拨时，即使存在预支的时间，时钟后退1毫秒也报错
+     */
+    @Test(expected = IllegalStateException.class)
+    public void clockBackwardsTest() {
+        final FakeClock clock = new FakeClock(1600000000000L);
+        GlobalClock.set(clock);
+        try {
+            final Snowflake snowflake = new Snowflake(null, 1, 1, false, 0, Snowflake.DEFAULT_MAX_BORROW_MILLIS);
+            // 用尽当前毫秒的序列号，预支到下一毫秒
+            snowflake.nextIds(5000);
+            clock.set(1600000000000L - 1);
+            snowflake.nextId();
+        } finally {
+            GlobalClock.reset();
+        }
+    }
+
+    /**
+     * 回拨在容忍范围内时沿用上次的时间继续生成
+     */
+    @Test
+    public void clockBackwardsToleratedTest() {
+        final FakeClock clock = new FakeClock(1600000000000L);
+        GlobalClock.set(clock);
+        try {
+            final Snowflake snowflake = new Snowflake(null, 1, 1, false, 10, 0);
+            final long id = snowflake.nextId();
+            clock.set(1600000000000L - 10);
+            Assert.assertTrue(snowflake.nextId() > id);
+        } finally {
+            GlobalClock.reset();
+        }
+    }
+
+    // ---------------------------------------------------------------------------------------------- Private method start
+
+    /**
+     * 多个线程同时生成，返回每秒生成的ID数
+     *
+     * @param snowflake   ID生成器
+     * @param threadCount 线程数
+     * @param perThread   每个线程生成的ID数
+     * @return 每秒生成的ID数
+     */
+    private static long throughput(Snowflake snowflake, int threadCount, int perThread) throws InterruptedException {
+        final CountDownLatch start = new CountDownLatch(1);
+        final Thread[] threads = new Thread[threadCount];
+        final long[] sinks = new long[threadCount];
+        for (int t = 0; t < threadCount; t++) {
+            final int index = t;
+            threads[t] = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                long sink = 0;
+                for (int i = 0; i < perThread; i++) {
+                    sink ^= snowflake.nextId();
+                }
+                sinks[index] = sink;
+            });
+            threads[t].start();
+        }
+
+        final long begin = System.nanoTime();
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        final long cost = Math.max(1, System.nanoTime() - begin);
+        return (long) threadCount * perThread * TimeUnit.SECONDS.toNanos(1) / cost;
+    }
+    // ---------------------------------------------------------------------------------------------- Private method end
+}
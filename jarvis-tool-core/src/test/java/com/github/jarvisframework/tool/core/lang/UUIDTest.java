@@ -0,0 +1,90 @@
+package com.github.jarvisframework.tool.core.lang;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * <p>UUID测试类</p>
+ *
+ * @author Doug Wang
+ * @since 1.0, 2026-10-19 13:05:18
+ */
+public class UUIDTest {
+
+    /**
+     * 字符串形式与{@link java.util.UUID#toString()}一致，可以互相解析，比较结果一致
+     */
+    @Test
+    public void toStringTest() {
+        final Random random = new Random(44L);
+        final long[][] bits = new long[1000][];
+        bits[0] = new long[]{0, 0};
+        bits[1] = new long[]{-1, -1};
+        bits[2] = new long[]{Long.MIN_VALUE, Long.MAX_VALUE};
+        for (int i = 3; i < bits.length; i++) {
+            bits[i] = new long[]{random.nextLong(), random.nextLong()};
+        }
+
+        java.util.UUID previousJdk = null;
+        UUID previous = null;
+        for (long[] bit : bits) {
+            final UUID uuid = new UUID(bit[0], bit[1]);
+            final java.util.UUID jdk = new java.util.UUID(bit[0], bit[1]);
+            Assert.assertEquals(jdk.toString(), uuid.toString());
+            Assert.assertEquals(jdk.toString().replace("-", ""), uuid.toString(true));
+            Assert.assertEquals(uuid, UUID.fromString(jdk.toString()));
+            Assert.assertEquals(jdk.hashCode(), uuid.hashCode());
+            if (null != previous) {
+                Assert.assertEquals(Integer.signum(jdk.compareTo(previousJdk)), Integer.signum(uuid.compareTo(previous)));
+            }
+            previousJdk = jdk;
+            previous = uuid;
+        }
+    }
+
+    /**
+     * 写入字符数组、字节数组和{@link StringBuilder}的结果与toString一致
+     */
+    @Test
+    public void writeToTest() {
+        final UUID uuid = UUID.randomUUID();
+        for (boolean isSimple : new boolean[]{false, true}) {
+            final String expected = uuid.toString(isSimple);
+
+            final char[] chars = new char[expected.length() + 3];
+            Arrays.fill(chars, '#');
+            Assert.assertEquals(2 + expected.length(), uuid.writeTo(chars, 2, isSimple));
+            Assert.assertEquals("##" + expected + "#", new String(chars));
+
+            final byte[] bytes = new byte[expected.length() + 3];
+            Arrays.fill(bytes, (byte) '#');
+            Assert.assertEquals(2 + expected.length(), uuid.writeTo(bytes, 2, isSimple));
+            Assert.assertEquals("##" + expected + "#", new String(bytes, StandardCharsets.US_ASCII));
+
+            Assert.assertEquals("uuid:" + expected, uuid.appendTo(new StringBuilder("uuid:"), isSimple).toString());
+        }
+    }
+
+    /**
+     * fastUUID生成版本4、IETF变体的UUID，且不重复
+     */
+    @Test
+    public void fastUUIDTest() {
+        final Set<UUID> uuids = new HashSet<>();
+        for (int i = 0; i < 10000; i++) {
+            final UUID uuid = UUID.fastUUID();
+            Assert.assertEquals(4, uuid.version());
+            Assert.assertEquals(2, uuid.variant());
+            final java.util.UUID jdk = java.util.UUID.fromString(uuid.toString());
+            Assert.assertEquals(4, jdk.version());
+            Assert.assertEquals(2, jdk.variant());
+            Assert.assertTrue(uuids.add(uuid));
+        }
+    }
+}
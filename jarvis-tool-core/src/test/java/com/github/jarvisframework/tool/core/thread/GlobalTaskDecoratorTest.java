@@ -0,0 +1,93 @@
+package com.github.jarvisframework.tool.core.thread;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>GlobalTaskDecorator测试类</p>
+ *
+ * @author Doug Wang
+ * @since 1.0, 2026-10-19 09:40:22
+ */
+public class GlobalTaskDecoratorTest {
+
+    /**
+     * execute、submit(Runnable)按Runnable装饰，submit(Callable)按Callable装饰，每个装饰器只执行一次，
+     * 后注册的装饰器在外层
+     */
+    @Test
+    public void decorateOrderTest() throws Exception {
+        final List<String> trace = new CopyOnWriteArrayList<>();
+        final TaskDecorator first = new RecordingDecorator("first", trace);
+        final TaskDecorator second = new RecordingDecorator("second", trace);
+        GlobalTaskDecorator.register(first);
+        GlobalTaskDecorator.register(second);
+        final ThreadPoolExecutor executor = ExecutorBuilder.create().setCorePoolSize(1).build();
+        try {
+            final CountDownLatch latch = new CountDownLatch(1);
+            executor.execute(() -> {
+                trace.add("task");
+                latch.countDown();
+            });
+            Assert.assertTrue(latch.await(5, TimeUnit.SECONDS));
+            Assert.assertEquals(Arrays.asList("second-runnable", "first-runnable", "task"), trace);
+
+            trace.clear();
+            final Runnable task = () -> trace.add("task");
+            executor.submit(task).get(5, TimeUnit.SECONDS);
+            Assert.assertEquals(Arrays.asList("second-runnable", "first-runnable", "task"), trace);
+
+            trace.clear();
+            Assert.assertEquals("result", executor.submit(() -> {
+                trace.add("task");
+                return "result";
+            }).get(5, TimeUnit.SECONDS));
+            Assert.assertEquals(Arrays.asList("second-callable", "first-callable", "task"), trace);
+
+            trace.clear();
+            executor.invokeAll(Arrays.<Callable<String>>asList(() -> "a"));
+            Assert.assertEquals(Arrays.asList("second-callable", "first-callable"), trace);
+        } finally {
+            executor.shutdownNow();
+            GlobalTaskDecorator.unregister(first);
+            GlobalTaskDecorator.unregister(second);
+        }
+    }
+
+    /**
+     * 执行前记录名称的装饰器
+     */
+    private static class RecordingDecorator implements TaskDecorator {
+        private final String name;
+        private final List<String> trace;
+
+        RecordingDecorator(String name, List<String> trace) {
+            this.name = name;
+            this.trace = trace;
+        }
+
+        @Override
+        public Runnable decorate(Runnable runnable) {
+            return () -> {
+                trace.add(name + "-runnable");
+                runnable.run();
+            };
+        }
+
+        @Override
+        public <T> Callable<T> decorate(Callable<T> callable) {
+            return () -> {
+                trace.add(name + "-callable");
+                return callable.call();
+            };
+        }
+    }
+}
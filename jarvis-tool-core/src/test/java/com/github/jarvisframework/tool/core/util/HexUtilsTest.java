@@ -0,0 +1,61 @@
+package com.github.jarvisframework.tool.core.util;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * <p>HexUtils测试类</p>
+ *
+ * @author Doug Wang
+ * @since 1.0, 2026-10-19 13:05:18
+ */
+public class HexUtilsTest {
+
+    /**
+     * writeHex和appendHex按位数截取低位并补0，结果与{@link Long#toHexString(long)}一致，不写入给定范围以外的位置
+     */
+    @Test
+    public void writeHexTest() {
+        final Random random = new Random(44L);
+        final long[] values = new long[100];
+        values[0] = 0;
+        values[1] = -1;
+        values[2] = Long.MIN_VALUE;
+        values[3] = 0x0123456789abcdefL;
+        for (int i = 4; i < values.length; i++) {
+            values[i] = random.nextLong();
+        }
+
+        for (long value : values) {
+            for (int digits = 1; digits <= 16; digits++) {
+                final String expected = expected(value, digits);
+
+                final char[] chars = new char[digits + 4];
+                Arrays.fill(chars, '#');
+                Assert.assertEquals(2 + digits, HexUtils.writeHex(value, digits, chars, 2));
+                Assert.assertEquals("##" + expected + "##", new String(chars));
+
+                final byte[] bytes = new byte[digits + 4];
+                Arrays.fill(bytes, (byte) '#');
+                Assert.assertEquals(2 + digits, HexUtils.writeHex(value, digits, bytes, 2));
+                Assert.assertEquals("##" + expected + "##", new String(bytes, StandardCharsets.US_ASCII));
+
+                final StringBuilder builder = new StringBuilder("##");
+                HexUtils.appendHex(builder, value, digits);
+                Assert.assertEquals("##" + expected, builder.toString());
+            }
+        }
+    }
+
+    // ---------------------------------------------------------------------------------------------- Private method start
+
+    private static String expected(long value, int digits) {
+        final String hex = StringUtils.padPre(Long.toHexString(value), 16, '0');
+        return hex.substring(16 - digits);
+    }
+    // ---------------------------------------------------------------------------------------------- Private method end
+}
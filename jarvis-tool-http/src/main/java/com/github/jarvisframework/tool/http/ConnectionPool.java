@@ -0,0 +1,335 @@
+package com.github.jarvisframework.tool.http;
+
+import com.github.jarvisframework.tool.core.date.GlobalClock;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * <p>HTTP连接池</p>
+ * 按{@link Route}分别管理连接：
+ * <ul>
+ *     <li>每个路由的连接数（使用中和空闲）不超过maxPerRoute，达到上限时等待其他请求归还</li>
+ *     <li>空闲连接后进先出，空闲超过idleTimeout或超过服务端声明的keep-alive时长后关闭</li>
+ *     <li>空闲超过validateAfterInactivity的连接在使用前检查是否已被服务端关闭</li>
+ *     <li>HTTPS配置变更后，使用旧配置建立的空闲连接在获取时关闭</li>
+ * </ul>
+ * 关闭连接等IO操作都在锁外进行。
+ *
+ * @author Doug Wang
+ * @since 1.0, 2026-10-18 23:42:16
+ */
+final class ConnectionPool implements Closeable {
+
+    /**
+     * 全量清理过期连接的最小间隔
+     */
+    private static final long SWEEP_INTERVAL = 1000;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<Route, RouteEntry> routes = new HashMap<>();
+
+    private volatile int maxPerRoute;
+    private volatile long idleTimeout;
+    private volatile long validateAfterInactivity;
+
+    private long lastSweep;
+    private boolean closed;
+
+    /**
+     * 构造
+     *
+     * @param maxPerRoute             每个路由的最大连接数
+     * @param idleTimeout             空闲连接的最大保持时间，毫秒
+     * @param validateAfterInactivity 空闲超过此时间的连接在使用前检查，毫秒
+     */
+    ConnectionPool(int maxPerRoute, long idleTimeout, long validateAfterInactivity) {
+        this.maxPerRoute = maxPerRoute;
+        this.idleTimeout = idleTimeout;
+        this.validateAfterInactivity = validateAfterInactivity;
+    }
+
+    void setMaxPerRoute(int maxPerRoute) {
+        this.maxPerRoute = maxPerRoute;
+    }
+
+    void setIdleTimeout(long idleTimeout) {
+        this.idleTimeout = idleTimeout;
+    }
+
+    void setValidateAfterInactivity(long validateAfterInactivity) {
+        this.validateAfterInactivity = validateAfterInactivity;
+    }
+
+    /**
+     * 获取连接，优先使用空闲连接，没有时在上限内新建，达到上限时等待
+     *
+     * @param route      路由
+     * @param sslConfig  请求使用的HTTPS配置，使用其他配置建立的空闲连接被关闭
+     * @param waitMillis 等待其他请求归还连接的最长时间，毫秒
+     * @param validate   是否检查所有空闲连接，用于复用的连接失败后重试
+     * @param connector  新建连接的方法
+     * @return 连接
+     * @throws IOException 等待超时、连接失败或连接池已关闭
+     */
+    HttpConnection lease(Route route, SSLConfig sslConfig, long waitMillis, boolean validate, Connector connector) throws IOException {
+        long remaining = TimeUnit.MILLISECONDS.toNanos(waitMillis);
+        while (true) {
+            final List<HttpConnection> discarded = new ArrayList<>(0);
+            HttpConnection conn = null;
+            boolean needValidate = false;
+            boolean create = false;
+            lock.lock();
+            try {
+                if (closed) {
+                    throw new IOException("Connection pool is closed");
+                }
+                final RouteEntry entry = routes.computeIfAbsent(route, key -> new RouteEntry(lock.newCondition()));
+                final long now = GlobalClock.currentTimeMillis();
+                while (null != (conn = entry.idle.pollFirst())) {
+                    if (conn.isExpired(now) || conn.idleMillis(now) > idleTimeout || false == conn.isCompatible(sslConfig)) {
+                        entry.total--;
+                        discarded.add(conn);
+                        continue;
+                    }
+                    needValidate = validate || conn.idleMillis(now) > validateAfterInactivity;
+                    break;
+                }
+                if (null == conn) {
+                    if (entry.total < maxPerRoute) {
+                        entry.total++;
+                        create = true;
+                    } else if (remaining <= 0) {
+                        throw new IOException("Timeout waiting for connection from pool: " + route);
+                    } else {
+                        entry.waiters++;
+                        try {
+                            remaining = entry.available.awaitNanos(remaining);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                            throw new IOException("Interrupted waiting for connection from pool: " + route);
+                        } finally {
+                            entry.waiters--;
+                        }
+                    }
+                }
+            } finally {
+                lock.unlock();
+                closeAll(discarded);
+            }
+
+            if (create) {
+                try {
+                    return connector.connect();
+                } catch (IOException | RuntimeException e) {
+                    release(route, null, false);
+                    throw e;
+                }
+            }
+            if (null != conn) {
+                if (needValidate && conn.isStale()) {
+                    release(route, conn, false);
+                    continue;
+                }
+                return conn;
+            }
+        }
+    }
+
+    /**
+     * 归还连接
+     *
+     * @param conn     连接
+     * @param reusable 是否可以复用，false时关闭连接
+     */
+    void release(HttpConnection conn, boolean reusable) {
+        release(conn.getRoute(), conn, reusable);
+    }
+
+    /**
+     * 关闭所有空闲连接
+     */
+    void closeIdle() {
+        final List<HttpConnection> discarded = new ArrayList<>();
+        lock.lock();
+        try {
+            for (RouteEntry entry : routes.values()) {
+                entry.total -= entry.idle.size();
+                discarded.addAll(entry.idle);
+                entry.idle.clear();
+                entry.available.signalAll();
+            }
+        } finally {
+            lock.unlock();
+        }
+        closeAll(discarded);
+    }
+
+    /**
+     * 连接总数（使用中和空闲）
+     *
+     * @return 连接总数
+     */
+    int getConnectionCount() {
+        lock.lock();
+        try {
+            int count = 0;
+            for (RouteEntry entry : routes.values()) {
+                count += entry.total;
+            }
+            return count;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 空闲连接数
+     *
+     * @return 空闲连接数
+     */
+    int getIdleCount() {
+        lock.lock();
+        try {
+            int count = 0;
+            for (RouteEntry entry : routes.values()) {
+                count += entry.idle.size();
+            }
+            return count;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 关闭连接池，关闭所有空闲连接，使用中的连接在归还时关闭
+     */
+    @Override
+    public void close() {
+        lock.lock();
+        try {
+            closed = true;
+        } finally {
+            lock.unlock();
+        }
+        closeIdle();
+    }
+
+    // ------------------------------------------------------------------------ Private method start
+
+    /**
+     * 归还连接或释放新建连接失败时预留的名额
+     *
+     * @param route    路由
+     * @param conn     连接，为null表示只释放名额
+     * @param reusable 是否可以复用
+     */
+    private void release(Route route, HttpConnection conn, boolean reusable) {
+        final List<HttpConnection> discarded = new ArrayList<>(0);
+        lock.lock();
+        try {
+            final RouteEntry entry = routes.get(route);
+            final long now = GlobalClock.currentTimeMillis();
+            if (reusable && false == closed && null != entry) {
+                conn.markIdle(now);
+                entry.idle.addFirst(conn);
+            } else {
+                if (null != entry) {
+                    entry.total--;
+                }
+                if (null != conn) {
+                    discarded.add(conn);
+                }
+            }
+            if (null != entry) {
+                entry.available.signal();
+            }
+            if (now - lastSweep >= SWEEP_INTERVAL) {
+                lastSweep = now;
+                sweep(now, discarded);
+            }
+        } finally {
+            lock.unlock();
+        }
+        closeAll(discarded);
+    }
+
+    /**
+     * 清理所有路由中过期的空闲连接，并移除没有连接的路由，需持有锁
+     *
+     * @param now       当前时间
+     * @param discarded 需要关闭的连接
+     */
+    private void sweep(long now, List<HttpConnection> discarded) {
+        final Iterator<RouteEntry> iterator = routes.values().iterator();
+        while (iterator.hasNext()) {
+            final RouteEntry entry = iterator.next();
+            // 最早归还的连接在队尾
+            HttpConnection conn;
+            while (null != (conn = entry.idle.peekLast()) && (conn.isExpired(now) || conn.idleMillis(now) > idleTimeout)) {
+                entry.idle.pollLast();
+                entry.total--;
+                discarded.add(conn);
+            }
+            if (0 == entry.total && 0 == entry.waiters) {
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * 关闭连接
+     *
+     * @param connections 连接列表
+     */
+    private static void closeAll(List<HttpConnection> connections) {
+        for (HttpConnection conn : connections) {
+            conn.close();
+        }
+    }
+    // ------------------------------------------------------------------------ Private method end
+
+    /**
+     * 新建连接的方法
+     */
+    @FunctionalInterface
+    interface Connector {
+        /**
+         * 新建连接
+         *
+         * @return 连接
+         * @throws IOException 连接失败
+         */
+        HttpConnection connect() throws IOException;
+    }
+
+    /**
+     * 单个路由的连接
+     */
+    private static class RouteEntry {
+        /**
+         * 空闲连接，最近归还的在队首
+         */
+        final Deque<HttpConnection> idle = new ArrayDeque<>();
+        final Condition available;
+        /**
+         * 连接总数，包括使用中、空闲和正在新建的
+         */
+        int total;
+        int waiters;
+
+        RouteEntry(Condition available) {
+            this.available = available;
+        }
+    }
+}
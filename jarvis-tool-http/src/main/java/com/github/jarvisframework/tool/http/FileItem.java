@@ -1,6 +1,12 @@
 package com.github.jarvisframework.tool.http;
 
+import com.github.jarvisframework.tool.core.io.IORuntimeException;
+import com.github.jarvisframework.tool.core.io.IOUtils;
+
 import java.io.*;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
 
 /**
  * <p>文件包装类 ， 支持本地文件 、 字节数组和输入流三种方式 。</p>
@@ -88,10 +94,37 @@ public class FileItem {
         return this.contract.getFileLength();
     }
 
+    /**
+     * 文件长度是否已知，基于输入流时长度未知，{@link #getFileLength()}返回0
+     *
+     * @return 长度是否已知
+     */
+    boolean isLengthKnown() {
+        return this.contract.isLengthKnown();
+    }
+
     public void write(OutputStream output) throws IOException {
         this.contract.write(output);
     }
 
+    /**
+     * 拷贝流，使用复用缓冲区且只在结束时flush，IO异常按原样抛出
+     *
+     * @param input  输入流
+     * @param output 输出流
+     * @throws IOException IO异常
+     */
+    private static void copy(InputStream input, OutputStream output) throws IOException {
+        try {
+            IOUtils.copy(input, output);
+        } catch (IORuntimeException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
     private static interface Contract {
 
         boolean isValid();
@@ -102,6 +135,10 @@ public class FileItem {
 
         long getFileLength();
 
+        default boolean isLengthKnown() {
+            return true;
+        }
+
         void write(OutputStream output) throws IOException;
     }
 
@@ -132,19 +169,23 @@ public class FileItem {
             return this.file.length();
         }
 
+        /**
+         * 通过{@link FileChannel#transferTo(long, long, WritableByteChannel)}分段写出，不缓存整个文件
+         */
         @Override
         public void write(OutputStream output) throws IOException {
-            InputStream input = null;
-            try {
-                input = new FileInputStream(this.file);
-                byte[] buffer = new byte[1024 * 4];
-                int n;
-                while (-1 != (n = input.read(buffer))) {
-                    output.write(buffer, 0, n);
-                }
-            } finally {
-                if (input != null) {
-                    input.close();
+            try (FileInputStream input = new FileInputStream(this.file)) {
+                final FileChannel channel = input.getChannel();
+                final WritableByteChannel target = Channels.newChannel(output);
+                final long size = channel.size();
+                long position = 0;
+                while (position < size) {
+                    final long count = channel.transferTo(position, size - position, target);
+                    if (count <= 0) {
+                        // 文件被截断
+                        break;
+                    }
+                    position += count;
                 }
             }
         }
@@ -226,14 +267,15 @@ public class FileItem {
             return 0L;
         }
 
+        @Override
+        public boolean isLengthKnown() {
+            return false;
+        }
+
         @Override
         public void write(OutputStream output) throws IOException {
             try {
-                byte[] buffer = new byte[1024 * 4];
-                int n;
-                while (-1 != (n = stream.read(buffer))) {
-                    output.write(buffer, 0, n);
-                }
+                copy(stream, output);
             } finally {
                 if (stream != null) {
                     stream.close();
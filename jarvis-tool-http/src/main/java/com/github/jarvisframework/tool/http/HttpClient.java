@@ -0,0 +1,486 @@
+package com.github.jarvisframework.tool.http;
+
+import com.github.jarvisframework.tool.core.io.IORuntimeException;
+import com.github.jarvisframework.tool.core.lang.Assert;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * <p>HTTP客户端</p>
+ * 基于连接池的HTTP/1.1客户端，同一路由（协议、主机、端口）的请求复用keep-alive连接：
+ * <ul>
+ *     <li>每个路由的最大连接数，达到上限时等待其他请求归还连接（最长等待连接超时时间）</li>
+ *     <li>空闲超时，以及服务端Keep-Alive响应头声明的超时</li>
+ *     <li>空闲一段时间后的连接在使用前检查是否已被服务端关闭，复用的连接在收到响应前断开时自动重试一次</li>
+ *     <li>响应体总是被完整读取后才归还连接</li>
+ * </ul>
+ * {@link #sendAsync(HttpRequest)}通过少量NIO事件循环线程发送请求，不占用调用线程，
+ * 同样遵守每个路由的最大连接数（与同步请求分别计算），超出的请求排队等待。
+ * 客户端是线程安全的，应当作为单例长期使用，不再使用时调用{@link #close()}关闭连接。
+ * 客户端总是直接连接目标地址，不使用{@link java.net.ProxySelector}选择的代理。
+ *
+ * <pre>
+ * HttpClient client = HttpClient.create().setMaxPerRoute(50);
+ * HttpResponse response = client.send(HttpRequest.get("http://localhost:8080/ping"));
+ * client.sendAsync(HttpRequest.get("http://localhost:8080/ping")).thenAccept(r -&gt; ...);
+ * </pre>
+ *
+ * @author Doug Wang
+ * @since 1.0, 2026-10-18 23:42:16
+ */
+public class HttpClient implements Closeable {
+
+    /**
+     * 默认每个路由的最大连接数
+     */
+    public static final int DEFAULT_MAX_PER_ROUTE = 20;
+    /**
+     * 默认空闲连接保持时间，毫秒
+     */
+    public static final long DEFAULT_IDLE_TIMEOUT = 60 * 1000;
+    /**
+     * 默认空闲多久后使用前检查连接，毫秒
+     */
+    public static final long DEFAULT_VALIDATE_AFTER_INACTIVITY = 2000;
+    /**
+     * 默认连接超时，毫秒
+     */
+    public static final int DEFAULT_CONNECT_TIMEOUT = 15000;
+    /**
+     * 默认读取超时，毫秒
+     */
+    public static final int DEFAULT_READ_TIMEOUT = 30000;
+    /**
+     * 最大重定向次数
+     */
+    private static final int MAX_REDIRECTS = 5;
+
+    private final ConnectionPool pool = new ConnectionPool(DEFAULT_MAX_PER_ROUTE, DEFAULT_IDLE_TIMEOUT, DEFAULT_VALIDATE_AFTER_INACTIVITY);
+    private volatile SSLConfig sslConfig = SSLConfig.create();
+    private volatile int maxPerRoute = DEFAULT_MAX_PER_ROUTE;
+    private volatile long idleTimeout = DEFAULT_IDLE_TIMEOUT;
+    private volatile int connectTimeout = DEFAULT_CONNECT_TIMEOUT;
+    private volatile int readTimeout = DEFAULT_READ_TIMEOUT;
+    private volatile boolean followRedirects = true;
+
+    /**
+     * 异步请求的事件循环线程数
+     */
+    private int ioThreads = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() / 2));
+    /**
+     * 完成异步请求Future的线程池
+     */
+    private Executor callbackExecutor = ForkJoinPool.commonPool();
+    /**
+     * 异步传输，第一次异步请求时创建
+     */
+    private volatile NioTransport transport;
+    private boolean closed;
+
+    /**
+     * 创建客户端
+     *
+     * @return HttpClient
+     */
+    public static HttpClient create() {
+        return new HttpClient();
+    }
+
+    /**
+     * 设置每个路由的最大连接数
+     *
+     * @param maxPerRoute 最大连接数
+     * @return this
+     */
+    public HttpClient setMaxPerRoute(int maxPerRoute) {
+        Assert.isTrue(maxPerRoute > 0, "Max connections per route must be greater than 0!");
+        this.maxPerRoute = maxPerRoute;
+        pool.setMaxPerRoute(maxPerRoute);
+        final NioTransport transport = this.transport;
+        if (null != transport) {
+            transport.setMaxPerRoute(maxPerRoute);
+        }
+        return this;
+    }
+
+    /**
+     * 设置空闲连接保持时间
+     *
+     * @param idleTimeout 毫秒数
+     * @return this
+     */
+    public HttpClient setIdleTimeout(long idleTimeout) {
+        this.idleTimeout = idleTimeout;
+        pool.setIdleTimeout(idleTimeout);
+        final NioTransport transport = this.transport;
+        if (null != transport) {
+            transport.setIdleTimeout(idleTimeout);
+        }
+        return this;
+    }
+
+    /**
+     * 设置空闲多久后在使用前检查连接是否可用
+     *
+     * @param validateAfterInactivity 毫秒数，0表示每次都检查
+     * @return this
+     */
+    public HttpClient setValidateAfterInactivity(long validateAfterInactivity) {
+        pool.setValidateAfterInactivity(validateAfterInactivity);
+        return this;
+    }
+
+    /**
+     * 设置默认超时，连接超时同时作为从连接池获取连接的最长等待时间，
+     * 异步请求的读取超时作为整个请求（含排队、连接、发送和接收）的超时
+     *
+     * @param connectTimeout 连接超时毫秒数
+     * @param readTimeout    读取超时毫秒数
+     * @return this
+     */
+    public HttpClient setTimeout(int connectTimeout, int readTimeout) {
+        this.connectTimeout = connectTimeout;
+        this.readTimeout = readTimeout;
+        return this;
+    }
+
+    /**
+     * 设置HTTPS配置，已有的空闲连接会被关闭，使用中的连接在请求结束后关闭
+     *
+     * @param sslConfig HTTPS配置
+     * @return this
+     */
+    public HttpClient setSSLConfig(SSLConfig sslConfig) {
+        Assert.notNull(sslConfig, "SSLConfig must not be null!");
+        this.sslConfig = sslConfig;
+        pool.closeIdle();
+        final NioTransport transport = this.transport;
+        if (null != transport) {
+            transport.closeIdle();
+        }
+        return this;
+    }
+
+    /**
+     * 设置异步请求的事件循环线程数，需在第一次异步请求前设置
+     *
+     * @param ioThreads 线程数
+     * @return this
+     */
+    public synchronized HttpClient setIoThreads(int ioThreads) {
+        Assert.isTrue(ioThreads > 0, "IO threads must be greater than 0!");
+        Assert.isNull(transport, "Async transport has already been started!");
+        this.ioThreads = ioThreads;
+        return this;
+    }
+
+    /**
+     * 设置完成异步请求Future的线程池，默认为{@link ForkJoinPool#commonPool()}，需在第一次异步请求前设置
+     *
+     * @param callbackExecutor 线程池
+     * @return this
+     */
+    public synchronized HttpClient setCallbackExecutor(Executor callbackExecutor) {
+        Assert.notNull(callbackExecutor, "Callback executor must not be null!");
+        Assert.isNull(transport, "Async transport has already been started!");
+        this.callbackExecutor = callbackExecutor;
+        return this;
+    }
+
+    /**
+     * 设置是否自动跟随同协议的重定向
+     *
+     * @param followRedirects 是否跟随重定向
+     * @return this
+     */
+    public HttpClient setFollowRedirects(boolean followRedirects) {
+        this.followRedirects = followRedirects;
+        return this;
+    }
+
+    /**
+     * 发送请求，响应体完整读取后返回
+     *
+     * @param request 请求
+     * @return 响应
+     * @throws IOException 连接、读写失败或超时
+     */
+    public HttpResponse send(HttpRequest request) throws IOException {
+        HttpRequest current = request;
+        for (int redirects = 0; ; redirects++) {
+            final HttpResponse response = execute(current);
+            if (false == followRedirects || redirects >= MAX_REDIRECTS) {
+                return response;
+            }
+            final HttpRequest next = redirect(current, response);
+            if (null == next) {
+                return response;
+            }
+            current = next;
+        }
+    }
+
+    /**
+     * 异步发送请求，不阻塞调用线程<br>
+     * 超时（请求的读取超时或客户端默认读取超时）从调用时开始计算，超时时连接被关闭，Future以{@link java.net.SocketTimeoutException}结束；
+     * 取消Future同样会中止请求（跟随重定向时为当前的请求）并关闭连接
+     *
+     * @param request 请求
+     * @return 响应的Future
+     */
+    public CompletableFuture<HttpResponse> sendAsync(HttpRequest request) {
+        if (false == followRedirects) {
+            return submit(request);
+        }
+        final CompletableFuture<HttpResponse> result = new CompletableFuture<>();
+        final AtomicReference<CompletableFuture<HttpResponse>> current = new AtomicReference<>();
+        result.whenComplete((response, e) -> {
+            if (result.isCancelled()) {
+                current.get().cancel(false);
+            }
+        });
+        follow(request, 0, result, current);
+        return result;
+    }
+
+    /**
+     * 异步发送一批请求，请求并发发送，受每个路由的最大连接数限制，任一请求失败时返回的Future以该异常结束
+     *
+     * @param requests 请求列表
+     * @return 与请求顺序一致的响应列表的Future
+     */
+    public CompletableFuture<List<HttpResponse>> sendAll(Collection<HttpRequest> requests) {
+        final List<CompletableFuture<HttpResponse>> futures = new ArrayList<>(requests.size());
+        for (HttpRequest request : requests) {
+            futures.add(sendAsync(request));
+        }
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).thenApply(ignore -> {
+            final List<HttpResponse> responses = new ArrayList<>(futures.size());
+            for (CompletableFuture<HttpResponse> future : futures) {
+                responses.add(future.join());
+            }
+            return responses;
+        });
+    }
+
+    /**
+     * 连接总数（使用中和空闲）
+     *
+     * @return 连接总数
+     */
+    public int getConnectionCount() {
+        return pool.getConnectionCount();
+    }
+
+    /**
+     * 空闲连接数
+     *
+     * @return 空闲连接数
+     */
+    public int getIdleConnectionCount() {
+        return pool.getIdleCount();
+    }
+
+    /**
+     * 关闭所有空闲连接
+     */
+    public void closeIdleConnections() {
+        pool.closeIdle();
+    }
+
+    /**
+     * 关闭客户端，关闭所有空闲连接，使用中的连接在请求结束后关闭，未完成的异步请求以异常结束
+     */
+    @Override
+    public void close() {
+        pool.close();
+        synchronized (this) {
+            closed = true;
+            if (null != transport) {
+                transport.close();
+            }
+        }
+    }
+
+    // ------------------------------------------------------------------------ Private method start
+
+    /**
+     * 异步发送一次请求，不跟随重定向
+     *
+     * @param request 请求
+     * @return 响应的Future，取消时中止请求
+     */
+    private CompletableFuture<HttpResponse> submit(HttpRequest request) {
+        final int connectTimeout = request.getConnectTimeout() >= 0 ? request.getConnectTimeout() : this.connectTimeout;
+        final int readTimeout = request.getReadTimeout() >= 0 ? request.getReadTimeout() : this.readTimeout;
+        try {
+            return transport().submit(request, sslConfig, connectTimeout, readTimeout);
+        } catch (IORuntimeException e) {
+            final CompletableFuture<HttpResponse> failed = new CompletableFuture<>();
+            failed.completeExceptionally(e.getCause());
+            return failed;
+        }
+    }
+
+    /**
+     * 异步发送请求，收到重定向响应时继续发送新请求，最终结果写入result
+     *
+     * @param request   请求
+     * @param redirects 已重定向次数
+     * @param result    最终响应的Future
+     * @param current   当前正在进行的请求，result被取消时取消此请求
+     */
+    private void follow(HttpRequest request, int redirects, CompletableFuture<HttpResponse> result,
+                        AtomicReference<CompletableFuture<HttpResponse>> current) {
+        final CompletableFuture<HttpResponse> future = submit(request);
+        current.set(future);
+        if (result.isDone()) {
+            // 在设置当前请求前已被取消
+            future.cancel(false);
+            return;
+        }
+        future.whenComplete((response, e) -> {
+            if (null != e) {
+                result.completeExceptionally(e);
+                return;
+            }
+            final HttpRequest next;
+            try {
+                next = redirects < MAX_REDIRECTS ? redirect(request, response) : null;
+            } catch (IOException ex) {
+                result.completeExceptionally(ex);
+                return;
+            }
+            if (null == next) {
+                result.complete(response);
+            } else {
+                follow(next, redirects + 1, result, current);
+            }
+        });
+    }
+
+    /**
+     * 获取异步传输，第一次调用时创建
+     *
+     * @return 异步传输
+     * @throws IORuntimeException 客户端已关闭或创建Selector失败
+     */
+    private NioTransport transport() {
+        NioTransport transport = this.transport;
+        if (null == transport) {
+            synchronized (this) {
+                transport = this.transport;
+                if (null == transport) {
+                    if (closed) {
+                        throw new IORuntimeException(new IOException("HttpClient is closed"));
+                    }
+                    try {
+                        transport = new NioTransport(ioThreads, callbackExecutor, maxPerRoute, idleTimeout);
+                    } catch (IOException e) {
+                        throw new IORuntimeException(e);
+                    }
+                    this.transport = transport;
+                }
+            }
+        }
+        return transport;
+    }
+
+    /**
+     * 在一个连接上完成一次请求
+     *
+     * @param request 请求
+     * @return 响应
+     * @throws IOException IO异常
+     */
+    private HttpResponse execute(HttpRequest request) throws IOException {
+        final Route route = Route.of(request.getUrl());
+        final int connectTimeout = request.getConnectTimeout() >= 0 ? request.getConnectTimeout() : this.connectTimeout;
+        final int readTimeout = request.getReadTimeout() >= 0 ? request.getReadTimeout() : this.readTimeout;
+        final SSLConfig sslConfig = this.sslConfig;
+
+        boolean retried = false;
+        while (true) {
+            final HttpConnection conn = pool.lease(route, sslConfig, connectTimeout, retried,
+                    () -> HttpConnection.open(route, connectTimeout, sslConfig));
+            boolean received = false;
+            boolean reusable = false;
+            try {
+                conn.setReadTimeout(readTimeout);
+                HttpCodec.writeRequest(conn.getOutputStream(), request, route);
+                received = conn.awaitResponse();
+                if (false == received) {
+                    throw new EOFException("Connection closed before response: " + route);
+                }
+                final HttpCodec.Result result = HttpCodec.readResponse(conn.getInputStream(), request.getMethod());
+                reusable = result.keepAlive;
+                conn.setKeepAlive(result.keepAliveMillis);
+                return result.response;
+            } catch (IOException e) {
+                // 复用的连接可能在检查后被服务端关闭，没有收到任何响应时换一个连接重试
+                if (conn.isReused() && false == received && false == retried) {
+                    retried = true;
+                    continue;
+                }
+                throw e;
+            } finally {
+                // 请求期间HTTPS配置已变更的连接不再归还
+                pool.release(conn, reusable && conn.isCompatible(this.sslConfig));
+            }
+        }
+    }
+
+    /**
+     * 根据重定向响应生成新的请求，规则与{@link HttpURLConnection}一致：只跟随同协议的重定向，
+     * 301、302、303将非GET/HEAD请求改为不带请求体的GET，307、308只跟随GET/HEAD请求
+     *
+     * @param request  原请求
+     * @param response 响应
+     * @return 新请求，不需要重定向时为null
+     * @throws IOException Location格式错误
+     */
+    private static HttpRequest redirect(HttpRequest request, HttpResponse response) throws IOException {
+        final int status = response.getStatus();
+        if (status < HttpURLConnection.HTTP_MULT_CHOICE || status > 308 || 304 == status || 305 == status || 306 == status) {
+            return null;
+        }
+        final String location = response.getHeader(HttpUtils.HttpHeader.LOCATION);
+        if (null == location) {
+            return null;
+        }
+        final URL target = new URL(request.getUrl(), location);
+        if (false == target.getProtocol().equalsIgnoreCase(request.getUrl().getProtocol())) {
+            return null;
+        }
+
+        final String method = request.getMethod();
+        final boolean safe = HttpUtils.HttpMethod.GET.equals(method) || HttpUtils.HttpMethod.HEAD.equals(method);
+        final HttpRequest next;
+        if (safe) {
+            next = new HttpRequest(method, target.toString());
+        } else if (status <= HttpURLConnection.HTTP_SEE_OTHER) {
+            next = HttpRequest.get(target.toString());
+        } else {
+            return null;
+        }
+        for (Map.Entry<String, String> header : request.getHeaders().entrySet()) {
+            if (safe || false == HttpUtils.HttpHeader.CONTENT_TYPE.equalsIgnoreCase(header.getKey())) {
+                next.header(header.getKey(), header.getValue());
+            }
+        }
+        return next.timeout(request.getConnectTimeout(), request.getReadTimeout());
+    }
+    // ------------------------------------------------------------------------ Private method end
+}
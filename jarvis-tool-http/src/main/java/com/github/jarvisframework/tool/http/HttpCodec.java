@@ -0,0 +1,406 @@
+package com.github.jarvisframework.tool.http;
+
+import com.github.jarvisframework.tool.core.io.FastByteArrayOutputStream;
+
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.ProtocolException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * <p>HTTP/1.1报文编解码</p>
+ * 请求固定使用Content-Length；响应支持Content-Length、chunked和读到连接关闭三种方式，
+ * 响应体总是被完整读取，保证连接归还时没有残留数据。
+ *
+ * @author Doug Wang
+ * @since 1.0, 2026-10-18 23:42:16
+ */
+final class HttpCodec {
+
+    /**
+     * 状态行和头部单行的最大长度
+     */
+    private static final int MAX_LINE_LENGTH = 64 * 1024;
+    private static final int BUFFER_SIZE = 8192;
+
+    /**
+     * 响应体为chunked编码
+     */
+    static final long CHUNKED = -1;
+    /**
+     * 响应体没有长度信息，读到连接关闭为止
+     */
+    static final long UNTIL_CLOSE = -2;
+
+    private HttpCodec() {
+    }
+
+    /**
+     * 写出请求
+     *
+     * @param out     输出流
+     * @param request 请求
+     * @param route   路由
+     * @throws IOException IO异常
+     */
+    static void writeRequest(OutputStream out, HttpRequest request, Route route) throws IOException {
+        out.write(encodeHead(request, route));
+        final byte[] body = request.getBody();
+        if (null != body) {
+            out.write(body);
+        }
+        out.flush();
+    }
+
+    /**
+     * 编码请求行和请求头（含结尾的空行）
+     *
+     * @param request 请求
+     * @param route   路由
+     * @return 字节数组
+     */
+    static byte[] encodeHead(HttpRequest request, Route route) {
+        final StringBuilder head = new StringBuilder(256);
+        final String file = request.getUrl().getFile();
+        head.append(request.getMethod()).append(' ').append(file.isEmpty() ? "/" : file).append(" HTTP/1.1\r\n");
+
+        final Map<String, String> headers = request.getHeaders();
+        if (false == containsHeader(headers, HttpUtils.HttpHeader.HOST)) {
+            appendHeader(head, HttpUtils.HttpHeader.HOST, route.hostHeader());
+        }
+        if (false == containsHeader(headers, HttpUtils.HttpHeader.ACCEPT)) {
+            appendHeader(head, HttpUtils.HttpHeader.ACCEPT, "*/*");
+        }
+        for (Map.Entry<String, String> entry : headers.entrySet()) {
+            if (null != entry.getValue() && false == HttpUtils.HttpHeader.CONTENT_LENGTH.equalsIgnoreCase(entry.getKey())) {
+                appendHeader(head, entry.getKey(), entry.getValue());
+            }
+        }
+        final byte[] body = request.getBody();
+        if (null != body || hasRequestBody(request.getMethod())) {
+            appendHeader(head, HttpUtils.HttpHeader.CONTENT_LENGTH, String.valueOf(null == body ? 0 : body.length));
+        }
+        head.append("\r\n");
+        return head.toString().getBytes(StandardCharsets.ISO_8859_1);
+    }
+
+    /**
+     * 读取响应，跳过1xx的中间响应
+     *
+     * @param in     输入流
+     * @param method 请求方法，HEAD请求的响应没有响应体
+     * @return 响应
+     * @throws IOException IO异常或报文格式错误
+     */
+    static Result readResponse(InputStream in, String method) throws IOException {
+        while (true) {
+            final String statusLine = readLine(in);
+            final int status = parseStatus(statusLine);
+            final Map<String, List<String>> headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+            String line;
+            while (false == (line = readLine(in)).isEmpty()) {
+                parseHeader(line, headers);
+            }
+            if (status >= 100 && status < 200) {
+                continue;
+            }
+
+            final long length = bodyLength(method, status, headers);
+            final byte[] body;
+            if (CHUNKED == length) {
+                body = readChunked(in);
+            } else if (UNTIL_CLOSE == length) {
+                body = readToEnd(in);
+            } else {
+                body = readFully(in, (int) length);
+            }
+            return newResult(statusLine, status, headers, body, UNTIL_CLOSE == length);
+        }
+    }
+
+    /**
+     * 解析状态行中的状态码，如：HTTP/1.1 200 OK
+     *
+     * @param statusLine 状态行
+     * @return 状态码
+     * @throws ProtocolException 格式错误
+     */
+    static int parseStatus(String statusLine) throws ProtocolException {
+        if (false == statusLine.startsWith("HTTP/") || statusLine.length() < 12) {
+            throw new ProtocolException("Unexpected status line: " + statusLine);
+        }
+        try {
+            return Integer.parseInt(statusLine.substring(9, 12));
+        } catch (NumberFormatException e) {
+            throw new ProtocolException("Unexpected status line: " + statusLine);
+        }
+    }
+
+    /**
+     * 解析一行响应头并加入响应头表
+     *
+     * @param line    行
+     * @param headers 响应头
+     * @throws ProtocolException 格式错误
+     */
+    static void parseHeader(String line, Map<String, List<String>> headers) throws ProtocolException {
+        final int colon = line.indexOf(':');
+        if (colon <= 0) {
+            throw new ProtocolException("Invalid header: " + line);
+        }
+        headers.computeIfAbsent(line.substring(0, colon).trim(), key -> new ArrayList<>(1))
+                .add(line.substring(colon + 1).trim());
+    }
+
+    /**
+     * 根据请求方法、状态码和响应头判断响应体的长度
+     *
+     * @param method  请求方法
+     * @param status  状态码
+     * @param headers 响应头
+     * @return 长度，或{@link #CHUNKED}、{@link #UNTIL_CLOSE}
+     * @throws ProtocolException Content-Length格式错误
+     */
+    static long bodyLength(String method, int status, Map<String, List<String>> headers) throws ProtocolException {
+        if (HttpUtils.HttpMethod.HEAD.equals(method) || 204 == status || 304 == status) {
+            return 0;
+        }
+        final String transferEncoding = firstHeader(headers, HttpUtils.HttpHeader.TRANSFER_ENCODING);
+        if (null != transferEncoding && transferEncoding.toLowerCase(Locale.ROOT).contains("chunked")) {
+            return CHUNKED;
+        }
+        final String contentLength = firstHeader(headers, HttpUtils.HttpHeader.CONTENT_LENGTH);
+        if (null == contentLength) {
+            return UNTIL_CLOSE;
+        }
+        final long length;
+        try {
+            length = Long.parseLong(contentLength.trim());
+        } catch (NumberFormatException e) {
+            throw new ProtocolException("Invalid Content-Length: " + contentLength);
+        }
+        if (length < 0 || length > Integer.MAX_VALUE - 8) {
+            throw new ProtocolException("Invalid Content-Length: " + contentLength);
+        }
+        return length;
+    }
+
+    /**
+     * 根据完整读取的响应创建结果，解压gzip编码的响应体并判断连接是否可以复用
+     *
+     * @param statusLine 状态行
+     * @param status     状态码
+     * @param headers    响应头
+     * @param body       响应体
+     * @param untilClose 响应体是否读到连接关闭为止
+     * @return 结果
+     * @throws IOException gzip解压失败
+     */
+    static Result newResult(String statusLine, int status, Map<String, List<String>> headers, byte[] body, boolean untilClose)
+            throws IOException {
+        final String connection = firstHeader(headers, HttpUtils.HttpHeader.CONNECTION);
+        final boolean keepAlive = false == untilClose && (statusLine.startsWith("HTTP/1.1")
+                ? false == "close".equalsIgnoreCase(connection) : "keep-alive".equalsIgnoreCase(connection));
+        byte[] decoded = body;
+        if (HttpUtils.HttpHeader.CONTENT_ENCODING_GZIP.equalsIgnoreCase(firstHeader(headers, HttpUtils.HttpHeader.CONTENT_ENCODING))
+                && body.length > 0) {
+            decoded = readToEnd(new GZIPInputStream(new ByteArrayInputStream(body)));
+        }
+        final String message = statusLine.length() > 13 ? statusLine.substring(13) : "";
+        return new Result(new HttpResponse(status, message, headers, decoded), keepAlive, keepAliveMillis(headers));
+    }
+
+    /**
+     * 是否为通常带请求体的方法，这类方法没有请求体时也发送Content-Length: 0
+     *
+     * @param method 请求方法
+     * @return 是否带请求体
+     */
+    static boolean hasRequestBody(String method) {
+        return HttpUtils.HttpMethod.POST.equals(method) || HttpUtils.HttpMethod.PUT.equals(method)
+                || HttpUtils.HttpMethod.PATCH.equals(method);
+    }
+
+    // ------------------------------------------------------------------------ Private method start
+
+    private static boolean containsHeader(Map<String, String> headers, String name) {
+        for (String key : headers.keySet()) {
+            if (name.equalsIgnoreCase(key)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void appendHeader(StringBuilder head, String name, String value) {
+        head.append(name).append(": ").append(value).append("\r\n");
+    }
+
+    static String firstHeader(Map<String, List<String>> headers, String name) {
+        final List<String> values = headers.get(name);
+        return null == values || values.isEmpty() ? null : values.get(0);
+    }
+
+    /**
+     * 读取一行（不含CRLF），按ISO-8859-1解码
+     *
+     * @param in 输入流
+     * @return 行
+     * @throws IOException IO异常，行过长或提前结束
+     */
+    private static String readLine(InputStream in) throws IOException {
+        final StringBuilder line = new StringBuilder(64);
+        int b;
+        while ((b = in.read()) >= 0) {
+            if ('\n' == b) {
+                final int length = line.length();
+                if (length > 0 && '\r' == line.charAt(length - 1)) {
+                    line.setLength(length - 1);
+                }
+                return line.toString();
+            }
+            if (line.length() >= MAX_LINE_LENGTH) {
+                throw new ProtocolException("Line too long");
+            }
+            line.append((char) b);
+        }
+        throw new EOFException("Unexpected end of stream");
+    }
+
+    /**
+     * 读取指定长度的数据
+     *
+     * @param in     输入流
+     * @param length 长度
+     * @return 数据
+     * @throws IOException IO异常或提前结束
+     */
+    private static byte[] readFully(InputStream in, int length) throws IOException {
+        final byte[] bytes = new byte[length];
+        int offset = 0;
+        while (offset < length) {
+            final int read = in.read(bytes, offset, length - offset);
+            if (read < 0) {
+                throw new EOFException("Unexpected end of stream, expected " + length + " bytes but got " + offset);
+            }
+            offset += read;
+        }
+        return bytes;
+    }
+
+    /**
+     * 读取到流结束
+     *
+     * @param in 输入流
+     * @return 数据
+     * @throws IOException IO异常
+     */
+    private static byte[] readToEnd(InputStream in) throws IOException {
+        final FastByteArrayOutputStream out = new FastByteArrayOutputStream();
+        final byte[] buffer = new byte[BUFFER_SIZE];
+        int read;
+        while ((read = in.read(buffer)) >= 0) {
+            out.write(buffer, 0, read);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * 读取chunked编码的响应体，包括结尾的trailer
+     *
+     * @param in 输入流
+     * @return 解码后的数据
+     * @throws IOException IO异常或格式错误
+     */
+    private static byte[] readChunked(InputStream in) throws IOException {
+        final FastByteArrayOutputStream out = new FastByteArrayOutputStream();
+        final byte[] buffer = new byte[BUFFER_SIZE];
+        while (true) {
+            String sizeLine = readLine(in);
+            final int semicolon = sizeLine.indexOf(';');
+            if (semicolon >= 0) {
+                sizeLine = sizeLine.substring(0, semicolon);
+            }
+            final long size;
+            try {
+                size = Long.parseLong(sizeLine.trim(), 16);
+            } catch (NumberFormatException e) {
+                throw new ProtocolException("Invalid chunk size: " + sizeLine);
+            }
+            if (0 == size) {
+                // 跳过trailer
+                while (false == readLine(in).isEmpty()) {
+                    // ignore
+                }
+                return out.toByteArray();
+            }
+            long remaining = size;
+            while (remaining > 0) {
+                final int read = in.read(buffer, 0, (int) Math.min(buffer.length, remaining));
+                if (read < 0) {
+                    throw new EOFException("Unexpected end of chunked stream");
+                }
+                out.write(buffer, 0, read);
+                remaining -= read;
+            }
+            if (false == readLine(in).isEmpty()) {
+                throw new ProtocolException("Missing CRLF after chunk");
+            }
+        }
+    }
+
+    /**
+     * 解析Keep-Alive响应头中的timeout
+     *
+     * @param headers 响应头
+     * @return 毫秒数，未声明时为0
+     */
+    private static long keepAliveMillis(Map<String, List<String>> headers) {
+        final String keepAlive = firstHeader(headers, "Keep-Alive");
+        if (null != keepAlive) {
+            for (String param : keepAlive.split(",")) {
+                final String[] pair = param.trim().split("=", 2);
+                if (2 == pair.length && "timeout".equalsIgnoreCase(pair[0].trim())) {
+                    try {
+                        return TimeUnit.SECONDS.toMillis(Long.parseLong(pair[1].trim()));
+                    } catch (NumberFormatException e) {
+                        return 0;
+                    }
+                }
+            }
+        }
+        return 0;
+    }
+    // ------------------------------------------------------------------------ Private method end
+
+    /**
+     * 读取响应的结果
+     */
+    static final class Result {
+        final HttpResponse response;
+        /**
+         * 连接是否可以复用
+         */
+        final boolean keepAlive;
+        /**
+         * 服务端声明的keep-alive时长，毫秒，未声明时为0
+         */
+        final long keepAliveMillis;
+
+        Result(HttpResponse response, boolean keepAlive, long keepAliveMillis) {
+            this.response = response;
+            this.keepAlive = keepAlive;
+            this.keepAliveMillis = keepAliveMillis;
+        }
+    }
+}
@@ -0,0 +1,219 @@
+package com.github.jarvisframework.tool.http;
+
+import com.github.jarvisframework.tool.core.date.GlobalClock;
+import com.github.jarvisframework.tool.core.io.IOUtils;
+
+import javax.net.ssl.SSLParameters;
+import javax.net.ssl.SSLSocket;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+
+/**
+ * <p>连接池中的HTTP连接</p>
+ * 包装一个已建立（HTTPS时已完成握手）的Socket，由{@link ConnectionPool}管理。
+ *
+ * @author Doug Wang
+ * @since 1.0, 2026-10-18 23:42:16
+ */
+final class HttpConnection implements Closeable {
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private final Route route;
+    /**
+     * 建立连接时使用的HTTPS配置
+     */
+    private final SSLConfig sslConfig;
+    private final Socket socket;
+    private final BufferedInputStream in;
+    private final BufferedOutputStream out;
+
+    /**
+     * 最后一次归还连接池的时间
+     */
+    private long lastUsed;
+    /**
+     * 服务端通过Keep-Alive响应头声明的过期时间，0表示未声明
+     */
+    private long expireAt;
+    /**
+     * 是否已经被使用过，复用的连接在发送请求失败时可以重试
+     */
+    private boolean reused;
+
+    private HttpConnection(Route route, SSLConfig sslConfig, Socket socket) throws IOException {
+        this.route = route;
+        this.sslConfig = sslConfig;
+        this.socket = socket;
+        this.in = new BufferedInputStream(socket.getInputStream(), BUFFER_SIZE);
+        this.out = new BufferedOutputStream(socket.getOutputStream(), BUFFER_SIZE);
+    }
+
+    /**
+     * 建立连接
+     *
+     * @param route          路由
+     * @param connectTimeout 连接超时毫秒数
+     * @param sslConfig      HTTPS配置
+     * @return 连接
+     * @throws IOException 连接失败或握手失败
+     */
+    static HttpConnection open(Route route, int connectTimeout, SSLConfig sslConfig) throws IOException {
+        Socket socket = new Socket();
+        try {
+            socket.setTcpNoDelay(true);
+            socket.setKeepAlive(true);
+            socket.connect(new InetSocketAddress(route.getHost(), route.getPort()), connectTimeout);
+            if (route.isHttps()) {
+                final SSLSocket sslSocket = (SSLSocket) sslConfig.getSocketFactory()
+                        .createSocket(socket, route.getHost(), route.getPort(), true);
+                socket = sslSocket;
+                if (false == sslConfig.isIgnoreHostCheck()) {
+                    final SSLParameters parameters = sslSocket.getSSLParameters();
+                    parameters.setEndpointIdentificationAlgorithm("HTTPS");
+                    sslSocket.setSSLParameters(parameters);
+                }
+                sslSocket.setSoTimeout(connectTimeout);
+                sslSocket.startHandshake();
+            }
+            return new HttpConnection(route, sslConfig, socket);
+        } catch (IOException | RuntimeException e) {
+            IOUtils.closeQuietly(socket);
+            throw e;
+        }
+    }
+
+    Route getRoute() {
+        return route;
+    }
+
+    /**
+     * 是否可用于给定HTTPS配置的请求，HTTPS连接只能用于建立时使用的配置，HTTP连接不受配置影响
+     *
+     * @param sslConfig 请求使用的HTTPS配置
+     * @return 是否可用
+     */
+    boolean isCompatible(SSLConfig sslConfig) {
+        return false == route.isHttps() || this.sslConfig == sslConfig;
+    }
+
+    BufferedInputStream getInputStream() {
+        return in;
+    }
+
+    BufferedOutputStream getOutputStream() {
+        return out;
+    }
+
+    boolean isReused() {
+        return reused;
+    }
+
+    /**
+     * 设置读取超时
+     *
+     * @param readTimeout 读取超时毫秒数
+     * @throws IOException Socket错误
+     */
+    void setReadTimeout(int readTimeout) throws IOException {
+        socket.setSoTimeout(readTimeout);
+    }
+
+    /**
+     * 记录服务端声明的keep-alive时长
+     *
+     * @param keepAliveMillis 时长毫秒数，不大于0表示未声明
+     */
+    void setKeepAlive(long keepAliveMillis) {
+        this.expireAt = keepAliveMillis > 0 ? GlobalClock.currentTimeMillis() + keepAliveMillis : 0;
+    }
+
+    /**
+     * 归还连接池时调用
+     *
+     * @param now 当前时间
+     */
+    void markIdle(long now) {
+        this.lastUsed = now;
+        this.reused = true;
+    }
+
+    /**
+     * 空闲的毫秒数
+     *
+     * @param now 当前时间
+     * @return 空闲的毫秒数
+     */
+    long idleMillis(long now) {
+        return now - lastUsed;
+    }
+
+    /**
+     * 是否已超过服务端声明的keep-alive时长
+     *
+     * @param now 当前时间
+     * @return 是否过期
+     */
+    boolean isExpired(long now) {
+        return expireAt > 0 && now >= expireAt;
+    }
+
+    /**
+     * 检查空闲连接是否已被服务端关闭：在1毫秒超时内读到数据或EOF都表示连接不可用
+     *
+     * @return 是否不可用
+     */
+    boolean isStale() {
+        if (socket.isClosed() || socket.isInputShutdown() || socket.isOutputShutdown()) {
+            return true;
+        }
+        try {
+            if (in.available() > 0) {
+                return true;
+            }
+            final int timeout = socket.getSoTimeout();
+            try {
+                socket.setSoTimeout(1);
+                // 读到EOF说明已被关闭，读到数据说明连接状态已不可知，都不能再使用
+                in.read();
+                return true;
+            } finally {
+                socket.setSoTimeout(timeout);
+            }
+        } catch (SocketTimeoutException e) {
+            return false;
+        } catch (IOException e) {
+            return true;
+        }
+    }
+
+    /**
+     * 等待响应的第一个字节
+     *
+     * @return 是否有响应，false表示连接在响应前被关闭
+     * @throws IOException 读取超时等IO异常
+     */
+    boolean awaitResponse() throws IOException {
+        in.mark(1);
+        if (in.read() < 0) {
+            return false;
+        }
+        in.reset();
+        return true;
+    }
+
+    @Override
+    public void close() {
+        IOUtils.closeQuietly(socket);
+    }
+
+    @Override
+    public String toString() {
+        return route + " " + socket.getLocalPort();
+    }
+}
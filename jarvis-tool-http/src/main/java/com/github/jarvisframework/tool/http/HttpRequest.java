@@ -0,0 +1,167 @@
+package com.github.jarvisframework.tool.http;
+
+import com.github.jarvisframework.tool.core.io.IORuntimeException;
+
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * <p>HTTP请求</p>
+ * 由{@link HttpClient}发送，请求头按添加顺序发送，Host、Content-Length和Connection由客户端自动添加。
+ *
+ * <pre>
+ * HttpRequest request = HttpRequest.post("http://localhost:8080/api")
+ *         .header(HttpUtils.HttpHeader.ACCEPT, "application/json")
+ *         .body("{}".getBytes(), "application/json;charset=UTF-8");
+ * </pre>
+ *
+ * @author Doug Wang
+ * @since 1.0, 2026-10-18 23:42:16
+ */
+public class HttpRequest {
+
+    private final String method;
+    private final URL url;
+    private final Map<String, String> headers = new LinkedHashMap<>();
+    private byte[] body;
+    /**
+     * 连接超时，小于0时使用客户端的设置
+     */
+    private int connectTimeout = -1;
+    /**
+     * 读取超时，小于0时使用客户端的设置
+     */
+    private int readTimeout = -1;
+
+    /**
+     * 构造
+     *
+     * @param method 请求方法，见{@link HttpUtils.HttpMethod}
+     * @param url    请求地址，只支持http和https
+     */
+    public HttpRequest(String method, String url) {
+        this.method = method;
+        try {
+            this.url = new URL(url);
+        } catch (MalformedURLException e) {
+            throw new IORuntimeException(e);
+        }
+        final String protocol = this.url.getProtocol();
+        if (false == "http".equalsIgnoreCase(protocol) && false == "https".equalsIgnoreCase(protocol)) {
+            throw new IllegalArgumentException("Unsupported protocol: " + protocol);
+        }
+    }
+
+    /**
+     * 创建GET请求
+     *
+     * @param url 请求地址
+     * @return HttpRequest
+     */
+    public static HttpRequest get(String url) {
+        return new HttpRequest(HttpUtils.HttpMethod.GET, url);
+    }
+
+    /**
+     * 创建POST请求
+     *
+     * @param url 请求地址
+     * @return HttpRequest
+     */
+    public static HttpRequest post(String url) {
+        return new HttpRequest(HttpUtils.HttpMethod.POST, url);
+    }
+
+    /**
+     * 设置请求头，同名的请求头会被覆盖
+     *
+     * @param name  名称
+     * @param value 值
+     * @return this
+     */
+    public HttpRequest header(String name, String value) {
+        this.headers.put(name, value);
+        return this;
+    }
+
+    /**
+     * 批量设置请求头
+     *
+     * @param headers 请求头，可以为null
+     * @return this
+     */
+    public HttpRequest headers(Map<String, String> headers) {
+        if (null != headers) {
+            this.headers.putAll(headers);
+        }
+        return this;
+    }
+
+    /**
+     * 设置请求体
+     *
+     * @param body        请求体
+     * @param contentType 请求类型，为null时不设置Content-Type
+     * @return this
+     */
+    public HttpRequest body(byte[] body, String contentType) {
+        this.body = body;
+        if (null != contentType) {
+            header(HttpUtils.HttpHeader.CONTENT_TYPE, contentType);
+        }
+        return this;
+    }
+
+    /**
+     * 设置本次请求的超时，覆盖客户端的设置
+     *
+     * @param connectTimeout 连接超时毫秒数
+     * @param readTimeout    读取超时毫秒数
+     * @return this
+     */
+    public HttpRequest timeout(int connectTimeout, int readTimeout) {
+        this.connectTimeout = connectTimeout;
+        this.readTimeout = readTimeout;
+        return this;
+    }
+
+    public String getMethod() {
+        return method;
+    }
+
+    public URL getUrl() {
+        return url;
+    }
+
+    public Map<String, String> getHeaders() {
+        return headers;
+    }
+
+    public byte[] getBody() {
+        return body;
+    }
+
+    public int getConnectTimeout() {
+        return connectTimeout;
+    }
+
+    public int getReadTimeout() {
+        return readTimeout;
+    }
+
+    /**
+     * 是否为HTTPS请求
+     *
+     * @return 是否为HTTPS请求
+     */
+    public boolean isHttps() {
+        return "https".equalsIgnoreCase(url.getProtocol());
+    }
+
+    @Override
+    public String toString() {
+        return method + " " + url;
+    }
+}
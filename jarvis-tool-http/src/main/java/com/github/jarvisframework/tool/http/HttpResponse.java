@@ -0,0 +1,109 @@
+package com.github.jarvisframework.tool.http;
+
+import java.io.UnsupportedEncodingException;
+import java.net.HttpURLConnection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>HTTP响应</p>
+ * 响应体在返回前已完整读取（gzip编码的响应已解压），连接随即归还连接池。
+ *
+ * @author Doug Wang
+ * @since 1.0, 2026-10-18 23:42:16
+ */
+public class HttpResponse {
+
+    private final int status;
+    private final String message;
+    /**
+     * 响应头，名称不区分大小写
+     */
+    private final Map<String, List<String>> headers;
+    private final byte[] body;
+
+    /**
+     * 构造
+     *
+     * @param status  状态码
+     * @param message 状态描述
+     * @param headers 响应头，名称不区分大小写
+     * @param body    响应体
+     */
+    HttpResponse(int status, String message, Map<String, List<String>> headers, byte[] body) {
+        this.status = status;
+        this.message = message;
+        this.headers = Collections.unmodifiableMap(headers);
+        this.body = body;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public Map<String, List<String>> getHeaders() {
+        return headers;
+    }
+
+    /**
+     * 获取响应头，有多个同名响应头时返回第一个
+     *
+     * @param name 名称，不区分大小写
+     * @return 值，不存在时为null
+     */
+    public String getHeader(String name) {
+        final List<String> values = headers.get(name);
+        return null == values || values.isEmpty() ? null : values.get(0);
+    }
+
+    /**
+     * 获取响应类型
+     *
+     * @return Content-Type
+     */
+    public String getContentType() {
+        return getHeader(HttpUtils.HttpHeader.CONTENT_TYPE);
+    }
+
+    /**
+     * 获取响应体
+     *
+     * @return 响应体字节数组，没有响应体时为空数组
+     */
+    public byte[] getBody() {
+        return body;
+    }
+
+    /**
+     * 按Content-Type中的字符集（默认UTF-8）将响应体转为字符串
+     *
+     * @return 响应体字符串
+     */
+    public String getBodyAsString() {
+        final String charset = HttpUtils.getResponseCharset(getContentType());
+        try {
+            return new String(body, charset);
+        } catch (UnsupportedEncodingException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+
+    /**
+     * 状态码是否小于400
+     *
+     * @return 是否成功
+     */
+    public boolean isOk() {
+        return status < HttpURLConnection.HTTP_BAD_REQUEST;
+    }
+
+    @Override
+    public String toString() {
+        return status + " " + message;
+    }
+}
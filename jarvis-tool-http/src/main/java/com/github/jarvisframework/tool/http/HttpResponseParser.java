@@ -0,0 +1,260 @@
+package com.github.jarvisframework.tool.http;
+
+import com.github.jarvisframework.tool.core.io.FastByteArrayOutputStream;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.ProtocolException;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * <p>增量式HTTP响应解析器</p>
+ * 用于非阻塞IO：每次读到数据后调用{@link #feed(ByteBuffer)}，解析完成后通过{@link #getResult()}获取结果，
+ * 规则与{@link HttpCodec#readResponse(java.io.InputStream, String)}一致。
+ *
+ * @author Doug Wang
+ * @since 1.0, 2026-10-19 00:36:52
+ */
+final class HttpResponseParser {
+
+    private static final int MAX_LINE_LENGTH = 64 * 1024;
+
+    private static final int STATUS_LINE = 0;
+    private static final int HEADER = 1;
+    private static final int BODY = 2;
+    private static final int CHUNK_SIZE = 3;
+    private static final int CHUNK_DATA = 4;
+    private static final int CHUNK_END = 5;
+    private static final int TRAILER = 6;
+    private static final int UNTIL_CLOSE = 7;
+    private static final int DONE = 8;
+
+    private final String method;
+    private final StringBuilder line = new StringBuilder(64);
+    private int state = STATUS_LINE;
+    private boolean started;
+
+    private String statusLine;
+    private int status;
+    private Map<String, List<String>> headers;
+    /**
+     * 固定长度响应体
+     */
+    private byte[] fixedBody;
+    private int fixedOffset;
+    /**
+     * chunked或读到关闭为止的响应体
+     */
+    private FastByteArrayOutputStream body;
+    /**
+     * 当前chunk剩余的字节数
+     */
+    private long remaining;
+    private HttpCodec.Result result;
+
+    /**
+     * 构造
+     *
+     * @param method 请求方法，HEAD请求的响应没有响应体
+     */
+    HttpResponseParser(String method) {
+        this.method = method;
+    }
+
+    /**
+     * 解析数据，已读取的数据从缓冲区中消费，解析完成后剩余的数据保留在缓冲区中
+     *
+     * @param buffer 读模式的缓冲区
+     * @return 是否已解析完成
+     * @throws IOException 报文格式错误
+     */
+    boolean feed(ByteBuffer buffer) throws IOException {
+        while (DONE != state && buffer.hasRemaining()) {
+            started = true;
+            switch (state) {
+                case BODY: {
+                    final int length = Math.min(buffer.remaining(), fixedBody.length - fixedOffset);
+                    buffer.get(fixedBody, fixedOffset, length);
+                    fixedOffset += length;
+                    if (fixedOffset == fixedBody.length) {
+                        finish(fixedBody, false);
+                    }
+                    break;
+                }
+                case CHUNK_DATA: {
+                    final int length = (int) Math.min(buffer.remaining(), remaining);
+                    copy(buffer, length);
+                    remaining -= length;
+                    if (0 == remaining) {
+                        state = CHUNK_END;
+                    }
+                    break;
+                }
+                case UNTIL_CLOSE:
+                    copy(buffer, buffer.remaining());
+                    break;
+                default:
+                    final String text = readLine(buffer);
+                    if (null != text) {
+                        onLine(text);
+                    }
+                    break;
+            }
+        }
+        return DONE == state;
+    }
+
+    /**
+     * 连接关闭时调用，读到关闭为止的响应在此时完成
+     *
+     * @return 是否已解析完成
+     * @throws IOException 响应不完整
+     */
+    boolean onEof() throws IOException {
+        if (UNTIL_CLOSE == state) {
+            finish(body.toByteArray(), true);
+        }
+        if (DONE != state) {
+            throw new EOFException("Unexpected end of stream");
+        }
+        return true;
+    }
+
+    /**
+     * 是否已经收到过响应数据
+     *
+     * @return 是否已收到数据
+     */
+    boolean isStarted() {
+        return started;
+    }
+
+    /**
+     * 解析结果
+     *
+     * @return 结果，未完成时为null
+     */
+    HttpCodec.Result getResult() {
+        return result;
+    }
+
+    // ------------------------------------------------------------------------ Private method start
+
+    /**
+     * 处理一行
+     *
+     * @param text 行，不含CRLF
+     * @throws IOException 格式错误
+     */
+    private void onLine(String text) throws IOException {
+        switch (state) {
+            case STATUS_LINE:
+                statusLine = text;
+                status = HttpCodec.parseStatus(text);
+                headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+                state = HEADER;
+                break;
+            case HEADER:
+                if (false == text.isEmpty()) {
+                    HttpCodec.parseHeader(text, headers);
+                } else if (status >= 100 && status < 200) {
+                    // 跳过1xx中间响应
+                    state = STATUS_LINE;
+                } else {
+                    startBody();
+                }
+                break;
+            case CHUNK_SIZE:
+                final int semicolon = text.indexOf(';');
+                final String size = semicolon >= 0 ? text.substring(0, semicolon) : text;
+                try {
+                    remaining = Long.parseLong(size.trim(), 16);
+                } catch (NumberFormatException e) {
+                    throw new ProtocolException("Invalid chunk size: " + text);
+                }
+                state = 0 == remaining ? TRAILER : CHUNK_DATA;
+                break;
+            case CHUNK_END:
+                if (false == text.isEmpty()) {
+                    throw new ProtocolException("Missing CRLF after chunk");
+                }
+                state = CHUNK_SIZE;
+                break;
+            case TRAILER:
+                if (text.isEmpty()) {
+                    finish(body.toByteArray(), false);
+                }
+                break;
+            default:
+                throw new IllegalStateException("Unexpected state: " + state);
+        }
+    }
+
+    /**
+     * 响应头结束，根据长度信息开始读取响应体
+     *
+     * @throws IOException 格式错误
+     */
+    private void startBody() throws IOException {
+        final long length = HttpCodec.bodyLength(method, status, headers);
+        if (HttpCodec.CHUNKED == length) {
+            body = new FastByteArrayOutputStream();
+            state = CHUNK_SIZE;
+        } else if (HttpCodec.UNTIL_CLOSE == length) {
+            body = new FastByteArrayOutputStream();
+            state = UNTIL_CLOSE;
+        } else if (0 == length) {
+            finish(new byte[0], false);
+        } else {
+            fixedBody = new byte[(int) length];
+            state = BODY;
+        }
+    }
+
+    private void finish(byte[] bytes, boolean untilClose) throws IOException {
+        result = HttpCodec.newResult(statusLine, status, headers, bytes, untilClose);
+        state = DONE;
+    }
+
+    private void copy(ByteBuffer buffer, int length) {
+        if (buffer.hasArray()) {
+            body.write(buffer.array(), buffer.arrayOffset() + buffer.position(), length);
+            buffer.position(buffer.position() + length);
+        } else {
+            final byte[] bytes = new byte[length];
+            buffer.get(bytes);
+            body.write(bytes, 0, length);
+        }
+    }
+
+    /**
+     * 从缓冲区读取一行，数据不足一行时暂存并返回null
+     *
+     * @param buffer 缓冲区
+     * @return 行（不含CRLF），或null
+     * @throws ProtocolException 行过长
+     */
+    private String readLine(ByteBuffer buffer) throws ProtocolException {
+        while (buffer.hasRemaining()) {
+            final byte b = buffer.get();
+            if ('\n' == b) {
+                final int length = line.length();
+                if (length > 0 && '\r' == line.charAt(length - 1)) {
+                    line.setLength(length - 1);
+                }
+                final String text = line.toString();
+                line.setLength(0);
+                return text;
+            }
+            if (line.length() >= MAX_LINE_LENGTH) {
+                throw new ProtocolException("Line too long");
+            }
+            line.append((char) (b & 0xFF));
+        }
+        return null;
+    }
+    // ------------------------------------------------------------------------ Private method end
+}
@@ -1,22 +1,21 @@
 package com.github.jarvisframework.tool.http;
 
 import com.alibaba.fastjson.JSON;
+import com.github.jarvisframework.tool.core.exception.UtilException;
+import com.github.jarvisframework.tool.core.io.IORuntimeException;
 import com.github.jarvisframework.tool.core.io.IOUtils;
+import com.github.jarvisframework.tool.core.io.StreamProgress;
 import com.github.jarvisframework.tool.core.util.CharsetUtils;
 import com.github.jarvisframework.tool.core.util.StringUtils;
-import org.springframework.http.ResponseEntity;
-import org.springframework.web.client.RestTemplate;
 
 import javax.net.ssl.HttpsURLConnection;
-import javax.net.ssl.SSLContext;
-import javax.net.ssl.TrustManager;
 import javax.net.ssl.X509TrustManager;
 import javax.servlet.http.HttpServletRequest;
 import java.io.*;
 import java.net.*;
-import java.security.SecureRandom;
 import java.security.cert.X509Certificate;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
@@ -32,14 +31,14 @@ import java.util.zip.GZIPInputStream;
 public abstract class HttpUtils {
 
     /**
-     * Rest模板工具类
+     * 默认流式读取缓冲区大小
      */
-    private static final RestTemplate REST_TEMPLATE = new RestTemplate();
+    private static final int DEFAULT_BUFFER_SIZE = 1024;
 
     /**
-     * 默认流式读取缓冲区大小
+     * chunked方式上传时每个块的大小
      */
-    private static final int DEFAULT_BUFFER_SIZE = 1024;
+    private static final int STREAMING_CHUNK_SIZE = 8192;
 
     /**
      * 默认编码字符集
@@ -56,6 +55,31 @@ public abstract class HttpUtils {
      */
     private static boolean ignoreHostCheck = true;
 
+    /**
+     * 忽略SSL检查时共用的配置，避免每次请求重新创建SSLContext
+     */
+    private static final SSLConfig TRUST_ALL_SSL_CONFIG = SSLConfig.trustAll();
+
+    /**
+     * 只忽略HOST检查时共用的配置
+     */
+    private static final SSLConfig IGNORE_HOST_SSL_CONFIG = SSLConfig.create().setIgnoreHostCheck(true);
+
+    /**
+     * 使用系统信任库并校验HOST的配置
+     */
+    private static final SSLConfig DEFAULT_SSL_CONFIG = SSLConfig.create();
+
+    /**
+     * 自定义的HTTPS配置，设置后忽略ignoreSSLCheck和ignoreHostCheck
+     */
+    private static volatile SSLConfig sslConfig;
+
+    /**
+     * 共用的连接池客户端，不使用代理的请求都通过它发送，JVM配置了代理时改用HttpURLConnection
+     */
+    private static final HttpClient HTTP_CLIENT = HttpClient.create().setSSLConfig(currentSSLConfig());
+
     /**
      * 默认连接超时时间
      */
@@ -74,10 +98,31 @@ public abstract class HttpUtils {
 
     public static void setIgnoreSSLCheck(boolean ignoreSSLCheck) {
         HttpUtils.ignoreSSLCheck = ignoreSSLCheck;
+        HTTP_CLIENT.setSSLConfig(currentSSLConfig());
     }
 
     public static void setIgnoreHostCheck(boolean ignoreHostCheck) {
         HttpUtils.ignoreHostCheck = ignoreHostCheck;
+        HTTP_CLIENT.setSSLConfig(currentSSLConfig());
+    }
+
+    /**
+     * 设置HTTPS配置，如自定义信任库、客户端证书，设置为null时恢复使用ignoreSSLCheck和ignoreHostCheck
+     *
+     * @param sslConfig HTTPS配置
+     */
+    public static void setSSLConfig(SSLConfig sslConfig) {
+        HttpUtils.sslConfig = sslConfig;
+        HTTP_CLIENT.setSSLConfig(currentSSLConfig());
+    }
+
+    /**
+     * 获取共用的连接池客户端，可用于调整连接池参数
+     *
+     * @return {@link HttpClient}
+     */
+    public static HttpClient getHttpClient() {
+        return HTTP_CLIENT;
     }
 
     /**
@@ -242,25 +287,21 @@ public abstract class HttpUtils {
      * @throws IOException
      */
     private static String _doPost(String url, String contentType, Map<String, String> headerMap, byte[] content, int connectTimeout, int readTimeout, Proxy proxy) throws IOException {
-        HttpURLConnection conn = null;
-        OutputStream out = null;
-        String rsp;
-        try {
-            conn = getConnection(new URL(url), HttpMethod.POST, contentType, headerMap, proxy);
-            conn.setConnectTimeout(connectTimeout);
-            conn.setReadTimeout(readTimeout);
-            out = conn.getOutputStream();
+        if (proxy == null && false == useProxy(url)) {
+            final HttpRequest request = newRequest(HttpMethod.POST, url, contentType, headerMap)
+                    .body(content, null)
+                    .timeout(connectTimeout, readTimeout);
+            return getResponseAsString(HTTP_CLIENT.send(request));
+        }
+
+        // 使用代理时由JDK的keep-alive缓存复用连接，不能调用disconnect
+        HttpURLConnection conn = getConnection(new URL(url), HttpMethod.POST, contentType, headerMap, proxy);
+        conn.setConnectTimeout(connectTimeout);
+        conn.setReadTimeout(readTimeout);
+        try (OutputStream out = conn.getOutputStream()) {
             out.write(content);
-            rsp = getResponseAsString(conn);
-        } finally {
-            if (out != null) {
-                out.close();
-            }
-            if (conn != null) {
-                conn.disconnect();
-            }
         }
-        return rsp;
+        return getResponseAsString(conn);
     }
 
     /**
@@ -293,10 +334,25 @@ public abstract class HttpUtils {
      */
     public static String doPost(String url, Map<String, String> params, Map<String, FileItem> fileParams, String charset,
                                 int connectTimeout, int readTimeout, Map<String, String> headerMap) throws IOException {
+        return doPost(url, params, fileParams, charset, connectTimeout, readTimeout, headerMap, null);
+    }
+
+    /**
+     * 执行带文件上传的HTTP POST请求，请求体流式发送：所有文件长度已知时使用固定长度，否则使用chunked方式
+     *
+     * @param url        请求地址
+     * @param fileParams 文件请求参数
+     * @param charset    字符集，如UTF-8, GBK, GB2312
+     * @param headerMap  需要传递的header头，可以为空
+     * @param progress   上传进度回调，进度为已发送的请求体字节数，可以为空
+     * @return 响应字符串
+     */
+    public static String doPost(String url, Map<String, String> params, Map<String, FileItem> fileParams, String charset,
+                                int connectTimeout, int readTimeout, Map<String, String> headerMap, StreamProgress progress) throws IOException {
         if (fileParams == null || fileParams.isEmpty()) {
             return doPost(url, params, charset, connectTimeout, readTimeout, headerMap, null);
         } else {
-            return _doPostWithFile(url, params, fileParams, charset, connectTimeout, readTimeout, headerMap);
+            return _doPostWithFile(url, params, fileParams, charset, connectTimeout, readTimeout, headerMap, progress);
         }
     }
 
@@ -324,77 +380,27 @@ public abstract class HttpUtils {
         return _doPost(url, contentType, null, content, connectTimeout, readTimeout, null);
     }
 
-    private static String _doPostWithFile(String url, Map<String, String> params, Map<String, FileItem> fileParams,
-                                          String charset, int connectTimeout, int readTimeout, Map<String, String> headerMap) throws IOException {
+    private static String _doPostWithFile(String url, Map<String, String> params, Map<String, FileItem> fileParams, String charset,
+                                          int connectTimeout, int readTimeout, Map<String, String> headerMap, StreamProgress progress) throws IOException {
         // 随机分隔线
         String boundary = String.valueOf(System.nanoTime());
-        HttpURLConnection conn = null;
-        OutputStream out = null;
-        String rsp;
-        try {
-            String contentType = String.format("%s;charset=%s;boundary=%s", HttpContentType.FORM_DATA, charset, boundary);
-            conn = getConnection(new URL(url), HttpMethod.POST, contentType, headerMap, null);
-            conn.setConnectTimeout(connectTimeout);
-            conn.setReadTimeout(readTimeout);
-            out = conn.getOutputStream();
-            byte[] entryBoundaryBytes = ("\r\n--" + boundary + "\r\n").getBytes(charset);
-
-            // 组装文本请求参数
-            Set<Entry<String, String>> textEntrySet = params.entrySet();
-            for (Entry<String, String> textEntry : textEntrySet) {
-                byte[] textBytes = getTextEntry(textEntry.getKey(), textEntry.getValue(), charset);
-                out.write(entryBoundaryBytes);
-                out.write(textBytes);
-            }
-
-            // 组装文件请求参数
-            Set<Entry<String, FileItem>> fileEntrySet = fileParams.entrySet();
-            for (Entry<String, FileItem> fileEntry : fileEntrySet) {
-                FileItem fileItem = fileEntry.getValue();
-                if (!fileItem.isValid()) {
-                    throw new IOException("FileItem is invalid");
-                }
-                byte[] fileBytes = getFileEntry(fileEntry.getKey(), fileItem.getFileName(), fileItem.getMimeType(), charset);
-                out.write(entryBoundaryBytes);
-                out.write(fileBytes);
-                fileItem.write(out);
-            }
-
-            // 添加请求结束标志
-            byte[] endBoundaryBytes = ("\r\n--" + boundary + "--\r\n").getBytes(charset);
-            out.write(endBoundaryBytes);
-            rsp = getResponseAsString(conn);
-        } finally {
-            if (out != null) {
-                out.close();
-            }
-            if (conn != null) {
-                conn.disconnect();
-            }
+        MultipartBody body = new MultipartBody(params, fileParams, charset, boundary);
+        String contentType = String.format("%s;charset=%s;boundary=%s", HttpContentType.FORM_DATA, charset, boundary);
+        HttpURLConnection conn = getConnection(new URL(url), HttpMethod.POST, contentType, headerMap, null);
+        conn.setConnectTimeout(connectTimeout);
+        conn.setReadTimeout(readTimeout);
+        // 流式发送，避免HttpURLConnection在内存中缓存整个请求体
+        long length = body.getLength();
+        if (length >= 0) {
+            conn.setFixedLengthStreamingMode(length);
+        } else {
+            conn.setChunkedStreamingMode(STREAMING_CHUNK_SIZE);
         }
-
-        return rsp;
-    }
-
-    private static byte[] getTextEntry(String fieldName, String fieldValue, String charset) throws IOException {
-        StringBuilder entry = new StringBuilder();
-        entry.append("Content-Disposition:form-data;name=\"");
-        entry.append(fieldName);
-        entry.append("\"\r\nContent-Type:text/plain\r\n\r\n");
-        entry.append(fieldValue);
-        return entry.toString().getBytes(charset);
-    }
-
-    private static byte[] getFileEntry(String fieldName, String fileName, String mimeType, String charset) throws IOException {
-        StringBuilder entry = new StringBuilder();
-        entry.append("Content-Disposition:form-data;name=\"");
-        entry.append(fieldName);
-        entry.append("\";filename=\"");
-        entry.append(fileName);
-        entry.append("\"\r\nContent-Type:");
-        entry.append(mimeType);
-        entry.append("\r\n\r\n");
-        return entry.toString().getBytes(charset);
+        // 不调用disconnect，响应读完后连接交给JDK的keep-alive缓存复用
+        try (OutputStream out = conn.getOutputStream()) {
+            body.writeTo(out, progress);
+        }
+        return getResponseAsString(conn);
     }
 
     /**
@@ -404,8 +410,14 @@ public abstract class HttpUtils {
      * @return 响应字符串
      */
     public static String doGet(String url) {
-        ResponseEntity<String> res = REST_TEMPLATE.getForEntity(url, String.class);
-        return res.getBody();
+        try {
+            if (useProxy(url)) {
+                return _doGet(new URL(url), null);
+            }
+            return getResponseAsString(HTTP_CLIENT.send(newRequest(HttpMethod.GET, url, null, null)));
+        } catch (IOException e) {
+            throw new IORuntimeException(e);
+        }
     }
 
     /**
@@ -428,19 +440,86 @@ public abstract class HttpUtils {
      * @return 响应字符串
      */
     public static String doGet(String url, Map<String, String> params, String charset) throws IOException {
-        HttpURLConnection conn = null;
-        String rsp;
+        String contentType = String.format("Content-Type=%s;charset=%s", HttpContentType.APPLICATION_FORM, charset);
+        String query = buildQuery(params, charset);
+        URL getUrl = buildGetUrl(url, query);
+        if (useProxy(getUrl.toString())) {
+            return _doGet(getUrl, contentType);
+        }
+        return getResponseAsString(HTTP_CLIENT.send(newRequest(HttpMethod.GET, getUrl.toString(), contentType, null)));
+    }
+
+    /**
+     * 通过HttpURLConnection执行HTTP GET请求，由JDK按{@link ProxySelector}选择代理
+     *
+     * @param url         请求地址
+     * @param contentType 请求类型，可以为null
+     * @return 响应字符串
+     * @throws IOException
+     */
+    private static String _doGet(URL url, String contentType) throws IOException {
+        // 使用代理时由JDK的keep-alive缓存复用连接，不能调用disconnect
+        HttpURLConnection conn = getConnection(url, HttpMethod.GET, contentType, null, null);
+        conn.setConnectTimeout(DEFAULT_CONNECT_TIMEOUT);
+        conn.setReadTimeout(DEFAULT_READ_TIMEOUT);
+        return getResponseAsString(conn);
+    }
+
+    /**
+     * JVM默认的代理选择器是否为地址选择了代理<br>
+     * 共用的客户端直接连接目标地址，需要代理时改用HttpURLConnection发送，
+     * 以保留http.proxyHost等系统属性和{@link ProxySelector#setDefault(ProxySelector)}的设置
+     *
+     * @param url 请求地址
+     * @return 是否需要代理
+     * @throws MalformedURLException 地址格式错误
+     */
+    private static boolean useProxy(String url) throws MalformedURLException {
+        final ProxySelector selector = ProxySelector.getDefault();
+        if (null == selector) {
+            return false;
+        }
+        final URL target = new URL(url);
+        final List<Proxy> proxies;
         try {
-            String contentType = String.format("Content-Type=%s;charset=%s", HttpContentType.APPLICATION_FORM, charset);
-            String query = buildQuery(params, charset);
-            conn = getConnection(buildGetUrl(url, query), HttpMethod.GET, contentType, null, null);
-            rsp = getResponseAsString(conn);
-        } finally {
-            if (conn != null) {
-                conn.disconnect();
-            }
+            proxies = selector.select(new URI(target.getProtocol(), null, target.getHost(), target.getPort(), null, null, null));
+        } catch (URISyntaxException e) {
+            throw new MalformedURLException(e.getMessage());
+        }
+        return null != proxies && false == proxies.isEmpty() && Proxy.Type.DIRECT != proxies.get(0).type();
+    }
+
+    /**
+     * 创建通过{@link HttpClient}发送的请求，请求头与{@link #getConnection(URL, String, String, Map, Proxy)}一致
+     *
+     * @param method      请求方法
+     * @param url         请求地址
+     * @param contentType 请求类型，可以为null
+     * @param headerMap   请求头，可以为null
+     * @return {@link HttpRequest}
+     */
+    private static HttpRequest newRequest(String method, String url, String contentType, Map<String, String> headerMap) {
+        final HttpRequest request = new HttpRequest(method, url).header(HttpHeader.USER_AGENT, "Lnet");
+        if (null != contentType) {
+            request.header(HttpHeader.CONTENT_TYPE, contentType);
         }
-        return rsp;
+        return request.headers(headerMap);
+    }
+
+    /**
+     * 当前生效的HTTPS配置
+     *
+     * @return HTTPS配置
+     */
+    private static SSLConfig currentSSLConfig() {
+        final SSLConfig config = sslConfig;
+        if (null != config) {
+            return config;
+        }
+        if (ignoreSSLCheck) {
+            return TRUST_ALL_SSL_CONFIG;
+        }
+        return ignoreHostCheck ? IGNORE_HOST_SSL_CONFIG : DEFAULT_SSL_CONFIG;
     }
 
     private static HttpURLConnection getConnection(URL url, String method, String contentType, Map<String, String> headerMap, Proxy proxy) throws IOException {
@@ -451,28 +530,19 @@ public abstract class HttpUtils {
             conn = (HttpURLConnection) url.openConnection(proxy);
         }
         if (conn instanceof HttpsURLConnection) {
-            HttpsURLConnection connHttps = (HttpsURLConnection) conn;
-            if (ignoreSSLCheck) {
-                try {
-                    SSLContext ctx = SSLContext.getInstance("TLS");
-                    ctx.init(null, new TrustManager[]{new TrustAllTrustManager()}, new SecureRandom());
-                    connHttps.setSSLSocketFactory(ctx.getSocketFactory());
-                    connHttps.setHostnameVerifier((hostname, session) -> true);
-                } catch (Exception e) {
-                    throw new IOException(e.toString());
-                }
-            } else {
-                if (ignoreHostCheck) {
-                    connHttps.setHostnameVerifier((hostname, session) -> true);
-                }
+            try {
+                currentSSLConfig().apply((HttpsURLConnection) conn);
+            } catch (UtilException e) {
+                throw new IOException(e.getMessage(), e.getCause());
             }
-            conn = connHttps;
         }
         conn.setRequestMethod(method);
         conn.setDoInput(true);
         conn.setDoOutput(true);
         conn.setRequestProperty(HttpHeader.USER_AGENT, "Lnet");
-        conn.setRequestProperty(HttpHeader.CONTENT_TYPE, contentType);
+        if (null != contentType) {
+            conn.setRequestProperty(HttpHeader.CONTENT_TYPE, contentType);
+        }
         return conn;
     }
 
@@ -547,18 +617,36 @@ public abstract class HttpUtils {
                 return getStreamAsString(conn.getInputStream(), charset);
             }
         } else {
+            InputStream error = conn.getErrorStream();
             // OAuth bad request always return 400 status
             if (conn.getResponseCode() == HttpURLConnection.HTTP_BAD_REQUEST) {
-                InputStream error = conn.getErrorStream();
                 if (error != null) {
                     return getStreamAsString(error, charset);
                 }
+            } else if (error != null) {
+                // 读完错误响应，连接才能被keep-alive缓存复用
+                getStreamAsString(error, charset);
             }
             // Client Error 4xx and Server Error 5xx
             throw new IOException(conn.getResponseCode() + " " + conn.getResponseMessage());
         }
     }
 
+    /**
+     * 按{@link #getResponseAsString(HttpURLConnection)}的规则处理连接池客户端的响应
+     *
+     * @param response 响应
+     * @return 响应字符串
+     * @throws IOException 响应状态为4xx（400除外）或5xx
+     */
+    private static String getResponseAsString(HttpResponse response) throws IOException {
+        if (response.isOk() || response.getStatus() == HttpURLConnection.HTTP_BAD_REQUEST) {
+            return response.getBodyAsString();
+        }
+        // Client Error 4xx and Server Error 5xx
+        throw new IOException(response.getStatus() + " " + response.getMessage());
+    }
+
     public static String getRequestBody(HttpServletRequest request) throws IOException {
         return getStreamAsString(request.getInputStream(), getResponseCharset(request.getContentType()));
     }
@@ -0,0 +1,187 @@
+package com.github.jarvisframework.tool.http;
+
+import com.github.jarvisframework.tool.core.io.StreamProgress;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+/**
+ * <p>multipart/form-data请求体</p>
+ * 构造时生成各部分的头信息，并根据{@link FileItem}的长度计算出请求体的准确长度，写出时流式写入文件内容，
+ * 不在内存中缓存整个请求体。
+ *
+ * @author Doug Wang
+ * @since 1.0, 2026-10-19 02:14:37
+ */
+final class MultipartBody {
+
+    /**
+     * 各部分，文本参数只有头信息
+     */
+    private final List<Part> parts = new ArrayList<>();
+    private final byte[] endBoundary;
+    /**
+     * 请求体长度，-1表示存在长度未知的文件
+     */
+    private final long length;
+
+    /**
+     * 构造
+     *
+     * @param params     文本参数，可以为null
+     * @param fileParams 文件参数
+     * @param charset    字符集
+     * @param boundary   分隔线
+     * @throws IOException 文件无效或字符集不支持
+     */
+    MultipartBody(Map<String, String> params, Map<String, FileItem> fileParams, String charset, String boundary) throws IOException {
+        final String entryBoundary = "\r\n--" + boundary + "\r\n";
+        if (null != params) {
+            for (Entry<String, String> entry : params.entrySet()) {
+                parts.add(new Part(getTextEntry(entryBoundary, entry.getKey(), entry.getValue(), charset), null, 0));
+            }
+        }
+        for (Entry<String, FileItem> entry : fileParams.entrySet()) {
+            final FileItem fileItem = entry.getValue();
+            if (!fileItem.isValid()) {
+                throw new IOException("FileItem is invalid");
+            }
+            final long fileLength = fileItem.isLengthKnown() ? fileItem.getFileLength() : -1;
+            final byte[] head = getFileEntry(entryBoundary, entry.getKey(), fileItem.getFileName(), fileItem.getMimeType(), charset);
+            parts.add(new Part(head, fileItem, fileLength));
+        }
+        this.endBoundary = ("\r\n--" + boundary + "--\r\n").getBytes(charset);
+
+        long total = endBoundary.length;
+        for (Part part : parts) {
+            if (part.length < 0) {
+                total = -1;
+                break;
+            }
+            total += part.head.length + part.length;
+        }
+        this.length = total;
+    }
+
+    /**
+     * 请求体长度
+     *
+     * @return 字节数，-1表示存在长度未知的文件，需要使用chunked方式发送
+     */
+    long getLength() {
+        return length;
+    }
+
+    /**
+     * 写出请求体
+     *
+     * @param output   输出流
+     * @param progress 进度回调，已写出的字节数，可以为null
+     * @throws IOException IO异常，或文件长度与计算请求体长度时不一致
+     */
+    void writeTo(OutputStream output, StreamProgress progress) throws IOException {
+        final CountingOutputStream out = new CountingOutputStream(output, progress);
+        if (null != progress) {
+            progress.start();
+        }
+        for (Part part : parts) {
+            out.write(part.head);
+            if (null != part.file) {
+                final long start = out.count;
+                part.file.write(out);
+                if (part.length >= 0 && out.count - start != part.length) {
+                    throw new IOException("Length of file changed during upload: " + part.file.getFileName());
+                }
+            }
+        }
+        out.write(endBoundary);
+        out.flush();
+        if (null != progress) {
+            progress.finish();
+        }
+    }
+
+    // ------------------------------------------------------------------------ Private method start
+
+    private static byte[] getTextEntry(String entryBoundary, String fieldName, String fieldValue, String charset) throws IOException {
+        StringBuilder entry = new StringBuilder(entryBoundary);
+        entry.append("Content-Disposition:form-data;name=\"");
+        entry.append(fieldName);
+        entry.append("\"\r\nContent-Type:text/plain\r\n\r\n");
+        entry.append(fieldValue);
+        return entry.toString().getBytes(charset);
+    }
+
+    private static byte[] getFileEntry(String entryBoundary, String fieldName, String fileName, String mimeType, String charset) throws IOException {
+        StringBuilder entry = new StringBuilder(entryBoundary);
+        entry.append("Content-Disposition:form-data;name=\"");
+        entry.append(fieldName);
+        entry.append("\";filename=\"");
+        entry.append(fileName);
+        entry.append("\"\r\nContent-Type:");
+        entry.append(mimeType);
+        entry.append("\r\n\r\n");
+        return entry.toString().getBytes(charset);
+    }
+    // ------------------------------------------------------------------------ Private method end
+
+    /**
+     * 请求体的一部分
+     */
+    private static class Part {
+        final byte[] head;
+        final FileItem file;
+        /**
+         * 文件长度，-1表示未知
+         */
+        final long length;
+
+        Part(byte[] head, FileItem file, long length) {
+            this.head = head;
+            this.file = file;
+            this.length = length;
+        }
+    }
+
+    /**
+     * 统计写出字节数并回调进度的输出流
+     */
+    private static class CountingOutputStream extends FilterOutputStream {
+        private final StreamProgress progress;
+        long count;
+
+        CountingOutputStream(OutputStream out, StreamProgress progress) {
+            super(out);
+            this.progress = progress;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            onWritten(1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            onWritten(len);
+        }
+
+        @Override
+        public void close() {
+            // 由调用方关闭底层流
+        }
+
+        private void onWritten(int len) {
+            count += len;
+            if (null != progress) {
+                progress.progress(count);
+            }
+        }
+    }
+}
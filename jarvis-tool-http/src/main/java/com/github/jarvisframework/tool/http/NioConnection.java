@@ -0,0 +1,467 @@
+package com.github.jarvisframework.tool.http;
+
+import com.github.jarvisframework.tool.core.io.IOUtils;
+
+import javax.net.ssl.SSLEngine;
+import javax.net.ssl.SSLEngineResult;
+import javax.net.ssl.SSLException;
+import javax.net.ssl.SSLParameters;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.net.UnknownHostException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+import java.nio.channels.UnresolvedAddressException;
+
+/**
+ * <p>非阻塞的HTTP连接</p>
+ * 包装一个非阻塞的SocketChannel，HTTPS时通过SSLEngine加解密。所有方法都只在所属的事件循环线程中调用，
+ * 方法在数据未能一次读写完成时返回，由调用方在通道就绪后再次调用。
+ *
+ * @author Doug Wang
+ * @since 1.0, 2026-10-19 00:36:52
+ */
+final class NioConnection {
+
+    private static final int BUFFER_SIZE = 16 * 1024;
+    private static final ByteBuffer EMPTY = ByteBuffer.allocate(0);
+
+    private final Route route;
+    /**
+     * 建立连接时使用的HTTPS配置
+     */
+    private final SSLConfig sslConfig;
+    private final SocketChannel channel;
+    /**
+     * HTTPS的SSLEngine，HTTP时为null
+     */
+    private final SSLEngine engine;
+
+    /**
+     * 从通道读取的密文，写模式
+     */
+    private ByteBuffer netIn;
+    /**
+     * 待写入通道的密文，写模式
+     */
+    private ByteBuffer netOut;
+    /**
+     * 解密后（HTTP时直接读取）的明文，写模式
+     */
+    private ByteBuffer appIn;
+    /**
+     * 待发送的明文
+     */
+    private ByteBuffer[] appOut;
+
+    private SelectionKey key;
+    /**
+     * 是否已连接并完成握手
+     */
+    private boolean ready;
+    /**
+     * 当前正在进行的请求
+     */
+    private NioTransport.Exchange exchange;
+    /**
+     * 最后一次变为空闲的时间
+     */
+    private long lastUsed;
+    /**
+     * 服务端通过Keep-Alive响应头声明的过期时间，0表示未声明
+     */
+    private long expireAt;
+    private boolean reused;
+    /**
+     * 是否已调用过{@link #close()}，与通道状态无关，通道可能因中断等原因被JDK关闭
+     */
+    private boolean closed;
+    /**
+     * 建立连接时所属事件循环的代数，事件循环关闭所有空闲连接后代数增加，旧代的连接不再放回空闲列表
+     */
+    private int generation;
+
+    private NioConnection(Route route, SSLConfig sslConfig, SocketChannel channel, SSLEngine engine) {
+        this.route = route;
+        this.sslConfig = sslConfig;
+        this.channel = channel;
+        this.engine = engine;
+        if (null == engine) {
+            this.appIn = ByteBuffer.allocate(BUFFER_SIZE);
+        } else {
+            this.netIn = ByteBuffer.allocate(engine.getSession().getPacketBufferSize());
+            this.netOut = ByteBuffer.allocate(engine.getSession().getPacketBufferSize());
+            this.appIn = ByteBuffer.allocate(engine.getSession().getApplicationBufferSize());
+        }
+    }
+
+    /**
+     * 发起非阻塞连接
+     *
+     * @param route     路由
+     * @param sslConfig HTTPS配置
+     * @return 连接，需要在通道可连接时调用{@link #finishConnect()}
+     * @throws IOException 连接失败
+     */
+    static NioConnection open(Route route, SSLConfig sslConfig) throws IOException {
+        final SocketChannel channel = SocketChannel.open();
+        try {
+            channel.configureBlocking(false);
+            channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+            channel.setOption(StandardSocketOptions.SO_KEEPALIVE, true);
+            SSLEngine engine = null;
+            if (route.isHttps()) {
+                engine = sslConfig.getContext().createSSLEngine(route.getHost(), route.getPort());
+                engine.setUseClientMode(true);
+                if (false == sslConfig.isIgnoreHostCheck()) {
+                    final SSLParameters parameters = engine.getSSLParameters();
+                    parameters.setEndpointIdentificationAlgorithm("HTTPS");
+                    engine.setSSLParameters(parameters);
+                }
+            }
+            try {
+                channel.connect(new InetSocketAddress(route.getHost(), route.getPort()));
+            } catch (UnresolvedAddressException e) {
+                throw new UnknownHostException(route.getHost());
+            }
+            return new NioConnection(route, sslConfig, channel, engine);
+        } catch (IOException | RuntimeException e) {
+            IOUtils.closeQuietly(channel);
+            throw e;
+        }
+    }
+
+    Route getRoute() {
+        return route;
+    }
+
+    /**
+     * 是否可用于给定HTTPS配置的请求，HTTPS连接只能用于建立时使用的配置，HTTP连接不受配置影响
+     *
+     * @param sslConfig 请求使用的HTTPS配置
+     * @return 是否可用
+     */
+    boolean isCompatible(SSLConfig sslConfig) {
+        return false == route.isHttps() || this.sslConfig == sslConfig;
+    }
+
+    SocketChannel getChannel() {
+        return channel;
+    }
+
+    SelectionKey getKey() {
+        return key;
+    }
+
+    void setKey(SelectionKey key) {
+        this.key = key;
+    }
+
+    boolean isReady() {
+        return ready;
+    }
+
+    NioTransport.Exchange getExchange() {
+        return exchange;
+    }
+
+    void setExchange(NioTransport.Exchange exchange) {
+        this.exchange = exchange;
+    }
+
+    boolean isReused() {
+        return reused;
+    }
+
+    int getGeneration() {
+        return generation;
+    }
+
+    void setGeneration(int generation) {
+        this.generation = generation;
+    }
+
+    /**
+     * 完成TCP连接，HTTPS时开始握手
+     *
+     * @return 是否已连接
+     * @throws IOException 连接失败
+     */
+    boolean finishConnect() throws IOException {
+        if (false == channel.finishConnect()) {
+            return false;
+        }
+        if (null != engine) {
+            engine.beginHandshake();
+        }
+        return true;
+    }
+
+    /**
+     * 推进握手，HTTP时直接完成
+     *
+     * @return 握手是否已完成，未完成时需要在通道可读或可写（{@link #hasPendingOutput()}）时再次调用
+     * @throws IOException 握手失败
+     */
+    boolean handshake() throws IOException {
+        if (null == engine) {
+            ready = true;
+            return true;
+        }
+        while (true) {
+            switch (engine.getHandshakeStatus()) {
+                case NEED_WRAP:
+                    wrap(EMPTY);
+                    if (false == flushNet()) {
+                        return false;
+                    }
+                    break;
+                case NEED_TASK:
+                    runDelegatedTasks();
+                    break;
+                case FINISHED:
+                case NOT_HANDSHAKING:
+                    if (false == flushNet()) {
+                        return false;
+                    }
+                    ready = true;
+                    return true;
+                default:
+                    // NEED_UNWRAP
+                    netIn.flip();
+                    final SSLEngineResult result = engine.unwrap(netIn, appIn);
+                    netIn.compact();
+                    switch (result.getStatus()) {
+                        case BUFFER_UNDERFLOW:
+                            if (false == netIn.hasRemaining()) {
+                                netIn = ensureCapacity(netIn, engine.getSession().getPacketBufferSize());
+                            }
+                            final int read = channel.read(netIn);
+                            if (read < 0) {
+                                throw new EOFException("Connection closed during handshake: " + route);
+                            }
+                            if (0 == read) {
+                                return false;
+                            }
+                            break;
+                        case BUFFER_OVERFLOW:
+                            appIn = ensureCapacity(appIn, engine.getSession().getApplicationBufferSize());
+                            break;
+                        case CLOSED:
+                            throw new SSLException("Connection closed during handshake: " + route);
+                        default:
+                            break;
+                    }
+                    break;
+            }
+        }
+    }
+
+    /**
+     * 设置待发送的请求数据
+     *
+     * @param data 数据
+     */
+    void send(ByteBuffer... data) {
+        this.appOut = data;
+    }
+
+    /**
+     * 尽可能发送待发送的数据
+     *
+     * @return 是否已全部发送，未完成时需要在通道可写时再次调用
+     * @throws IOException 写入失败
+     */
+    boolean flush() throws IOException {
+        if (null == engine) {
+            channel.write(appOut);
+            return false == hasRemaining(appOut);
+        }
+        while (flushNet()) {
+            if (false == hasRemaining(appOut)) {
+                return true;
+            }
+            wrap(appOut);
+        }
+        return false;
+    }
+
+    /**
+     * 是否还有未写入通道的数据
+     *
+     * @return 是否有待写数据
+     */
+    boolean hasPendingOutput() {
+        return (null != netOut && netOut.position() > 0) || (null != appOut && hasRemaining(appOut));
+    }
+
+    /**
+     * 从通道读取数据，读到的明文追加到{@link #getInput()}中
+     *
+     * @return 是否已读到流末尾
+     * @throws IOException 读取或解密失败
+     */
+    boolean read() throws IOException {
+        if (null == engine) {
+            return channel.read(appIn) < 0;
+        }
+        boolean eof = channel.read(netIn) < 0;
+        netIn.flip();
+        try {
+            while (netIn.hasRemaining()) {
+                final SSLEngineResult result = engine.unwrap(netIn, appIn);
+                if (SSLEngineResult.Status.BUFFER_UNDERFLOW == result.getStatus()) {
+                    break;
+                }
+                if (SSLEngineResult.Status.BUFFER_OVERFLOW == result.getStatus()) {
+                    appIn = ensureCapacity(appIn, engine.getSession().getApplicationBufferSize());
+                    continue;
+                }
+                if (SSLEngineResult.Status.CLOSED == result.getStatus()) {
+                    eof = true;
+                    break;
+                }
+                // TLS 1.3的KeyUpdate、NewSessionTicket等握手后消息
+                if (SSLEngineResult.HandshakeStatus.NEED_TASK == result.getHandshakeStatus()) {
+                    runDelegatedTasks();
+                } else if (SSLEngineResult.HandshakeStatus.NEED_WRAP == result.getHandshakeStatus()) {
+                    wrap(EMPTY);
+                    flushNet();
+                }
+            }
+        } finally {
+            netIn.compact();
+        }
+        if (false == netIn.hasRemaining()) {
+            netIn = ensureCapacity(netIn, engine.getSession().getPacketBufferSize());
+        }
+        return eof;
+    }
+
+    /**
+     * 已读取的明文，写模式，调用方flip后消费再compact
+     *
+     * @return 明文缓冲区
+     */
+    ByteBuffer getInput() {
+        return appIn;
+    }
+
+    /**
+     * 标记为空闲
+     *
+     * @param now             当前的单调毫秒数
+     * @param keepAliveMillis 服务端声明的keep-alive时长，不大于0表示未声明
+     */
+    void markIdle(long now, long keepAliveMillis) {
+        this.exchange = null;
+        this.appOut = null;
+        this.lastUsed = now;
+        this.expireAt = keepAliveMillis > 0 ? now + keepAliveMillis : 0;
+        this.reused = true;
+    }
+
+    long idleMillis(long now) {
+        return now - lastUsed;
+    }
+
+    boolean isExpired(long now) {
+        return expireAt > 0 && now >= expireAt;
+    }
+
+    /**
+     * 关闭连接，不发送TLS close_notify
+     *
+     * @return 是否为第一次关闭，用于保证连接数只释放一次
+     */
+    boolean close() {
+        if (null != key) {
+            key.cancel();
+        }
+        IOUtils.closeQuietly(channel);
+        if (closed) {
+            return false;
+        }
+        closed = true;
+        return true;
+    }
+
+    // ------------------------------------------------------------------------ Private method start
+
+    /**
+     * 加密数据到netOut，空间不足时扩容
+     *
+     * @param src 明文
+     * @throws IOException 加密失败
+     */
+    private void wrap(ByteBuffer... src) throws IOException {
+        while (true) {
+            final SSLEngineResult result = engine.wrap(src, netOut);
+            switch (result.getStatus()) {
+                case BUFFER_OVERFLOW:
+                    netOut = ensureCapacity(netOut, engine.getSession().getPacketBufferSize());
+                    break;
+                case CLOSED:
+                    throw new SSLException("SSLEngine closed: " + route);
+                default:
+                    return;
+            }
+        }
+    }
+
+    /**
+     * 将netOut中的密文写入通道
+     *
+     * @return 是否已全部写入
+     * @throws IOException 写入失败
+     */
+    private boolean flushNet() throws IOException {
+        if (0 == netOut.position()) {
+            return true;
+        }
+        netOut.flip();
+        try {
+            channel.write(netOut);
+            return false == netOut.hasRemaining();
+        } finally {
+            netOut.compact();
+        }
+    }
+
+    private void runDelegatedTasks() {
+        Runnable task;
+        while (null != (task = engine.getDelegatedTask())) {
+            task.run();
+        }
+    }
+
+    /**
+     * 确保写模式的缓冲区至少有指定的剩余空间
+     *
+     * @param buffer  缓冲区
+     * @param minimum 最小剩余空间
+     * @return 原缓冲区或扩容后的新缓冲区
+     */
+    private static ByteBuffer ensureCapacity(ByteBuffer buffer, int minimum) {
+        if (buffer.remaining() >= minimum) {
+            return buffer;
+        }
+        final ByteBuffer larger = ByteBuffer.allocate(buffer.position() + minimum);
+        buffer.flip();
+        larger.put(buffer);
+        return larger;
+    }
+
+    private static boolean hasRemaining(ByteBuffer[] buffers) {
+        for (ByteBuffer buffer : buffers) {
+            if (buffer.hasRemaining()) {
+                return true;
+            }
+        }
+        return false;
+    }
+    // ------------------------------------------------------------------------ Private method end
+}
@@ -0,0 +1,715 @@
+package com.github.jarvisframework.tool.http;
+
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.SocketTimeoutException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>基于NIO的异步HTTP传输</p>
+ * 由少量事件循环线程驱动所有连接，每个路由固定由一个事件循环处理，路由的状态只在该线程中访问，不需要加锁：
+ * <ul>
+ *     <li>每个路由的连接数不超过maxPerRoute，超出的请求排队等待空闲连接</li>
+ *     <li>空闲连接保持注册读事件，服务端关闭或发送意外数据时立即关闭</li>
+ *     <li>请求超时从提交时开始计算（包括排队、连接、发送和接收），超时或取消时关闭连接，真正中止IO</li>
+ *     <li>超时和空闲时间按{@link System#nanoTime()}计算，不受系统时间调整影响</li>
+ *     <li>复用的连接在收到任何响应数据前断开时自动重试一次</li>
+ * </ul>
+ * 请求的Future在回调线程池中完成，避免用户的回调阻塞事件循环。
+ *
+ * @author Doug Wang
+ * @since 1.0, 2026-10-19 00:36:52
+ */
+final class NioTransport implements Closeable {
+
+    /**
+     * 清理过期空闲连接的间隔
+     */
+    private static final long SWEEP_INTERVAL = 1000;
+    /**
+     * 已取消的超时任务超过此数量且超过队列一半时清理队列
+     */
+    private static final int PURGE_THRESHOLD = 1024;
+    /**
+     * 计时起点
+     */
+    private static final long NANO_ORIGIN = System.nanoTime();
+
+    private final EventLoop[] loops;
+    private final Executor callbackExecutor;
+
+    private volatile int maxPerRoute;
+    private volatile long idleTimeout;
+    private volatile boolean closed;
+
+    /**
+     * 构造并启动事件循环
+     *
+     * @param threads          事件循环线程数
+     * @param callbackExecutor 完成Future的线程池
+     * @param maxPerRoute      每个路由的最大连接数
+     * @param idleTimeout      空闲连接的最大保持时间，毫秒
+     * @throws IOException 打开Selector失败
+     */
+    NioTransport(int threads, Executor callbackExecutor, int maxPerRoute, long idleTimeout) throws IOException {
+        this.callbackExecutor = callbackExecutor;
+        this.maxPerRoute = maxPerRoute;
+        this.idleTimeout = idleTimeout;
+        this.loops = new EventLoop[threads];
+        try {
+            for (int i = 0; i < threads; i++) {
+                loops[i] = new EventLoop("http-nio-" + (i + 1));
+            }
+        } catch (IOException e) {
+            close();
+            throw e;
+        }
+        for (EventLoop loop : loops) {
+            loop.thread.start();
+        }
+    }
+
+    void setMaxPerRoute(int maxPerRoute) {
+        this.maxPerRoute = maxPerRoute;
+        // 上限变大时排队的请求可以立即新建连接
+        for (EventLoop loop : loops) {
+            loop.execute(loop::dispatchAll);
+        }
+    }
+
+    void setIdleTimeout(long idleTimeout) {
+        this.idleTimeout = idleTimeout;
+    }
+
+    /**
+     * 提交请求
+     *
+     * @param request        请求
+     * @param sslConfig      HTTPS配置
+     * @param connectTimeout 连接（含TLS握手）超时，毫秒
+     * @param timeout        整个请求的超时，毫秒，不大于0表示不超时
+     * @return 响应的Future，取消时中止请求
+     */
+    CompletableFuture<HttpResponse> submit(HttpRequest request, SSLConfig sslConfig, int connectTimeout, int timeout) {
+        final Route route = Route.of(request.getUrl());
+        final Exchange exchange = new Exchange(request, route, sslConfig, connectTimeout,
+                timeout > 0 ? monotonicMillis() + timeout : 0);
+        final EventLoop loop = loops[(route.hashCode() & Integer.MAX_VALUE) % loops.length];
+        exchange.future.whenComplete((response, e) -> {
+            if (exchange.future.isCancelled()) {
+                loop.execute(() -> loop.abort(exchange, null));
+            }
+        });
+        loop.execute(() -> loop.enqueue(exchange));
+        if (closed) {
+            exchange.future.completeExceptionally(new IOException("HttpClient is closed"));
+        }
+        return exchange.future;
+    }
+
+    /**
+     * 关闭所有空闲连接，使用中的连接在请求结束后关闭，用于HTTPS配置变更
+     */
+    void closeIdle() {
+        for (EventLoop loop : loops) {
+            loop.execute(loop::closeIdle);
+        }
+    }
+
+    /**
+     * 关闭所有连接并停止事件循环，未完成的请求以异常结束
+     */
+    @Override
+    public void close() {
+        closed = true;
+        for (EventLoop loop : loops) {
+            if (null != loop) {
+                loop.selector.wakeup();
+            }
+        }
+    }
+
+    // ------------------------------------------------------------------------ Private method start
+
+    /**
+     * 在回调线程池中完成Future，线程池拒绝时在当前线程完成
+     *
+     * @param exchange 请求
+     * @param response 响应，失败时为null
+     * @param error    异常
+     */
+    private void complete(Exchange exchange, HttpResponse response, Throwable error) {
+        final Runnable task = () -> {
+            if (null == error) {
+                exchange.future.complete(response);
+            } else {
+                exchange.future.completeExceptionally(error);
+            }
+        };
+        try {
+            callbackExecutor.execute(task);
+        } catch (RejectedExecutionException e) {
+            task.run();
+        }
+    }
+
+    /**
+     * 单调递增的毫秒数，用于计算超时和空闲时间，从1开始，0保留表示不超时
+     *
+     * @return 毫秒数
+     */
+    private static long monotonicMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - NANO_ORIGIN) + 1;
+    }
+    // ------------------------------------------------------------------------ Private method end
+
+    /**
+     * 一次请求
+     */
+    static final class Exchange {
+        final HttpRequest request;
+        final Route route;
+        final SSLConfig sslConfig;
+        final int connectTimeout;
+        /**
+         * 请求的截止时间，0表示不超时
+         */
+        final long deadline;
+        final byte[] head;
+        final CompletableFuture<HttpResponse> future = new CompletableFuture<>();
+
+        NioConnection conn;
+        HttpResponseParser parser;
+        boolean retried;
+
+        Exchange(HttpRequest request, Route route, SSLConfig sslConfig, int connectTimeout, long deadline) {
+            this.request = request;
+            this.route = route;
+            this.sslConfig = sslConfig;
+            this.connectTimeout = connectTimeout;
+            this.deadline = deadline;
+            this.head = HttpCodec.encodeHead(request, route);
+        }
+    }
+
+    /**
+     * 单个路由的状态
+     */
+    private static class RouteState {
+        final Deque<Exchange> pending = new ArrayDeque<>();
+        /**
+         * 空闲连接，最近归还的在队首
+         */
+        final Deque<NioConnection> idle = new ArrayDeque<>();
+        /**
+         * 连接总数，包括使用中、空闲和正在建立的
+         */
+        int total;
+    }
+
+    /**
+     * 超时任务，请求超时或连接超时
+     */
+    private static class Deadline implements Comparable<Deadline> {
+        final long at;
+        final Exchange exchange;
+        /**
+         * 连接超时时为正在建立的连接，请求超时时为null
+         */
+        final NioConnection conn;
+        boolean cancelled;
+
+        Deadline(long at, Exchange exchange, NioConnection conn) {
+            this.at = at;
+            this.exchange = exchange;
+            this.conn = conn;
+        }
+
+        @Override
+        public int compareTo(Deadline other) {
+            return Long.compare(at, other.at);
+        }
+    }
+
+    /**
+     * 事件循环
+     */
+    private final class EventLoop implements Runnable {
+
+        private final Selector selector;
+        private final Thread thread;
+        private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+        private final Map<Route, RouteState> routes = new HashMap<>();
+        private final Map<Exchange, Deadline> timeouts = new HashMap<>();
+        private final Map<NioConnection, Deadline> connectTimeouts = new HashMap<>();
+        private final PriorityQueue<Deadline> deadlines = new PriorityQueue<>();
+        private int cancelledDeadlines;
+        private long lastSweep;
+        /**
+         * 连接的代数，{@link #closeIdle()}时增加
+         */
+        private int generation;
+
+        EventLoop(String name) throws IOException {
+            this.selector = Selector.open();
+            this.thread = new Thread(this, name);
+            this.thread.setDaemon(true);
+        }
+
+        /**
+         * 在事件循环线程中执行任务
+         *
+         * @param task 任务
+         */
+        void execute(Runnable task) {
+            tasks.add(task);
+            selector.wakeup();
+        }
+
+        @Override
+        public void run() {
+            while (false == closed) {
+                try {
+                    selector.select(selectTimeout());
+                } catch (IOException e) {
+                    // Selector异常时继续处理任务和超时
+                }
+                runTasks();
+                processSelectedKeys();
+                fireDeadlines();
+                sweepIdle();
+            }
+            shutdown();
+        }
+
+        // ---- 请求调度
+
+        void enqueue(Exchange exchange) {
+            if (exchange.future.isDone()) {
+                return;
+            }
+            if (closed) {
+                complete(exchange, null, new IOException("HttpClient is closed"));
+                return;
+            }
+            if (exchange.deadline > 0) {
+                final Deadline deadline = new Deadline(exchange.deadline, exchange, null);
+                timeouts.put(exchange, deadline);
+                deadlines.add(deadline);
+            }
+            final RouteState state = routes.computeIfAbsent(exchange.route, key -> new RouteState());
+            state.pending.addLast(exchange);
+            dispatch(state);
+        }
+
+        void dispatchAll() {
+            for (RouteState state : routes.values()) {
+                dispatch(state);
+            }
+        }
+
+        /**
+         * 为排队的请求分配空闲连接，或在上限内新建连接
+         *
+         * @param state 路由状态
+         */
+        private void dispatch(RouteState state) {
+            final long now = monotonicMillis();
+            while (false == state.pending.isEmpty()) {
+                final NioConnection conn = pollIdle(state, state.pending.peekFirst().sslConfig, now);
+                if (null != conn) {
+                    start(conn, state.pending.pollFirst());
+                } else if (state.total < maxPerRoute) {
+                    connect(state, state.pending.pollFirst());
+                } else {
+                    return;
+                }
+            }
+        }
+
+        /**
+         * 取出可用的空闲连接，过期的以及HTTPS配置变更前建立的连接被关闭
+         *
+         * @param state     路由状态
+         * @param sslConfig 请求使用的HTTPS配置
+         * @param now       当前时间
+         * @return 空闲连接，没有时为null
+         */
+        private NioConnection pollIdle(RouteState state, SSLConfig sslConfig, long now) {
+            NioConnection conn;
+            while (null != (conn = state.idle.pollFirst())) {
+                if (conn.isExpired(now) || conn.idleMillis(now) > idleTimeout || false == conn.isCompatible(sslConfig)) {
+                    state.total--;
+                    conn.close();
+                    continue;
+                }
+                return conn;
+            }
+            return null;
+        }
+
+        private void connect(RouteState state, Exchange exchange) {
+            final NioConnection conn;
+            try {
+                conn = NioConnection.open(exchange.route, exchange.sslConfig);
+            } catch (IOException | RuntimeException e) {
+                finish(exchange, null, e);
+                return;
+            }
+            state.total++;
+            conn.setGeneration(generation);
+            conn.setExchange(exchange);
+            exchange.conn = conn;
+            try {
+                conn.setKey(conn.getChannel().register(selector, SelectionKey.OP_CONNECT, conn));
+            } catch (ClosedChannelException e) {
+                onError(conn, e);
+                return;
+            }
+            if (exchange.connectTimeout > 0) {
+                final Deadline deadline = new Deadline(monotonicMillis() + exchange.connectTimeout, exchange, conn);
+                connectTimeouts.put(conn, deadline);
+                deadlines.add(deadline);
+            }
+        }
+
+        /**
+         * 在已就绪的连接上开始发送请求
+         *
+         * @param conn     连接
+         * @param exchange 请求
+         */
+        private void start(NioConnection conn, Exchange exchange) {
+            conn.setExchange(exchange);
+            exchange.conn = conn;
+            exchange.parser = new HttpResponseParser(exchange.request.getMethod());
+            final byte[] body = exchange.request.getBody();
+            if (null == body || 0 == body.length) {
+                conn.send(ByteBuffer.wrap(exchange.head));
+            } else {
+                conn.send(ByteBuffer.wrap(exchange.head), ByteBuffer.wrap(body));
+            }
+            try {
+                write(conn);
+            } catch (IOException | RuntimeException e) {
+                onError(conn, e);
+            }
+        }
+
+        // ---- 事件处理
+
+        private void processSelectedKeys() {
+            final Iterator<SelectionKey> iterator = selector.selectedKeys().iterator();
+            while (iterator.hasNext()) {
+                final SelectionKey key = iterator.next();
+                iterator.remove();
+                final NioConnection conn = (NioConnection) key.attachment();
+                try {
+                    if (false == key.isValid()) {
+                        continue;
+                    }
+                    if (key.isConnectable()) {
+                        onConnect(conn);
+                    } else if (false == conn.isReady()) {
+                        handshake(conn);
+                    } else {
+                        if (key.isWritable()) {
+                            write(conn);
+                        }
+                        if (key.isValid() && key.isReadable()) {
+                            onRead(conn);
+                        }
+                    }
+                } catch (IOException | RuntimeException e) {
+                    onError(conn, e);
+                }
+            }
+        }
+
+        private void onConnect(NioConnection conn) throws IOException {
+            if (conn.finishConnect()) {
+                handshake(conn);
+            }
+        }
+
+        private void handshake(NioConnection conn) throws IOException {
+            if (false == conn.handshake()) {
+                conn.getKey().interestOps(SelectionKey.OP_READ | (conn.hasPendingOutput() ? SelectionKey.OP_WRITE : 0));
+                return;
+            }
+            final Deadline deadline = connectTimeouts.remove(conn);
+            if (null != deadline) {
+                cancel(deadline);
+            }
+            start(conn, conn.getExchange());
+        }
+
+        private void write(NioConnection conn) throws IOException {
+            if (null == conn.getExchange()) {
+                conn.getKey().interestOps(SelectionKey.OP_READ);
+                return;
+            }
+            final boolean flushed = conn.flush();
+            conn.getKey().interestOps(SelectionKey.OP_READ | (flushed ? 0 : SelectionKey.OP_WRITE));
+        }
+
+        private void onRead(NioConnection conn) throws IOException {
+            final boolean eof = conn.read();
+            final Exchange exchange = conn.getExchange();
+            if (null == exchange) {
+                // 空闲连接被服务端关闭或收到意外数据
+                discard(conn);
+                return;
+            }
+            final ByteBuffer input = conn.getInput();
+            input.flip();
+            boolean done;
+            try {
+                done = exchange.parser.feed(input);
+            } finally {
+                input.compact();
+            }
+            if (false == done && eof) {
+                done = exchange.parser.onEof();
+            }
+            if (false == done) {
+                return;
+            }
+            final HttpCodec.Result result = exchange.parser.getResult();
+            final RouteState state = routes.get(conn.getRoute());
+            // 服务端可能在请求体发送完之前提前响应，此时连接上还有未发送的数据，不能复用
+            if (result.keepAlive && false == eof && 0 == input.position() && false == conn.hasPendingOutput()
+                    && false == closed && conn.getGeneration() == generation) {
+                conn.markIdle(monotonicMillis(), result.keepAliveMillis);
+                conn.getKey().interestOps(SelectionKey.OP_READ);
+                state.idle.addFirst(conn);
+            } else {
+                conn.setExchange(null);
+                state.total--;
+                conn.close();
+            }
+            exchange.conn = null;
+            finish(exchange, result.response, null);
+            dispatch(state);
+        }
+
+        /**
+         * 连接出错，复用的连接在收到响应数据前出错时重试一次，否则请求失败
+         *
+         * @param conn  连接
+         * @param error 异常
+         */
+        private void onError(NioConnection conn, Throwable error) {
+            final Exchange exchange = conn.getExchange();
+            final RouteState state = discard(conn);
+            if (null != exchange) {
+                exchange.conn = null;
+                if (conn.isReused() && false == exchange.retried && false == exchange.parser.isStarted()) {
+                    exchange.retried = true;
+                    state.pending.addFirst(exchange);
+                } else {
+                    finish(exchange, null, error);
+                }
+            }
+            dispatch(state);
+        }
+
+        /**
+         * 关闭连接并从路由中移除
+         *
+         * @param conn 连接
+         * @return 路由状态
+         */
+        private RouteState discard(NioConnection conn) {
+            final RouteState state = routes.get(conn.getRoute());
+            // 通道可能已被JDK关闭（如线程中断），连接数仍需释放，只以是否丢弃过为准
+            if (false == conn.close()) {
+                return state;
+            }
+            if (null == conn.getExchange()) {
+                state.idle.remove(conn);
+            }
+            state.total--;
+            final Deadline deadline = connectTimeouts.remove(conn);
+            if (null != deadline) {
+                cancel(deadline);
+            }
+            return state;
+        }
+
+        /**
+         * 中止请求：从队列中移除，或关闭正在使用的连接
+         *
+         * @param exchange 请求
+         * @param error    异常，为null表示已被取消
+         */
+        void abort(Exchange exchange, Throwable error) {
+            final RouteState state = routes.get(exchange.route);
+            if (null == state) {
+                return;
+            }
+            final NioConnection conn = exchange.conn;
+            if (null != conn) {
+                conn.setExchange(null);
+                exchange.conn = null;
+                discard(conn);
+            } else {
+                state.pending.remove(exchange);
+            }
+            if (null != error) {
+                finish(exchange, null, error);
+            } else {
+                final Deadline deadline = timeouts.remove(exchange);
+                if (null != deadline) {
+                    cancel(deadline);
+                }
+            }
+            dispatch(state);
+        }
+
+        private void finish(Exchange exchange, HttpResponse response, Throwable error) {
+            final Deadline deadline = timeouts.remove(exchange);
+            if (null != deadline) {
+                cancel(deadline);
+            }
+            complete(exchange, response, error);
+        }
+
+        // ---- 超时和空闲连接
+
+        private long selectTimeout() {
+            final Deadline first = deadlines.peek();
+            if (null == first) {
+                return SWEEP_INTERVAL;
+            }
+            return Math.max(1, Math.min(SWEEP_INTERVAL, first.at - monotonicMillis()));
+        }
+
+        private void fireDeadlines() {
+            final long now = monotonicMillis();
+            Deadline deadline;
+            while (null != (deadline = deadlines.peek()) && deadline.at <= now) {
+                deadlines.poll();
+                if (deadline.cancelled) {
+                    cancelledDeadlines--;
+                    continue;
+                }
+                final Exchange exchange = deadline.exchange;
+                if (null != deadline.conn) {
+                    connectTimeouts.remove(deadline.conn);
+                    final NioConnection conn = deadline.conn;
+                    if (conn.getChannel().isOpen() && false == conn.isReady()) {
+                        onError(conn, new SocketTimeoutException("Connect timed out: " + conn.getRoute()));
+                    }
+                } else {
+                    timeouts.remove(exchange);
+                    abort(exchange, new SocketTimeoutException("Request timed out: " + exchange.request.getUrl()));
+                }
+            }
+        }
+
+        private void cancel(Deadline deadline) {
+            deadline.cancelled = true;
+            cancelledDeadlines++;
+            if (cancelledDeadlines > PURGE_THRESHOLD && cancelledDeadlines > deadlines.size() / 2) {
+                deadlines.removeIf(item -> item.cancelled);
+                cancelledDeadlines = 0;
+            }
+        }
+
+        private void sweepIdle() {
+            final long now = monotonicMillis();
+            if (now - lastSweep < SWEEP_INTERVAL) {
+                return;
+            }
+            lastSweep = now;
+            final Iterator<RouteState> iterator = routes.values().iterator();
+            while (iterator.hasNext()) {
+                final RouteState state = iterator.next();
+                // 最早归还的连接在队尾
+                NioConnection conn;
+                while (null != (conn = state.idle.peekLast()) && (conn.isExpired(now) || conn.idleMillis(now) > idleTimeout)) {
+                    state.idle.pollLast();
+                    state.total--;
+                    conn.close();
+                }
+                if (0 == state.total && state.pending.isEmpty()) {
+                    iterator.remove();
+                }
+            }
+        }
+
+        void closeIdle() {
+            generation++;
+            for (RouteState state : routes.values()) {
+                state.total -= state.idle.size();
+                for (NioConnection conn : state.idle) {
+                    conn.close();
+                }
+                state.idle.clear();
+                dispatch(state);
+            }
+        }
+
+        private void runTasks() {
+            Runnable task;
+            while (null != (task = tasks.poll())) {
+                try {
+                    task.run();
+                } catch (RuntimeException e) {
+                    // 任务内部已处理请求的异常，这里只保证事件循环不退出
+                }
+            }
+        }
+
+        /**
+         * 停止时关闭所有连接，未完成的请求以异常结束
+         */
+        private void shutdown() {
+            runTasks();
+            final IOException error = new IOException("HttpClient is closed");
+            final List<Exchange> unfinished = new ArrayList<>();
+            for (RouteState state : routes.values()) {
+                unfinished.addAll(state.pending);
+                state.pending.clear();
+                for (NioConnection conn : state.idle) {
+                    conn.close();
+                }
+            }
+            for (SelectionKey key : selector.keys()) {
+                final NioConnection conn = (NioConnection) key.attachment();
+                if (null != conn.getExchange()) {
+                    unfinished.add(conn.getExchange());
+                }
+                conn.close();
+            }
+            routes.clear();
+            for (Exchange exchange : unfinished) {
+                complete(exchange, null, error);
+            }
+            try {
+                selector.close();
+            } catch (IOException e) {
+                // ignore
+            }
+        }
+    }
+}
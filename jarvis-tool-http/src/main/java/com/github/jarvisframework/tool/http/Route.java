@@ -0,0 +1,79 @@
+package com.github.jarvisframework.tool.http;
+
+import java.net.URL;
+import java.util.Locale;
+
+/**
+ * <p>连接路由</p>
+ * 协议、主机和端口相同的请求可以共用连接。
+ *
+ * @author Doug Wang
+ * @since 1.0, 2026-10-18 23:42:16
+ */
+final class Route {
+
+    private final boolean https;
+    private final String host;
+    private final int port;
+
+    private Route(boolean https, String host, int port) {
+        this.https = https;
+        this.host = host;
+        this.port = port;
+    }
+
+    /**
+     * 根据请求地址创建路由
+     *
+     * @param url 请求地址
+     * @return Route
+     */
+    static Route of(URL url) {
+        final boolean https = "https".equalsIgnoreCase(url.getProtocol());
+        final int port = url.getPort() > 0 ? url.getPort() : (https ? 443 : 80);
+        return new Route(https, url.getHost().toLowerCase(Locale.ROOT), port);
+    }
+
+    boolean isHttps() {
+        return https;
+    }
+
+    String getHost() {
+        return host;
+    }
+
+    int getPort() {
+        return port;
+    }
+
+    /**
+     * Host请求头的值，默认端口省略
+     *
+     * @return Host请求头的值
+     */
+    String hostHeader() {
+        return port == (https ? 443 : 80) ? host : host + ':' + port;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (false == o instanceof Route) {
+            return false;
+        }
+        final Route other = (Route) o;
+        return https == other.https && port == other.port && host.equals(other.host);
+    }
+
+    @Override
+    public int hashCode() {
+        return (host.hashCode() * 31 + port) * 31 + (https ? 1 : 0);
+    }
+
+    @Override
+    public String toString() {
+        return (https ? "https://" : "http://") + host + ':' + port;
+    }
+}
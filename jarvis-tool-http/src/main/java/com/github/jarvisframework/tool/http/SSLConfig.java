@@ -0,0 +1,335 @@
+package com.github.jarvisframework.tool.http;
+
+import com.github.jarvisframework.tool.core.exception.UtilException;
+import com.github.jarvisframework.tool.core.io.IOUtils;
+
+import javax.net.ssl.HostnameVerifier;
+import javax.net.ssl.HttpsURLConnection;
+import javax.net.ssl.KeyManager;
+import javax.net.ssl.KeyManagerFactory;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLSessionContext;
+import javax.net.ssl.SSLSocketFactory;
+import javax.net.ssl.TrustManager;
+import javax.net.ssl.TrustManagerFactory;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.GeneralSecurityException;
+import java.security.KeyStore;
+
+/**
+ * <p>HTTPS连接配置</p>
+ * 包括信任的证书（信任全部、自定义信任库或系统默认）、客户端证书和主机名校验。
+ * <p>
+ * {@link SSLContext}在第一次使用时按配置创建并缓存，之后的连接共用同一个{@link SSLSocketFactory}：
+ * <ul>
+ *     <li>TLS会话缓存在SSLContext中，复用后可以恢复会话（abbreviated handshake），省去完整握手</li>
+ *     <li>JDK的keep-alive连接缓存按SSLSocketFactory区分，复用后HTTPS连接才能被复用</li>
+ * </ul>
+ * 修改配置后缓存失效，下次使用时重新创建。
+ * <p>
+ * 没有设置信任库、客户端证书、协议和会话缓存时使用JVM默认的{@link SSLContext#getDefault()}和
+ * {@link HttpsURLConnection#getDefaultSSLSocketFactory()}，保留javax.net.ssl.keyStore等系统属性和
+ * {@link HttpsURLConnection#setDefaultSSLSocketFactory(SSLSocketFactory)}的设置。
+ *
+ * <pre>
+ * SSLConfig config = SSLConfig.create()
+ *         .setTrustStore(SSLConfig.loadKeyStore(trustIn, "JKS", "changeit".toCharArray()))
+ *         .setKeyStore(SSLConfig.loadKeyStore(certIn, "PKCS12", password), password);
+ * HttpUtils.setSSLConfig(config);
+ * </pre>
+ *
+ * @author Doug Wang
+ * @since 1.0, 2026-10-18 23:18:05
+ */
+public class SSLConfig {
+
+    /**
+     * 默认协议
+     */
+    public static final String DEFAULT_PROTOCOL = "TLS";
+
+    /**
+     * 不校验主机名
+     */
+    private static final HostnameVerifier TRUST_ALL_HOSTS = (hostname, session) -> true;
+
+    /**
+     * 协议，如TLS、TLSv1.2
+     */
+    private String protocol = DEFAULT_PROTOCOL;
+    /**
+     * 是否信任所有证书
+     */
+    private boolean trustAll;
+    /**
+     * 信任库，null表示使用系统默认
+     */
+    private KeyStore trustStore;
+    /**
+     * 客户端证书所在的密钥库
+     */
+    private KeyStore keyStore;
+    private char[] keyPassword;
+    /**
+     * 是否忽略主机名校验
+     */
+    private boolean ignoreHostCheck;
+    /**
+     * 会话缓存个数，不大于0时使用JDK默认值
+     */
+    private int sessionCacheSize;
+    /**
+     * 会话超时秒数，不大于0时使用JDK默认值
+     */
+    private int sessionTimeout;
+
+    /**
+     * 缓存的SSLContext和SSLSocketFactory，SSLContext每次getSocketFactory都会创建新的工厂，所以一并缓存
+     */
+    private volatile SSLContext context;
+    private volatile SSLSocketFactory socketFactory;
+
+    /**
+     * 创建配置，默认使用系统信任库并校验主机名
+     *
+     * @return SSLConfig
+     */
+    public static SSLConfig create() {
+        return new SSLConfig();
+    }
+
+    /**
+     * 创建信任所有证书并忽略主机名校验的配置，仅用于测试或受信任的内网
+     *
+     * @return SSLConfig
+     */
+    public static SSLConfig trustAll() {
+        return new SSLConfig().setTrustAll(true).setIgnoreHostCheck(true);
+    }
+
+    /**
+     * 设置协议
+     *
+     * @param protocol 协议，如TLS、TLSv1.2
+     * @return this
+     */
+    public SSLConfig setProtocol(String protocol) {
+        this.protocol = protocol;
+        return invalidate();
+    }
+
+    /**
+     * 设置是否信任所有证书
+     *
+     * @param trustAll 是否信任所有证书
+     * @return this
+     */
+    public SSLConfig setTrustAll(boolean trustAll) {
+        this.trustAll = trustAll;
+        return invalidate();
+    }
+
+    /**
+     * 设置信任库
+     *
+     * @param trustStore 信任库，null表示使用系统默认
+     * @return this
+     */
+    public SSLConfig setTrustStore(KeyStore trustStore) {
+        this.trustStore = trustStore;
+        return invalidate();
+    }
+
+    /**
+     * 设置客户端证书
+     *
+     * @param keyStore    包含客户端证书和私钥的密钥库
+     * @param keyPassword 私钥密码
+     * @return this
+     */
+    public SSLConfig setKeyStore(KeyStore keyStore, char[] keyPassword) {
+        this.keyStore = keyStore;
+        this.keyPassword = keyPassword;
+        return invalidate();
+    }
+
+    /**
+     * 设置是否忽略主机名校验
+     *
+     * @param ignoreHostCheck 是否忽略主机名校验
+     * @return this
+     */
+    public SSLConfig setIgnoreHostCheck(boolean ignoreHostCheck) {
+        this.ignoreHostCheck = ignoreHostCheck;
+        return this;
+    }
+
+    /**
+     * 设置会话缓存
+     *
+     * @param sessionCacheSize 缓存个数，不大于0时使用JDK默认值
+     * @param sessionTimeout   超时秒数，不大于0时使用JDK默认值
+     * @return this
+     */
+    public SSLConfig setSessionCache(int sessionCacheSize, int sessionTimeout) {
+        this.sessionCacheSize = sessionCacheSize;
+        this.sessionTimeout = sessionTimeout;
+        return invalidate();
+    }
+
+    /**
+     * 是否忽略主机名校验
+     *
+     * @return 是否忽略主机名校验
+     */
+    public boolean isIgnoreHostCheck() {
+        return ignoreHostCheck;
+    }
+
+    /**
+     * 获取SSLSocketFactory，第一次调用时创建，之后返回同一个对象；默认配置时返回JVM当前的默认工厂
+     *
+     * @return SSLSocketFactory
+     * @throws UtilException 证书或密钥库错误
+     */
+    public SSLSocketFactory getSocketFactory() {
+        if (isDefault()) {
+            // 每次读取，默认工厂可能被替换
+            return HttpsURLConnection.getDefaultSSLSocketFactory();
+        }
+        SSLSocketFactory factory = this.socketFactory;
+        if (null == factory) {
+            synchronized (this) {
+                factory = this.socketFactory;
+                if (null == factory) {
+                    factory = getContext().getSocketFactory();
+                    this.socketFactory = factory;
+                }
+            }
+        }
+        return factory;
+    }
+
+    /**
+     * 获取SSLContext，第一次调用时创建，之后返回同一个对象，用于创建{@link javax.net.ssl.SSLEngine}
+     *
+     * @return SSLContext
+     * @throws UtilException 证书或密钥库错误
+     */
+    SSLContext getContext() {
+        SSLContext context = this.context;
+        if (null == context) {
+            synchronized (this) {
+                context = this.context;
+                if (null == context) {
+                    context = buildContext();
+                    this.context = context;
+                }
+            }
+        }
+        return context;
+    }
+
+    /**
+     * 将配置应用到HTTPS连接
+     *
+     * @param conn HTTPS连接
+     */
+    public void apply(HttpsURLConnection conn) {
+        conn.setSSLSocketFactory(getSocketFactory());
+        if (ignoreHostCheck) {
+            conn.setHostnameVerifier(TRUST_ALL_HOSTS);
+        }
+    }
+
+    /**
+     * 从流中加载密钥库或信任库，流会被关闭
+     *
+     * @param in       输入流
+     * @param type     类型，如JKS、PKCS12
+     * @param password 密码，可以为null
+     * @return KeyStore
+     * @throws UtilException 加载失败
+     */
+    public static KeyStore loadKeyStore(InputStream in, String type, char[] password) {
+        try {
+            final KeyStore keyStore = KeyStore.getInstance(type);
+            keyStore.load(in, password);
+            return keyStore;
+        } catch (GeneralSecurityException | IOException e) {
+            throw new UtilException(e, "Load {} key store error!", type);
+        } finally {
+            IOUtils.closeQuietly(in);
+        }
+    }
+
+    // ------------------------------------------------------------------------ Private method start
+
+    /**
+     * 清除缓存的SSLSocketFactory
+     *
+     * @return this
+     */
+    private synchronized SSLConfig invalidate() {
+        this.context = null;
+        this.socketFactory = null;
+        return this;
+    }
+
+    /**
+     * 是否全部为默认配置，此时使用JVM默认的SSLContext，不能修改其会话缓存
+     *
+     * @return 是否全部为默认配置
+     */
+    private boolean isDefault() {
+        return false == trustAll && null == trustStore && null == keyStore
+                && DEFAULT_PROTOCOL.equals(protocol) && sessionCacheSize <= 0 && sessionTimeout <= 0;
+    }
+
+    /**
+     * 按配置创建SSLContext
+     *
+     * @return SSLContext
+     */
+    private SSLContext buildContext() {
+        try {
+            if (isDefault()) {
+                return SSLContext.getDefault();
+            }
+
+            KeyManager[] keyManagers = null;
+            if (null != keyStore) {
+                final KeyManagerFactory kmf = KeyManagerFactory.getInstance(KeyManagerFactory.getDefaultAlgorithm());
+                kmf.init(keyStore, keyPassword);
+                keyManagers = kmf.getKeyManagers();
+            }
+
+            TrustManager[] trustManagers = null;
+            if (trustAll) {
+                trustManagers = new TrustManager[]{new HttpUtils.TrustAllTrustManager()};
+            } else if (null != trustStore) {
+                final TrustManagerFactory tmf = TrustManagerFactory.getInstance(TrustManagerFactory.getDefaultAlgorithm());
+                tmf.init(trustStore);
+                trustManagers = tmf.getTrustManagers();
+            }
+
+            final SSLContext context = SSLContext.getInstance(protocol);
+            // SecureRandom为null时使用JDK默认实现，每个SSLContext只初始化一次
+            context.init(keyManagers, trustManagers, null);
+            final SSLSessionContext sessionContext = context.getClientSessionContext();
+            if (null != sessionContext) {
+                if (sessionCacheSize > 0) {
+                    sessionContext.setSessionCacheSize(sessionCacheSize);
+                }
+                if (sessionTimeout > 0) {
+                    sessionContext.setSessionTimeout(sessionTimeout);
+                }
+            }
+            return context;
+        } catch (GeneralSecurityException e) {
+            throw new UtilException(e, "Init SSLContext with protocol [{}] error!", protocol);
+        }
+    }
+    // ------------------------------------------------------------------------ Private method end
+}
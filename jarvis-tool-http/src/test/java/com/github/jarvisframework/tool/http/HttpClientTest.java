@@ -0,0 +1,468 @@
+package com.github.jarvisframework.tool.http;
+
+import com.github.jarvisframework.tool.core.date.FakeClock;
+import com.github.jarvisframework.tool.core.date.GlobalClock;
+import com.github.jarvisframework.tool.core.io.StreamProgress;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.net.ProxySelector;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketAddress;
+import java.net.SocketTimeoutException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * <p>HttpClient测试类，使用本地的HttpServer</p>
+ *
+ * @author Doug Wang
+ * @since 1.0, 2026-10-18 23:42:16
+ */
+public class HttpClientTest {
+
+    private static HttpServer server;
+    private static String baseUrl;
+    /**
+     * 服务端看到的客户端端口，用于判断连接是否被复用
+     */
+    private static final Set<Integer> CLIENT_PORTS = ConcurrentHashMap.newKeySet();
+    private static final AtomicInteger CONCURRENT = new AtomicInteger();
+    private static final AtomicInteger MAX_CONCURRENT = new AtomicInteger();
+
+    @BeforeClass
+    public static void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/echo", exchange -> {
+            CLIENT_PORTS.add(exchange.getRemoteAddress().getPort());
+            final byte[] body = readAll(exchange.getRequestBody());
+            final String query = exchange.getRequestURI().getRawQuery();
+            final byte[] response = (null == query ? "" : query + "|").concat(new String(body, StandardCharsets.UTF_8))
+                    .getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, response.length);
+            exchange.getResponseBody().write(response);
+            exchange.close();
+        });
+        server.createContext("/chunked", exchange -> {
+            CLIENT_PORTS.add(exchange.getRemoteAddress().getPort());
+            exchange.sendResponseHeaders(200, 0);
+            for (int i = 0; i < 100; i++) {
+                exchange.getResponseBody().write("0123456789".getBytes(StandardCharsets.UTF_8));
+            }
+            exchange.close();
+        });
+        server.createContext("/error", exchange -> {
+            CLIENT_PORTS.add(exchange.getRemoteAddress().getPort());
+            final byte[] response = "server error".getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(500, response.length);
+            exchange.getResponseBody().write(response);
+            exchange.close();
+        });
+        server.createContext("/slow", exchange -> {
+            final int current = CONCURRENT.incrementAndGet();
+            MAX_CONCURRENT.accumulateAndGet(current, Math::max);
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            CONCURRENT.decrementAndGet();
+            exchange.sendResponseHeaders(200, 2);
+            exchange.getResponseBody().write("ok".getBytes(StandardCharsets.UTF_8));
+            exchange.close();
+        });
+        server.createContext("/redirect", exchange -> {
+            // 重定向到to参数指定的地址
+            exchange.getResponseHeaders().add("Location", exchange.getRequestURI().getRawQuery().substring("to=".length()));
+            exchange.sendResponseHeaders(302, -1);
+            exchange.close();
+        });
+        server.createContext("/upload", exchange -> {
+            // 返回请求的Content-Length、Transfer-Encoding和实际收到的请求体
+            final byte[] body = readAll(exchange.getRequestBody());
+            final byte[] response = (exchange.getRequestHeaders().getFirst("Content-Length") + "|"
+                    + exchange.getRequestHeaders().getFirst("Transfer-Encoding") + "|" + new String(body, StandardCharsets.UTF_8))
+                    .getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, response.length);
+            exchange.getResponseBody().write(response);
+            exchange.close();
+        });
+        server.setExecutor(Executors.newFixedThreadPool(8));
+        server.start();
+        baseUrl = "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    @AfterClass
+    public static void stopServer() {
+        server.stop(0);
+        ((ExecutorService) server.getExecutor()).shutdownNow();
+    }
+
+    /**
+     * 顺序请求复用同一个连接，错误响应和chunked响应读完后连接仍可复用
+     */
+    @Test
+    public void keepAliveTest() throws IOException {
+        try (HttpClient client = HttpClient.create()) {
+            CLIENT_PORTS.clear();
+            for (int i = 0; i < 20; i++) {
+                final HttpResponse response = client.send(HttpRequest.post(baseUrl + "/echo?i=" + i)
+                        .body(("body" + i).getBytes(StandardCharsets.UTF_8), "text/plain"));
+                Assert.assertEquals(200, response.getStatus());
+                Assert.assertEquals("i=" + i + "|body" + i, response.getBodyAsString());
+            }
+            Assert.assertEquals(500, client.send(HttpRequest.get(baseUrl + "/error")).getStatus());
+            Assert.assertEquals(1000, client.send(HttpRequest.get(baseUrl + "/chunked")).getBody().length);
+            Assert.assertEquals("", client.send(HttpRequest.get(baseUrl + "/echo")).getBodyAsString());
+
+            Assert.assertEquals(1, CLIENT_PORTS.size());
+            Assert.assertEquals(1, client.getIdleConnectionCount());
+        }
+    }
+
+    /**
+     * 并发请求不超过每个路由的最大连接数
+     */
+    @Test
+    public void maxPerRouteTest() throws Exception {
+        MAX_CONCURRENT.set(0);
+        final ExecutorService executor = Executors.newFixedThreadPool(8);
+        try (HttpClient client = HttpClient.create().setMaxPerRoute(2)) {
+            final Future<?>[] futures = new Future<?>[16];
+            for (int i = 0; i < futures.length; i++) {
+                futures[i] = executor.submit(() -> client.send(HttpRequest.get(baseUrl + "/slow")));
+            }
+            for (Future<?> future : futures) {
+                Assert.assertEquals(200, ((HttpResponse) future.get(10, TimeUnit.SECONDS)).getStatus());
+            }
+            Assert.assertTrue(MAX_CONCURRENT.get() <= 2);
+            Assert.assertEquals(2, client.getConnectionCount());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * 服务端关闭空闲连接后，下次请求自动使用新连接
+     */
+    @Test
+    public void staleConnectionTest() throws Exception {
+        try (ServerSocket serverSocket = new ServerSocket(0, 50, server.getAddress().getAddress());
+             HttpClient client = HttpClient.create().setValidateAfterInactivity(0)) {
+            final AtomicInteger accepted = new AtomicInteger();
+            final Thread acceptor = new Thread(() -> {
+                // 每个连接只响应一次，之后关闭
+                while (false == serverSocket.isClosed()) {
+                    try (Socket socket = serverSocket.accept()) {
+                        accepted.incrementAndGet();
+                        final InputStream in = socket.getInputStream();
+                        int matched = 0;
+                        while (matched < 4) {
+                            final int b = in.read();
+                            matched = (b == (matched % 2 == 0 ? '\r' : '\n')) ? matched + 1 : 0;
+                        }
+                        final OutputStream out = socket.getOutputStream();
+                        out.write("HTTP/1.1 200 OK\r\nContent-Length: 2\r\n\r\nok".getBytes(StandardCharsets.ISO_8859_1));
+                        out.flush();
+                    } catch (IOException e) {
+                        return;
+                    }
+                }
+            });
+            acceptor.setDaemon(true);
+            acceptor.start();
+
+            final String url = "http://127.0.0.1:" + serverSocket.getLocalPort() + "/";
+            for (int i = 0; i < 3; i++) {
+                Assert.assertEquals("ok", client.send(HttpRequest.get(url)).getBodyAsString());
+                Thread.sleep(20);
+            }
+            Assert.assertEquals(3, accepted.get());
+        }
+    }
+
+    /**
+     * 异步请求并发不超过每个路由的最大连接数，并复用连接
+     */
+    @Test
+    public void sendAllTest() throws Exception {
+        MAX_CONCURRENT.set(0);
+        try (HttpClient client = HttpClient.create().setMaxPerRoute(2)) {
+            final List<HttpRequest> requests = new ArrayList<>();
+            for (int i = 0; i < 16; i++) {
+                requests.add(HttpRequest.get(baseUrl + "/slow"));
+            }
+            requests.add(HttpRequest.post(baseUrl + "/echo?i=1").body("body".getBytes(StandardCharsets.UTF_8), "text/plain"));
+            requests.add(HttpRequest.get(baseUrl + "/chunked"));
+
+            final List<HttpResponse> responses = client.sendAll(requests).get(10, TimeUnit.SECONDS);
+            Assert.assertEquals(requests.size(), responses.size());
+            for (int i = 0; i < 16; i++) {
+                Assert.assertEquals("ok", responses.get(i).getBodyAsString());
+            }
+            Assert.assertEquals("i=1|body", responses.get(16).getBodyAsString());
+            Assert.assertEquals(1000, responses.get(17).getBody().length);
+            Assert.assertTrue(MAX_CONCURRENT.get() <= 2);
+        }
+    }
+
+    /**
+     * 异步请求超时后关闭连接
+     */
+    @Test
+    public void asyncTimeoutTest() throws Exception {
+        try (ServerSocket serverSocket = new ServerSocket(0, 50, server.getAddress().getAddress());
+             HttpClient client = HttpClient.create()) {
+            final CompletableFuture<HttpResponse> future = client.sendAsync(
+                    HttpRequest.get("http://127.0.0.1:" + serverSocket.getLocalPort() + "/").timeout(-1, 200));
+            // 服务端接受连接但不响应
+            try (Socket socket = serverSocket.accept()) {
+                try {
+                    future.get(5, TimeUnit.SECONDS);
+                    Assert.fail();
+                } catch (ExecutionException e) {
+                    Assert.assertTrue(e.getCause() instanceof SocketTimeoutException);
+                }
+                socket.setSoTimeout(5000);
+                final InputStream in = socket.getInputStream();
+                while (in.read() >= 0) {
+                    // 读完请求后应读到客户端关闭连接
+                }
+            }
+        }
+    }
+
+    /**
+     * 异步请求的超时按单调时钟计算，不受全局时钟（系统时间）停止或回拨影响
+     */
+    @Test
+    public void asyncTimeoutClockTest() throws Exception {
+        GlobalClock.set(new FakeClock(0));
+        try (ServerSocket serverSocket = new ServerSocket(0, 50, server.getAddress().getAddress());
+             HttpClient client = HttpClient.create()) {
+            final CompletableFuture<HttpResponse> future = client.sendAsync(
+                    HttpRequest.get("http://127.0.0.1:" + serverSocket.getLocalPort() + "/").timeout(-1, 200));
+            try (Socket ignored = serverSocket.accept()) {
+                future.get(5, TimeUnit.SECONDS);
+                Assert.fail();
+            } catch (ExecutionException e) {
+                Assert.assertTrue(e.getCause() instanceof SocketTimeoutException);
+            }
+        } finally {
+            GlobalClock.reset();
+        }
+    }
+
+    /**
+     * 跟随重定向时取消Future，中止重定向后的请求并关闭连接
+     */
+    @Test
+    public void cancelRedirectTest() throws Exception {
+        try (ServerSocket serverSocket = new ServerSocket(0, 50, server.getAddress().getAddress());
+             HttpClient client = HttpClient.create().setFollowRedirects(true)) {
+            serverSocket.setSoTimeout(5000);
+            final CompletableFuture<HttpResponse> future = client.sendAsync(
+                    HttpRequest.get(baseUrl + "/redirect?to=http://127.0.0.1:" + serverSocket.getLocalPort() + "/next"));
+            // 重定向后的请求到达，服务端不响应
+            try (Socket socket = serverSocket.accept()) {
+                socket.setSoTimeout(5000);
+                final InputStream in = socket.getInputStream();
+                Assert.assertTrue(readHead(in).startsWith("GET /next "));
+
+                Assert.assertTrue(future.cancel(true));
+                // 应读到客户端关闭连接，而不是超时
+                Assert.assertEquals(-1, in.read());
+            }
+        }
+    }
+
+    /**
+     * 服务端在请求体发送完之前提前响应时，连接不放回连接池，下一个请求使用新连接
+     */
+    @Test
+    public void earlyResponseTest() throws Exception {
+        try (ServerSocket serverSocket = new ServerSocket(0, 50, server.getAddress().getAddress());
+             HttpClient client = HttpClient.create()) {
+            serverSocket.setSoTimeout(5000);
+            final String url = "http://127.0.0.1:" + serverSocket.getLocalPort();
+            // 请求体远大于套接字缓冲区，服务端不读取请求体
+            final CompletableFuture<HttpResponse> first = client.sendAsync(
+                    HttpRequest.post(url + "/first").body(new byte[16 * 1024 * 1024], "application/octet-stream"));
+            try (Socket socket = serverSocket.accept()) {
+                Assert.assertTrue(readHead(socket.getInputStream()).startsWith("POST /first "));
+                socket.getOutputStream().write("HTTP/1.1 200 OK\r\nContent-Length: 2\r\n\r\nok".getBytes(StandardCharsets.US_ASCII));
+                Assert.assertEquals("ok", first.get(5, TimeUnit.SECONDS).getBodyAsString());
+
+                final CompletableFuture<HttpResponse> second = client.sendAsync(HttpRequest.get(url + "/second"));
+                try (Socket next = serverSocket.accept()) {
+                    Assert.assertTrue(readHead(next.getInputStream()).startsWith("GET /second "));
+                    next.getOutputStream().write("HTTP/1.1 200 OK\r\nContent-Length: 2\r\n\r\nok".getBytes(StandardCharsets.US_ASCII));
+                    Assert.assertEquals("ok", second.get(5, TimeUnit.SECONDS).getBodyAsString());
+                }
+            }
+        }
+    }
+
+    /**
+     * HttpUtils的静态方法通过共用的客户端发送
+     */
+    @Test
+    public void httpUtilsTest() throws IOException {
+        final Map<String, String> params = new HashMap<>();
+        params.put("a", "1");
+        Assert.assertEquals("a=1|", HttpUtils.doGet(baseUrl + "/echo", params));
+        Assert.assertEquals("a=1", HttpUtils.doPost(baseUrl + "/echo", params));
+        try {
+            HttpUtils.doGet(baseUrl + "/error", params);
+            Assert.fail();
+        } catch (IOException e) {
+            Assert.assertEquals("500 Internal Server Error", e.getMessage());
+        }
+        Assert.assertTrue(HttpUtils.getHttpClient().getIdleConnectionCount() >= 1);
+    }
+
+    /**
+     * JVM默认的代理选择器选择了代理时，HttpUtils通过代理发送请求，其它地址仍由共用的客户端直接发送
+     */
+    @Test
+    public void proxySelectorTest() throws IOException {
+        // 代理服务端收到的是完整地址，原样返回
+        final HttpServer proxyServer = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        proxyServer.createContext("/", exchange -> {
+            final byte[] body = readAll(exchange.getRequestBody());
+            final byte[] response = (exchange.getRequestMethod() + " " + exchange.getRequestURI() + "|"
+                    + new String(body, StandardCharsets.UTF_8)).getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, response.length);
+            exchange.getResponseBody().write(response);
+            exchange.close();
+        });
+        proxyServer.start();
+        final Proxy proxy = new Proxy(Proxy.Type.HTTP, proxyServer.getAddress());
+        final ProxySelector defaultSelector = ProxySelector.getDefault();
+        ProxySelector.setDefault(new ProxySelector() {
+            @Override
+            public List<Proxy> select(URI uri) {
+                return Collections.singletonList("proxied.invalid".equals(uri.getHost()) ? proxy : Proxy.NO_PROXY);
+            }
+
+            @Override
+            public void connectFailed(URI uri, SocketAddress sa, IOException ioe) {
+            }
+        });
+        try {
+            final Map<String, String> params = new HashMap<>();
+            params.put("a", "1");
+            Assert.assertEquals("GET http://proxied.invalid/echo?a=1|", HttpUtils.doGet("http://proxied.invalid/echo", params));
+            Assert.assertEquals("GET http://proxied.invalid/echo|", HttpUtils.doGet("http://proxied.invalid/echo"));
+            Assert.assertEquals("POST http://proxied.invalid/echo|a=1", HttpUtils.doPost("http://proxied.invalid/echo", params));
+
+            HttpUtils.getHttpClient().closeIdleConnections();
+            Assert.assertEquals("a=1|", HttpUtils.doGet(baseUrl + "/echo", params));
+            Assert.assertEquals(1, HttpUtils.getHttpClient().getIdleConnectionCount());
+        } finally {
+            ProxySelector.setDefault(defaultSelector);
+            proxyServer.stop(0);
+        }
+    }
+
+    /**
+     * 文件长度已知时以固定长度上传，包含输入流时以chunked方式上传
+     */
+    @Test
+    public void multipartTest() throws IOException {
+        final File file = File.createTempFile("upload", ".txt");
+        try {
+            Files.write(file.toPath(), "file content".getBytes(StandardCharsets.UTF_8));
+            final Map<String, String> params = new HashMap<>();
+            params.put("a", "1");
+            final Map<String, FileItem> fileParams = new LinkedHashMap<>();
+            fileParams.put("file", new FileItem(file));
+            fileParams.put("bytes", new FileItem("b.txt", "bytes content".getBytes(StandardCharsets.UTF_8)));
+
+            final AtomicLong progress = new AtomicLong();
+            final String response = HttpUtils.doPost(baseUrl + "/upload", params, fileParams, "UTF-8", 5000, 5000, null, new StreamProgress() {
+                @Override
+                public void start() {
+                }
+
+                @Override
+                public void progress(long progressSize) {
+                    progress.set(progressSize);
+                }
+
+                @Override
+                public void finish() {
+                }
+            });
+            final String[] parts = response.split("\\|", 3);
+            Assert.assertEquals(String.valueOf(parts[2].getBytes(StandardCharsets.UTF_8).length), parts[0]);
+            Assert.assertEquals("null", parts[1]);
+            Assert.assertEquals(Long.parseLong(parts[0]), progress.get());
+            Assert.assertTrue(parts[2].contains("name=\"a\"\r\nContent-Type:text/plain\r\n\r\n1\r\n"));
+            Assert.assertTrue(parts[2].contains("filename=\"" + file.getName() + "\"\r\nContent-Type:application/octet-stream\r\n\r\nfile content\r\n"));
+            Assert.assertTrue(parts[2].contains("filename=\"b.txt\"\r\nContent-Type:application/octet-stream\r\n\r\nbytes content\r\n"));
+
+            fileParams.put("stream", new FileItem("s.txt", new ByteArrayInputStream("stream content".getBytes(StandardCharsets.UTF_8))));
+            final String chunked = HttpUtils.doPost(baseUrl + "/upload", params, fileParams, "UTF-8", 5000, 5000, null);
+            Assert.assertTrue(chunked.startsWith("null|chunked|"));
+            Assert.assertTrue(chunked.contains("\r\n\r\nstream content\r\n"));
+        } finally {
+            Assert.assertTrue(file.delete());
+        }
+    }
+
+    private static byte[] readAll(InputStream in) throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final byte[] buffer = new byte[1024];
+        int read;
+        while ((read = in.read(buffer)) >= 0) {
+            out.write(buffer, 0, read);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * 读取请求头，不读取请求体
+     */
+    private static String readHead(InputStream in) throws IOException {
+        final StringBuilder head = new StringBuilder();
+        while (head.indexOf("\r\n\r\n") < 0) {
+            final int b = in.read();
+            if (b < 0) {
+                throw new EOFException();
+            }
+            head.append((char) b);
+        }
+        return head.toString();
+    }
+}
@@ -0,0 +1,199 @@
+package com.github.jarvisframework.tool.http;
+
+import com.github.jarvisframework.tool.core.util.HexUtils;
+import com.sun.net.httpserver.HttpsConfigurator;
+import com.sun.net.httpserver.HttpsExchange;
+import com.sun.net.httpserver.HttpsParameters;
+import com.sun.net.httpserver.HttpsServer;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import javax.net.ssl.HttpsURLConnection;
+import javax.net.ssl.KeyManagerFactory;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLParameters;
+import javax.net.ssl.SSLSocketFactory;
+import javax.net.ssl.TrustManagerFactory;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.KeyStore;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>SSLConfig测试类，使用本地的HttpsServer和运行时生成的自签名证书</p>
+ *
+ * @author Doug Wang
+ * @since 1.0, 2026-10-19 14:26:09
+ */
+public class SSLConfigTest {
+
+    private static final char[] PASSWORD = "changeit".toCharArray();
+
+    private static HttpsServer server;
+    private static int port;
+    /**
+     * 只包含服务端证书的信任库
+     */
+    private static KeyStore trustStore;
+
+    @BeforeClass
+    public static void startServer() throws Exception {
+        // 证书只对localhost有效，用127.0.0.1访问时主机名校验失败
+        final File dir = Files.createTempDirectory("ssl").toFile();
+        final File keyStoreFile = new File(dir, "server.p12");
+        final Process process = new ProcessBuilder(new File(System.getProperty("java.home"), "bin/keytool").getPath(),
+                "-genkeypair", "-alias", "server", "-keyalg", "RSA", "-keysize", "2048", "-validity", "1",
+                "-dname", "CN=localhost", "-ext", "SAN=dns:localhost", "-storetype", "PKCS12",
+                "-keystore", keyStoreFile.getPath(), "-storepass", new String(PASSWORD), "-keypass", new String(PASSWORD))
+                .redirectErrorStream(true).start();
+        Assert.assertTrue(process.waitFor(60, TimeUnit.SECONDS));
+        Assert.assertEquals(0, process.exitValue());
+        final KeyStore keyStore = SSLConfig.loadKeyStore(new FileInputStream(keyStoreFile), "PKCS12", PASSWORD);
+        Files.delete(keyStoreFile.toPath());
+        Files.delete(dir.toPath());
+
+        trustStore = KeyStore.getInstance("PKCS12");
+        trustStore.load(null, null);
+        trustStore.setCertificateEntry("server", keyStore.getCertificate("server"));
+
+        final KeyManagerFactory kmf = KeyManagerFactory.getInstance(KeyManagerFactory.getDefaultAlgorithm());
+        kmf.init(keyStore, PASSWORD);
+        final SSLContext serverContext = SSLContext.getInstance("TLS");
+        serverContext.init(kmf.getKeyManagers(), null, null);
+
+        server = HttpsServer.create(new InetSocketAddress(0), 0);
+        server.setHttpsConfigurator(new HttpsConfigurator(serverContext) {
+            @Override
+            public void configure(HttpsParameters params) {
+                // TLSv1.2恢复会话时沿用原会话ID，便于判断会话是否被复用
+                final SSLParameters parameters = getSSLContext().getDefaultSSLParameters();
+                parameters.setProtocols(new String[]{"TLSv1.2"});
+                params.setSSLParameters(parameters);
+            }
+        });
+        server.createContext("/session", exchange -> {
+            final byte[] response = HexUtils.encodeHexStr(((HttpsExchange) exchange).getSSLSession().getId())
+                    .getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, response.length);
+            exchange.getResponseBody().write(response);
+            exchange.close();
+        });
+        server.setExecutor(Executors.newFixedThreadPool(4));
+        server.start();
+        port = server.getAddress().getPort();
+    }
+
+    @AfterClass
+    public static void stopServer() {
+        server.stop(0);
+        ((ExecutorService) server.getExecutor()).shutdownNow();
+    }
+
+    /**
+     * 证书与访问的主机名不匹配时握手失败，同步和异步请求一致；忽略主机名校验后可以访问
+     */
+    @Test
+    public void hostnameVerificationTest() throws Exception {
+        final SSLConfig config = SSLConfig.create().setTrustStore(trustStore);
+        try (HttpClient client = HttpClient.create().setSSLConfig(config)) {
+            Assert.assertEquals(200, client.send(HttpRequest.get(url("localhost"))).getStatus());
+            Assert.assertEquals(200, client.sendAsync(HttpRequest.get(url("localhost"))).get(10, TimeUnit.SECONDS).getStatus());
+
+            try {
+                client.send(HttpRequest.get(url("127.0.0.1")));
+                Assert.fail();
+            } catch (IOException e) {
+                // 主机名不匹配
+            }
+            try {
+                client.sendAsync(HttpRequest.get(url("127.0.0.1"))).get(10, TimeUnit.SECONDS);
+                Assert.fail();
+            } catch (ExecutionException e) {
+                Assert.assertTrue(e.getCause() instanceof IOException);
+            }
+        }
+
+        final SSLConfig ignoreHost = SSLConfig.create().setTrustStore(trustStore).setIgnoreHostCheck(true);
+        try (HttpClient client = HttpClient.create().setSSLConfig(ignoreHost)) {
+            Assert.assertEquals(200, client.send(HttpRequest.get(url("127.0.0.1"))).getStatus());
+            Assert.assertEquals(200, client.sendAsync(HttpRequest.get(url("127.0.0.1"))).get(10, TimeUnit.SECONDS).getStatus());
+        }
+
+        // 系统信任库不信任自签名证书
+        try (HttpClient client = HttpClient.create()) {
+            client.send(HttpRequest.get(url("localhost")));
+            Assert.fail();
+        } catch (IOException e) {
+            // 证书不受信任
+        }
+    }
+
+    /**
+     * 使用同一个配置的新连接恢复之前的TLS会话，不同配置的连接重新握手
+     */
+    @Test
+    public void sessionReuseTest() throws Exception {
+        final SSLConfig config = SSLConfig.create().setTrustStore(trustStore);
+        final String sessionId = session(config, false);
+        Assert.assertEquals(sessionId, session(config, false));
+        Assert.assertEquals(sessionId, session(config, true));
+
+        Assert.assertNotEquals(sessionId, session(SSLConfig.create().setTrustStore(trustStore), false));
+    }
+
+    /**
+     * 默认配置使用JVM默认的SSLContext，跟随{@link HttpsURLConnection#setDefaultSSLSocketFactory(SSLSocketFactory)}的设置
+     */
+    @Test
+    public void defaultConfigTest() throws Exception {
+        final SSLConfig config = SSLConfig.create();
+        Assert.assertSame(SSLContext.getDefault(), config.getContext());
+        Assert.assertSame(HttpsURLConnection.getDefaultSSLSocketFactory(), config.getSocketFactory());
+
+        final TrustManagerFactory tmf = TrustManagerFactory.getInstance(TrustManagerFactory.getDefaultAlgorithm());
+        tmf.init(trustStore);
+        final SSLContext context = SSLContext.getInstance("TLS");
+        context.init(null, tmf.getTrustManagers(), null);
+        final SSLSocketFactory defaultFactory = HttpsURLConnection.getDefaultSSLSocketFactory();
+        final SSLSocketFactory factory = context.getSocketFactory();
+        HttpsURLConnection.setDefaultSSLSocketFactory(factory);
+        try (HttpClient client = HttpClient.create().setSSLConfig(config)) {
+            Assert.assertSame(factory, config.getSocketFactory());
+            Assert.assertEquals(200, client.send(HttpRequest.get(url("localhost"))).getStatus());
+        } finally {
+            HttpsURLConnection.setDefaultSSLSocketFactory(defaultFactory);
+        }
+
+        // 自定义配置不使用默认的SSLContext
+        Assert.assertNotSame(SSLContext.getDefault(), SSLConfig.create().setTrustStore(trustStore).getContext());
+        Assert.assertNotSame(SSLContext.getDefault(), SSLConfig.create().setSessionCache(10, 60).getContext());
+    }
+
+    // ---------------------------------------------------------------------------------------------- Private method start
+
+    private static String url(String host) {
+        return "https://" + host + ":" + port + "/session";
+    }
+
+    /**
+     * 用新的客户端（新连接）请求，返回服务端看到的会话ID
+     */
+    private static String session(SSLConfig config, boolean async) throws Exception {
+        try (HttpClient client = HttpClient.create().setSSLConfig(config)) {
+            final HttpRequest request = HttpRequest.get(url("localhost"));
+            final HttpResponse response = async ? client.sendAsync(request).get(10, TimeUnit.SECONDS) : client.send(request);
+            Assert.assertEquals(200, response.getStatus());
+            return response.getBodyAsString();
+        }
+    }
+    // ---------------------------------------------------------------------------------------------- Private method end
+}
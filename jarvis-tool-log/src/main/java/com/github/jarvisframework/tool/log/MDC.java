@@ -0,0 +1,195 @@
+package com.github.jarvisframework.tool.log;
+
+import com.github.jarvisframework.tool.core.thread.GlobalTaskDecorator;
+import com.github.jarvisframework.tool.core.thread.TaskDecorator;
+
+import java.io.Closeable;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+/**
+ * 映射调试上下文（Mapped Diagnostic Context）<br>
+ * 以键值对保存当前线程的诊断信息（如请求ID），日志输出时附带这些信息。
+ *
+ * <pre>
+ * MDC.put("requestId", requestId);
+ * try {
+ *     log.info("handle order {}", orderId);
+ *     ThreadUtils.execute(() -&gt; log.info("async task")); // 异步任务中同样可以读取requestId
+ * } finally {
+ *     MDC.remove("requestId");
+ * }
+ * </pre>
+ * <p>
+ * 上下文采用写时复制：每次修改生成新的不可变Map，读取时直接返回当前Map，日志事件和异步任务只需持有引用，无需拷贝。<br>
+ * 此类初始化时向{@link GlobalTaskDecorator}注册装饰器，此后通过{@code ExecutorBuilder}、{@code GlobalThreadPool}、
+ * {@code ThreadUtils.execute}提交的任务会自动携带提交时的上下文，执行完毕后恢复执行线程原有的上下文。
+ *
+ * @author Doug Wang
+ * @since 1.0, 2026-10-18 13:34:16
+ */
+public class MDC {
+
+    private static final ThreadLocal<Map<String, String>> CONTEXT = new ThreadLocal<>();
+
+    static {
+        GlobalTaskDecorator.register(new MdcTaskDecorator());
+    }
+
+    private MDC() {
+    }
+
+    /**
+     * 放入键值对
+     *
+     * @param key   键
+     * @param value 值，{@code null}表示移除
+     */
+    public static void put(String key, String value) {
+        if (null == value) {
+            remove(key);
+            return;
+        }
+        final Map<String, String> current = CONTEXT.get();
+        final Map<String, String> next = (null == current) ? new HashMap<>(4) : new HashMap<>(current);
+        next.put(key, value);
+        CONTEXT.set(Collections.unmodifiableMap(next));
+    }
+
+    /**
+     * 放入键值对，返回的{@link Closeable}关闭时移除此键，便于配合try-with-resources使用
+     *
+     * @param key   键
+     * @param value 值
+     * @return 关闭时移除此键的{@link Closeable}
+     */
+    public static MdcCloseable putCloseable(String key, String value) {
+        put(key, value);
+        return () -> remove(key);
+    }
+
+    /**
+     * 获取值
+     *
+     * @param key 键
+     * @return 值，不存在返回{@code null}
+     */
+    public static String get(String key) {
+        final Map<String, String> current = CONTEXT.get();
+        return (null == current) ? null : current.get(key);
+    }
+
+    /**
+     * 移除键
+     *
+     * @param key 键
+     */
+    public static void remove(String key) {
+        final Map<String, String> current = CONTEXT.get();
+        if (null == current || false == current.containsKey(key)) {
+            return;
+        }
+        if (1 == current.size()) {
+            CONTEXT.remove();
+            return;
+        }
+        final Map<String, String> next = new HashMap<>(current);
+        next.remove(key);
+        CONTEXT.set(Collections.unmodifiableMap(next));
+    }
+
+    /**
+     * 清空当前线程的上下文
+     */
+    public static void clear() {
+        CONTEXT.remove();
+    }
+
+    /**
+     * 获取当前线程的上下文，返回的Map不可修改且之后不会变化，无需拷贝即可长期持有
+     *
+     * @return 上下文，无内容时返回空Map
+     */
+    public static Map<String, String> getContext() {
+        final Map<String, String> current = CONTEXT.get();
+        return (null == current) ? Collections.emptyMap() : current;
+    }
+
+    /**
+     * 替换当前线程的上下文
+     *
+     * @param context 上下文，{@code null}或空表示清空
+     */
+    public static void setContext(Map<String, String> context) {
+        if (null == context || context.isEmpty()) {
+            CONTEXT.remove();
+        } else {
+            CONTEXT.set(Collections.unmodifiableMap(new HashMap<>(context)));
+        }
+    }
+
+    /**
+     * 可关闭的MDC键，关闭时移除对应的键
+     */
+    @FunctionalInterface
+    public interface MdcCloseable extends Closeable {
+        @Override
+        void close();
+    }
+
+    /**
+     * 将提交线程的上下文传递到执行线程的装饰器
+     */
+    private static class MdcTaskDecorator implements TaskDecorator {
+
+        @Override
+        public Runnable decorate(Runnable runnable) {
+            final Map<String, String> captured = CONTEXT.get();
+            if (null == captured) {
+                return runnable;
+            }
+            return () -> {
+                final Map<String, String> previous = attach(captured);
+                try {
+                    runnable.run();
+                } finally {
+                    attach(previous);
+                }
+            };
+        }
+
+        @Override
+        public <T> Callable<T> decorate(Callable<T> callable) {
+            final Map<String, String> captured = CONTEXT.get();
+            if (null == captured) {
+                return callable;
+            }
+            return () -> {
+                final Map<String, String> previous = attach(captured);
+                try {
+                    return callable.call();
+                } finally {
+                    attach(previous);
+                }
+            };
+        }
+
+        /**
+         * 设置当前线程的上下文，不做拷贝
+         *
+         * @param context 上下文，可为{@code null}
+         * @return 原上下文
+         */
+        private static Map<String, String> attach(Map<String, String> context) {
+            final Map<String, String> previous = CONTEXT.get();
+            if (null == context) {
+                CONTEXT.remove();
+            } else {
+                CONTEXT.set(context);
+            }
+            return previous;
+        }
+    }
+}
@@ -6,8 +6,14 @@ import com.github.jarvisframework.tool.core.lang.Console;
 import com.github.jarvisframework.tool.core.lang.Dictionary;
 import com.github.jarvisframework.tool.core.util.StringUtils;
 import com.github.jarvisframework.tool.log.AbstractLog;
+import com.github.jarvisframework.tool.log.MDC;
+import com.github.jarvisframework.tool.log.encoder.Encoder;
+import com.github.jarvisframework.tool.log.event.LogEvent;
 import com.github.jarvisframework.tool.log.level.LevelEnum;
 
+import java.io.PrintStream;
+import java.util.Map;
+
 /**
  * <p>利用System.out.println()打印日志</p>
  *
@@ -18,7 +24,12 @@ public class ConsoleLog extends AbstractLog {
     private static final long serialVersionUID = -6843151523380063975L;
 
     private static final String logFormat = "[{date}] [{level}] {name}: {msg}";
+    private static final String logFormatWithContext = "[{date}] [{level}] {context} {name}: {msg}";
     private static LevelEnum currentLevel = LevelEnum.DEBUG;
+    /**
+     * 日志事件编码器，为{@code null}时使用默认的文本格式
+     */
+    private static volatile Encoder encoder;
 
     private final String name;
 
@@ -58,6 +69,15 @@ public class ConsoleLog extends AbstractLog {
         currentLevel = customLevel;
     }
 
+    /**
+     * 设置日志事件编码器，例如{@link com.github.jarvisframework.tool.log.encoder.JsonEncoder}输出结构化日志
+     *
+     * @param customEncoder 编码器，{@code null}表示恢复默认的文本格式
+     */
+    public static void setEncoder(Encoder customEncoder) {
+        encoder = customEncoder;
+    }
+
     //------------------------------------------------------------------------- Trace
     @Override
     public boolean isTraceEnabled() {
@@ -121,13 +141,24 @@ public class ConsoleLog extends AbstractLog {
             return;
         }
 
+        final Encoder encoder = ConsoleLog.encoder;
+        if (null != encoder) {
+            //WARN以上级别打印至System.err
+            final PrintStream out = (level.ordinal() >= LevelEnum.WARN.ordinal()) ? System.err : System.out;
+            encoder.encode(new LogEvent(level, this.name, t, format, arguments), out);
+            out.flush();
+            return;
+        }
+
+        final Map<String, String> context = MDC.getContext();
         final Dictionary dict = Dictionary.create()
                 .set("date", DateUtils.now())
                 .set("level", level.toString())
+                .set("context", context)
                 .set("name", this.name)
                 .set("msg", StringUtils.format(format, arguments));
 
-        final String logMsg = StringUtils.format(logFormat, dict);
+        final String logMsg = StringUtils.format(context.isEmpty() ? logFormat : logFormatWithContext, dict);
 
         //WARN以上级别打印至System.err
         if (level.ordinal() >= LevelEnum.WARN.ordinal()) {
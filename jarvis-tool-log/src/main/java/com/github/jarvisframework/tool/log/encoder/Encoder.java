@@ -0,0 +1,42 @@
+package com.github.jarvisframework.tool.log.encoder;
+
+import com.github.jarvisframework.tool.core.io.IORuntimeException;
+import com.github.jarvisframework.tool.log.event.LogEvent;
+
+import java.io.OutputStream;
+
+/**
+ * <p>日志事件编码器</p>
+ * 将{@link LogEvent}编码为字节并写出，可用于控制台或文件等任意输出端
+ *
+ * @author Doug Wang
+ * @since 1.0, 2026-10-18 09:20:15
+ */
+@FunctionalInterface
+public interface Encoder {
+
+    /**
+     * 编码日志事件到缓冲区，不清空缓冲区已有内容
+     *
+     * @param event  日志事件
+     * @param buffer 字节缓冲
+     */
+    void encode(LogEvent event, Utf8Buffer buffer);
+
+    /**
+     * 编码日志事件并写出到输出流，使用当前线程复用的缓冲区
+     *
+     * @param event 日志事件
+     * @param out   输出流
+     * @throws IORuntimeException IO异常
+     */
+    default void encode(LogEvent event, OutputStream out) throws IORuntimeException {
+        final Utf8Buffer buffer = Utf8Buffer.threadLocal();
+        try {
+            encode(event, buffer);
+            buffer.writeTo(out);
+        } finally {
+            buffer.release();
+        }
+    }
+}
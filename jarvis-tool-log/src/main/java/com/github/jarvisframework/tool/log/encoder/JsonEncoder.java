@@ -0,0 +1,276 @@
+package com.github.jarvisframework.tool.log.encoder;
+
+import com.github.jarvisframework.tool.core.util.StringUtils;
+import com.github.jarvisframework.tool.log.event.LogEvent;
+import com.github.jarvisframework.tool.log.level.LevelEnum;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+/**
+ * <p>JSON日志编码器</p>
+ * 每个事件输出为一行JSON（JSON Lines），字段直接以UTF-8写入{@link Utf8Buffer}，不经过中间字符串和反射，例如：
+ * <pre>
+ * {"timestamp":1602985960000,"level":"INFO","logger":"a.b.C","thread":"main","message":"hello jarvis","template":"hello {}","arguments":["jarvis"]}
+ * </pre>
+ * 消息按{@link StringUtils#format(CharSequence, Object...)}相同的规则直接渲染，支持\\{}转义。
+ *
+ * @author Doug Wang
+ * @since 1.0, 2026-10-18 09:48:03
+ */
+public class JsonEncoder implements Encoder {
+
+    /**
+     * 异常cause链最大输出深度
+     */
+    private static final int MAX_CAUSE_DEPTH = 8;
+
+    private static final byte[] TIMESTAMP = bytes("{\"timestamp\":");
+    private static final byte[] LEVEL = bytes(",\"level\":\"");
+    private static final byte[] LOGGER = bytes("\",\"logger\":");
+    private static final byte[] THREAD = bytes(",\"thread\":");
+    private static final byte[] MESSAGE = bytes(",\"message\":");
+    private static final byte[] TEMPLATE = bytes(",\"template\":");
+    private static final byte[] ARGUMENTS = bytes(",\"arguments\":[");
+    private static final byte[] CONTEXT = bytes(",\"context\":{");
+    private static final byte[] THROWABLE = bytes(",\"throwable\":");
+    private static final byte[] CLASS = bytes("{\"class\":");
+    private static final byte[] STACK_TRACE = bytes(",\"stackTrace\":[");
+    private static final byte[] CAUSE = bytes(",\"cause\":");
+    private static final byte[] NULL = bytes("null");
+    private static final byte[] TRUE = bytes("true");
+    private static final byte[] FALSE = bytes("false");
+    private static final byte[] NATIVE_METHOD = bytes("(Native Method)");
+    private static final byte[] UNKNOWN_SOURCE = bytes("(Unknown Source)");
+    private static final byte[][] LEVEL_NAMES;
+
+    static {
+        final LevelEnum[] levels = LevelEnum.values();
+        LEVEL_NAMES = new byte[levels.length][];
+        for (LevelEnum level : levels) {
+            LEVEL_NAMES[level.ordinal()] = bytes(level.name());
+        }
+    }
+
+    /**
+     * 是否输出消息模板和参数
+     */
+    private final boolean includeArguments;
+
+    /**
+     * 构造，输出消息模板和参数
+     */
+    public JsonEncoder() {
+        this(true);
+    }
+
+    /**
+     * 构造
+     *
+     * @param includeArguments 是否输出消息模板和参数，关闭时只输出渲染后的消息
+     */
+    public JsonEncoder(boolean includeArguments) {
+        this.includeArguments = includeArguments;
+    }
+
+    @Override
+    public void encode(LogEvent event, Utf8Buffer buffer) {
+        buffer.write(TIMESTAMP).writeLong(event.getTimestamp());
+        buffer.write(LEVEL).write(LEVEL_NAMES[event.getLevel().ordinal()]);
+        buffer.write(LOGGER);
+        writeString(buffer, event.getLoggerName());
+        buffer.write(THREAD);
+        writeString(buffer, event.getThreadName());
+
+        final String format = event.getFormat();
+        final Object[] arguments = event.getArguments();
+        buffer.write(MESSAGE);
+        writeMessage(buffer, format, arguments);
+
+        if (includeArguments && arguments.length > 0) {
+            buffer.write(TEMPLATE);
+            writeString(buffer, format);
+            buffer.write(ARGUMENTS);
+            for (int i = 0; i < arguments.length; i++) {
+                if (i > 0) {
+                    buffer.write(',');
+                }
+                writeValue(buffer, arguments[i]);
+            }
+            buffer.write(']');
+        }
+
+        final Map<String, String> context = event.getContext();
+        if (false == context.isEmpty()) {
+            buffer.write(CONTEXT);
+            boolean first = true;
+            for (Map.Entry<String, String> entry : context.entrySet()) {
+                if (false == first) {
+                    buffer.write(',');
+                }
+                first = false;
+                writeString(buffer, entry.getKey());
+                buffer.write(':');
+                writeString(buffer, entry.getValue());
+            }
+            buffer.write('}');
+        }
+
+        if (null != event.getThrowable()) {
+            buffer.write(THROWABLE);
+            writeThrowable(buffer, event.getThrowable(), 0);
+        }
+        buffer.write('}').write('\n');
+    }
+
+    // ------------------------------------------------------------------------------- Private
+
+    /**
+     * 写出JSON字符串，{@code null}输出为null
+     */
+    private static void writeString(Utf8Buffer buffer, CharSequence cs) {
+        if (null == cs) {
+            buffer.write(NULL);
+            return;
+        }
+        buffer.write('"').writeJsonEscaped(cs).write('"');
+    }
+
+    /**
+     * 按{@link com.github.jarvisframework.tool.core.text.StringFormatter}的规则渲染消息并写出为JSON字符串
+     */
+    private static void writeMessage(Utf8Buffer buffer, String pattern, Object[] arguments) {
+        if (null == pattern) {
+            buffer.write(NULL);
+            return;
+        }
+        buffer.write('"');
+        if (StringUtils.isBlank(pattern) || arguments.length == 0) {
+            buffer.writeJsonEscaped(pattern);
+            buffer.write('"');
+            return;
+        }
+
+        final int length = pattern.length();
+        int handledPosition = 0;
+        int delimIndex;
+        for (int argIndex = 0; argIndex < arguments.length; argIndex++) {
+            delimIndex = pattern.indexOf(StringUtils.EMPTY_JSON, handledPosition);
+            if (delimIndex == -1) {
+                break;
+            }
+            if (delimIndex > 0 && pattern.charAt(delimIndex - 1) == StringUtils.C_BACKSLASH) {
+                if (delimIndex > 1 && pattern.charAt(delimIndex - 2) == StringUtils.C_BACKSLASH) {
+                    // 双转义符，占位符依旧有效
+                    buffer.writeUtf8(pattern, handledPosition, delimIndex - 1, true);
+                    writeText(buffer, arguments[argIndex]);
+                    handledPosition = delimIndex + 2;
+                } else {
+                    // 占位符被转义
+                    argIndex--;
+                    buffer.writeUtf8(pattern, handledPosition, delimIndex - 1, true);
+                    buffer.write(StringUtils.C_DELIM_START);
+                    handledPosition = delimIndex + 1;
+                }
+            } else {
+                buffer.writeUtf8(pattern, handledPosition, delimIndex, true);
+                writeText(buffer, arguments[argIndex]);
+                handledPosition = delimIndex + 2;
+            }
+        }
+        buffer.writeUtf8(pattern, handledPosition, length, true);
+        buffer.write('"');
+    }
+
+    /**
+     * 将参数以文本形式写出到JSON字符串内部（已转义，不含引号）
+     */
+    private static void writeText(Utf8Buffer buffer, Object value) {
+        if (null == value) {
+            buffer.write(NULL);
+        } else if (value instanceof CharSequence) {
+            buffer.writeJsonEscaped((CharSequence) value);
+        } else if (isIntegral(value)) {
+            buffer.writeLong(((Number) value).longValue());
+        } else {
+            buffer.writeJsonEscaped(StringUtils.utf8Str(value));
+        }
+    }
+
+    /**
+     * 将参数写出为JSON值，数字和布尔保持原类型，其它转为字符串
+     */
+    private static void writeValue(Utf8Buffer buffer, Object value) {
+        if (null == value) {
+            buffer.write(NULL);
+        } else if (value instanceof Boolean) {
+            buffer.write((Boolean) value ? TRUE : FALSE);
+        } else if (isIntegral(value)) {
+            buffer.writeLong(((Number) value).longValue());
+        } else if ((value instanceof Double || value instanceof Float)
+                && false == Double.isInfinite(((Number) value).doubleValue())
+                && false == Double.isNaN(((Number) value).doubleValue())) {
+            buffer.writeUtf8(value.toString());
+        } else {
+            buffer.write('"');
+            writeText(buffer, value);
+            buffer.write('"');
+        }
+    }
+
+    /**
+     * 写出异常，包括类名、消息、堆栈和cause链
+     */
+    private static void writeThrowable(Utf8Buffer buffer, Throwable t, int depth) {
+        buffer.write(CLASS);
+        writeString(buffer, t.getClass().getName());
+        buffer.write(MESSAGE);
+        writeString(buffer, t.getMessage());
+
+        buffer.write(STACK_TRACE);
+        final StackTraceElement[] elements = t.getStackTrace();
+        for (int i = 0; i < elements.length; i++) {
+            if (i > 0) {
+                buffer.write(',');
+            }
+            writeStackTraceElement(buffer, elements[i]);
+        }
+        buffer.write(']');
+
+        final Throwable cause = t.getCause();
+        if (null != cause && cause != t && depth < MAX_CAUSE_DEPTH) {
+            buffer.write(CAUSE);
+            writeThrowable(buffer, cause, depth + 1);
+        }
+        buffer.write('}');
+    }
+
+    /**
+     * 与{@link StackTraceElement#toString()}格式一致地写出堆栈元素，不生成中间字符串
+     */
+    private static void writeStackTraceElement(Utf8Buffer buffer, StackTraceElement element) {
+        buffer.write('"');
+        buffer.writeJsonEscaped(element.getClassName()).write('.').writeJsonEscaped(element.getMethodName());
+        final String fileName = element.getFileName();
+        if (element.isNativeMethod()) {
+            buffer.write(NATIVE_METHOD);
+        } else if (null == fileName) {
+            buffer.write(UNKNOWN_SOURCE);
+        } else {
+            buffer.write('(').writeJsonEscaped(fileName);
+            if (element.getLineNumber() >= 0) {
+                buffer.write(':').writeLong(element.getLineNumber());
+            }
+            buffer.write(')');
+        }
+        buffer.write('"');
+    }
+
+    private static boolean isIntegral(Object value) {
+        return value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte;
+    }
+
+    private static byte[] bytes(String str) {
+        return str.getBytes(StandardCharsets.UTF_8);
+    }
+}
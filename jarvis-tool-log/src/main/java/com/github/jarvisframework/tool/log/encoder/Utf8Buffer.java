@@ -0,0 +1,304 @@
+package com.github.jarvisframework.tool.log.encoder;
+
+import com.github.jarvisframework.tool.core.io.IORuntimeException;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * <p>可复用的UTF-8字节缓冲</p>
+ * 字符直接编码为UTF-8写入内部数组，不生成中间字符串，自动扩容。<br>
+ * 通过{@link #threadLocal()}获取线程复用实例，使用完毕后调用{@link #release()}归还。
+ *
+ * @author Doug Wang
+ * @since 1.0, 2026-10-18 09:26:52
+ */
+public class Utf8Buffer {
+
+    /**
+     * 默认初始容量
+     */
+    private static final int DEFAULT_CAPACITY = 512;
+    /**
+     * 线程复用缓冲保留的最大容量，超出后重建，避免个别超大日志长期占用内存
+     */
+    private static final int MAX_RETAINED_CAPACITY = 64 * 1024;
+
+    private static final byte[] HEX = {'0', '1', '2', '3', '4', '5', '6', '7', '8', '9', 'a', 'b', 'c', 'd', 'e', 'f'};
+
+    private static final ThreadLocal<Utf8Buffer> LOCAL = ThreadLocal.withInitial(Utf8Buffer::new);
+
+    private byte[] buf;
+    private int count;
+    /**
+     * 是否为线程复用实例且正被使用
+     */
+    private boolean inUse;
+
+    public Utf8Buffer() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * 构造
+     *
+     * @param capacity 初始容量
+     */
+    public Utf8Buffer(int capacity) {
+        this.buf = new byte[Math.max(16, capacity)];
+    }
+
+    /**
+     * 获取当前线程复用的缓冲，如当前线程的缓冲正被使用（例如编码参数时又触发了日志），返回新的缓冲
+     *
+     * @return 缓冲
+     */
+    public static Utf8Buffer threadLocal() {
+        Utf8Buffer buffer = LOCAL.get();
+        if (buffer.inUse) {
+            return new Utf8Buffer();
+        }
+        if (buffer.buf.length > MAX_RETAINED_CAPACITY) {
+            buffer = new Utf8Buffer();
+            LOCAL.set(buffer);
+        }
+        buffer.inUse = true;
+        return buffer;
+    }
+
+    /**
+     * 清空缓冲并归还线程复用实例
+     */
+    public void release() {
+        this.count = 0;
+        this.inUse = false;
+    }
+
+    // ------------------------------------------------------------------------------- Write
+
+    /**
+     * 写入一个字节
+     *
+     * @param b 字节
+     * @return this
+     */
+    public Utf8Buffer write(int b) {
+        ensureCapacity(count + 1);
+        buf[count++] = (byte) b;
+        return this;
+    }
+
+    /**
+     * 写入字节数组
+     *
+     * @param bytes 字节数组
+     * @return this
+     */
+    public Utf8Buffer write(byte[] bytes) {
+        return write(bytes, 0, bytes.length);
+    }
+
+    /**
+     * 写入字节数组
+     *
+     * @param bytes 字节数组
+     * @param off   偏移
+     * @param len   长度
+     * @return this
+     */
+    public Utf8Buffer write(byte[] bytes, int off, int len) {
+        ensureCapacity(count + len);
+        System.arraycopy(bytes, off, buf, count, len);
+        count += len;
+        return this;
+    }
+
+    /**
+     * 写入long的十进制表示
+     *
+     * @param value 值
+     * @return this
+     */
+    public Utf8Buffer writeLong(long value) {
+        if (value == Long.MIN_VALUE) {
+            return writeUtf8("-9223372036854775808");
+        }
+        ensureCapacity(count + 20);
+        if (value < 0) {
+            buf[count++] = '-';
+            value = -value;
+        }
+        int end = count + stringSize(value);
+        int pos = end;
+        do {
+            buf[--pos] = (byte) ('0' + (value % 10));
+            value /= 10;
+        } while (value != 0);
+        count = end;
+        return this;
+    }
+
+    /**
+     * 以UTF-8写入字符序列，不做转义
+     *
+     * @param cs 字符序列
+     * @return this
+     */
+    public Utf8Buffer writeUtf8(CharSequence cs) {
+        return writeUtf8(cs, 0, cs.length(), false);
+    }
+
+    /**
+     * 以UTF-8写入字符序列，并按JSON字符串规则转义
+     *
+     * @param cs 字符序列
+     * @return this
+     */
+    public Utf8Buffer writeJsonEscaped(CharSequence cs) {
+        return writeUtf8(cs, 0, cs.length(), true);
+    }
+
+    /**
+     * 以UTF-8写入字符序列的一部分
+     *
+     * @param cs         字符序列
+     * @param start      开始位置（包含）
+     * @param end        结束位置（不包含）
+     * @param jsonEscape 是否按JSON字符串规则转义
+     * @return this
+     */
+    public Utf8Buffer writeUtf8(CharSequence cs, int start, int end, boolean jsonEscape) {
+        // 预留最坏情况下的空间：转义为\\uXXXX时一个字符占6字节
+        ensureCapacity(count + (end - start) * (jsonEscape ? 6 : 3));
+        final byte[] buf = this.buf;
+        int pos = count;
+        char c;
+        for (int i = start; i < end; i++) {
+            c = cs.charAt(i);
+            if (c < 0x80) {
+                if (jsonEscape && (c < 0x20 || c == '"' || c == '\\')) {
+                    buf[pos++] = '\\';
+                    switch (c) {
+                        case '"':
+                        case '\\':
+                            buf[pos++] = (byte) c;
+                            break;
+                        case '\n':
+                            buf[pos++] = 'n';
+                            break;
+                        case '\r':
+                            buf[pos++] = 'r';
+                            break;
+                        case '\t':
+                            buf[pos++] = 't';
+                            break;
+                        case '\b':
+                            buf[pos++] = 'b';
+                            break;
+                        case '\f':
+                            buf[pos++] = 'f';
+                            break;
+                        default:
+                            buf[pos++] = 'u';
+                            buf[pos++] = '0';
+                            buf[pos++] = '0';
+                            buf[pos++] = HEX[c >> 4];
+                            buf[pos++] = HEX[c & 0xF];
+                    }
+                } else {
+                    buf[pos++] = (byte) c;
+                }
+            } else if (c < 0x800) {
+                buf[pos++] = (byte) (0xC0 | (c >> 6));
+                buf[pos++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < end && Character.isLowSurrogate(cs.charAt(i + 1))) {
+                final int cp = Character.toCodePoint(c, cs.charAt(++i));
+                buf[pos++] = (byte) (0xF0 | (cp >> 18));
+                buf[pos++] = (byte) (0x80 | ((cp >> 12) & 0x3F));
+                buf[pos++] = (byte) (0x80 | ((cp >> 6) & 0x3F));
+                buf[pos++] = (byte) (0x80 | (cp & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                // 不成对的代理字符，与String.getBytes一致替换为'?'
+                buf[pos++] = '?';
+            } else {
+                buf[pos++] = (byte) (0xE0 | (c >> 12));
+                buf[pos++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                buf[pos++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+        count = pos;
+        return this;
+    }
+
+    // ------------------------------------------------------------------------------- Read
+
+    /**
+     * @return 已写入字节数
+     */
+    public int size() {
+        return count;
+    }
+
+    /**
+     * 获取内部数组，有效数据范围为[0, {@link #size()})
+     *
+     * @return 内部数组
+     */
+    public byte[] array() {
+        return buf;
+    }
+
+    /**
+     * 清空已写入内容，保留已分配的空间
+     */
+    public void reset() {
+        count = 0;
+    }
+
+    /**
+     * @return 已写入内容的拷贝
+     */
+    public byte[] toByteArray() {
+        return Arrays.copyOf(buf, count);
+    }
+
+    /**
+     * 写出到输出流
+     *
+     * @param out 输出流
+     * @throws IORuntimeException IO异常
+     */
+    public void writeTo(OutputStream out) throws IORuntimeException {
+        try {
+            out.write(buf, 0, count);
+        } catch (IOException e) {
+            throw new IORuntimeException(e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return new String(buf, 0, count, StandardCharsets.UTF_8);
+    }
+
+    // ------------------------------------------------------------------------------- Private
+
+    private void ensureCapacity(int minCapacity) {
+        if (minCapacity > buf.length) {
+            buf = Arrays.copyOf(buf, Math.max(buf.length << 1, minCapacity));
+        }
+    }
+
+    private static int stringSize(long x) {
+        long p = 10;
+        for (int i = 1; i < 19; i++) {
+            if (x < p) {
+                return i;
+            }
+            p = 10 * p;
+        }
+        return 19;
+    }
+}
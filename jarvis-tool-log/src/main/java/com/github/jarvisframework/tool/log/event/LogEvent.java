@@ -0,0 +1,140 @@
+package com.github.jarvisframework.tool.log.event;
+
+import com.github.jarvisframework.tool.core.util.StringUtils;
+import com.github.jarvisframework.tool.log.MDC;
+import com.github.jarvisframework.tool.log.level.LevelEnum;
+
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * <p>结构化日志事件</p>
+ * 保存一次日志调用的全部原始信息：时间戳、级别、日志名、线程、消息模板、参数、上下文及异常，<br>
+ * 消息模板与参数不做预先格式化，由编码器按需直接输出，避免生成中间字符串。
+ *
+ * @author Doug Wang
+ * @since 1.0, 2026-10-18 09:12:40
+ */
+public class LogEvent implements Serializable {
+
+    private static final long serialVersionUID = 6311473905471327612L;
+
+    private static final Object[] EMPTY_ARGUMENTS = new Object[0];
+
+    /**
+     * 事件时间戳（毫秒）
+     */
+    private final long timestamp;
+    /**
+     * 日志级别
+     */
+    private final LevelEnum level;
+    /**
+     * 日志对象名
+     */
+    private final String loggerName;
+    /**
+     * 线程名
+     */
+    private final String threadName;
+    /**
+     * 消息模板
+     */
+    private final String format;
+    /**
+     * 模板参数
+     */
+    private final Object[] arguments;
+    /**
+     * 键值对上下文
+     */
+    private final Map<String, String> context;
+    /**
+     * 异常
+     */
+    private final transient Throwable throwable;
+
+    /**
+     * 构造，时间戳取当前时间，线程取当前线程，上下文取当前线程的{@link MDC}
+     *
+     * @param level      日志级别
+     * @param loggerName 日志对象名
+     * @param throwable  异常，可为{@code null}
+     * @param format     消息模板
+     * @param arguments  模板参数
+     */
+    public LogEvent(LevelEnum level, String loggerName, Throwable throwable, String format, Object... arguments) {
+        this(System.currentTimeMillis(), level, loggerName, Thread.currentThread().getName(), format, arguments, MDC.getContext(), throwable);
+    }
+
+    /**
+     * 构造
+     *
+     * @param timestamp  事件时间戳（毫秒）
+     * @param level      日志级别
+     * @param loggerName 日志对象名
+     * @param threadName 线程名
+     * @param format     消息模板
+     * @param arguments  模板参数
+     * @param context    键值对上下文，可为{@code null}，不做拷贝
+     * @param throwable  异常，可为{@code null}
+     */
+    public LogEvent(long timestamp, LevelEnum level, String loggerName, String threadName, String format,
+                    Object[] arguments, Map<String, String> context, Throwable throwable) {
+        this.timestamp = timestamp;
+        this.level = level;
+        this.loggerName = loggerName;
+        this.threadName = threadName;
+        this.format = format;
+        this.arguments = (null == arguments) ? EMPTY_ARGUMENTS : arguments;
+        this.context = (null == context) ? Collections.emptyMap() : context;
+        this.throwable = throwable;
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public LevelEnum getLevel() {
+        return level;
+    }
+
+    public String getLoggerName() {
+        return loggerName;
+    }
+
+    public String getThreadName() {
+        return threadName;
+    }
+
+    public String getFormat() {
+        return format;
+    }
+
+    public Object[] getArguments() {
+        return arguments;
+    }
+
+    public Map<String, String> getContext() {
+        return context;
+    }
+
+    public Throwable getThrowable() {
+        return throwable;
+    }
+
+    /**
+     * 获取格式化后的消息，每次调用都会重新格式化
+     *
+     * @return 格式化后的消息
+     */
+    public String getFormattedMessage() {
+        return StringUtils.format(format, arguments);
+    }
+
+    @Override
+    public String toString() {
+        return StringUtils.format("[{}] [{}] {}: {}", timestamp, level, loggerName, getFormattedMessage());
+    }
+}
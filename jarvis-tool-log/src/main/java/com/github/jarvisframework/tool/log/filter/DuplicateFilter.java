@@ -0,0 +1,269 @@
+package com.github.jarvisframework.tool.log.filter;
+
+import com.github.jarvisframework.tool.core.lang.Assert;
+import com.github.jarvisframework.tool.core.util.StringUtils;
+import com.github.jarvisframework.tool.log.event.LogEvent;
+import com.github.jarvisframework.tool.log.level.LevelEnum;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * <p>重复日志合并过滤器</p>
+ * 级别、日志名、消息模板和参数均相同的日志视为重复日志。在一个时间窗口内，只输出第一条，其余的只计数；<br>
+ * 窗口结束后同一日志再次出现时，输出一条附带被合并条数的日志，例如：
+ *
+ * <pre>
+ * Connection refused: db-01 (suppressed 15234 duplicates in last 1000ms)
+ * </pre>
+ * <p>
+ * 重复日志停止出现时，窗口结束后由{@link #flush(Consumer)}输出合并条数（{@link FilteredLog}在每次记录日志后调用），
+ * 因记录数超出上限被清理的日志同样先输出合并条数。<br>
+ * 计数使用{@link AtomicLong}，窗口切换使用CAS，无锁。
+ *
+ * @author Doug Wang
+ * @since 1.0, 2026-10-18 11:20:14
+ */
+public class DuplicateFilter implements LogFilter {
+
+    private static final long serialVersionUID = -2650784165519356823L;
+
+    /**
+     * 默认最多记录的不同日志数
+     */
+    private static final int DEFAULT_MAX_ENTRIES = 1024;
+
+    private final long windowNanos;
+    private final long windowMillis;
+    private final int maxEntries;
+    private final transient ConcurrentHashMap<Key, Entry> entries = new ConcurrentHashMap<>();
+    /**
+     * 待输出的合并条数日志
+     */
+    private final transient Queue<LogEvent> summaries = new ConcurrentLinkedQueue<>();
+    /**
+     * 下一次检查过期窗口的时间（纳秒）
+     */
+    private final transient AtomicLong nextFlush = new AtomicLong(System.nanoTime());
+
+    /**
+     * 构造
+     *
+     * @param windowMillis 时间窗口（毫秒）
+     */
+    public DuplicateFilter(long windowMillis) {
+        this(windowMillis, DEFAULT_MAX_ENTRIES);
+    }
+
+    /**
+     * 构造
+     *
+     * @param windowMillis 时间窗口（毫秒）
+     * @param maxEntries   最多记录的不同日志数，超出后清理已过期的记录
+     */
+    public DuplicateFilter(long windowMillis, int maxEntries) {
+        Assert.isTrue(windowMillis > 0, "Window must be positive!");
+        this.windowMillis = windowMillis;
+        this.windowNanos = TimeUnit.MILLISECONDS.toNanos(windowMillis);
+        this.maxEntries = Math.max(1, maxEntries);
+    }
+
+    @Override
+    public LogEvent edit(LogEvent event) {
+        final Key key = new Key(event);
+        final long now = System.nanoTime();
+        Entry entry = entries.get(key);
+        if (null == entry) {
+            if (entries.size() >= maxEntries) {
+                prune(now);
+            }
+            entry = entries.putIfAbsent(key, new Entry(event, now));
+            if (null == entry) {
+                // 第一次出现
+                return event;
+            }
+        }
+
+        final long windowStart = entry.windowStart.get();
+        if (now - windowStart < windowNanos || false == entry.windowStart.compareAndSet(windowStart, now)) {
+            // 窗口内重复，或其它线程刚刚开启了新窗口
+            entry.suppressed.incrementAndGet();
+            return null;
+        }
+
+        final long suppressed = entry.suppressed.getAndSet(0);
+        if (0 == suppressed) {
+            return event;
+        }
+        return summary(event, event.getTimestamp(), suppressed, now - windowStart);
+    }
+
+    /**
+     * 输出窗口已结束但同一日志未再出现的合并条数，每个窗口最多检查一次
+     *
+     * @param output 日志输出
+     */
+    @Override
+    public void flush(Consumer<LogEvent> output) {
+        final long now = System.nanoTime();
+        final long next = nextFlush.get();
+        if (now - next >= 0 && nextFlush.compareAndSet(next, now + windowNanos)) {
+            for (Entry entry : entries.values()) {
+                final long windowStart = entry.windowStart.get();
+                if (now - windowStart >= windowNanos) {
+                    addSummary(entry, now - windowStart);
+                }
+            }
+        }
+        LogEvent summary;
+        while (null != (summary = summaries.poll())) {
+            output.accept(summary);
+        }
+    }
+
+    /**
+     * @return 时间窗口（毫秒）
+     */
+    public long getWindowMillis() {
+        return windowMillis;
+    }
+
+    /**
+     * 反序列化后重建计数状态
+     *
+     * @return 新的过滤器
+     */
+    private Object readResolve() {
+        return new DuplicateFilter(windowMillis, maxEntries);
+    }
+
+    // ------------------------------------------------------------------------ Private method start
+
+    /**
+     * 清理过期的记录，仍超出上限时清理全部记录，被清理记录的合并条数放入待输出队列
+     *
+     * @param now 当前纳秒时间
+     */
+    private void prune(long now) {
+        final boolean all = entries.size() - countExpired(now) >= maxEntries;
+        for (Map.Entry<Key, Entry> e : entries.entrySet()) {
+            final Entry entry = e.getValue();
+            final long windowStart = entry.windowStart.get();
+            if (all || now - windowStart >= windowNanos) {
+                entries.remove(e.getKey(), entry);
+                addSummary(entry, now - windowStart);
+            }
+        }
+    }
+
+    private int countExpired(long now) {
+        int count = 0;
+        for (Entry entry : entries.values()) {
+            if (now - entry.windowStart.get() >= windowNanos) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * 取出记录的合并条数，不为0时放入待输出队列
+     *
+     * @param entry   记录
+     * @param elapsed 距窗口开始的纳秒数
+     */
+    private void addSummary(Entry entry, long elapsed) {
+        final long suppressed = entry.suppressed.getAndSet(0);
+        if (suppressed > 0) {
+            summaries.add(summary(entry.event, System.currentTimeMillis(), suppressed, elapsed));
+        }
+    }
+
+    /**
+     * 创建附带合并条数的日志
+     *
+     * @param event      原日志
+     * @param timestamp  时间戳（毫秒）
+     * @param suppressed 合并条数
+     * @param elapsed    距窗口开始的纳秒数
+     * @return 日志
+     */
+    private static LogEvent summary(LogEvent event, long timestamp, long suppressed, long elapsed) {
+        final String message = StringUtils.format("{} (suppressed {} duplicates in last {}ms)",
+                event.getFormattedMessage(), suppressed, TimeUnit.NANOSECONDS.toMillis(elapsed));
+        return new LogEvent(timestamp, event.getLevel(), event.getLoggerName(), event.getThreadName(),
+                message, null, event.getContext(), event.getThrowable());
+    }
+    // ------------------------------------------------------------------------ Private method end
+
+    /**
+     * 重复日志的判定键
+     */
+    private static class Key {
+        private final LevelEnum level;
+        private final String loggerName;
+        private final String format;
+        private final Object[] arguments;
+        private final Class<?> throwableClass;
+        private final int hash;
+
+        Key(LogEvent event) {
+            this.level = event.getLevel();
+            this.loggerName = event.getLoggerName();
+            this.format = event.getFormat();
+            this.arguments = event.getArguments();
+            this.throwableClass = (null == event.getThrowable()) ? null : event.getThrowable().getClass();
+            int h = level.hashCode();
+            h = 31 * h + Objects.hashCode(loggerName);
+            h = 31 * h + Objects.hashCode(format);
+            h = 31 * h + Arrays.hashCode(arguments);
+            this.hash = 31 * h + Objects.hashCode(throwableClass);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (false == (o instanceof Key)) {
+                return false;
+            }
+            final Key other = (Key) o;
+            return hash == other.hash
+                    && level == other.level
+                    && throwableClass == other.throwableClass
+                    && Objects.equals(format, other.format)
+                    && Objects.equals(loggerName, other.loggerName)
+                    && Arrays.equals(arguments, other.arguments);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    /**
+     * 重复日志的窗口及计数
+     */
+    private static class Entry {
+        /**
+         * 第一次出现的日志，用于在同一日志未再出现时输出合并条数
+         */
+        private final LogEvent event;
+        private final AtomicLong windowStart;
+        private final AtomicLong suppressed = new AtomicLong();
+
+        Entry(LogEvent event, long windowStart) {
+            this.event = event;
+            this.windowStart = new AtomicLong(windowStart);
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package com.github.jarvisframework.tool.log.filter;
+
+import com.github.jarvisframework.tool.core.lang.Assert;
+import com.github.jarvisframework.tool.log.AbstractLog;
+import com.github.jarvisframework.tool.log.Log;
+import com.github.jarvisframework.tool.log.event.LogEvent;
+import com.github.jarvisframework.tool.log.level.LevelEnum;
+
+/**
+ * <p>带过滤器的日志</p>
+ * 包装任意{@link Log}，日志在交给被包装日志输出前先经过过滤器。<br>
+ * 过滤器状态属于包装对象，因此可以按日志对象挂载，也可以为单个调用点创建独立的包装对象：
+ *
+ * <pre>
+ * // 按日志对象
+ * private static final Log log = FilteredLog.of(LogFactory.get(), RateLimitFilter.create(100, 200));
+ * // 按调用点
+ * private static final Log dbErrorLog = FilteredLog.of(log, new DuplicateFilter(1000));
+ * </pre>
+ *
+ * @author Doug Wang
+ * @since 1.0, 2026-10-18 11:42:55
+ */
+public class FilteredLog extends AbstractLog {
+
+    private static final long serialVersionUID = 4526129508746219734L;
+    private static final String FQCN = FilteredLog.class.getName();
+
+    private final Log log;
+    private final LogFilter filter;
+
+    /**
+     * 创建带过滤器的日志，多个过滤器按顺序组成{@link LogFilterChain}
+     *
+     * @param log     被包装的日志
+     * @param filters 过滤器
+     * @return FilteredLog
+     */
+    public static FilteredLog of(Log log, LogFilter... filters) {
+        return new FilteredLog(log, (1 == filters.length) ? filters[0] : LogFilterChain.create(filters));
+    }
+
+    /**
+     * 构造
+     *
+     * @param log    被包装的日志
+     * @param filter 过滤器
+     */
+    public FilteredLog(Log log, LogFilter filter) {
+        this.log = Assert.notNull(log, "Log must not be null!");
+        this.filter = Assert.notNull(filter, "Filter must not be null!");
+    }
+
+    /**
+     * @return 被包装的日志
+     */
+    public Log getRaw() {
+        return this.log;
+    }
+
+    /**
+     * @return 过滤器
+     */
+    public LogFilter getFilter() {
+        return this.filter;
+    }
+
+    @Override
+    public String getName() {
+        return log.getName();
+    }
+
+    @Override
+    public boolean isEnabled(LevelEnum level) {
+        return log.isEnabled(level);
+    }
+
+    //------------------------------------------------------------------------- Trace
+    @Override
+    public boolean isTraceEnabled() {
+        return log.isTraceEnabled();
+    }
+
+    @Override
+    public void trace(String fqcn, Throwable t, String format, Object... arguments) {
+        log(fqcn, LevelEnum.TRACE, t, format, arguments);
+    }
+
+    //------------------------------------------------------------------------- Debug
+    @Override
+    public boolean isDebugEnabled() {
+        return log.isDebugEnabled();
+    }
+
+    @Override
+    public void debug(String fqcn, Throwable t, String format, Object... arguments) {
+        log(fqcn, LevelEnum.DEBUG, t, format, arguments);
+    }
+
+    //------------------------------------------------------------------------- Info
+    @Override
+    public boolean isInfoEnabled() {
+        return log.isInfoEnabled();
+    }
+
+    @Override
+    public void info(String fqcn, Throwable t, String format, Object... arguments) {
+        log(fqcn, LevelEnum.INFO, t, format, arguments);
+    }
+
+    //------------------------------------------------------------------------- Warn
+    @Override
+    public boolean isWarnEnabled() {
+        return log.isWarnEnabled();
+    }
+
+    @Override
+    public void warn(String fqcn, Throwable t, String format, Object... arguments) {
+        log(fqcn, LevelEnum.WARN, t, format, arguments);
+    }
+
+    //------------------------------------------------------------------------- Error
+    @Override
+    public boolean isErrorEnabled() {
+        return log.isErrorEnabled();
+    }
+
+    @Override
+    public void error(String fqcn, Throwable t, String format, Object... arguments) {
+        log(fqcn, LevelEnum.ERROR, t, format, arguments);
+    }
+
+    //------------------------------------------------------------------------- Log
+    @Override
+    public void log(String fqcn, LevelEnum level, Throwable t, String format, Object... arguments) {
+        // 先判断级别，被关闭的日志不进入过滤器，也不占用限流配额
+        if (false == log.isEnabled(level)) {
+            return;
+        }
+        final LogEvent event = filter.edit(new LogEvent(level, getName(), t, format, arguments));
+        if (null != event) {
+            log.log(fqcn, event.getLevel(), event.getThrowable(), event.getFormat(), event.getArguments());
+        }
+        flush(fqcn);
+    }
+
+    /**
+     * 输出过滤器暂存的事件，例如重复日志在窗口结束后的合并条数。每次记录日志后会自动调用，
+     * 长时间没有日志时（如应用关闭前）可手动调用
+     */
+    public void flush() {
+        flush(FQCN);
+    }
+
+    /**
+     * 输出过滤器暂存的事件
+     *
+     * @param fqcn 完全限定类名(Fully Qualified Class Name)，用于纠正定位错误行号
+     */
+    private void flush(String fqcn) {
+        filter.flush(event -> {
+            if (log.isEnabled(event.getLevel())) {
+                log.log(fqcn, event.getLevel(), event.getThrowable(), event.getFormat(), event.getArguments());
+            }
+        });
+    }
+}
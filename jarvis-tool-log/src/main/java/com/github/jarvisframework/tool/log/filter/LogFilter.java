@@ -0,0 +1,34 @@
+package com.github.jarvisframework.tool.log.filter;
+
+import com.github.jarvisframework.tool.core.lang.Editor;
+import com.github.jarvisframework.tool.log.event.LogEvent;
+
+import java.io.Serializable;
+import java.util.function.Consumer;
+
+/**
+ * <p>日志过滤器</p>
+ * 在日志输出前对事件进行检查，两个作用：
+ *
+ * <pre>
+ * 1、返回<code>null</code>，表示此日志被丢弃
+ * 2、返回新的事件替换原事件，例如合并重复日志后附带计数
+ * </pre>
+ * <p>
+ * 过滤器会被多个线程同时调用，实现须保证线程安全；过滤器随{@link FilteredLog}一同序列化
+ *
+ * @author Doug Wang
+ * @see FilteredLog
+ * @since 1.0, 2026-10-18 10:35:21
+ */
+@FunctionalInterface
+public interface LogFilter extends Editor<LogEvent>, Serializable {
+
+    /**
+     * 输出过滤器暂存的事件，例如重复日志在窗口结束后的合并条数，默认无暂存事件
+     *
+     * @param output 日志输出
+     */
+    default void flush(Consumer<LogEvent> output) {
+    }
+}
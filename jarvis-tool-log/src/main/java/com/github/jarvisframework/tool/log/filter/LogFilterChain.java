@@ -0,0 +1,102 @@
+package com.github.jarvisframework.tool.log.filter;
+
+import com.github.jarvisframework.tool.core.lang.Chain;
+import com.github.jarvisframework.tool.log.event.LogEvent;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * 日志过滤器链<br>
+ * 按加入顺序依次执行，任一过滤器丢弃事件后不再执行后续过滤器；
+ * {@link #flush(Consumer)}时各过滤器暂存的事件同样经过其后的过滤器，例如重复日志的合并条数也受其后的限流约束
+ *
+ * @author Doug Wang
+ * @since 1.0, 2026-10-18 10:41:09
+ */
+public class LogFilterChain implements LogFilter, Chain<LogFilter, LogFilterChain> {
+
+    private static final long serialVersionUID = 3906402873571287402L;
+
+    /**
+     * 过滤器列表
+     */
+    private final List<LogFilter> chain;
+
+    /**
+     * 创建过滤器链{@link LogFilterChain}
+     *
+     * @param filters 过滤器列表
+     * @return {@link LogFilterChain}
+     */
+    public static LogFilterChain create(LogFilter... filters) {
+        return new LogFilterChain(filters);
+    }
+
+    /**
+     * 构造
+     *
+     * @param filters 过滤器列表
+     */
+    public LogFilterChain(LogFilter... filters) {
+        chain = new CopyOnWriteArrayList<>(Arrays.asList(filters));
+    }
+
+    @Override
+    public LogEvent edit(LogEvent event) {
+        for (LogFilter filter : chain) {
+            event = filter.edit(event);
+            if (null == event) {
+                return null;
+            }
+        }
+        return event;
+    }
+
+    @Override
+    public void flush(Consumer<LogEvent> output) {
+        final LogFilter[] filters = chain.toArray(new LogFilter[0]);
+        for (int i = 0; i < filters.length; i++) {
+            final int next = i + 1;
+            filters[i].flush(event -> {
+                event = edit(filters, next, event);
+                if (null != event) {
+                    output.accept(event);
+                }
+            });
+        }
+    }
+
+    @SuppressWarnings("NullableProblems")
+    @Override
+    public Iterator<LogFilter> iterator() {
+        return this.chain.iterator();
+    }
+
+    @Override
+    public LogFilterChain addChain(LogFilter element) {
+        this.chain.add(element);
+        return this;
+    }
+
+    // ------------------------------------------------------------------------ Private method start
+
+    /**
+     * 从指定位置开始执行过滤器
+     *
+     * @param filters 过滤器
+     * @param from    开始位置
+     * @param event   事件
+     * @return 过滤后的事件，被丢弃时为null
+     */
+    private static LogEvent edit(LogFilter[] filters, int from, LogEvent event) {
+        for (int i = from; i < filters.length && null != event; i++) {
+            event = filters[i].edit(event);
+        }
+        return event;
+    }
+    // ------------------------------------------------------------------------ Private method end
+}
@@ -0,0 +1,148 @@
+package com.github.jarvisframework.tool.log.filter;
+
+import com.github.jarvisframework.tool.core.lang.Assert;
+import com.github.jarvisframework.tool.log.event.LogEvent;
+import com.github.jarvisframework.tool.log.level.LevelEnum;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <p>令牌桶限流过滤器</p>
+ * 按日志级别分别限流，超出速率的日志被丢弃。<br>
+ * 令牌桶使用GCRA（Generic Cell Rate Algorithm）实现，每个级别只维护一个“理论到达时间”，单次CAS完成取令牌，无锁。
+ *
+ * <pre>
+ * // ERROR每秒最多100条，允许突发200条；其它级别不限
+ * Log log = FilteredLog.of(LogFactory.get(), RateLimitFilter.create().setLimit(LevelEnum.ERROR, 100, 200));
+ * </pre>
+ * <p>
+ * 限流配置应在过滤器投入使用前完成
+ *
+ * @author Doug Wang
+ * @since 1.0, 2026-10-18 10:52:47
+ */
+public class RateLimitFilter implements LogFilter {
+
+    private static final long serialVersionUID = 7310695722493504182L;
+
+    private static final int LEVEL_COUNT = LevelEnum.values().length;
+
+    /**
+     * 每个级别产生一个令牌的间隔（纳秒），0表示不限流
+     */
+    private final long[] intervals = new long[LEVEL_COUNT];
+    /**
+     * 每个级别可透支的时间（纳秒），即(突发数 - 1) * 间隔
+     */
+    private final long[] tolerances = new long[LEVEL_COUNT];
+    /**
+     * 每个级别下一个令牌的理论到达时间（纳秒）
+     */
+    private final AtomicLongArray theoreticalArrivals = new AtomicLongArray(LEVEL_COUNT);
+    /**
+     * 被丢弃的日志数
+     */
+    private final LongAdder dropped = new LongAdder();
+
+    /**
+     * 创建不限流的过滤器，通过{@link #setLimit(LevelEnum, double, int)}配置各级别
+     *
+     * @return RateLimitFilter
+     */
+    public static RateLimitFilter create() {
+        return new RateLimitFilter();
+    }
+
+    /**
+     * 创建所有级别使用相同限流的过滤器
+     *
+     * @param permitsPerSecond 每秒允许的日志数
+     * @param burst            允许的突发日志数
+     * @return RateLimitFilter
+     */
+    public static RateLimitFilter create(double permitsPerSecond, int burst) {
+        final RateLimitFilter filter = new RateLimitFilter();
+        for (LevelEnum level : LevelEnum.values()) {
+            filter.setLimit(level, permitsPerSecond, burst);
+        }
+        return filter;
+    }
+
+    /**
+     * 设置指定级别的限流
+     *
+     * @param level            日志级别
+     * @param permitsPerSecond 每秒允许的日志数，小于等于0表示不限流
+     * @param burst            允许的突发日志数，最小为1
+     * @return this
+     */
+    public RateLimitFilter setLimit(LevelEnum level, double permitsPerSecond, int burst) {
+        Assert.notNull(level, "Level must not be null!");
+        final int index = level.ordinal();
+        if (permitsPerSecond <= 0) {
+            intervals[index] = 0;
+            tolerances[index] = 0;
+            return this;
+        }
+        final long interval = Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / permitsPerSecond));
+        intervals[index] = interval;
+        tolerances[index] = interval * (Math.max(1, burst) - 1);
+        // 初始时令牌桶是满的
+        theoreticalArrivals.set(index, System.nanoTime() - tolerances[index]);
+        return this;
+    }
+
+    /**
+     * @return 被丢弃的日志数
+     */
+    public long getDropped() {
+        return dropped.sum();
+    }
+
+    @Override
+    public LogEvent edit(LogEvent event) {
+        return tryAcquire(event.getLevel()) ? event : null;
+    }
+
+    /**
+     * 反序列化后令牌桶重新装满，纳秒时间在不同进程间不可比较
+     *
+     * @return this
+     */
+    private Object readResolve() {
+        final long now = System.nanoTime();
+        for (int i = 0; i < LEVEL_COUNT; i++) {
+            theoreticalArrivals.set(i, now - tolerances[i]);
+        }
+        return this;
+    }
+
+    /**
+     * 尝试获取指定级别的一个令牌
+     *
+     * @param level 日志级别
+     * @return 是否获取成功
+     */
+    public boolean tryAcquire(LevelEnum level) {
+        final int index = level.ordinal();
+        final long interval = intervals[index];
+        if (0 == interval) {
+            return true;
+        }
+        final long tolerance = tolerances[index];
+        final long now = System.nanoTime();
+        long tat;
+        long next;
+        do {
+            tat = theoreticalArrivals.get(index);
+            if (tat - now > tolerance) {
+                dropped.increment();
+                return false;
+            }
+            next = ((tat - now < 0) ? now : tat) + interval;
+        } while (false == theoreticalArrivals.compareAndSet(index, tat, next));
+        return true;
+    }
+}
@@ -0,0 +1,83 @@
+package com.github.jarvisframework.tool.log.filter;
+
+import com.github.jarvisframework.tool.core.lang.Assert;
+import com.github.jarvisframework.tool.log.event.LogEvent;
+import com.github.jarvisframework.tool.log.level.LevelEnum;
+
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <p>概率采样过滤器</p>
+ * 按日志级别设置采样率，未命中采样的日志被丢弃，例如DEBUG只保留1%：
+ *
+ * <pre>
+ * SamplingFilter.create().setRate(LevelEnum.DEBUG, 0.01);
+ * </pre>
+ * <p>
+ * 随机数使用{@link ThreadLocalRandom}，计数使用{@link LongAdder}，无锁。采样配置应在过滤器投入使用前完成
+ *
+ * @author Doug Wang
+ * @since 1.0, 2026-10-18 11:06:30
+ */
+public class SamplingFilter implements LogFilter {
+
+    private static final long serialVersionUID = -4160521807283357061L;
+
+    /**
+     * 每个级别的采样率，取值[0, 1]
+     */
+    private final double[] rates = new double[LevelEnum.values().length];
+    /**
+     * 被丢弃的日志数
+     */
+    private final LongAdder dropped = new LongAdder();
+
+    /**
+     * 创建全部保留的采样过滤器，通过{@link #setRate(LevelEnum, double)}配置各级别
+     *
+     * @return SamplingFilter
+     */
+    public static SamplingFilter create() {
+        return new SamplingFilter();
+    }
+
+    /**
+     * 构造，所有级别全部保留
+     */
+    public SamplingFilter() {
+        Arrays.fill(rates, 1D);
+    }
+
+    /**
+     * 设置指定级别的采样率
+     *
+     * @param level 日志级别
+     * @param rate  采样率，取值[0, 1]，1表示全部保留，0表示全部丢弃
+     * @return this
+     */
+    public SamplingFilter setRate(LevelEnum level, double rate) {
+        Assert.notNull(level, "Level must not be null!");
+        Assert.isTrue(rate >= 0 && rate <= 1, "Sampling rate must be in [0, 1], but got {}", rate);
+        rates[level.ordinal()] = rate;
+        return this;
+    }
+
+    /**
+     * @return 被丢弃的日志数
+     */
+    public long getDropped() {
+        return dropped.sum();
+    }
+
+    @Override
+    public LogEvent edit(LogEvent event) {
+        final double rate = rates[event.getLevel().ordinal()];
+        if (rate >= 1D || (rate > 0D && ThreadLocalRandom.current().nextDouble() < rate)) {
+            return event;
+        }
+        dropped.increment();
+        return null;
+    }
+}
@@ -0,0 +1,158 @@
+package com.github.jarvisframework.tool.log.filter;
+
+import com.github.jarvisframework.tool.log.event.LogEvent;
+import com.github.jarvisframework.tool.log.level.LevelEnum;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <p>日志过滤器测试类</p>
+ *
+ * @author Doug Wang
+ * @since 1.0, 2026-10-19 09:12:40
+ */
+public class LogFilterTest {
+
+    /**
+     * 突发数以内全部通过，超出后丢弃，按速率补充令牌
+     */
+    @Test
+    public void rateLimitTest() throws InterruptedException {
+        final RateLimitFilter filter = RateLimitFilter.create().setLimit(LevelEnum.ERROR, 10, 5);
+        for (int i = 0; i < 5; i++) {
+            Assert.assertNotNull(filter.edit(event(LevelEnum.ERROR, "error {}", i)));
+        }
+        Assert.assertNull(filter.edit(event(LevelEnum.ERROR, "error {}", 5)));
+        Assert.assertEquals(1, filter.getDropped());
+        // 其它级别不限流
+        Assert.assertNotNull(filter.edit(event(LevelEnum.INFO, "info")));
+
+        // 每100毫秒补充一个令牌
+        Thread.sleep(250);
+        int passed = 0;
+        for (int i = 0; i < 10; i++) {
+            if (null != filter.edit(event(LevelEnum.ERROR, "error {}", i))) {
+                passed++;
+            }
+        }
+        Assert.assertTrue(passed >= 2 && passed <= 4);
+        Assert.assertEquals(1 + 10 - passed, filter.getDropped());
+    }
+
+    /**
+     * 窗口内的重复日志只计数，窗口结束后同一日志再次出现时附带合并条数
+     */
+    @Test
+    public void duplicateEditTest() throws InterruptedException {
+        final DuplicateFilter filter = new DuplicateFilter(100);
+        Assert.assertNotNull(filter.edit(event(LevelEnum.WARN, "refused: {}", "db-01")));
+        for (int i = 0; i < 9; i++) {
+            Assert.assertNull(filter.edit(event(LevelEnum.WARN, "refused: {}", "db-01")));
+        }
+        // 参数不同的日志不是重复日志
+        Assert.assertNotNull(filter.edit(event(LevelEnum.WARN, "refused: {}", "db-02")));
+
+        Thread.sleep(150);
+        final LogEvent summary = filter.edit(event(LevelEnum.WARN, "refused: {}", "db-01"));
+        Assert.assertNotNull(summary);
+        Assert.assertTrue(summary.getFormattedMessage().startsWith("refused: db-01 (suppressed 9 duplicates in last "));
+        // 新窗口内没有重复，窗口结束后原样输出
+        Thread.sleep(150);
+        Assert.assertEquals("refused: db-01", filter.edit(event(LevelEnum.WARN, "refused: {}", "db-01")).getFormattedMessage());
+    }
+
+    /**
+     * 重复日志不再出现时，窗口结束后由flush输出合并条数，只输出一次
+     */
+    @Test
+    public void duplicateFlushTest() throws InterruptedException {
+        final DuplicateFilter filter = new DuplicateFilter(100);
+        filter.edit(event(LevelEnum.WARN, "timeout"));
+        for (int i = 0; i < 4; i++) {
+            filter.edit(event(LevelEnum.WARN, "timeout"));
+        }
+        final List<LogEvent> output = new ArrayList<>();
+        filter.flush(output::add);
+        Assert.assertTrue(output.isEmpty());
+
+        Thread.sleep(150);
+        filter.flush(output::add);
+        Assert.assertEquals(1, output.size());
+        Assert.assertTrue(output.get(0).getFormattedMessage().startsWith("timeout (suppressed 4 duplicates in last "));
+
+        Thread.sleep(150);
+        filter.flush(output::add);
+        Assert.assertEquals(1, output.size());
+    }
+
+    /**
+     * 记录数超出上限时清理记录，被清理记录的合并条数不丢失
+     */
+    @Test
+    public void duplicatePruneTest() {
+        final DuplicateFilter filter = new DuplicateFilter(60000, 2);
+        filter.edit(event(LevelEnum.INFO, "a"));
+        filter.edit(event(LevelEnum.INFO, "a"));
+        filter.edit(event(LevelEnum.INFO, "b"));
+        // 没有过期的记录，全部清理
+        Assert.assertNotNull(filter.edit(event(LevelEnum.INFO, "c")));
+
+        final List<LogEvent> output = new ArrayList<>();
+        filter.flush(output::add);
+        Assert.assertEquals(1, output.size());
+        Assert.assertTrue(output.get(0).getFormattedMessage().startsWith("a (suppressed 1 duplicates in last "));
+        // 被清理后再次出现视为第一次出现
+        Assert.assertEquals("a", filter.edit(event(LevelEnum.INFO, "a")).getFormattedMessage());
+    }
+
+    /**
+     * 过滤器链flush时，暂存的事件经过其后的过滤器
+     */
+    @Test
+    public void chainFlushTest() throws InterruptedException {
+        final RateLimitFilter rateLimit = RateLimitFilter.create(0.001, 1);
+        final LogFilterChain chain = LogFilterChain.create(new DuplicateFilter(50), rateLimit);
+        Assert.assertNotNull(chain.edit(event(LevelEnum.ERROR, "failed")));
+        for (int i = 0; i < 3; i++) {
+            Assert.assertNull(chain.edit(event(LevelEnum.ERROR, "failed")));
+        }
+        Assert.assertEquals(0, rateLimit.getDropped());
+
+        Thread.sleep(100);
+        final List<LogEvent> output = new ArrayList<>();
+        chain.flush(output::add);
+        // 合并条数日志被限流丢弃
+        Assert.assertTrue(output.isEmpty());
+        Assert.assertEquals(1, rateLimit.getDropped());
+
+        final LogFilterChain unlimited = LogFilterChain.create(new DuplicateFilter(50), RateLimitFilter.create());
+        unlimited.edit(event(LevelEnum.ERROR, "failed"));
+        unlimited.edit(event(LevelEnum.ERROR, "failed"));
+        Thread.sleep(100);
+        unlimited.flush(output::add);
+        Assert.assertEquals(1, output.size());
+    }
+
+    /**
+     * 采样率为0时全部丢弃，为1时全部保留
+     */
+    @Test
+    public void samplingTest() {
+        final SamplingFilter filter = SamplingFilter.create().setRate(LevelEnum.DEBUG, 0);
+        for (int i = 0; i < 100; i++) {
+            Assert.assertNull(filter.edit(event(LevelEnum.DEBUG, "debug")));
+            Assert.assertNotNull(filter.edit(event(LevelEnum.INFO, "info")));
+        }
+        Assert.assertEquals(100, filter.getDropped());
+    }
+
+    // ------------------------------------------------------------------------ Private method start
+
+    private static LogEvent event(LevelEnum level, String format, Object... arguments) {
+        return new LogEvent(level, "test", null, format, arguments);
+    }
+    // ------------------------------------------------------------------------ Private method end
+}
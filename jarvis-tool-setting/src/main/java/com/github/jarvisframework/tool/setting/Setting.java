@@ -7,7 +7,7 @@ import com.github.jarvisframework.tool.core.io.resource.ClassPathResource;
 import com.github.jarvisframework.tool.core.io.resource.FileResource;
 import com.github.jarvisframework.tool.core.io.resource.Resource;
 import com.github.jarvisframework.tool.core.io.resource.UrlResource;
-import com.github.jarvisframework.tool.core.io.watch.SimpleWatcher;
+import com.github.jarvisframework.tool.core.io.watch.WatchDispatcher;
 import com.github.jarvisframework.tool.core.io.watch.WatchMonitor;
 import com.github.jarvisframework.tool.core.io.watch.WatchUtils;
 import com.github.jarvisframework.tool.core.lang.Assert;
@@ -21,8 +21,6 @@ import com.github.jarvisframework.tool.setting.dialect.MyProperties;
 import java.io.File;
 import java.net.URL;
 import java.nio.charset.Charset;
-import java.nio.file.Path;
-import java.nio.file.WatchEvent;
 import java.util.*;
 import java.util.function.Consumer;
 
@@ -222,16 +220,14 @@ public class Setting extends AbsSetting implements Map<String, String> {
                 // 先关闭之前的监听
                 this.watchMonitor.close();
             }
-            this.watchMonitor = WatchUtils.createModify(this.settingUrl, new SimpleWatcher() {
-                @Override
-                public void onModify(WatchEvent<?> event, Path currentPath) {
-                    boolean success = load();
-                    // 如果有回调，加载完毕则执行回调
-                    if (callback != null) {
-                        callback.accept(success);
-                    }
+            // 编辑器保存或批量拷贝会产生多个修改事件，合并后只重新加载一次
+            this.watchMonitor = WatchUtils.createModify(this.settingUrl, WatchDispatcher.create(changes -> {
+                boolean success = load();
+                // 如果有回调，加载完毕则执行回调
+                if (callback != null) {
+                    callback.accept(success);
                 }
-            });
+            }));
             this.watchMonitor.start();
             StaticLog.debug("Auto load for [{}] listenning...", this.settingUrl);
         } else {
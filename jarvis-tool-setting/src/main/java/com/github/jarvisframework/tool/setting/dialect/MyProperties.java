@@ -12,7 +12,7 @@ import com.github.jarvisframework.tool.core.io.resource.ClassPathResource;
 import com.github.jarvisframework.tool.core.io.resource.FileResource;
 import com.github.jarvisframework.tool.core.io.resource.Resource;
 import com.github.jarvisframework.tool.core.io.resource.UrlResource;
-import com.github.jarvisframework.tool.core.io.watch.SimpleWatcher;
+import com.github.jarvisframework.tool.core.io.watch.WatchDispatcher;
 import com.github.jarvisframework.tool.core.io.watch.WatchMonitor;
 import com.github.jarvisframework.tool.core.io.watch.WatchUtils;
 import com.github.jarvisframework.tool.core.lang.Assert;
@@ -32,8 +32,6 @@ import java.math.BigInteger;
 import java.net.URL;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
-import java.nio.file.Path;
-import java.nio.file.WatchEvent;
 import java.util.Date;
 import java.util.Properties;
 
@@ -298,12 +296,8 @@ public class MyProperties extends Properties implements BasicTypeGetter<String>,
                 // 先关闭之前的监听
                 this.watchMonitor.close();
             }
-            this.watchMonitor = WatchUtils.createModify(this.propertiesFileUrl, new SimpleWatcher() {
-                @Override
-                public void onModify(WatchEvent<?> event, Path currentPath) {
-                    load();
-                }
-            });
+            // 多个修改事件合并后只重新加载一次
+            this.watchMonitor = WatchUtils.createModify(this.propertiesFileUrl, WatchDispatcher.create(changes -> load()));
             this.watchMonitor.start();
         } else {
             IOUtils.closeQuietly(this.watchMonitor);
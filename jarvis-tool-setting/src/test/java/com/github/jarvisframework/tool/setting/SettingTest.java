@@ -0,0 +1,49 @@
+package com.github.jarvisframework.tool.setting;
+
+import com.github.jarvisframework.tool.core.util.CharsetUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Setting测试类</p>
+ *
+ * @author Doug Wang
+ * @since 1.0, 2026-10-18 22:05:41
+ */
+public class SettingTest {
+
+    /**
+     * 配置文件连续修改多次时只重新加载一次，加载后读取到最新的值
+     */
+    @Test
+    public void autoLoadTest() throws Exception {
+        final Path dir = Files.createTempDirectory("setting");
+        final Path file = Files.write(dir.resolve("test.setting"), "name=a".getBytes(StandardCharsets.UTF_8));
+        final Setting setting = new Setting(file.toFile(), CharsetUtils.CHARSET_UTF_8, false);
+        Assert.assertEquals("a", setting.get("name"));
+
+        final BlockingQueue<Boolean> reloads = new LinkedBlockingQueue<>();
+        setting.autoLoad(true, reloads::add);
+        try {
+            // 等待监听线程注册完成
+            Thread.sleep(200);
+            Files.write(file, "name=b".getBytes(StandardCharsets.UTF_8));
+            Files.write(file, "name=c".getBytes(StandardCharsets.UTF_8));
+
+            Assert.assertEquals(Boolean.TRUE, reloads.poll(10, TimeUnit.SECONDS));
+            Assert.assertEquals("c", setting.get("name"));
+            Assert.assertNull(reloads.poll(600, TimeUnit.MILLISECONDS));
+        } finally {
+            setting.autoLoad(false);
+            Files.deleteIfExists(file);
+            Files.deleteIfExists(dir);
+        }
+    }
+}